@@ -1,105 +1,64 @@
 package br.com.serverest.config;
 
 import br.com.serverest.model.Usuario;
+import br.com.serverest.report.AllureAttachments;
+import br.com.serverest.report.ConnectionTimingExtension;
+import br.com.serverest.report.FlakyTestExtension;
+import br.com.serverest.report.HttpBudgetExtension;
+import br.com.serverest.report.JfrExtension;
+import br.com.serverest.report.JsonDiff;
+import br.com.serverest.report.LatencyExtension;
+import br.com.serverest.report.TraceExtension;
+import br.com.serverest.service.UsuarioApi;
 import br.com.serverest.service.UsuarioService;
 import br.com.serverest.utils.DataFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.config.ObjectMapperConfig;
-import io.restassured.config.RestAssuredConfig;
-import io.restassured.filter.log.LogDetail;
-import io.restassured.http.ContentType;
-import io.restassured.mapper.ObjectMapperType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 
+@ExtendWith({GlobalSetupExtension.class, TraceExtension.class, LatencyExtension.class,
+        ConnectionTimingExtension.class, HttpBudgetExtension.class, JfrExtension.class, FlakyTestExtension.class})
 public class BaseTest {
 
-    protected static RequestSpecification requestSpec;
-    protected static ResponseSpecification responseSpec;
-    protected static Properties config;
-    protected final UsuarioService usuarioService = new UsuarioService();
-    protected List<String> usuariosParaLimpar = new ArrayList<>();
-
-    @BeforeAll
-    public static void setup() {
-        loadConfig();
-        configureRestAssured();
-        setupRequestSpecification();
-        setupResponseSpecification();
-    }
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    private static void loadConfig() {
-        config = new Properties();
-        try (InputStream input = BaseTest.class.getClassLoader()
-                .getResourceAsStream("config.properties")) {
-            if (input == null) {
-                throw new RuntimeException("Arquivo config.properties não encontrado");
-            }
-            config.load(input);
-        } catch (IOException e) {
-            throw new RuntimeException("Erro ao carregar configurações", e);
-        }
-    }
+    protected final UsuarioService usuarioService = new UsuarioService();
+    // Thread-safe para testes que cadastram usuários a partir de várias threads
+    protected List<String> usuariosParaLimpar = new CopyOnWriteArrayList<>();
 
-    private static void configureRestAssured() {
-        RestAssured.baseURI = config.getProperty("base.uri");
-        RestAssured.basePath = config.getProperty("base.path");
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
-        
-        // Configurar ObjectMapper para usar Jackson
-        RestAssured.config = RestAssuredConfig.config()
-                .objectMapperConfig(new ObjectMapperConfig(ObjectMapperType.JACKSON_2));
-        
-        // Adicionar filtro do Allure para capturar requests/responses
-        RestAssured.filters(new AllureRestAssured());
+    /**
+     * Service usado pelos helpers e pela limpeza deste BaseTest; a API por padrão
+     * Subclasses podem devolver um InMemoryUsuarioService para exercitar os helpers sem a API
+     */
+    protected UsuarioApi usuarios() {
+        return usuarioService;
     }
 
-    private static void setupRequestSpecification() {
-        RequestSpecBuilder reqBuilder = new RequestSpecBuilder();
-        reqBuilder.setContentType(ContentType.JSON);
-        reqBuilder.setAccept(ContentType.JSON);
-        reqBuilder.addFilter(new AllureRestAssured());
-        
-        if (Boolean.parseBoolean(config.getProperty("enable.request.logging"))) {
-            reqBuilder.log(LogDetail.ALL);
-        }
-        
-        requestSpec = reqBuilder.build();
+    protected static RequestSpecification getRequestSpec() {
+        return GlobalSetup.instancia().getRequestSpec();
     }
 
-    private static void setupResponseSpecification() {
-        ResponseSpecBuilder resBuilder = new ResponseSpecBuilder();
-        resBuilder.expectContentType(ContentType.JSON);
-        
-        if (Boolean.parseBoolean(config.getProperty("enable.response.logging"))) {
-            resBuilder.log(LogDetail.ALL);
-        }
-        
-        responseSpec = resBuilder.build();
+    protected static ResponseSpecification getResponseSpec() {
+        return GlobalSetup.instancia().getResponseSpec();
     }
 
     protected static String getConfig(String key) {
-        return config.getProperty(key);
+        return TestConfig.get(key);
     }
 
     // ==================== TEMPLATE METHODS ====================
@@ -109,7 +68,7 @@ public class BaseTest {
      */
     protected String criarUsuarioERetornarId(boolean isAdmin) {
         Usuario usuario = DataFactory.criarUsuarioValido(isAdmin);
-        Response response = usuarioService.cadastrarUsuario(usuario);
+        Response response = usuarios().cadastrarUsuario(usuario);
         String userId = response.jsonPath().getString("_id");
         usuariosParaLimpar.add(userId);
         return userId;
@@ -120,7 +79,7 @@ public class BaseTest {
      */
     protected Usuario criarUsuarioERetornarObjeto(boolean isAdmin) {
         Usuario usuario = DataFactory.criarUsuarioValido(isAdmin);
-        Response response = usuarioService.cadastrarUsuario(usuario);
+        Response response = usuarios().cadastrarUsuario(usuario);
         String userId = response.jsonPath().getString("_id");
         usuariosParaLimpar.add(userId);
         return usuario;
@@ -130,7 +89,7 @@ public class BaseTest {
      * Cria um usuário customizado e retorna o ID
      */
     protected String criarUsuarioCustomizadoERetornarId(Usuario usuario) {
-        Response response = usuarioService.cadastrarUsuario(usuario);
+        Response response = usuarios().cadastrarUsuario(usuario);
         String userId = response.jsonPath().getString("_id");
         if (userId != null) {
             usuariosParaLimpar.add(userId);
@@ -188,20 +147,14 @@ public class BaseTest {
      * Anexa o request body como JSON no relatório Allure
      */
     protected void anexarRequestBody(Object requestBody) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(requestBody);
-            Allure.addAttachment("Request Body", "application/json", json, "json");
-        } catch (Exception e) {
-            Allure.addAttachment("Request Body Error", "text/plain", e.getMessage());
-        }
+        AllureAttachments.anexarObjeto("Request Body", requestBody);
     }
 
     /**
      * Anexa o response completo no relatório Allure
      */
     protected void anexarResponse(Response response) {
-        anexarResponseAsText(response.getBody().asString());
+        AllureAttachments.anexarCorpo("Response Body", response.getBody().asInputStream());
         Allure.addAttachment("Response Status", "text/plain", 
                 String.valueOf(response.getStatusCode()));
         Allure.addAttachment("Response Headers", "text/plain", 
@@ -211,35 +164,24 @@ public class BaseTest {
     /**
      * Anexa response body formatado
      */
-    @Attachment(value = "Response Body", type = "application/json")
     protected String anexarResponseAsText(String responseBody) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            Object json = mapper.readValue(responseBody, Object.class);
-            return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
-        } catch (Exception e) {
-            return responseBody;
-        }
+        String conteudo = AllureAttachments.formatar(responseBody);
+        Allure.addAttachment("Response Body", "application/json", conteudo);
+        return conteudo;
     }
 
     /**
      * Anexa dados de teste utilizados
      */
     protected void anexarDadosDeTeste(String nome, Object dados) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(dados);
-            Allure.addAttachment(nome, "application/json", json, "json");
-        } catch (Exception e) {
-            Allure.addAttachment(nome, "text/plain", dados.toString());
-        }
+        AllureAttachments.anexarObjeto(nome, dados);
     }
 
     /**
      * Anexa texto simples
      */
-    @Attachment(value = "{attachmentName}", type = "text/plain")
     protected String anexarTexto(String attachmentName, String conteudo) {
+        Allure.addAttachment(attachmentName, "text/plain", conteudo);
         return conteudo;
     }
 
@@ -268,8 +210,17 @@ public class BaseTest {
 
     /**
      * Anexa comparação de dados (esperado vs atual)
+     * Quando os dois são JSON, anexa só as diferenças estruturais (ver JsonDiff), não os documentos
      */
     protected void anexarComparacao(String esperado, String atual) {
+        if (pareceJson(esperado) && pareceJson(atual)) {
+            try {
+                anexarDiferencas(JsonDiff.padrao().comparar(esperado, atual));
+                return;
+            } catch (UncheckedIOException e) {
+                // começa como JSON mas não é válido: anexa os dois textos
+            }
+        }
         StringBuilder comparacao = new StringBuilder();
         comparacao.append("=== ESPERADO ===\n");
         comparacao.append(esperado).append("\n\n");
@@ -279,11 +230,37 @@ public class BaseTest {
         Allure.addAttachment("Comparação", "text/plain", comparacao.toString());
     }
 
+    /**
+     * Compara o esperado, serializado como JSON, com o corpo da resposta lido em streaming,
+     * e anexa as diferenças estruturais
+     */
+    protected JsonDiff.Resultado anexarComparacao(Object esperado, Response atual) {
+        byte[] json;
+        try {
+            json = MAPPER.writeValueAsBytes(esperado);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Esperado não serializável como JSON: " + esperado, e);
+        }
+        JsonDiff.Resultado resultado = JsonDiff.padrao()
+                .comparar(new ByteArrayInputStream(json), atual.getBody().asInputStream());
+        anexarDiferencas(resultado);
+        return resultado;
+    }
+
+    private static void anexarDiferencas(JsonDiff.Resultado resultado) {
+        Allure.addAttachment("Comparação", "text/plain", resultado.formatar());
+    }
+
+    private static boolean pareceJson(String texto) {
+        String inicio = texto == null ? "" : texto.stripLeading();
+        return inicio.startsWith("{") || inicio.startsWith("[");
+    }
+
     /**
      * Anexa dados em formato CSV
      */
-    @Attachment(value = "{fileName}", type = "text/csv")
     protected String anexarCSV(String fileName, String csvContent) {
+        Allure.addAttachment(fileName, "text/csv", csvContent, "csv");
         return csvContent;
     }
 
@@ -308,7 +285,7 @@ public class BaseTest {
     public void limparUsuariosCriados() {
         for (String userId : usuariosParaLimpar) {
             try {
-                usuarioService.excluirUsuario(userId);
+                usuarios().excluirUsuario(userId);
             } catch (Exception e) {
                 // Ignora erros de limpeza
             }
@@ -0,0 +1,127 @@
+package br.com.serverest.config;
+
+import br.com.serverest.http.InstrumentedHttpClient;
+import br.com.serverest.report.AllureHttpFilter;
+import br.com.serverest.report.ConnectionTimingFilter;
+import br.com.serverest.report.HttpUsageFilter;
+import br.com.serverest.report.LatencyHttpFilter;
+import br.com.serverest.report.TraceHttpFilter;
+import br.com.serverest.report.TraceRecorder;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.log.LogDetail;
+import io.restassured.http.ContentType;
+import io.restassured.mapper.ObjectMapperType;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inicialização global da suíte, executada uma única vez por JVM
+ * A instância é criada de forma preguiçosa e thread-safe (holder idiom): a primeira
+ * classe de teste ou o primeiro service a precisar dela paga o custo, as demais apenas leem.
+ * Configura os estáticos do RestAssured (baseURI, basePath, config, filtros) sem corrida
+ * entre classes executando em paralelo e sem acumular filtros do Allure.
+ * O tempo de inicialização entra nas métricas da execução (bootstrap.ms, ver
+ * ResumoExecucaoListener), junto com o ambiente do Allure.
+ */
+public final class GlobalSetup {
+
+    private final RequestSpecification requestSpec;
+    private final ResponseSpecification responseSpec;
+    private final long tempoInicializacaoNanos;
+
+    private static final class Holder {
+        private static final GlobalSetup INSTANCIA = new GlobalSetup();
+    }
+
+    private GlobalSetup() {
+        long inicio = System.nanoTime();
+        configureRestAssured();
+        requestSpec = setupRequestSpecification();
+        responseSpec = setupResponseSpecification();
+        tempoInicializacaoNanos = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Retorna a configuração global, inicializando-a na primeira chamada
+     */
+    public static GlobalSetup instancia() {
+        return Holder.INSTANCIA;
+    }
+
+    private static void configureRestAssured() {
+        RestAssured.baseURI = TestConfig.get("base.uri");
+        RestAssured.basePath = TestConfig.get("base.path");
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+
+        // Configurar ObjectMapper para usar Jackson e timeouts de conexão/leitura
+        // (sem timeout de leitura uma requisição travada nunca vira retentativa)
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .setParam("http.connection.timeout", TestConfig.getInt("connection.timeout", 10000))
+                .setParam("http.socket.timeout", TestConfig.getInt("socket.timeout", 10000));
+        // Cliente instrumentado por fase (DNS, conexão, TLS, TTFB, download)
+        if (TestConfig.getBoolean("http.timing.enabled", true)) {
+            int maximoConexoes = TestConfig.getInt("http.max.connections", 32);
+            httpClientConfig = httpClientConfig.httpClientFactory(() -> new InstrumentedHttpClient(maximoConexoes));
+        }
+        // Por padrão o RestAssured cria um cliente (e uma conexão) por requisição;
+        // reutilizando a instância, as conexões ficam no pool e o TLS é negociado uma vez
+        if (TestConfig.getBoolean("http.reuse.connections", false)) {
+            httpClientConfig = httpClientConfig.reuseHttpClientInstance();
+        }
+        RestAssured.config = RestAssuredConfig.config()
+                .objectMapperConfig(new ObjectMapperConfig(ObjectMapperType.JACKSON_2))
+                .httpClient(httpClientConfig);
+
+        // Filtros do Allure (requests/responses), de latência por endpoint e de uso de HTTP
+        // por teste, registrados uma única vez
+        RestAssured.filters(new AllureHttpFilter(), new LatencyHttpFilter(), new HttpUsageFilter());
+        if (TraceRecorder.isAtivo()) {
+            RestAssured.filters(new TraceHttpFilter());
+        }
+        if (TestConfig.getBoolean("http.timing.enabled", true)) {
+            RestAssured.filters(new ConnectionTimingFilter());
+        }
+    }
+
+    private static RequestSpecification setupRequestSpecification() {
+        RequestSpecBuilder reqBuilder = new RequestSpecBuilder();
+        reqBuilder.setContentType(ContentType.JSON);
+        reqBuilder.setAccept(ContentType.JSON);
+
+        if (TestConfig.getBoolean("enable.request.logging", false)) {
+            reqBuilder.log(LogDetail.ALL);
+        }
+
+        return reqBuilder.build();
+    }
+
+    private static ResponseSpecification setupResponseSpecification() {
+        ResponseSpecBuilder resBuilder = new ResponseSpecBuilder();
+        resBuilder.expectContentType(ContentType.JSON);
+
+        if (TestConfig.getBoolean("enable.response.logging", false)) {
+            resBuilder.log(LogDetail.ALL);
+        }
+
+        return resBuilder.build();
+    }
+
+    public RequestSpecification getRequestSpec() {
+        return requestSpec;
+    }
+
+    public ResponseSpecification getResponseSpec() {
+        return responseSpec;
+    }
+
+    public long getTempoInicializacaoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(tempoInicializacaoNanos);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.serverest.config;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Extensão JUnit que garante a inicialização global antes de qualquer classe de teste
+ * O GlobalSetup já é único por JVM (holder idiom); a extensão só antecipa a inicialização
+ * para antes do @BeforeAll da classe, fora do tempo de qualquer teste
+ */
+public class GlobalSetupExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        GlobalSetup.instancia();
+    }
+}
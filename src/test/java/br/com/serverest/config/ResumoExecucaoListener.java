@@ -0,0 +1,107 @@
+package br.com.serverest.config;
+
+import br.com.serverest.http.AdaptiveConcurrencyLimiter;
+import br.com.serverest.http.CircuitBreaker;
+import br.com.serverest.http.HedgePolicy;
+import br.com.serverest.http.ResponseCache;
+import br.com.serverest.http.RetryPolicy;
+import br.com.serverest.report.ConnectionTimings;
+import br.com.serverest.report.DeduplicatingResultsWriter;
+import br.com.serverest.report.FlakyTests;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.report.LatencyRegressionCheck;
+import br.com.serverest.report.ResultsSummary;
+import br.com.serverest.report.TraceRecorder;
+import br.com.serverest.selection.TestSelection;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Listener do JUnit Platform executado ao final da suíte
+ * Publica no console, em target/ e no environment.properties do Allure
+ * os resumos de execução do lado cliente
+ * Roda ao fim de cada passada do engine, inclusive as novas tentativas do Surefire: os
+ * arquivos são sobrescritos com os totais acumulados, então vale o da última passada
+ * Registrado via META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class ResumoExecucaoListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Path diretorio = Paths.get(TestConfig.get("reports.directory", "target/reports"));
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.global();
+        limiter.exportarHistorico(diretorio.resolve("concurrency-limiter.csv"));
+        System.out.println("[ServeRest] " + limiter.resumo());
+        if (!ConnectionTimings.isVazio()) {
+            ConnectionTimings.exportar(diretorio.resolve("connection-timings.csv"));
+            System.out.print("[ServeRest] Tempos de conexão por endpoint (média, ms):\n" + ConnectionTimings.resumo());
+        }
+        if (!HttpUsage.isVazio()) {
+            HttpUsage.exportar(diretorio.resolve("http-usage.csv"));
+            System.out.print("[ServeRest] Uso de HTTP por teste:\n" + HttpUsage.ranking(10));
+        }
+        FlakyTests instaveis = FlakyTests.global();
+        instaveis.salvar();
+        if (!instaveis.isVazio()) {
+            instaveis.exportar(diretorio.resolve("flakiness.txt"));
+            System.out.print("[ServeRest] Testes instáveis (recuperados em nova tentativa):\n" + instaveis.formatar(20));
+        }
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("bootstrap.ms", GlobalSetup.instancia().getTempoInicializacaoMs());
+        metricas.putAll(limiter.metricas());
+        metricas.putAll(RetryPolicy.global().metricas());
+        metricas.putAll(CircuitBreaker.global().metricas());
+        metricas.putAll(HedgePolicy.global().metricas());
+        metricas.putAll(HttpUsage.metricas());
+        metricas.putAll(instaveis.metricas());
+        metricas.putAll(LatencyRegressionCheck.metricas());
+        metricas.putAll(DeduplicatingResultsWriter.metricasGlobais());
+        if (TestConfig.getBoolean("cache.enabled", false)) {
+            metricas.putAll(ResponseCache.global().metricas());
+        }
+        if (TestSelection.global().isHabilitado()) {
+            metricas.putAll(TestSelection.global().metricas());
+        }
+        if (TraceRecorder.isAtivo()) {
+            metricas.putAll(TraceRecorder.metricas());
+        }
+        System.out.println("[ServeRest] Métricas: " + metricas);
+        escreverAmbienteAllure(metricas);
+        if (TestConfig.getBoolean("summary.enabled", true)) {
+            ResultsSummary resumo = ResultsSummary.padrao();
+            System.out.println("[ServeRest] Resumo dos resultados: " + resumo.atualizar().formatar()
+                    + " -> " + resumo.getSaida().resolve("index.html"));
+        }
+    }
+
+    /**
+     * Grava as métricas no environment.properties, exibido na página Overview do Allure
+     */
+    private void escreverAmbienteAllure(Map<String, Object> metricas) {
+        Path resultados = Paths.get(System.getProperty("allure.results.directory", "target/allure-results"));
+        FlakyTests.escreverCategoriasAllure(resultados);
+        Path arquivo = resultados.resolve("environment.properties");
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                writer.write("base.uri=" + TestConfig.get("base.uri") + "\n");
+                for (Map.Entry<String, Object> metrica : metricas.entrySet()) {
+                    writer.write(metrica.getKey() + "=" + metrica.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar environment.properties do Allure", e);
+        }
+    }
+}
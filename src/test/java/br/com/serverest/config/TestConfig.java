@@ -0,0 +1,71 @@
+package br.com.serverest.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Acesso centralizado ao config.properties
+ * O arquivo é carregado uma única vez por JVM e System properties (-Dchave=valor)
+ * têm precedência sobre os valores do arquivo
+ */
+public final class TestConfig {
+
+    private static final String ARQUIVO = "config.properties";
+
+    private TestConfig() {
+    }
+
+    private static final class Holder {
+        private static final Properties PROPRIEDADES = carregar();
+    }
+
+    private static Properties carregar() {
+        Properties propriedades = new Properties();
+        try (InputStream input = TestConfig.class.getClassLoader().getResourceAsStream(ARQUIVO)) {
+            if (input == null) {
+                throw new RuntimeException("Arquivo config.properties não encontrado");
+            }
+            propriedades.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao carregar configurações", e);
+        }
+        return propriedades;
+    }
+
+    /**
+     * Retorna as propriedades carregadas do arquivo (sem os overrides de System properties)
+     */
+    public static Properties propriedades() {
+        return Holder.PROPRIEDADES;
+    }
+
+    public static String get(String key) {
+        return System.getProperty(key, Holder.PROPRIEDADES.getProperty(key));
+    }
+
+    public static String get(String key, String valorPadrao) {
+        String valor = get(key);
+        return valor == null || valor.isBlank() ? valorPadrao : valor.trim();
+    }
+
+    public static int getInt(String key, int valorPadrao) {
+        String valor = get(key, null);
+        return valor == null ? valorPadrao : Integer.parseInt(valor);
+    }
+
+    public static long getLong(String key, long valorPadrao) {
+        String valor = get(key, null);
+        return valor == null ? valorPadrao : Long.parseLong(valor);
+    }
+
+    public static double getDouble(String key, double valorPadrao) {
+        String valor = get(key, null);
+        return valor == null ? valorPadrao : Double.parseDouble(valor);
+    }
+
+    public static boolean getBoolean(String key, boolean valorPadrao) {
+        String valor = get(key, null);
+        return valor == null ? valorPadrao : Boolean.parseBoolean(valor);
+    }
+}
@@ -0,0 +1,260 @@
+package br.com.serverest.http;
+
+import br.com.serverest.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limitador de concorrência adaptativo (AIMD) compartilhado por toda a JVM
+ * Enquanto o servidor responde bem o limite de requisições simultâneas cresce
+ * aditivamente (~1 por janela de limite); com 429/5xx, timeout ou latência acima
+ * do limiar ele é reduzido multiplicativamente, no máximo uma vez por "RTT"
+ * (só reduz respostas de requisições iniciadas após a última redução).
+ * Exceções sem resposta que não são timeout liberam a vaga sem mexer no limite.
+ * A fila de espera é justa (FIFO): quem chegou primeiro é atendido primeiro.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final int MAX_AMOSTRAS = 10_000;
+
+    private final boolean habilitado;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long limiarLatenciaNanos;
+    private final double fatorReducao;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition liberado = lock.newCondition();
+    private final long inicioNanos = System.nanoTime();
+    private final ArrayDeque<Amostra> historico = new ArrayDeque<>();
+
+    private double limite;
+    private int emVoo;
+    private int naFila;
+    private long ultimaReducaoNanos = Long.MIN_VALUE;
+
+    private long totalRequisicoes;
+    private long totalReducoes;
+    private long totalEsperaNanos;
+    private int maiorFila;
+    private int maiorLimite;
+
+    private static final class Holder {
+        private static final AdaptiveConcurrencyLimiter GLOBAL = new AdaptiveConcurrencyLimiter(
+                TestConfig.getBoolean("limiter.enabled", true),
+                TestConfig.getInt("limiter.initial", 4),
+                TestConfig.getInt("limiter.min", 1),
+                TestConfig.getInt("limiter.max", 32),
+                TestConfig.getLong("limiter.latency.threshold.ms", 3000),
+                TestConfig.getDouble("limiter.decrease.factor", 0.5));
+    }
+
+    public AdaptiveConcurrencyLimiter(boolean habilitado, int limiteInicial, int limiteMinimo,
+                                      int limiteMaximo, long limiarLatenciaMs, double fatorReducao) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Limites inválidos: min=" + limiteMinimo + ", max=" + limiteMaximo);
+        }
+        if (fatorReducao <= 0 || fatorReducao >= 1) {
+            throw new IllegalArgumentException("Fator de redução deve estar entre 0 e 1: " + fatorReducao);
+        }
+        this.habilitado = habilitado;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.limiarLatenciaNanos = TimeUnit.MILLISECONDS.toNanos(limiarLatenciaMs);
+        this.fatorReducao = fatorReducao;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+        this.maiorLimite = (int) limite;
+        registrarAmostra();
+    }
+
+    /**
+     * Instância única usada por todos os services da JVM
+     */
+    public static AdaptiveConcurrencyLimiter global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Executa a requisição respeitando o limite atual e realimenta o algoritmo
+     * com a latência e o status observados
+     */
+    public Response executar(Supplier<Response> requisicao) {
+        if (!habilitado) {
+            return requisicao.get();
+        }
+        long inicio = adquirir();
+        boolean sobrecarga = true;
+        boolean respondeu = false;
+        try {
+            Response response = requisicao.get();
+            long latencia = System.nanoTime() - inicio;
+            sobrecarga = HttpFailures.isSobrecarga(response.getStatusCode()) || latencia > limiarLatenciaNanos;
+            respondeu = true;
+            return response;
+        } catch (Throwable e) {
+            // o RestAssured (Groovy) propaga IOExceptions checadas sem encapsular
+            sobrecarga = HttpFailures.isTimeout(e);
+            throw e;
+        } finally {
+            liberar(inicio, sobrecarga, respondeu);
+        }
+    }
+
+    private long adquirir() {
+        long chegada = System.nanoTime();
+        lock.lock();
+        try {
+            naFila++;
+            maiorFila = Math.max(maiorFila, naFila);
+            try {
+                while (emVoo >= (int) limite) {
+                    liberado.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrompido aguardando permissão do limitador de concorrência", e);
+            } finally {
+                naFila--;
+            }
+            emVoo++;
+            totalRequisicoes++;
+            long agora = System.nanoTime();
+            totalEsperaNanos += agora - chegada;
+            return agora;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void liberar(long inicio, boolean sobrecarga, boolean respondeu) {
+        lock.lock();
+        try {
+            int limiteAnterior = (int) limite;
+            if (sobrecarga) {
+                if (inicio > ultimaReducaoNanos && limite > limiteMinimo) {
+                    limite = Math.max(limiteMinimo, limite * fatorReducao);
+                    ultimaReducaoNanos = System.nanoTime();
+                    totalReducoes++;
+                }
+            } else if (respondeu && emVoo * 2 >= limite) {
+                // só cresce quando o limite atual está de fato sendo utilizado
+                limite = Math.min(limiteMaximo, limite + 1.0 / limite);
+            }
+            emVoo--;
+            maiorLimite = Math.max(maiorLimite, (int) limite);
+            if ((int) limite != limiteAnterior) {
+                registrarAmostra();
+            }
+            liberado.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarAmostra() {
+        if (historico.size() == MAX_AMOSTRAS) {
+            historico.removeFirst();
+        }
+        historico.addLast(new Amostra(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos), (int) limite, emVoo, naFila));
+    }
+
+    /**
+     * Limite atual de requisições simultâneas
+     */
+    public int getLimite() {
+        lock.lock();
+        try {
+            return (int) limite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evolução do limite ao longo da execução (uma amostra por mudança de nível)
+     */
+    public List<Amostra> getHistorico() {
+        lock.lock();
+        try {
+            return new ArrayList<>(historico);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resumo textual para console e relatório
+     */
+    public String resumo() {
+        lock.lock();
+        try {
+            double esperaMediaMs = totalRequisicoes == 0 ? 0
+                    : TimeUnit.NANOSECONDS.toMicros(totalEsperaNanos) / 1000.0 / totalRequisicoes;
+            return String.format(
+                    "Limitador AIMD: %d requisições, limite final %d (máx. %d, faixa %d-%d), "
+                            + "%d reduções, maior fila %d, espera média %.2f ms",
+                    totalRequisicoes, (int) limite, maiorLimite, limiteMinimo, limiteMaximo,
+                    totalReducoes, maiorFila, esperaMediaMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Contadores para o relatório
+     */
+    public Map<String, Object> metricas() {
+        lock.lock();
+        try {
+            Map<String, Object> metricas = new LinkedHashMap<>();
+            metricas.put("limiter.requisicoes", totalRequisicoes);
+            metricas.put("limiter.limite.final", (int) limite);
+            metricas.put("limiter.limite.maximo", maiorLimite);
+            metricas.put("limiter.reducoes", totalReducoes);
+            metricas.put("limiter.maior.fila", maiorFila);
+            return metricas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Exporta o histórico do limite em CSV (tempo_ms,limite,em_voo,fila)
+     */
+    public void exportarHistorico(Path arquivo) {
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                writer.write("tempo_ms,limite,em_voo,fila\n");
+                for (Amostra amostra : getHistorico()) {
+                    writer.write(amostra.tempoMs() + "," + amostra.limite() + ","
+                            + amostra.emVoo() + "," + amostra.fila() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar histórico do limitador", e);
+        }
+    }
+
+    /**
+     * Nível de concorrência em um instante da execução
+     */
+    public record Amostra(long tempoMs, int limite, int emVoo, int fila) {
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.serverest.http;
+
+import br.com.serverest.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker compartilhado por toda a JVM
+ * Após N falhas consecutivas (erro de rede, timeout ou 5xx) o circuito abre e todas as
+ * requisições falham imediatamente com CircuitBreakerOpenException, sem ir à rede.
+ * Passado o tempo de abertura, uma única requisição de sonda é liberada (meio-aberto):
+ * se tiver sucesso o circuito fecha, senão volta a abrir.
+ * Uma exceção que não é de rede (asserção, erro de serialização, cancelamento do hedge)
+ * não diz nada sobre o servidor: é neutra, não zera as falhas nem fecha o circuito,
+ * e uma sonda que termina assim apenas libera a vaga para a próxima sonda.
+ */
+public final class CircuitBreaker {
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private enum Resultado { SUCESSO, FALHA, NEUTRO }
+
+    private final boolean habilitado;
+    private final int limiteFalhas;
+    private final long tempoAbertoNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoDesdeNanos;
+    private boolean sondaEmAndamento;
+
+    private final LongAdder aberturas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    private static final class Holder {
+        private static final CircuitBreaker GLOBAL = new CircuitBreaker(
+                TestConfig.getBoolean("circuit.enabled", true),
+                TestConfig.getInt("circuit.failure.threshold", 5),
+                TestConfig.getLong("circuit.open.ms", 10_000));
+    }
+
+    public CircuitBreaker(boolean habilitado, int limiteFalhas, long tempoAbertoMs) {
+        this.habilitado = habilitado;
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAbertoNanos = TimeUnit.MILLISECONDS.toNanos(tempoAbertoMs);
+    }
+
+    /**
+     * Instância única usada por todos os services da JVM
+     */
+    public static CircuitBreaker global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Executa a requisição se o circuito permitir e registra o resultado
+     */
+    public Response executar(Supplier<Response> requisicao) {
+        if (!habilitado) {
+            return requisicao.get();
+        }
+        boolean sonda = permitir();
+        Resultado resultado = Resultado.FALHA;
+        try {
+            Response response = requisicao.get();
+            resultado = response.getStatusCode() >= 500 ? Resultado.FALHA : Resultado.SUCESSO;
+            return response;
+        } catch (Throwable e) {
+            resultado = HttpFailures.isFalhaDeRede(e) ? Resultado.FALHA : Resultado.NEUTRO;
+            throw e;
+        } finally {
+            registrar(sonda, resultado);
+        }
+    }
+
+    private synchronized boolean permitir() {
+        if (estado == Estado.ABERTO && System.nanoTime() - abertoDesdeNanos >= tempoAbertoNanos) {
+            estado = Estado.MEIO_ABERTO;
+        }
+        if (estado == Estado.FECHADO) {
+            return false;
+        }
+        if (estado == Estado.MEIO_ABERTO && !sondaEmAndamento) {
+            sondaEmAndamento = true;
+            return true;
+        }
+        rejeitadas.increment();
+        throw new CircuitBreakerOpenException(String.format(
+                "Circuit breaker %s após %d falhas consecutivas: requisição rejeitada sem envio",
+                estado, falhasConsecutivas));
+    }
+
+    private synchronized void registrar(boolean sonda, Resultado resultado) {
+        if (sonda) {
+            sondaEmAndamento = false;
+        }
+        if (resultado == Resultado.NEUTRO) {
+            return;
+        }
+        if (resultado == Resultado.SUCESSO) {
+            falhasConsecutivas = 0;
+            estado = Estado.FECHADO;
+            return;
+        }
+        falhasConsecutivas++;
+        if (sonda || (estado == Estado.FECHADO && falhasConsecutivas >= limiteFalhas)) {
+            estado = Estado.ABERTO;
+            abertoDesdeNanos = System.nanoTime();
+            aberturas.increment();
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Contadores para o relatório
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("circuit.estado", getEstado());
+        metricas.put("circuit.aberturas", aberturas.sum());
+        metricas.put("circuit.rejeitadas", rejeitadas.sum());
+        return metricas;
+    }
+}
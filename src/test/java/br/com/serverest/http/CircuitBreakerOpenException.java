@@ -0,0 +1,13 @@
+package br.com.serverest.http;
+
+/**
+ * Lançada quando o circuit breaker está aberto e a requisição não chega a ser enviada
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
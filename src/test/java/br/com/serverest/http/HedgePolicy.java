@@ -0,0 +1,252 @@
+package br.com.serverest.http;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.report.ConnectionTimings;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.report.LatencyRecorder;
+import br.com.serverest.report.MannWhitney;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de leituras idempotentes (GET) para cortar a cauda de latência
+ * Se a resposta não chega dentro do percentil observado do endpoint (p95 por padrão,
+ * a partir do LatencyRecorder), uma requisição duplicada é enviada e a primeira resposta
+ * vence. A perdedora é cancelada interrompendo a sua virtual thread: no JDK 21 isso fecha o
+ * socket em que ela está bloqueada, em conexão nova ou reaproveitada do pool, e o HttpClient
+ * descarta a conexão em vez de devolvê-la ao pool. O socket criado pelo InstrumentedHttpClient
+ * também é fechado diretamente, o que cobre o cancelamento ainda durante a conexão.
+ * A carga extra é limitada: no máximo proporcaoMaxima hedges por requisição elegível,
+ * sem exceção para a primeira (com proporção 0.10 o primeiro hedge sai na 10ª elegível).
+ * Endpoints com menos de minimoAmostras no histórico não recebem hedge.
+ * As tentativas rodam em virtual threads, que herdam o contexto do Allure do teste.
+ */
+public final class HedgePolicy {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("hedge-", 0).factory());
+    private static final ThreadLocal<Tentativa> TENTATIVA = new ThreadLocal<>();
+
+    private final boolean habilitado;
+    private final double percentil;
+    private final long atrasoMinimoNanos;
+    private final int minimoAmostras;
+    private final double proporcaoMaxima;
+    private final Function<String, double[]> historico;
+
+    private long elegiveis;
+    private long enviados;
+    private final LongAdder vencedores = new LongAdder();
+    private final LongAdder negados = new LongAdder();
+
+    private static final class Holder {
+        private static final HedgePolicy GLOBAL = new HedgePolicy(
+                TestConfig.getBoolean("hedge.enabled", false),
+                TestConfig.getDouble("hedge.percentile", 0.95),
+                TestConfig.getLong("hedge.min.delay.ms", 50),
+                TestConfig.getInt("hedge.min.samples", 20),
+                TestConfig.getDouble("hedge.max.ratio", 0.10),
+                LatencyRecorder::amostras);
+    }
+
+    /**
+     * @param historico latências observadas do endpoint, em ms, pela chave "GET /path"
+     */
+    public HedgePolicy(boolean habilitado, double percentil, long atrasoMinimoMs, int minimoAmostras,
+                       double proporcaoMaxima, Function<String, double[]> historico) {
+        if (percentil <= 0 || percentil >= 1) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 1: " + percentil);
+        }
+        this.habilitado = habilitado;
+        this.percentil = percentil;
+        this.atrasoMinimoNanos = TimeUnit.MILLISECONDS.toNanos(atrasoMinimoMs);
+        this.minimoAmostras = minimoAmostras;
+        this.proporcaoMaxima = proporcaoMaxima;
+        this.historico = historico;
+    }
+
+    /**
+     * Instância única usada por todos os services da JVM
+     */
+    public static HedgePolicy global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Executa a leitura, duplicando-a se passar do percentil do endpoint
+     */
+    public Response executar(String chave, Supplier<Response> requisicao) {
+        if (!habilitado) {
+            return requisicao.get();
+        }
+        long atraso = atrasoNanos(chave);
+        if (atraso < 0) {
+            return requisicao.get();
+        }
+        synchronized (this) {
+            elegiveis++;
+        }
+        CompletionService<Response> conclusao = new ExecutorCompletionService<>(EXECUTOR);
+        Tentativa primaria = new Tentativa(conclusao, requisicao);
+        Tentativa hedge = null;
+        try {
+            Future<Response> pronta = conclusao.poll(atraso, TimeUnit.NANOSECONDS);
+            if (pronta != null) {
+                return resultado(pronta);
+            }
+            if (!reservar()) {
+                negados.increment();
+                return resultado(primaria.futuro);
+            }
+            hedge = new Tentativa(conclusao, HttpUsage.comoRepeticao(requisicao));
+            Allure.step(String.format("Hedge: %s sem resposta após %d ms, requisição duplicada enviada",
+                    chave, TimeUnit.NANOSECONDS.toMillis(atraso)));
+
+            pronta = conclusao.take();
+            if (falhou(pronta)) {
+                // a primeira a terminar falhou: a outra ainda pode responder
+                pronta = conclusao.take();
+                if (falhou(pronta)) {
+                    return resultado(primaria.futuro);
+                }
+            }
+            if (pronta == hedge.futuro) {
+                vencedores.increment();
+                primaria.cancelar();
+            } else {
+                hedge.cancelar();
+            }
+            return resultado(pronta);
+        } catch (InterruptedException e) {
+            primaria.cancelar();
+            if (hedge != null) {
+                hedge.cancelar();
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido aguardando requisição com hedge: " + chave, e);
+        }
+    }
+
+    /**
+     * Atraso antes do hedge, ou -1 quando o endpoint ainda não tem histórico suficiente
+     */
+    long atrasoNanos(String chave) {
+        double[] amostras = historico.apply(chave);
+        if (amostras.length < minimoAmostras) {
+            return -1;
+        }
+        long percentilNanos = (long) (MannWhitney.percentil(amostras, percentil) * 1_000_000);
+        return Math.max(atrasoMinimoNanos, percentilNanos);
+    }
+
+    private synchronized boolean reservar() {
+        if (enviados + 1 > proporcaoMaxima * elegiveis) {
+            return false;
+        }
+        enviados++;
+        return true;
+    }
+
+    private static boolean falhou(Future<Response> futuro) {
+        try {
+            futuro.get();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    private static Response resultado(Future<Response> futuro) throws InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            // o RestAssured lança IOException sem declarar; a exceção original é repassada intacta
+            throw HedgePolicy.<RuntimeException>relancar(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E relancar(Throwable erro) throws E {
+        throw (E) erro;
+    }
+
+    /**
+     * Chamado pelo InstrumentedHttpClient ao criar o socket de uma tentativa
+     */
+    static void registrarSocket(Socket socket) {
+        Tentativa tentativa = TENTATIVA.get();
+        if (tentativa != null) {
+            tentativa.socket = socket;
+            if (tentativa.cancelada) {
+                fechar(socket);
+            }
+        }
+    }
+
+    private static void fechar(Socket socket) {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // a tentativa já foi descartada, erro ao fechar não muda o resultado
+            }
+        }
+    }
+
+    /**
+     * Contadores para o relatório
+     */
+    public synchronized Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("hedge.elegiveis", elegiveis);
+        metricas.put("hedge.enviados", enviados);
+        metricas.put("hedge.vencedores", vencedores.sum());
+        metricas.put("hedge.negados", negados.sum());
+        return metricas;
+    }
+
+    /**
+     * Uma cópia da requisição em voo, cancelável pelo socket
+     */
+    private static final class Tentativa {
+        private final Future<Response> futuro;
+        private volatile Socket socket;
+        private volatile boolean cancelada;
+
+        private Tentativa(CompletionService<Response> conclusao, Supplier<Response> requisicao) {
+            Supplier<Response> doTeste = HttpUsage.propagarTeste(ConnectionTimings.propagarTeste(requisicao));
+            this.futuro = conclusao.submit(() -> {
+                TENTATIVA.set(this);
+                try {
+                    return doTeste.get();
+                } finally {
+                    TENTATIVA.remove();
+                }
+            });
+        }
+
+        private void cancelar() {
+            cancelada = true;
+            fechar(socket);
+            futuro.cancel(true);
+        }
+    }
+}
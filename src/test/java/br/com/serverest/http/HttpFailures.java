@@ -0,0 +1,52 @@
+package br.com.serverest.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * Classificação de falhas HTTP usada pelas políticas do lado cliente
+ */
+public final class HttpFailures {
+
+    private HttpFailures() {
+    }
+
+    /**
+     * Indica se o status representa sobrecarga do servidor (429 ou 5xx)
+     */
+    public static boolean isSobrecarga(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Indica se o status representa falha transitória de gateway (502, 503 ou 504)
+     */
+    public static boolean isGatewayTransitorio(int statusCode) {
+        return statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Indica se a exceção (ou alguma causa) é um timeout de conexão ou de leitura
+     * SocketTimeoutException e ConnectTimeoutException estendem InterruptedIOException
+     */
+    public static boolean isTimeout(Throwable erro) {
+        for (Throwable atual = erro; atual != null; atual = atual.getCause()) {
+            if (atual instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica se a exceção (ou alguma causa) é uma falha de rede (IOException)
+     */
+    public static boolean isFalhaDeRede(Throwable erro) {
+        for (Throwable atual = erro; atual != null; atual = atual.getCause()) {
+            if (atual instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
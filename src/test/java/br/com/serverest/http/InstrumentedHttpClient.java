@@ -0,0 +1,216 @@
+package br.com.serverest.http;
+
+import br.com.serverest.report.ConnectionTimings;
+import br.com.serverest.report.ConnectionTimings.Fase;
+import br.com.serverest.report.ConnectionTimings.Troca;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Cliente HTTP do RestAssured instrumentado por fase (ver ConnectionTimings)
+ * Mesmo DefaultHttpClient que o RestAssured cria por padrão, com quatro pontos de medição:
+ * resolvedor de DNS, fábrica de sockets (conexão TCP e, em https, handshake TLS separado),
+ * executor de requisições (envio até o cabeçalho da resposta = TTFB) e o corpo da
+ * resposta (leitura até o fim do stream = download).
+ * Usa pool de conexões para poder ser compartilhado entre threads quando
+ * http.reuse.connections=true; caso contrário o RestAssured cria um cliente por requisição.
+ * Um SSLConfig customizado no RestAssured substitui o esquema https e desliga a medição de TLS.
+ * Os sockets criados aqui também permitem ao HedgePolicy cancelar a tentativa perdedora.
+ */
+@SuppressWarnings("deprecation")
+public final class InstrumentedHttpClient extends DefaultHttpClient {
+
+    private final int maximoConexoes;
+
+    public InstrumentedHttpClient(int maximoConexoes) {
+        this.maximoConexoes = maximoConexoes;
+        addResponseInterceptor((response, context) -> {
+            Troca troca = ConnectionTimings.atual();
+            if (troca != null && response.getEntity() != null) {
+                response.setEntity(new CorpoMedido(response.getEntity(), troca));
+            }
+        });
+    }
+
+    @Override
+    protected ClientConnectionManager createClientConnectionManager() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, new SocketsMedidos()));
+        registry.register(new Scheme("https", 443, new SocketsTlsMedidos()));
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(registry, new DnsMedido());
+        manager.setMaxTotal(maximoConexoes);
+        manager.setDefaultMaxPerRoute(maximoConexoes);
+        return manager;
+    }
+
+    @Override
+    protected HttpRequestExecutor createRequestExecutor() {
+        return new HttpRequestExecutor() {
+            @Override
+            public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                    throws IOException, HttpException {
+                long inicio = System.nanoTime();
+                try {
+                    return super.execute(request, conn, context);
+                } finally {
+                    ConnectionTimings.registrar(Fase.TTFB, System.nanoTime() - inicio);
+                }
+            }
+        };
+    }
+
+    private static final class DnsMedido implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws java.net.UnknownHostException {
+            long inicio = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                ConnectionTimings.registrar(Fase.DNS, System.nanoTime() - inicio);
+            }
+        }
+    }
+
+    /**
+     * Conecta o socket TCP medindo o tempo de conexão
+     */
+    private static class SocketsMedidos implements SchemeSocketFactory {
+        private final PlainSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            Socket socket = plain.createSocket(params);
+            HedgePolicy.registrarSocket(socket);
+            return socket;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoto, InetSocketAddress local,
+                                    HttpParams params) throws IOException, ConnectTimeoutException {
+            long inicio = System.nanoTime();
+            try {
+                return plain.connectSocket(socket, remoto, local, params);
+            } finally {
+                ConnectionTimings.registrar(Fase.CONEXAO, System.nanoTime() - inicio);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return false;
+        }
+    }
+
+    /**
+     * Em https, conecta o socket TCP e faz o handshake TLS em uma segunda etapa,
+     * para que conexão e TLS sejam medidos separadamente
+     */
+    private static final class SocketsTlsMedidos extends SocketsMedidos implements SchemeLayeredSocketFactory {
+        private final SSLSocketFactory tls = SSLSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoto, InetSocketAddress local,
+                                    HttpParams params) throws IOException, ConnectTimeoutException {
+            Socket conectado = super.connectSocket(socket, remoto, local, params);
+            String host = remoto instanceof HttpInetSocketAddress endereco
+                    ? endereco.getHttpHost().getHostName()
+                    : remoto.getHostName();
+            return createLayeredSocket(conectado, host, remoto.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String host, int porta, HttpParams params)
+                throws IOException {
+            long inicio = System.nanoTime();
+            try {
+                // o SSLSocketFactory faz o handshake e a verificação do hostname aqui
+                return tls.createLayeredSocket(socket, host, porta, params);
+            } finally {
+                ConnectionTimings.registrar(Fase.TLS, System.nanoTime() - inicio);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return tls.isSecure(socket);
+        }
+    }
+
+    /**
+     * Corpo da resposta que mede do primeiro acesso até o fim (ou fechamento) do stream
+     */
+    private static final class CorpoMedido extends HttpEntityWrapper {
+        private final Troca troca;
+
+        private CorpoMedido(HttpEntity entity, Troca troca) {
+            super(entity);
+            this.troca = troca;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            long inicio = System.nanoTime();
+            return new FilterInputStream(super.getContent()) {
+                private boolean medido;
+
+                @Override
+                public int read() throws IOException {
+                    int lido = super.read();
+                    if (lido < 0) {
+                        concluir();
+                    }
+                    return lido;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int lidos = super.read(b, off, len);
+                    if (lidos < 0) {
+                        concluir();
+                    }
+                    return lidos;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    concluir();
+                    super.close();
+                }
+
+                private void concluir() {
+                    if (!medido) {
+                        medido = true;
+                        troca.adicionar(Fase.DOWNLOAD, System.nanoTime() - inicio);
+                    }
+                }
+            };
+        }
+    }
+}
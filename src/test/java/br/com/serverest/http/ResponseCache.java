@@ -0,0 +1,154 @@
+package br.com.serverest.http;
+
+import br.com.serverest.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura (read-through) para GETs, com invalidação estrita nas escritas
+ * - LRU limitado a maximoEntradas, cada entrada expira após o TTL
+ * - GETs idênticos simultâneos viram uma única requisição (single-flight): quem chega
+ *   depois aguarda a resposta de quem já está em voo
+ * - invalidar() descarta todas as entradas e as requisições em voo; uma resposta que
+ *   chega depois de uma invalidação não é guardada (contador de geração), então nenhum
+ *   GET iniciado antes de uma escrita repovoa o cache com dados anteriores a ela
+ * Só respostas 200 são guardadas.
+ */
+public class ResponseCache {
+
+    private final int maximoEntradas;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final Map<String, Entrada> entradas;
+    private final Map<String, CompletableFuture<Response>> emVoo = new ConcurrentHashMap<>();
+    private long geracao;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    private record Entrada(Response response, long expiraEm) {
+    }
+
+    public ResponseCache(int maximoEntradas, long ttlMs) {
+        this(maximoEntradas, ttlMs, System::nanoTime);
+    }
+
+    public ResponseCache(int maximoEntradas, long ttlMs, LongSupplier relogioNanos) {
+        this.maximoEntradas = maximoEntradas;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.relogio = relogioNanos;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > ResponseCache.this.maximoEntradas;
+            }
+        };
+    }
+
+    private static final class Holder {
+        private static final ResponseCache GLOBAL = new ResponseCache(
+                TestConfig.getInt("cache.max.entries", 256),
+                TestConfig.getLong("cache.ttl.ms", 5000));
+    }
+
+    /**
+     * Cache compartilhado pelos services da JVM (ativado com cache.enabled=true)
+     */
+    public static ResponseCache global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Retorna a resposta em cache ou executa a requisição, coalescendo chamadas simultâneas
+     */
+    public Response obter(String chave, Supplier<Response> requisicao) {
+        long geracaoInicial;
+        synchronized (this) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null && entrada.expiraEm() - relogio.getAsLong() > 0) {
+                acertos.incrementAndGet();
+                return entrada.response();
+            }
+            if (entrada != null) {
+                entradas.remove(chave);
+            }
+            geracaoInicial = geracao;
+        }
+
+        CompletableFuture<Response> minha = new CompletableFuture<>();
+        CompletableFuture<Response> existente = emVoo.putIfAbsent(chave, minha);
+        if (existente != null) {
+            coalescidas.incrementAndGet();
+            return aguardar(existente);
+        }
+        faltas.incrementAndGet();
+        try {
+            Response response = requisicao.get();
+            if (response.getStatusCode() == 200) {
+                // lê o corpo agora: a mesma resposta será lida por vários chamadores
+                response.asByteArray();
+                guardar(chave, response, geracaoInicial);
+            }
+            minha.complete(response);
+            return response;
+        } catch (Throwable e) {
+            minha.completeExceptionally(e);
+            throw e;
+        } finally {
+            emVoo.remove(chave, minha);
+        }
+    }
+
+    /**
+     * Descarta entradas e requisições em voo; chamado antes e depois de cada escrita
+     */
+    public synchronized void invalidar() {
+        geracao++;
+        entradas.clear();
+        emVoo.clear();
+        invalidacoes.incrementAndGet();
+    }
+
+    private synchronized void guardar(String chave, Response response, long geracaoInicial) {
+        if (geracao == geracaoInicial) {
+            entradas.put(chave, new Entrada(response, relogio.getAsLong() + ttlNanos));
+        }
+    }
+
+    private static Response aguardar(CompletableFuture<Response> emAndamento) {
+        try {
+            return emAndamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("cache.acertos", acertos.get());
+        metricas.put("cache.faltas", faltas.get());
+        metricas.put("cache.coalescidas", coalescidas.get());
+        metricas.put("cache.invalidacoes", invalidacoes.get());
+        return metricas;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.serverest.http;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.report.HttpUsage;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Política de retentativa para operações idempotentes (GET, PUT, DELETE)
+ * Retenta apenas timeouts de conexão/leitura e respostas 502/503/504, com backoff
+ * "decorrelated jitter": espera = min(teto, aleatório(base, espera_anterior * 3)).
+ * Cada retentativa é registrada como step no Allure do teste corrente.
+ */
+public final class RetryPolicy {
+
+    private final boolean habilitado;
+    private final int maxTentativas;
+    private final long esperaBaseMs;
+    private final long esperaMaximaMs;
+
+    private final LongAdder retentativas = new LongAdder();
+    private final LongAdder recuperadas = new LongAdder();
+    private final LongAdder esgotadas = new LongAdder();
+
+    private static final class Holder {
+        private static final RetryPolicy GLOBAL = new RetryPolicy(
+                TestConfig.getBoolean("retry.enabled", true),
+                TestConfig.getInt("retry.max.attempts", 3),
+                TestConfig.getLong("retry.base.delay.ms", 100),
+                TestConfig.getLong("retry.max.delay.ms", 2000));
+    }
+
+    public RetryPolicy(boolean habilitado, int maxTentativas, long esperaBaseMs, long esperaMaximaMs) {
+        if (maxTentativas < 1) {
+            throw new IllegalArgumentException("Número de tentativas deve ser ao menos 1: " + maxTentativas);
+        }
+        this.habilitado = habilitado;
+        this.maxTentativas = maxTentativas;
+        this.esperaBaseMs = esperaBaseMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    /**
+     * Instância única usada por todos os services da JVM
+     */
+    public static RetryPolicy global() {
+        return Holder.GLOBAL;
+    }
+
+    /**
+     * Executa a requisição idempotente retentando falhas transitórias
+     */
+    public Response executar(Supplier<Response> requisicao) {
+        if (!habilitado) {
+            return requisicao.get();
+        }
+        long espera = esperaBaseMs;
+        for (int tentativa = 1; ; tentativa++) {
+            String motivo;
+            try {
+                Response response = tentativa == 1 ? requisicao.get() : HttpUsage.comoRepeticao(requisicao).get();
+                if (!HttpFailures.isGatewayTransitorio(response.getStatusCode())) {
+                    if (tentativa > 1) {
+                        recuperadas.increment();
+                    }
+                    return response;
+                }
+                if (tentativa == maxTentativas) {
+                    esgotadas.increment();
+                    return response;
+                }
+                motivo = "status " + response.getStatusCode();
+            } catch (CircuitBreakerOpenException e) {
+                throw e;
+            } catch (Throwable e) {
+                if (!HttpFailures.isTimeout(e)) {
+                    throw e;
+                }
+                if (tentativa == maxTentativas) {
+                    esgotadas.increment();
+                    throw e;
+                }
+                motivo = e.getClass().getSimpleName();
+            }
+            espera = Math.min(esperaMaximaMs,
+                    ThreadLocalRandom.current().nextLong(esperaBaseMs, Math.max(esperaBaseMs, espera * 3) + 1));
+            retentativas.increment();
+            Allure.step(String.format("Retentativa %d/%d após %s (backoff %d ms)",
+                    tentativa + 1, maxTentativas, motivo, espera));
+            aguardar(espera);
+        }
+    }
+
+    private static void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido durante o backoff de retentativa", e);
+        }
+    }
+
+    /**
+     * Contadores para o relatório
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("retry.retentativas", retentativas.sum());
+        metricas.put("retry.recuperadas", recuperadas.sum());
+        metricas.put("retry.esgotadas", esgotadas.sum());
+        return metricas;
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.serverest.load;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Histograma de latência log-linear, em microssegundos, que pode ser somado entre JVMs
+ * Abaixo de 128 µs cada microssegundo tem o próprio bucket; acima, cada potência de dois
+ * é dividida em 64 buckets (erro relativo de até 1,6%), até 2^40 µs. Ao contrário das
+ * amostras do LatencyRecorder, ocupa sempre o mesmo espaço, então os workers enviam o
+ * histograma ao coordenador em vez das amostras e os percentis saem da soma de todos.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 64;
+    private static final int BITS_MAXIMO = 40;
+    private static final long MAXIMO_MICROS = (1L << BITS_MAXIMO) - 1;
+    private static final int BUCKETS = indice(MAXIMO_MICROS) + 1;
+
+    private final long[] contagens = new long[BUCKETS];
+    private long total;
+    private long somaMicros;
+    private long maximoMicros;
+
+    public synchronized void registrar(long nanos) {
+        long micros = Math.min(MAXIMO_MICROS, Math.max(0, nanos / 1_000));
+        contagens[indice(micros)]++;
+        total++;
+        somaMicros += micros;
+        maximoMicros = Math.max(maximoMicros, micros);
+    }
+
+    /**
+     * Soma as contagens de outro histograma neste
+     */
+    public void mesclar(LatencyHistogram outro) {
+        long[] copia;
+        long totalOutro;
+        long somaOutro;
+        long maximoOutro;
+        synchronized (outro) {
+            copia = outro.contagens.clone();
+            totalOutro = outro.total;
+            somaOutro = outro.somaMicros;
+            maximoOutro = outro.maximoMicros;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                contagens[i] += copia[i];
+            }
+            total += totalOutro;
+            somaMicros += somaOutro;
+            maximoMicros = Math.max(maximoMicros, maximoOutro);
+        }
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized double getMediaMillis() {
+        return total == 0 ? 0 : somaMicros / (double) total / 1_000.0;
+    }
+
+    public synchronized double getMaximoMillis() {
+        return maximoMicros / 1_000.0;
+    }
+
+    /**
+     * Percentil em milissegundos (ponto médio do bucket, limitado ao máximo observado)
+     *
+     * @param percentil de 0 a 100
+     */
+    public synchronized double percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(pontoMedio(i), maximoMicros) / 1_000.0;
+            }
+        }
+        return maximoMicros / 1_000.0;
+    }
+
+    /**
+     * Grava só os buckets com contagem, para o envio do worker ao coordenador
+     */
+    public synchronized void escrever(DataOutput saida) throws IOException {
+        saida.writeLong(total);
+        saida.writeLong(somaMicros);
+        saida.writeLong(maximoMicros);
+        int preenchidos = 0;
+        for (long contagem : contagens) {
+            if (contagem > 0) {
+                preenchidos++;
+            }
+        }
+        saida.writeInt(preenchidos);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (contagens[i] > 0) {
+                saida.writeShort(i);
+                saida.writeLong(contagens[i]);
+            }
+        }
+    }
+
+    public static LatencyHistogram ler(DataInput entrada) throws IOException {
+        LatencyHistogram histograma = new LatencyHistogram();
+        histograma.total = entrada.readLong();
+        histograma.somaMicros = entrada.readLong();
+        histograma.maximoMicros = entrada.readLong();
+        int preenchidos = entrada.readInt();
+        for (int i = 0; i < preenchidos; i++) {
+            int bucket = entrada.readUnsignedShort();
+            if (bucket >= BUCKETS) {
+                throw new IOException("Bucket de histograma inválido: " + bucket);
+            }
+            histograma.contagens[bucket] = entrada.readLong();
+        }
+        return histograma;
+    }
+
+    /**
+     * n, média, p50, p90, p99 e máximo em milissegundos
+     */
+    public synchronized String formatar() {
+        return String.format(Locale.ROOT, "n=%d média=%.1f p50=%.1f p90=%.1f p99=%.1f max=%.1f ms",
+                total, getMediaMillis(), percentil(50), percentil(90), percentil(99), getMaximoMillis());
+    }
+
+    private static int indice(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(micros) - 6;
+        return expoente * SUB_BUCKETS + (int) (micros >>> expoente);
+    }
+
+    private static long pontoMedio(int indice) {
+        if (indice < 2 * SUB_BUCKETS) {
+            return indice;
+        }
+        int expoente = indice / SUB_BUCKETS - 1;
+        long mantissa = indice % SUB_BUCKETS + SUB_BUCKETS;
+        return (mantissa << expoente) + (1L << expoente) / 2;
+    }
+}
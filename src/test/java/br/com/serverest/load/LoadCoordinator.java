@@ -0,0 +1,222 @@
+package br.com.serverest.load;
+
+import br.com.serverest.config.TestConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Coordenador da carga distribuída entre JVMs, na mesma máquina ou em várias
+ * Espera os workers se conectarem (ver LoadWorker), divide os usuários virtuais entre
+ * eles, combina um instante de início comum depois que todos prepararam o cenário e
+ * junta contadores e histogramas de todos em um único relatório. Não depende de nenhum
+ * serviço externo: só TCP entre as JVMs.
+ * Uso: java -cp ... br.com.serverest.load.LoadCoordinator, com as chaves load.* do
+ * config.properties; load.local.workers inicia os workers nesta máquina.
+ */
+public final class LoadCoordinator implements AutoCloseable {
+
+    private final ServerSocket servidor;
+
+    /**
+     * Parâmetros da carga como um todo
+     *
+     * @param usuarios       usuários virtuais somando todos os workers
+     * @param pausaMs        pausa de cada usuário entre iterações
+     * @param atrasoInicioMs folga entre o aviso de início e o início, para todos o receberem a tempo
+     */
+    public record Plano(String cenario, int usuarios, long duracaoMs, long pausaMs, long atrasoInicioMs) {
+
+        public Plano {
+            if (usuarios < 1 || duracaoMs < 1 || pausaMs < 0 || atrasoInicioMs < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Plano de carga inválido: %d usuários, %d ms, pausa %d ms, atraso %d ms",
+                        usuarios, duracaoMs, pausaMs, atrasoInicioMs));
+            }
+        }
+
+        /**
+         * Plano com as chaves load.* do config.properties
+         */
+        public static Plano configurado() {
+            return new Plano(TestConfig.get("load.scenario", "cadastro-login"),
+                    TestConfig.getInt("load.users", 20),
+                    TestConfig.getLong("load.duration.ms", 30_000),
+                    TestConfig.getLong("load.think.ms", 0),
+                    TestConfig.getLong("load.start.delay.ms", 500));
+        }
+    }
+
+    /**
+     * @param porta porta de escuta, em todas as interfaces (0 = qualquer porta livre)
+     */
+    public LoadCoordinator(int porta) {
+        try {
+            this.servidor = new ServerSocket(porta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir a porta do coordenador de carga: " + porta, e);
+        }
+    }
+
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Aguarda os workers, distribui o plano e devolve o relatório com as medições de todos
+     *
+     * @param workers        quantos workers esperar antes de começar
+     * @param prazoConexaoMs quanto esperar pela conexão de todos os workers
+     */
+    public LoadReport executar(Plano plano, int workers, long prazoConexaoMs) {
+        if (workers < 1 || workers > plano.usuarios()) {
+            throw new IllegalArgumentException(String.format(
+                    "Workers devem ser entre 1 e o número de usuários (%d): %d", plano.usuarios(), workers));
+        }
+        List<Socket> conexoes = new ArrayList<>();
+        try {
+            Map<String, DataInputStream> entradas = new TreeMap<>();
+            List<DataOutputStream> saidas = new ArrayList<>();
+            long limite = System.currentTimeMillis() + prazoConexaoMs;
+            while (conexoes.size() < workers) {
+                Socket conexao = aceitar(limite, conexoes.size(), workers);
+                conexoes.add(conexao);
+                // sem resposta até o fim da carga e mais o prazo, o worker é dado como perdido
+                conexao.setSoTimeout((int) Math.min(Integer.MAX_VALUE,
+                        plano.atrasoInicioMs() + plano.duracaoMs() + prazoConexaoMs));
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexao.getInputStream()));
+                String nome = LoadProtocol.lerOla(entrada);
+                entradas.put(String.format("%03d %s", conexoes.size() - 1, nome), entrada);
+                saidas.add(new DataOutputStream(new BufferedOutputStream(conexao.getOutputStream())));
+            }
+
+            int primeiroUsuario = 0;
+            for (int indice = 0; indice < workers; indice++) {
+                int usuarios = plano.usuarios() / workers + (indice < plano.usuarios() % workers ? 1 : 0);
+                LoadProtocol.escreverFatia(saidas.get(indice), new LoadProtocol.Fatia(plano.cenario(), indice, workers,
+                        primeiroUsuario, usuarios, plano.duracaoMs(), plano.pausaMs()));
+                primeiroUsuario += usuarios;
+            }
+            for (DataInputStream entrada : entradas.values()) {
+                LoadProtocol.lerPronto(entrada);
+            }
+
+            long inicio = System.currentTimeMillis() + plano.atrasoInicioMs();
+            for (DataOutputStream saida : saidas) {
+                LoadProtocol.escreverInicio(saida, new LoadProtocol.Inicio(inicio, System.currentTimeMillis()));
+            }
+
+            List<LoadProtocol.Resultado> resultados = new ArrayList<>();
+            for (DataInputStream entrada : entradas.values()) {
+                resultados.add(LoadProtocol.lerResultado(entrada));
+            }
+            return new LoadReport(plano, inicio, resultados);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro na comunicação com os workers de carga", e);
+        } finally {
+            for (Socket conexao : conexoes) {
+                fechar(conexao);
+            }
+        }
+    }
+
+    private Socket aceitar(long limite, int conectados, int esperados) throws IOException {
+        long restante = limite - System.currentTimeMillis();
+        if (restante <= 0) {
+            throw new IllegalStateException(String.format("Só %d de %d workers conectaram", conectados, esperados));
+        }
+        servidor.setSoTimeout((int) Math.min(Integer.MAX_VALUE, restante));
+        try {
+            return servidor.accept();
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException(String.format("Só %d de %d workers conectaram", conectados, esperados), e);
+        }
+    }
+
+    /**
+     * Inicia workers nesta máquina, com o classpath desta JVM e os overrides de config.properties
+     * passados por -D (exceto data.namespace: cada JVM gera os próprios dados)
+     * A saída de cada um vai para reports.directory/load-worker-N.log
+     */
+    public List<Process> iniciarWorkersLocais(int quantidade) {
+        Path diretorio = Paths.get(TestConfig.get("reports.directory", "target/reports"));
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String chave : TestConfig.propriedades().stringPropertyNames()) {
+            String valor = System.getProperty(chave);
+            if (valor != null && !chave.equals("data.namespace")) {
+                comando.add("-D" + chave + "=" + valor);
+            }
+        }
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(LoadWorker.class.getName());
+        comando.add("localhost");
+        comando.add(Integer.toString(getPorta()));
+
+        List<Process> processos = new ArrayList<>();
+        try {
+            Files.createDirectories(diretorio);
+            for (int i = 0; i < quantidade; i++) {
+                processos.add(new ProcessBuilder(comando)
+                        .redirectErrorStream(true)
+                        .redirectOutput(diretorio.resolve("load-worker-" + i + ".log").toFile())
+                        .start());
+            }
+        } catch (IOException e) {
+            processos.forEach(Process::destroyForcibly);
+            throw new UncheckedIOException("Erro ao iniciar os workers de carga", e);
+        }
+        return processos;
+    }
+
+    @Override
+    public void close() {
+        fechar(servidor);
+    }
+
+    private static void fechar(AutoCloseable recurso) {
+        try {
+            recurso.close();
+        } catch (Exception e) {
+            // já fechado
+        }
+    }
+
+    public static void main(String[] args) {
+        Plano plano = Plano.configurado();
+        int locais = TestConfig.getInt("load.local.workers", 2);
+        int workers = TestConfig.getInt("load.workers", locais);
+        try (LoadCoordinator coordenador = new LoadCoordinator(TestConfig.getInt("load.port", 7600))) {
+            System.out.printf("[Carga] Coordenador na porta %d aguardando %d workers%n", coordenador.getPorta(), workers);
+            List<Process> processos = coordenador.iniciarWorkersLocais(locais);
+            try {
+                LoadReport relatorio = coordenador.executar(plano, workers,
+                        TestConfig.getLong("load.connect.timeout.ms", 30_000));
+                String texto = relatorio.formatar();
+                System.out.print(texto);
+                Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("load-report.txt");
+                Files.writeString(arquivo, texto, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao gravar o relatório de carga", e);
+            } finally {
+                processos.forEach(Process::destroy);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.serverest.load;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Protocolo entre coordenador e workers, sobre uma conexão TCP por worker
+ * 1. worker -> coordenador: OLA com o nome do worker
+ * 2. coordenador -> worker: FATIA com cenário, usuários e duração
+ * 3. worker -> coordenador: PRONTO, com o cenário já criado (services, configuração global)
+ * 4. coordenador -> worker: INICIO, enviado quando todos estão prontos, com o instante de
+ *    início e o relógio do coordenador no envio, para o worker corrigir a diferença entre os relógios
+ * 5. worker -> coordenador: RESULTADO com contadores e histogramas de latência
+ * Mensagens em DataOutputStream, cada uma iniciada por MAGICO e pelo tipo.
+ */
+public final class LoadProtocol {
+
+    private static final int MAGICO = 0x53524C44;
+    private static final byte OLA = 1;
+    private static final byte FATIA = 2;
+    private static final byte PRONTO = 3;
+    private static final byte INICIO = 4;
+    private static final byte RESULTADO = 5;
+
+    private LoadProtocol() {
+    }
+
+    /**
+     * Parte da carga de um worker
+     *
+     * @param indice          posição do worker (0 a total - 1)
+     * @param primeiroUsuario número do primeiro usuário virtual desta fatia na carga toda
+     */
+    public record Fatia(String cenario, int indice, int total, int primeiroUsuario, int usuarios, long duracaoMs,
+                        long pausaMs) {
+    }
+
+    /**
+     * @param inicioEpochMs      instante de início no relógio do coordenador
+     * @param agoraCoordenadorMs relógio do coordenador no envio
+     */
+    public record Inicio(long inicioEpochMs, long agoraCoordenadorMs) {
+    }
+
+    /**
+     * Medições de um worker
+     *
+     * @param inicioEpochMs instante em que o worker começou, já no relógio do coordenador
+     */
+    public record Resultado(String worker, long inicioEpochMs, Map<String, Long> contadores,
+                            Map<String, LatencyHistogram> histogramas) {
+    }
+
+    public static void escreverOla(DataOutputStream saida, String worker) throws IOException {
+        cabecalho(saida, OLA);
+        saida.writeUTF(worker);
+        saida.flush();
+    }
+
+    public static String lerOla(DataInputStream entrada) throws IOException {
+        esperar(entrada, OLA);
+        return entrada.readUTF();
+    }
+
+    public static void escreverFatia(DataOutputStream saida, Fatia fatia) throws IOException {
+        cabecalho(saida, FATIA);
+        saida.writeUTF(fatia.cenario());
+        saida.writeInt(fatia.indice());
+        saida.writeInt(fatia.total());
+        saida.writeInt(fatia.primeiroUsuario());
+        saida.writeInt(fatia.usuarios());
+        saida.writeLong(fatia.duracaoMs());
+        saida.writeLong(fatia.pausaMs());
+        saida.flush();
+    }
+
+    public static Fatia lerFatia(DataInputStream entrada) throws IOException {
+        esperar(entrada, FATIA);
+        return new Fatia(entrada.readUTF(), entrada.readInt(), entrada.readInt(), entrada.readInt(),
+                entrada.readInt(), entrada.readLong(), entrada.readLong());
+    }
+
+    public static void escreverPronto(DataOutputStream saida) throws IOException {
+        cabecalho(saida, PRONTO);
+        saida.flush();
+    }
+
+    public static void lerPronto(DataInputStream entrada) throws IOException {
+        esperar(entrada, PRONTO);
+    }
+
+    public static void escreverInicio(DataOutputStream saida, Inicio inicio) throws IOException {
+        cabecalho(saida, INICIO);
+        saida.writeLong(inicio.inicioEpochMs());
+        saida.writeLong(inicio.agoraCoordenadorMs());
+        saida.flush();
+    }
+
+    public static Inicio lerInicio(DataInputStream entrada) throws IOException {
+        esperar(entrada, INICIO);
+        return new Inicio(entrada.readLong(), entrada.readLong());
+    }
+
+    public static void escreverResultado(DataOutputStream saida, Resultado resultado) throws IOException {
+        cabecalho(saida, RESULTADO);
+        saida.writeUTF(resultado.worker());
+        saida.writeLong(resultado.inicioEpochMs());
+        saida.writeInt(resultado.contadores().size());
+        for (Map.Entry<String, Long> contador : resultado.contadores().entrySet()) {
+            saida.writeUTF(contador.getKey());
+            saida.writeLong(contador.getValue());
+        }
+        saida.writeInt(resultado.histogramas().size());
+        for (Map.Entry<String, LatencyHistogram> histograma : resultado.histogramas().entrySet()) {
+            saida.writeUTF(histograma.getKey());
+            histograma.getValue().escrever(saida);
+        }
+        saida.flush();
+    }
+
+    public static Resultado lerResultado(DataInputStream entrada) throws IOException {
+        esperar(entrada, RESULTADO);
+        String worker = entrada.readUTF();
+        long inicio = entrada.readLong();
+        Map<String, Long> contadores = new TreeMap<>();
+        for (int i = entrada.readInt(); i > 0; i--) {
+            contadores.put(entrada.readUTF(), entrada.readLong());
+        }
+        Map<String, LatencyHistogram> histogramas = new TreeMap<>();
+        for (int i = entrada.readInt(); i > 0; i--) {
+            histogramas.put(entrada.readUTF(), LatencyHistogram.ler(entrada));
+        }
+        return new Resultado(worker, inicio, contadores, histogramas);
+    }
+
+    private static void cabecalho(DataOutputStream saida, byte tipo) throws IOException {
+        saida.writeInt(MAGICO);
+        saida.writeByte(tipo);
+    }
+
+    private static void esperar(DataInputStream entrada, byte tipo) throws IOException {
+        int magico = entrada.readInt();
+        byte recebido = entrada.readByte();
+        if (magico != MAGICO || recebido != tipo) {
+            throw new IOException(String.format("Mensagem inesperada do protocolo de carga: %08x/%d (esperado %d)",
+                    magico, recebido, tipo));
+        }
+    }
+}
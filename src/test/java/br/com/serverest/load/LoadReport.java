@@ -0,0 +1,104 @@
+package br.com.serverest.load;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resultado da carga distribuída: contadores somados e histogramas mesclados de todos
+ * os workers, com a vazão sobre a duração planejada e o desvio de início de cada worker
+ * em relação ao instante combinado
+ */
+public final class LoadReport {
+
+    private static final List<String> POLITICAS = List.of("politicas.", "limiter.", "retry.", "circuit.", "hedge.");
+
+    private final LoadCoordinator.Plano plano;
+    private final long inicioEpochMs;
+    private final List<LoadProtocol.Resultado> resultados;
+    private final Map<String, Long> contadores = new TreeMap<>();
+    private final Map<String, LatencyHistogram> histogramas = new TreeMap<>();
+
+    public LoadReport(LoadCoordinator.Plano plano, long inicioEpochMs, List<LoadProtocol.Resultado> resultados) {
+        this.plano = plano;
+        this.inicioEpochMs = inicioEpochMs;
+        this.resultados = List.copyOf(resultados);
+        for (LoadProtocol.Resultado resultado : resultados) {
+            resultado.contadores().forEach((chave, valor) -> contadores.merge(chave, valor, Long::sum));
+            resultado.histogramas().forEach((chave, histograma) ->
+                    histogramas.computeIfAbsent(chave, ignorada -> new LatencyHistogram()).mesclar(histograma));
+        }
+    }
+
+    public List<LoadProtocol.Resultado> getResultados() {
+        return resultados;
+    }
+
+    /**
+     * Contadores somados de todos os workers (iteracoes, falhas, falhas.Tipo, http.*) e das políticas
+     * do cliente (politicas.cliente = workers com as políticas ligadas, limiter.*, retry.*, circuit.*)
+     */
+    public Map<String, Long> getContadores() {
+        return contadores;
+    }
+
+    public long getContador(String chave) {
+        return contadores.getOrDefault(chave, 0L);
+    }
+
+    /**
+     * Histogramas mesclados: "cenario <nome>" por iteração e um por endpoint
+     */
+    public Map<String, LatencyHistogram> getHistogramas() {
+        return histogramas;
+    }
+
+    /**
+     * Maior diferença, em ms, entre o início real de um worker e o instante combinado
+     */
+    public long getDesvioInicioMs() {
+        return resultados.stream().mapToLong(resultado -> Math.abs(resultado.inicioEpochMs() - inicioEpochMs))
+                .max().orElse(0);
+    }
+
+    private static boolean isPolitica(String chave) {
+        return POLITICAS.stream().anyMatch(chave::startsWith);
+    }
+
+    public String formatar() {
+        double segundos = plano.duracaoMs() / 1_000.0;
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                "Carga %s: %d usuários em %d workers por %.1f s (desvio de início até %d ms)%n",
+                plano.cenario(), plano.usuarios(), resultados.size(), segundos, getDesvioInicioMs()));
+        texto.append(String.format("%n  %-40s %9s %8s %8s %8s %8s %8s%n",
+                "Latência (ms)", "n", "req/s", "p50", "p90", "p99", "max"));
+        histogramas.forEach((chave, histograma) -> texto.append(String.format(Locale.ROOT,
+                "  %-40s %9d %8.1f %8.1f %8.1f %8.1f %8.1f%n", chave, histograma.getTotal(),
+                histograma.getTotal() / segundos, histograma.percentil(50), histograma.percentil(90),
+                histograma.percentil(99), histograma.getMaximoMillis())));
+        texto.append(String.format("%n  Contadores%n"));
+        contadores.forEach((chave, valor) -> {
+            if (!isPolitica(chave)) {
+                texto.append(String.format("  %-40s %9d%n", chave, valor));
+            }
+        });
+        long comPoliticas = getContador("politicas.cliente");
+        texto.append(String.format("%n  Políticas do cliente (%s)%n", comPoliticas == 0
+                ? "desligadas: latências sem fila nem retentativas"
+                : String.format("ligadas em %d de %d workers: latências incluem fila e retentativas",
+                comPoliticas, resultados.size())));
+        contadores.forEach((chave, valor) -> {
+            if (isPolitica(chave) && !chave.equals("politicas.cliente")) {
+                texto.append(String.format("  %-40s %9d%n", chave, valor));
+            }
+        });
+        texto.append(String.format("%n  Workers%n"));
+        for (LoadProtocol.Resultado resultado : resultados) {
+            texto.append(String.format(Locale.ROOT, "  %-40s %9d iterações, %d falhas, início %+d ms%n",
+                    resultado.worker(), resultado.contadores().getOrDefault("iteracoes", 0L),
+                    resultado.contadores().getOrDefault("falhas", 0L), resultado.inicioEpochMs() - inicioEpochMs));
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.serverest.load;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.model.Usuario;
+import br.com.serverest.service.LoginService;
+import br.com.serverest.service.UsuarioService;
+import br.com.serverest.utils.DataFactory;
+import io.restassured.response.Response;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Uma iteração de um usuário virtual da carga
+ * Cada worker cria uma instância do cenário e a chama em paralelo, uma virtual thread por
+ * usuário, até o fim da duração; uma exceção conta como falha da iteração. As latências
+ * das requisições feitas pelos services entram por endpoint no relatório (LatencyRecorder).
+ * Com load.client.policies=false (padrão) os cenários usam os services diretos
+ * (BaseService.isDireto): sem limitador, retentativa e circuit breaker, a carga oferecida
+ * chega inteira ao backend e a latência não inclui fila nem espera entre tentativas.
+ */
+@FunctionalInterface
+public interface LoadScenario {
+
+    void executar(int usuario, long iteracao) throws Exception;
+
+    /**
+     * Cenários disponíveis por nome; outro nome é tratado como classe com construtor sem argumentos
+     */
+    Map<String, Supplier<LoadScenario>> CENARIOS = Map.of(
+            "cadastro-login", LoadScenario::cadastroLogin,
+            "listagem", LoadScenario::listagem);
+
+    /**
+     * load.client.policies: se os cenários passam pelas políticas do cliente, como os testes
+     */
+    static boolean comPoliticasDoCliente() {
+        return TestConfig.getBoolean("load.client.policies", false);
+    }
+
+    static LoadScenario criar(String nome) {
+        Supplier<LoadScenario> fabrica = CENARIOS.get(nome);
+        if (fabrica != null) {
+            return fabrica.get();
+        }
+        try {
+            return Class.forName(nome).asSubclass(LoadScenario.class).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Cenário de carga desconhecido: " + nome + " (disponíveis: "
+                    + CENARIOS.keySet() + " ou o nome de uma classe)", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Erro ao instanciar o cenário de carga " + nome,
+                    e instanceof InvocationTargetException ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Cadastra um usuário, faz login com ele e o exclui
+     */
+    static LoadScenario cadastroLogin() {
+        UsuarioService usuarioService = comPoliticasDoCliente() ? new UsuarioService() : UsuarioService.direto();
+        LoginService loginService = comPoliticasDoCliente() ? new LoginService() : LoginService.direto();
+        return (usuario, iteracao) -> {
+            Usuario novo = DataFactory.criarUsuarioValido(false);
+            String id = usuarioService.cadastrarUsuarioERetornarId(novo);
+            if (id == null) {
+                throw new IllegalStateException("Cadastro recusado para " + novo.getEmail());
+            }
+            try {
+                Response login = loginService.realizarLogin(DataFactory.criarLoginValido(novo));
+                if (login.statusCode() != 200) {
+                    throw new IllegalStateException("Login com status " + login.statusCode());
+                }
+            } finally {
+                usuarioService.excluirUsuario(id);
+            }
+        };
+    }
+
+    /**
+     * Lista todos os usuários
+     */
+    static LoadScenario listagem() {
+        UsuarioService usuarioService = comPoliticasDoCliente() ? new UsuarioService() : UsuarioService.direto();
+        return (usuario, iteracao) -> {
+            int status = usuarioService.listarUsuarios().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Listagem com status " + status);
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.serverest.load;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.http.AdaptiveConcurrencyLimiter;
+import br.com.serverest.http.CircuitBreaker;
+import br.com.serverest.http.RetryPolicy;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.report.LatencyRecorder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Worker da carga distribuída: conecta ao coordenador, recebe sua fatia, prepara o
+ * cenário, espera o instante de início combinado, roda os usuários virtuais e devolve
+ * as medições
+ * Cada usuário virtual é uma virtual thread que repete o cenário até o fim da duração,
+ * com load.think.ms entre iterações; depois de uma falha espera ao menos 100 ms, para
+ * um circuit breaker aberto não virar um laço ocupado.
+ * Uso: java -cp ... br.com.serverest.load.LoadWorker [host] [porta]
+ */
+public final class LoadWorker {
+
+    private static final long PAUSA_APOS_FALHA_MS = 100;
+
+    private LoadWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : TestConfig.get("load.coordinator.host", "localhost");
+        int porta = args.length > 1 ? Integer.parseInt(args[1]) : TestConfig.getInt("load.port", 7600);
+        String nome = InetAddress.getLocalHost().getHostName() + ":" + ProcessHandle.current().pid();
+        try (Socket socket = conectar(host, porta, TestConfig.getLong("load.connect.timeout.ms", 30_000))) {
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            LoadProtocol.escreverOla(saida, nome);
+            LoadProtocol.Fatia fatia = LoadProtocol.lerFatia(entrada);
+            System.out.printf("[Carga] %s: %d usuários de %s por %d ms%n",
+                    nome, fatia.usuarios(), fatia.cenario(), fatia.duracaoMs());
+            LoadScenario cenario = LoadScenario.criar(fatia.cenario());
+            LoadProtocol.escreverPronto(saida);
+            LoadProtocol.Inicio inicio = LoadProtocol.lerInicio(entrada);
+            LoadProtocol.escreverResultado(saida, executar(nome, fatia, cenario, inicio));
+        }
+        // as threads de keep-alive do cliente HTTP não devem segurar a JVM
+        System.exit(0);
+    }
+
+    /**
+     * Roda a fatia nesta JVM a partir do início combinado e devolve contadores e histogramas
+     */
+    public static LoadProtocol.Resultado executar(String nome, LoadProtocol.Fatia fatia, LoadScenario cenario,
+                                                  LoadProtocol.Inicio combinado) {
+        // diferença entre o relógio do coordenador e o local, ignorando a latência da rede local
+        long diferencaRelogio = combinado.agoraCoordenadorMs() - System.currentTimeMillis();
+        aguardarAte(combinado.inicioEpochMs() - diferencaRelogio);
+
+        long inicio = System.currentTimeMillis() + diferencaRelogio;
+        long fim = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fatia.duracaoMs());
+        LatencyHistogram iteracoes = new LatencyHistogram();
+        Map<String, LongAdder> falhas = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < fatia.usuarios(); i++) {
+                int usuario = fatia.primeiroUsuario() + i;
+                executor.execute(() -> {
+                    for (long iteracao = 0; System.nanoTime() < fim; iteracao++) {
+                        long inicioIteracao = System.nanoTime();
+                        long pausa = fatia.pausaMs();
+                        try {
+                            cenario.executar(usuario, iteracao);
+                            iteracoes.registrar(System.nanoTime() - inicioIteracao);
+                        } catch (Throwable e) {
+                            falhas.computeIfAbsent(e.getClass().getSimpleName(), tipo -> new LongAdder()).increment();
+                            pausa = Math.max(pausa, PAUSA_APOS_FALHA_MS);
+                        }
+                        long restante = TimeUnit.NANOSECONDS.toMillis(fim - System.nanoTime());
+                        aguardarAte(System.currentTimeMillis() + Math.min(pausa, restante));
+                    }
+                });
+            }
+        }
+
+        Map<String, Long> contadores = new TreeMap<>();
+        contadores.put("usuarios", (long) fatia.usuarios());
+        contadores.put("iteracoes", iteracoes.getTotal());
+        contadores.put("falhas", falhas.values().stream().mapToLong(LongAdder::sum).sum());
+        falhas.forEach((tipo, quantidade) -> contadores.put("falhas." + tipo, quantidade.sum()));
+        contadores.putAll(somaveis(HttpUsage.metricas()));
+        // políticas do cliente, à parte das latências (zeradas com load.client.policies=false)
+        contadores.put("politicas.cliente", LoadScenario.comPoliticasDoCliente() ? 1L : 0L);
+        somaveis(AdaptiveConcurrencyLimiter.global().metricas()).forEach((chave, valor) -> {
+            // limites não fazem sentido somados entre workers
+            if (!chave.startsWith("limiter.limite") && !chave.equals("limiter.maior.fila")) {
+                contadores.put(chave, valor);
+            }
+        });
+        contadores.putAll(somaveis(RetryPolicy.global().metricas()));
+        contadores.putAll(somaveis(CircuitBreaker.global().metricas()));
+
+        Map<String, LatencyHistogram> histogramas = new TreeMap<>();
+        histogramas.put("cenario " + fatia.cenario(), iteracoes);
+        LatencyRecorder.amostras().forEach((chave, amostras) -> {
+            LatencyHistogram histograma = new LatencyHistogram();
+            for (double millis : amostras) {
+                histograma.registrar((long) (millis * 1_000_000));
+            }
+            histogramas.put(chave, histograma);
+        });
+        return new LoadProtocol.Resultado(nome, inicio, contadores, histogramas);
+    }
+
+    /**
+     * Só os contadores numéricos, que fazem sentido somados entre workers
+     */
+    private static Map<String, Long> somaveis(Map<String, Object> metricas) {
+        Map<String, Long> contadores = new TreeMap<>();
+        metricas.forEach((chave, valor) -> {
+            if (valor instanceof Long || valor instanceof Integer) {
+                contadores.put(chave, ((Number) valor).longValue());
+            }
+        });
+        return contadores;
+    }
+
+    private static Socket conectar(String host, int porta, long prazoMs) throws IOException, InterruptedException {
+        long limite = System.currentTimeMillis() + prazoMs;
+        while (true) {
+            try {
+                return new Socket(host, porta);
+            } catch (ConnectException e) {
+                // o coordenador pode ainda não estar ouvindo
+                if (System.currentTimeMillis() >= limite) {
+                    throw new UncheckedIOException("Coordenador de carga indisponível em " + host + ":" + porta, e);
+                }
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    private static void aguardarAte(long epochMs) {
+        try {
+            for (long restante = epochMs - System.currentTimeMillis(); restante > 0;
+                 restante = epochMs - System.currentTimeMillis()) {
+                Thread.sleep(restante);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido aguardando o início da carga", e);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.qameta.allure.Allure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Anexos do Allure gravados em streaming, sem montar o conteúdo inteiro em String
+ * O corpo é lido e formatado token a token (JSON) ou em blocos (texto) conforme o Allure
+ * grava o arquivo de resultado. Acima de attachment.max.bytes o anexo é truncado e termina
+ * com o tamanho total e o SHA-256 do conteúdo completo, para comparar com o original.
+ * Objetos são serializados uma única vez, com um ObjectWriter compartilhado (thread-safe),
+ * para um TokenBuffer do Jackson, que também é formatado em streaming.
+ */
+public final class AllureAttachments {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final int BLOCO = 8 * 1024;
+
+    private AllureAttachments() {
+    }
+
+    private static final class Holder {
+        private static final long LIMITE = TestConfig.getLong("attachment.max.bytes", 512 * 1024);
+    }
+
+    /**
+     * Anexa um corpo de requisição/resposta: JSON formatado, ou texto como veio
+     */
+    public static void anexarCorpo(String nome, InputStream corpo) {
+        PushbackInputStream entrada = new PushbackInputStream(corpo, 1);
+        boolean json = pareceJson(entrada);
+        Allure.addAttachment(nome, json ? "application/json" : "text/plain", abrir(entrada, json), json ? "json" : "txt");
+    }
+
+    /**
+     * Corpo já em memória formatado como o anexo (JSON formatado ou texto, truncado)
+     */
+    public static String formatar(String corpo) {
+        PushbackInputStream entrada = new PushbackInputStream(
+                new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8)), 1);
+        try (InputStream formatado = abrir(entrada, pareceJson(entrada))) {
+            return new String(formatado.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao formatar o corpo do anexo", e);
+        }
+    }
+
+    private static InputStream abrir(PushbackInputStream entrada, boolean json) {
+        return json ? formatarJson(entrada, Holder.LIMITE) : texto(entrada, Holder.LIMITE);
+    }
+
+    /**
+     * Anexa um objeto serializado como JSON formatado
+     * Se não for serializável, anexa o toString() como texto
+     */
+    public static void anexarObjeto(String nome, Object valor) {
+        TokenBuffer tokens = new TokenBuffer(MAPPER, false);
+        try {
+            WRITER.writeValue(tokens, valor);
+        } catch (IOException e) {
+            Allure.addAttachment(nome, "text/plain", String.valueOf(valor));
+            return;
+        }
+        Allure.addAttachment(nome, "application/json", formatar(tokens.asParser(), Holder.LIMITE), "json");
+    }
+
+    /**
+     * Stream do JSON formatado, truncado em limite bytes
+     */
+    public static InputStream formatarJson(InputStream corpo, long limite) {
+        try {
+            return formatar(FACTORY.createParser(corpo), limite);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o corpo JSON", e);
+        }
+    }
+
+    /**
+     * Stream do texto como veio, truncado em limite bytes
+     */
+    public static InputStream texto(InputStream corpo, long limite) {
+        byte[] bloco = new byte[BLOCO];
+        return new Truncado(limite, saida -> {
+            int lidos = corpo.read(bloco);
+            if (lidos < 0) {
+                corpo.close();
+                return false;
+            }
+            saida.write(bloco, 0, lidos);
+            return true;
+        });
+    }
+
+    private static InputStream formatar(JsonParser parser, long limite) {
+        GeradorReutilizavel gerador = new GeradorReutilizavel();
+        return new Truncado(limite, saida -> {
+            gerador.apontarPara(saida);
+            try {
+                // alguns tokens por vez: o bastante para amortizar o flush, pouco para a memória
+                for (int i = 0; i < 64; i++) {
+                    if (parser.nextToken() == null) {
+                        gerador.fechar();
+                        parser.close();
+                        return false;
+                    }
+                    gerador.json.copyCurrentEvent(parser);
+                }
+                gerador.json.flush();
+                return true;
+            } catch (JsonProcessingException e) {
+                gerador.json.flush();
+                saida.write(("\n[JSON inválido a partir daqui: " + e.getOriginalMessage() + "]")
+                        .getBytes(StandardCharsets.UTF_8));
+                parser.close();
+                return false;
+            }
+        });
+    }
+
+    private static boolean pareceJson(PushbackInputStream entrada) {
+        try {
+            int primeiro;
+            do {
+                primeiro = entrada.read();
+            } while (primeiro == ' ' || primeiro == '\n' || primeiro == '\r' || primeiro == '\t');
+            if (primeiro >= 0) {
+                entrada.unread(primeiro);
+            }
+            return primeiro == '{' || primeiro == '[';
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o corpo do anexo", e);
+        }
+    }
+
+    /**
+     * Um único JsonGenerator formatado escrevendo no buffer de saída do Truncado
+     */
+    private static final class GeradorReutilizavel {
+        private final Destino destino = new Destino();
+        private JsonGenerator json;
+
+        private void apontarPara(ByteArrayOutputStream saida) throws IOException {
+            destino.atual = saida;
+            if (json == null) {
+                json = FACTORY.createGenerator(destino).useDefaultPrettyPrinter();
+            }
+        }
+
+        private void fechar() throws IOException {
+            json.close();
+        }
+    }
+
+    private static final class Destino extends OutputStream {
+        private ByteArrayOutputStream atual;
+
+        @Override
+        public void write(int b) {
+            atual.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            atual.write(b, off, len);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Produtor {
+        /**
+         * Escreve o próximo trecho em saida; false quando não há mais nada
+         */
+        boolean produzir(ByteArrayOutputStream saida) throws IOException;
+    }
+
+    /**
+     * InputStream puxado pelo Allure: produz um trecho por vez, calcula o SHA-256 de tudo
+     * e só repassa os primeiros limite bytes; o restante é consumido apenas para o resumo
+     */
+    private static final class Truncado extends InputStream {
+        private final long limite;
+        private final Produtor produtor;
+        private final MessageDigest sha256;
+        private final Trecho trecho = new Trecho();
+        private int posicao;
+        private long total;
+        private boolean terminado;
+        private boolean rodapeEmitido;
+
+        private Truncado(long limite, Produtor produtor) {
+            this.limite = limite;
+            this.produtor = produtor;
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] um = new byte[1];
+            return read(um, 0, 1) < 0 ? -1 : um[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) throws IOException {
+            while (posicao >= trecho.size()) {
+                if (!proximoTrecho()) {
+                    return -1;
+                }
+            }
+            int copiados = Math.min(tamanho, trecho.size() - posicao);
+            System.arraycopy(trecho.bytes(), posicao, destino, inicio, copiados);
+            posicao += copiados;
+            return copiados;
+        }
+
+        private boolean proximoTrecho() throws IOException {
+            trecho.reset();
+            posicao = 0;
+            if (terminado) {
+                if (rodapeEmitido || total <= limite) {
+                    return false;
+                }
+                rodapeEmitido = true;
+                trecho.write(String.format("%n%n[truncado: exibidos %d de %d bytes, sha-256 %s]%n",
+                        limite, total, HexFormat.of().formatHex(sha256.digest())).getBytes(StandardCharsets.UTF_8));
+                return true;
+            }
+            terminado = !produtor.produzir(trecho);
+            int produzidos = trecho.size();
+            sha256.update(trecho.bytes(), 0, produzidos);
+            long exibidos = Math.max(0, Math.min(produzidos, limite - total));
+            total += produzidos;
+            trecho.limitar((int) exibidos);
+            return true;
+        }
+    }
+
+    /**
+     * Buffer reaproveitado entre trechos, com acesso ao array interno sem cópia
+     */
+    private static final class Trecho extends ByteArrayOutputStream {
+        private Trecho() {
+            super(BLOCO * 2);
+        }
+
+        private byte[] bytes() {
+            return buf;
+        }
+
+        private void limitar(int tamanho) {
+            count = Math.min(count, tamanho);
+        }
+    }
+}
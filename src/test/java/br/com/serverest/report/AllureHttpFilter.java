@@ -0,0 +1,124 @@
+package br.com.serverest.report;
+
+import br.com.serverest.utils.StreamingBody;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.internal.NameAndValue;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filtro que anexa request e response ao Allure, equivalente ao AllureRestAssured
+ * Além disso exibe corpos enviados como byte[] (templates pré-serializados) como texto,
+ * em vez da lista de bytes que o Prettifier do RestAssured produziria, e corpos em
+ * streaming (StreamingBody) apenas pela descrição, sem consumi-los.
+ * Como o AllureRestAssured, roda no fim da cadeia para registrar a requisição como enviada
+ * (só os filtros de medição, LatencyHttpFilter e TraceHttpFilter, ficam depois).
+ * Cada requisição vira um step "MÉTODO /path" com os anexos, o status e o tempo da chamada
+ * (sem a renderização dos anexos) nos parâmetros, de onde o ResultsSummary tira os tempos
+ * por endpoint.
+ * Fora de um teste do Allure (ex.: casos do PropertyFuzzer) não anexa nada.
+ */
+public class AllureHttpFilter implements OrderedFilter {
+
+    private static final String REQUEST_TEMPLATE = "http-request.ftl";
+    private static final String RESPONSE_TEMPLATE = "http-response.ftl";
+    private static final String REQUEST_ATTACHMENT_NAME = "Request";
+    static final String PARAMETRO_STATUS = "status";
+    static final String PARAMETRO_TEMPO = "tempo (ms)";
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String passo = UUID.randomUUID().toString();
+        lifecycle.startStep(passo, new StepResult()
+                .setName(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath()));
+        try {
+            Response response = anexarEExecutar(requestSpec, responseSpec, ctx, passo);
+            lifecycle.updateStep(passo, step -> step.setStatus(Status.PASSED));
+            return response;
+        } catch (RuntimeException | Error e) {
+            lifecycle.updateStep(passo, step -> step.setStatus(Status.BROKEN)
+                    .setStatusDetails(new StatusDetails().setMessage(String.valueOf(e.getMessage()))));
+            throw e;
+        } finally {
+            lifecycle.stopStep(passo);
+        }
+    }
+
+    private Response anexarEExecutar(FilterableRequestSpecification requestSpec,
+                                     FilterableResponseSpecification responseSpec,
+                                     FilterContext ctx, String passo) {
+        Prettifier prettifier = new Prettifier();
+        HttpRequestAttachment.Builder requestAttachmentBuilder = HttpRequestAttachment.Builder
+                .create(REQUEST_ATTACHMENT_NAME, requestSpec.getURI())
+                .setMethod(requestSpec.getMethod())
+                .setHeaders(toMap(requestSpec.getHeaders()))
+                .setCookies(toMap(requestSpec.getCookies()));
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[] bytes) {
+            requestAttachmentBuilder.setBody(prettifier.prettify(
+                    new String(bytes, StandardCharsets.UTF_8), Parser.fromContentType(requestSpec.getContentType())));
+        } else if (body instanceof StreamingBody) {
+            // ler o corpo aqui o consumiria antes do envio: só a descrição vai para o anexo
+            requestAttachmentBuilder.setBody(body.toString());
+        } else if (body != null) {
+            requestAttachmentBuilder.setBody(prettifier.getPrettifiedBodyIfPossible(requestSpec));
+        }
+        new DefaultAttachmentProcessor().addAttachment(
+                requestAttachmentBuilder.build(), new FreemarkerAttachmentRenderer(REQUEST_TEMPLATE));
+
+        long inicio = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        String tempo = String.format(Locale.ROOT, "%.1f", (System.nanoTime() - inicio) / 1_000_000.0);
+        Allure.getLifecycle().updateStep(passo, step -> step.getParameters().addAll(List.of(
+                new Parameter().setName(PARAMETRO_STATUS).setValue(String.valueOf(response.getStatusCode())),
+                new Parameter().setName(PARAMETRO_TEMPO).setValue(tempo))));
+
+        HttpResponseAttachment responseAttachment = HttpResponseAttachment.Builder
+                .create(response.getStatusLine())
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders()))
+                .setBody(prettifier.getPrettifiedBodyIfPossible(response, response.getBody()))
+                .build();
+        new DefaultAttachmentProcessor().addAttachment(
+                responseAttachment, new FreemarkerAttachmentRenderer(RESPONSE_TEMPLATE));
+        return response;
+    }
+
+    private static Map<String, String> toMap(Iterable<? extends NameAndValue> items) {
+        Map<String, String> result = new HashMap<>();
+        items.forEach(item -> result.put(item.getName(), item.getValue()));
+        return result;
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE - 2;
+    }
+}
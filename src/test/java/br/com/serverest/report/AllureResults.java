@@ -0,0 +1,80 @@
+package br.com.serverest.report;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publica relatórios do próprio harness como resultados no Allure
+ * Usado para o que não pertence a um único teste (ex.: regressão de latência, perfil JFR
+ * de uma classe): o resultado aparece em "Desempenho do Cliente" com o relatório anexado
+ */
+public final class AllureResults {
+
+    private AllureResults() {
+    }
+
+    /**
+     * @param id       nome completo e historyId do resultado (estável entre execuções)
+     * @param mensagem motivo da falha; null para um resultado aprovado
+     */
+    public static void publicar(String nome, String id, String story, String mensagem,
+                                String nomeAnexo, String conteudo) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        TestResult resultado = new TestResult()
+                .setUuid(uuid)
+                .setName(nome)
+                .setFullName(id)
+                .setHistoryId(id)
+                .setLabels(List.of(
+                        ResultsUtils.createEpicLabel("API ServeRest"),
+                        ResultsUtils.createFeatureLabel("Desempenho do Cliente"),
+                        ResultsUtils.createStoryLabel(story)))
+                .setStatus(mensagem == null ? Status.PASSED : Status.FAILED);
+        if (mensagem != null) {
+            resultado.setStatusDetails(new StatusDetails().setMessage(mensagem));
+        }
+        lifecycle.scheduleTestCase(resultado);
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment(nomeAnexo, "text/plain", "txt", conteudo.getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    /**
+     * Resultado de um teste que não foi executado nesta execução e sim trazido de uma anterior
+     * (ver TestSelection); recebe a tag "reaproveitado" e a origem na descrição
+     *
+     * @param id identificador estável do teste (historyId)
+     */
+    public static void reaproveitar(String nome, String nomeCompleto, String id, String feature, Status status,
+                                    long duracaoMs, String descricao) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        long fim = System.currentTimeMillis();
+        TestResult resultado = new TestResult()
+                .setUuid(uuid)
+                .setName(nome)
+                .setFullName(nomeCompleto)
+                .setHistoryId(id)
+                .setDescription(descricao)
+                .setLabels(List.of(
+                        ResultsUtils.createEpicLabel("API ServeRest"),
+                        ResultsUtils.createFeatureLabel(feature),
+                        ResultsUtils.createTagLabel("reaproveitado")))
+                .setStatus(status);
+        lifecycle.scheduleTestCase(resultado);
+        lifecycle.startTestCase(uuid);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.updateTestCase(uuid, teste -> teste.setStart(fim - duracaoMs).setStop(fim));
+        lifecycle.writeTestCase(uuid);
+    }
+}
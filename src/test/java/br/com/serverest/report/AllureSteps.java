@@ -0,0 +1,76 @@
+package br.com.serverest.report;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.NamingUtils;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Registro de steps do Allure sem AspectJ (substitui @Step + javaagent aspectjweaver)
+ * Gera a mesma árvore de steps do aspecto oficial: nome interpolado com os parâmetros
+ * ({id}, {usuario.nome}), lista de parâmetros e status a partir da exceção.
+ * Fora de um teste do Allure a ação é executada diretamente, sem custo de registro.
+ */
+public final class AllureSteps {
+
+    private AllureSteps() {
+    }
+
+    /**
+     * Executa a ação como um step
+     *
+     * @param template   nome do step, no mesmo formato do @Step
+     * @param acao       corpo do step
+     * @param parametros pares nome/valor dos parâmetros ("id", id, "usuario", usuario)
+     */
+    public static <T> T step(String template, Supplier<T> acao, Object... parametros) {
+        return step(Allure.getLifecycle(), template, acao, parametros);
+    }
+
+    public static <T> T step(AllureLifecycle lifecycle, String template, Supplier<T> acao, Object... parametros) {
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            return acao.get();
+        }
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, criarStep(template, parametros));
+        try {
+            T resultado = acao.get();
+            lifecycle.updateStep(uuid, step -> step.setStatus(Status.PASSED));
+            return resultado;
+        } catch (Throwable e) {
+            lifecycle.updateStep(uuid, step -> step
+                    .setStatus(ResultsUtils.getStatus(e).orElse(Status.BROKEN))
+                    .setStatusDetails(ResultsUtils.getStatusDetails(e).orElse(null)));
+            throw e;
+        } finally {
+            lifecycle.stopStep(uuid);
+        }
+    }
+
+    private static StepResult criarStep(String template, Object[] parametros) {
+        if (parametros.length % 2 != 0) {
+            throw new IllegalArgumentException("Parâmetros do step devem ser pares nome/valor: " + template);
+        }
+        Map<String, Object> valores = new HashMap<>();
+        List<Parameter> parameters = new ArrayList<>(parametros.length / 2);
+        for (int i = 0; i < parametros.length; i += 2) {
+            String nome = (String) parametros[i];
+            valores.put(nome, parametros[i + 1]);
+            valores.put(Integer.toString(i / 2), parametros[i + 1]);
+            parameters.add(ResultsUtils.createParameter(nome, parametros[i + 1]));
+        }
+        return new StepResult()
+                .setName(NamingUtils.processNameTemplate(template, valores))
+                .setParameters(parameters);
+    }
+}
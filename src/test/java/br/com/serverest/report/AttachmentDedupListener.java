@@ -0,0 +1,20 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import org.junit.platform.launcher.TestExecutionListener;
+
+/**
+ * Instala o DeduplicatingResultsWriter no lifecycle global do Allure (allure.dedupe.attachments)
+ * O listener do Allure obtém o lifecycle ao ser criado; por isso a instalação fica no
+ * construtor e este listener é o primeiro de
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener, que vem antes do
+ * arquivo do allure-junit-platform no classpath.
+ */
+public class AttachmentDedupListener implements TestExecutionListener {
+
+    public AttachmentDedupListener() {
+        if (TestConfig.getBoolean("allure.dedupe.attachments", true)) {
+            DeduplicatingResultsWriter.instalar();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.serverest.report;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+/**
+ * Anexa ao Allure o detalhamento por fase (DNS, conexão, TLS, TTFB, download) das
+ * requisições feitas pelo teste, incluindo a limpeza do @AfterEach
+ * Considera as requisições da thread do teste
+ */
+public class ConnectionTimingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ConnectionTimings.iniciarTeste();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<ConnectionTimings.Troca> trocas = ConnectionTimings.finalizarTeste();
+        if (!trocas.isEmpty()) {
+            Allure.addAttachment("Tempos de Conexão", "text/plain", ConnectionTimings.formatar(trocas));
+        }
+    }
+}
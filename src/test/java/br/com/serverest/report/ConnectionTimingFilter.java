@@ -0,0 +1,37 @@
+package br.com.serverest.report;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Abre uma troca em ConnectionTimings para cada requisição e a fecha com o status da resposta
+ * As fases em si são medidas pelo InstrumentedHttpClient durante o ctx.next() e a leitura do corpo
+ */
+public class ConnectionTimingFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ConnectionTimings.Troca troca = ConnectionTimings.iniciar(
+                requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath());
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            // o RestAssured pode deixar o corpo para ser lido depois; lê aqui (fica em cache na
+            // resposta) para que o download entre na troca e a conexão volte ao pool
+            response.asByteArray();
+            return response;
+        } finally {
+            ConnectionTimings.finalizar(troca, response != null ? response.getStatusCode() : 0);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE - 3;
+    }
+}
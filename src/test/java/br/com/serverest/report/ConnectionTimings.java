@@ -0,0 +1,260 @@
+package br.com.serverest.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tempos por fase de cada troca HTTP: DNS, conexão TCP, handshake TLS, TTFB e download
+ * As fases são medidas pelo cliente instrumentado (ver InstrumentedHttpClient) na thread
+ * que executa a requisição e gravadas na troca aberta pelo ConnectionTimingFilter.
+ * Uma troca respondida sem DNS/conexão/TLS reaproveitou uma conexão do pool.
+ * Os tempos são agregados por endpoint para o resumo da suíte e, quando há um teste
+ * em andamento na thread, guardados para o detalhamento anexado ao Allure.
+ */
+public final class ConnectionTimings {
+
+    public enum Fase {
+        DNS("dns"), CONEXAO("connect"), TLS("tls"), TTFB("ttfb"), DOWNLOAD("download");
+
+        private final String rotulo;
+
+        Fase(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        public String getRotulo() {
+            return rotulo;
+        }
+    }
+
+    private static final ThreadLocal<Troca> ATUAL = new ThreadLocal<>();
+    private static final ThreadLocal<List<Troca>> DO_TESTE = new ThreadLocal<>();
+    private static final Map<String, Agregado> POR_ENDPOINT = new ConcurrentHashMap<>();
+
+    private ConnectionTimings() {
+    }
+
+    /**
+     * Uma requisição e suas fases, em nanossegundos
+     */
+    public static final class Troca {
+        private final String chave;
+        private final long[] nanos = new long[Fase.values().length];
+        private boolean novaConexao;
+        private int status;
+
+        private Troca(String chave) {
+            this.chave = chave;
+        }
+
+        public synchronized void adicionar(Fase fase, long duracaoNanos) {
+            nanos[fase.ordinal()] += duracaoNanos;
+            if (fase == Fase.CONEXAO) {
+                novaConexao = true;
+            }
+        }
+
+        public synchronized long getNanos(Fase fase) {
+            return nanos[fase.ordinal()];
+        }
+
+        public synchronized boolean isNovaConexao() {
+            return novaConexao;
+        }
+
+        /**
+         * Status HTTP da resposta, 0 quando a troca falhou sem resposta
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        private synchronized long totalNanos() {
+            long total = 0;
+            for (long valor : nanos) {
+                total += valor;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Abre a troca da thread atual; chamado pelo filtro antes do envio
+     */
+    public static Troca iniciar(String chave) {
+        Troca troca = new Troca(chave);
+        ATUAL.set(troca);
+        return troca;
+    }
+
+    /**
+     * Fecha a troca, agrega no endpoint e guarda no teste em andamento
+     */
+    public static void finalizar(Troca troca, int status) {
+        ATUAL.remove();
+        troca.status = status;
+        POR_ENDPOINT.computeIfAbsent(troca.chave, chave -> new Agregado()).adicionar(troca);
+        List<Troca> doTeste = DO_TESTE.get();
+        if (doTeste != null) {
+            doTeste.add(troca);
+        }
+    }
+
+    /**
+     * Troca aberta na thread atual, ou null fora de uma requisição instrumentada
+     */
+    public static Troca atual() {
+        return ATUAL.get();
+    }
+
+    public static void registrar(Fase fase, long duracaoNanos) {
+        Troca troca = ATUAL.get();
+        if (troca != null) {
+            troca.adicionar(fase, duracaoNanos);
+        }
+    }
+
+    public static void iniciarTeste() {
+        DO_TESTE.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Envolve uma requisição que vai rodar em outra thread (ex.: HedgePolicy) para que as
+     * trocas dela continuem sendo atribuídas ao teste da thread atual
+     */
+    public static <T> Supplier<T> propagarTeste(Supplier<T> tarefa) {
+        List<Troca> doTeste = DO_TESTE.get();
+        if (doTeste == null) {
+            return tarefa;
+        }
+        return () -> {
+            DO_TESTE.set(doTeste);
+            try {
+                return tarefa.get();
+            } finally {
+                DO_TESTE.remove();
+            }
+        };
+    }
+
+    public static List<Troca> finalizarTeste() {
+        List<Troca> trocas = DO_TESTE.get();
+        DO_TESTE.remove();
+        if (trocas == null) {
+            return List.of();
+        }
+        synchronized (trocas) {
+            return new ArrayList<>(trocas);
+        }
+    }
+
+    /**
+     * Tabela das trocas de um teste, em milissegundos
+     */
+    public static String formatar(List<Troca> trocas) {
+        StringBuilder tabela = new StringBuilder(String.format("%-3s %-32s %6s %8s %8s %8s %8s %9s %8s  %s%n",
+                "#", "Endpoint", "Status", "dns", "connect", "tls", "ttfb", "download", "total", "Conexão"));
+        for (int i = 0; i < trocas.size(); i++) {
+            Troca troca = trocas.get(i);
+            tabela.append(String.format(Locale.ROOT, "%-3d %-32s %6d %8.2f %8.2f %8.2f %8.2f %9.2f %8.2f  %s%n",
+                    i + 1, troca.chave, troca.status, ms(troca.getNanos(Fase.DNS)),
+                    ms(troca.getNanos(Fase.CONEXAO)), ms(troca.getNanos(Fase.TLS)), ms(troca.getNanos(Fase.TTFB)),
+                    ms(troca.getNanos(Fase.DOWNLOAD)), ms(troca.totalNanos()),
+                    troca.status == 0 ? "sem resposta" : troca.isNovaConexao() ? "nova" : "reutilizada"));
+        }
+        return tabela.toString();
+    }
+
+    /**
+     * Resumo por endpoint: média de cada fase e quantas trocas reutilizaram conexão
+     */
+    public static String resumo() {
+        StringBuilder resumo = new StringBuilder(String.format("%-32s %6s %11s %8s %8s %8s %8s %9s%n",
+                "Endpoint", "Trocas", "Reutiliz.", "dns", "connect", "tls", "ttfb", "download"));
+        new TreeMap<>(POR_ENDPOINT).forEach((chave, agregado) -> {
+            synchronized (agregado) {
+                resumo.append(String.format(Locale.ROOT, "%-32s %6d %11d %8.2f %8.2f %8.2f %8.2f %9.2f%n",
+                        chave, agregado.trocas, agregado.reutilizadas, agregado.media(Fase.DNS),
+                        agregado.media(Fase.CONEXAO), agregado.media(Fase.TLS), agregado.media(Fase.TTFB),
+                        agregado.media(Fase.DOWNLOAD)));
+            }
+        });
+        return resumo.toString();
+    }
+
+    /**
+     * Exporta o resumo por endpoint em CSV (médias e máximos em ms)
+     */
+    public static void exportar(Path arquivo) {
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                writer.write("endpoint,trocas,reutilizadas");
+                for (Fase fase : Fase.values()) {
+                    writer.write("," + fase.getRotulo() + "_media_ms," + fase.getRotulo() + "_max_ms");
+                }
+                writer.write("\n");
+                for (Map.Entry<String, Agregado> entrada : new TreeMap<>(POR_ENDPOINT).entrySet()) {
+                    Agregado agregado = entrada.getValue();
+                    synchronized (agregado) {
+                        writer.write(entrada.getKey() + "," + agregado.trocas + "," + agregado.reutilizadas);
+                        for (Fase fase : Fase.values()) {
+                            writer.write(String.format(Locale.ROOT, ",%.3f,%.3f",
+                                    agregado.media(fase), ms(agregado.maximo[fase.ordinal()])));
+                        }
+                        writer.write("\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar tempos de conexão: " + arquivo, e);
+        }
+    }
+
+    public static boolean isVazio() {
+        return POR_ENDPOINT.isEmpty();
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Agregado {
+        private final long[] soma = new long[Fase.values().length];
+        private final long[] maximo = new long[Fase.values().length];
+        private long trocas;
+        private long reutilizadas;
+
+        private synchronized void adicionar(Troca troca) {
+            trocas++;
+            if (troca.status != 0 && !troca.isNovaConexao()) {
+                reutilizadas++;
+            }
+            for (Fase fase : Fase.values()) {
+                long valor = troca.getNanos(fase);
+                soma[fase.ordinal()] += valor;
+                maximo[fase.ordinal()] = Math.max(maximo[fase.ordinal()], valor);
+            }
+        }
+
+        private double media(Fase fase) {
+            return trocas == 0 ? 0 : ms(soma[fase.ordinal()]) / trocas;
+        }
+    }
+}
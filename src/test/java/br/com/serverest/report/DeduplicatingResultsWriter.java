@@ -0,0 +1,150 @@
+package br.com.serverest.report;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.util.PropertiesUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writer de resultados do Allure que grava cada anexo uma única vez, pelo conteúdo
+ * O anexo é gravado com o nome "&lt;sha-256&gt;-attachment.&lt;ext&gt;"; anexos idênticos (ex.:
+ * Environment Info, corpos de erro 400 repetidos) apontam para o mesmo arquivo. Como o
+ * Allure grava os anexos antes do resultado, ao gravar o resultado (ou container) o
+ * source de cada anexo, inclusive em steps e fixtures, é trocado pelo arquivo único.
+ * O relatório continua igual: só muda o nome do arquivo referenciado.
+ */
+public class DeduplicatingResultsWriter implements AllureResultsWriter {
+
+    private static final String SUFIXO = "-attachment";
+    private static volatile DeduplicatingResultsWriter instalado;
+
+    private final Path diretorio;
+    private final FileSystemResultsWriter delegado;
+    private final Map<String, String> unicoPorSource = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> gravados = new ConcurrentHashMap<>();
+
+    private final LongAdder anexos = new LongAdder();
+    private final LongAdder repetidos = new LongAdder();
+    private final LongAdder bytesEconomizados = new LongAdder();
+
+    public DeduplicatingResultsWriter(Path diretorio) {
+        this.diretorio = diretorio;
+        this.delegado = new FileSystemResultsWriter(diretorio);
+    }
+
+    /**
+     * Troca o lifecycle global do Allure por um que usa este writer, no diretório de
+     * allure.properties; precisa rodar antes do listener do Allure obter o lifecycle
+     */
+    public static synchronized void instalar() {
+        if (instalado == null) {
+            Path diretorio = Paths.get(PropertiesUtils.loadAllureProperties()
+                    .getProperty("allure.results.directory", "allure-results"));
+            instalado = new DeduplicatingResultsWriter(diretorio);
+            Allure.setLifecycle(new AllureLifecycle(instalado));
+        }
+    }
+
+    /**
+     * Contadores do writer instalado (vazio se a deduplicação estiver desligada)
+     */
+    public static Map<String, Object> metricasGlobais() {
+        return instalado == null ? Map.of() : instalado.metricas();
+    }
+
+    @Override
+    public void write(String source, InputStream conteudo) {
+        int posicao = source.lastIndexOf(SUFIXO);
+        String extensao = posicao < 0 ? "" : source.substring(posicao + SUFIXO.length());
+        Path temporario = diretorio.resolve(source + ".tmp");
+        try {
+            Files.createDirectories(diretorio);
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long tamanho;
+            try (InputStream entrada = new DigestInputStream(conteudo, sha256)) {
+                tamanho = Files.copy(entrada, temporario, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String unico = HexFormat.of().formatHex(sha256.digest()) + SUFIXO + extensao;
+            anexos.increment();
+            if (gravados.putIfAbsent(unico, Boolean.TRUE) == null && !Files.exists(diretorio.resolve(unico))) {
+                Files.move(temporario, diretorio.resolve(unico), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(temporario);
+                repetidos.increment();
+                bytesEconomizados.add(tamanho);
+            }
+            unicoPorSource.put(source, unico);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar anexo do Allure: " + source, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void write(TestResult resultado) {
+        reapontar(resultado.getAttachments());
+        reapontarSteps(resultado.getSteps());
+        delegado.write(resultado);
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        for (FixtureResult fixture : container.getBefores()) {
+            reapontar(fixture.getAttachments());
+            reapontarSteps(fixture.getSteps());
+        }
+        for (FixtureResult fixture : container.getAfters()) {
+            reapontar(fixture.getAttachments());
+            reapontarSteps(fixture.getSteps());
+        }
+        delegado.write(container);
+    }
+
+    private void reapontarSteps(List<StepResult> steps) {
+        for (StepResult step : steps) {
+            reapontar(step.getAttachments());
+            reapontarSteps(step.getSteps());
+        }
+    }
+
+    private void reapontar(List<Attachment> lista) {
+        for (Attachment anexo : lista) {
+            String unico = anexo.getSource() == null ? null : unicoPorSource.remove(anexo.getSource());
+            if (unico != null) {
+                anexo.setSource(unico);
+            }
+        }
+    }
+
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("allure.anexos", anexos.sum());
+        metricas.put("allure.anexos.repetidos", repetidos.sum());
+        metricas.put("allure.bytes.economizados", bytesEconomizados.sum());
+        return metricas;
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Flaky;
+import io.qameta.allure.model.StatusDetails;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.TestAbortedException;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Quarentena e marcação no Allure dos testes reexecutados pelo Surefire
+ * As novas tentativas são do Surefire (rerunFailingTestsCount = flaky.reruns, na mesma JVM):
+ * cada uma roda o ciclo de vida completo, com @BeforeEach/@AfterEach e as demais extensões.
+ * Aqui, um teste que passa depois de falhar é marcado como instável no Allure, e um teste em
+ * quarentena (pelo histórico ou por @Flaky) é reexecutado como os demais, mas a falha na
+ * última tentativa vira TestAbortedException e não quebra o build. O desfecho de cada teste
+ * é pontuado pelo FlakyTestListener; falhar em todas as tentativas reduz a instabilidade,
+ * então um teste que passou a quebrar sempre sai da quarentena em poucas execuções.
+ */
+public class FlakyTestExtension implements InvocationInterceptor {
+
+    static final String PREFIXO_QUARENTENA = "Quarentena";
+    static final String PREFIXO_RECUPERADO = "Recuperado";
+
+    private final FlakyTests historico;
+    private final int reexecucoes;
+
+    /**
+     * Histórico global e flaky.reruns do config.properties
+     */
+    public FlakyTestExtension() {
+        this(FlakyTests.global(), TestConfig.getInt("flaky.reruns", 2));
+    }
+
+    /**
+     * @param reexecucoes novas tentativas do Surefire depois da primeira falha
+     */
+    public FlakyTestExtension(FlakyTests historico, int reexecucoes) {
+        this.historico = historico;
+        this.reexecucoes = reexecucoes;
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> chamada,
+                                    ExtensionContext contexto) throws Throwable {
+        executar(invocation, contexto);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> chamada,
+                                            ExtensionContext contexto) throws Throwable {
+        executar(invocation, contexto);
+    }
+
+    private void executar(Invocation<Void> invocation, ExtensionContext contexto) throws Throwable {
+        String id = contexto.getUniqueId();
+        int falhasAnteriores = historico.falhasNestaExecucao(id);
+        try {
+            invocation.proceed();
+        } catch (TestAbortedException abortado) {
+            throw abortado;
+        } catch (Throwable falha) {
+            if (falhasAnteriores >= reexecucoes && isEmQuarentena(id, contexto)) {
+                throw new TestAbortedException(String.format(Locale.ROOT, "%s (instabilidade %.2f): %s",
+                        PREFIXO_QUARENTENA, historico.historico(id).map(FlakyTests.Historico::instabilidade).orElse(0.0),
+                        falha), falha);
+            }
+            throw falha;
+        }
+        if (falhasAnteriores > 0) {
+            marcarRecuperado(falhasAnteriores + 1, reexecucoes + 1);
+        }
+    }
+
+    private boolean isEmQuarentena(String id, ExtensionContext contexto) {
+        return historico.emQuarentena(id)
+                || contexto.getTestMethod().flatMap(metodo -> AnnotationSupport.findAnnotation(metodo, Flaky.class))
+                .or(() -> AnnotationSupport.findAnnotation(contexto.getRequiredTestClass(), Flaky.class))
+                .isPresent();
+    }
+
+    private static void marcarRecuperado(int tentativa, int total) {
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isEmpty()) {
+            return;
+        }
+        String mensagem = String.format("%s na tentativa %d de %d", PREFIXO_RECUPERADO, tentativa, total);
+        Allure.getLifecycle().updateTestCase(teste -> teste.setStatusDetails(new StatusDetails()
+                .setFlaky(true).setMessage(mensagem)));
+    }
+}
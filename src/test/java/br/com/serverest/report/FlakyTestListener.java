@@ -0,0 +1,59 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.http.CircuitBreakerOpenException;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Pontua no FlakyTests o desfecho de cada teste ao longo das tentativas do Surefire
+ * Com rerunFailingTestsCount o Surefire executa o plano de novo só com os testes que
+ * falharam, até flaky.reruns vezes; este listener vê cada tentativa e registra o desfecho
+ * definitivo (aprovado, recuperado ou falhou). Circuit breaker aberto não conta como
+ * tentativa: a API está fora, não instável.
+ * Registrado via META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class FlakyTestListener implements TestExecutionListener {
+
+    private final FlakyTests historico;
+    private final int reexecucoes;
+
+    public FlakyTestListener() {
+        this(FlakyTests.global(), TestConfig.getInt("flaky.reruns", 2));
+    }
+
+    /**
+     * @param reexecucoes novas tentativas do Surefire depois da primeira falha
+     */
+    public FlakyTestListener(FlakyTests historico, int reexecucoes) {
+        this.historico = historico;
+        this.reexecucoes = reexecucoes;
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier teste, TestExecutionResult resultado) {
+        if (!teste.isTest()) {
+            return;
+        }
+        String id = teste.getUniqueId();
+        String nome = teste.getSource().filter(MethodSource.class::isInstance)
+                .map(fonte -> ((MethodSource) fonte).getJavaClass().getSimpleName() + " > ")
+                .orElse("") + teste.getDisplayName();
+        switch (resultado.getStatus()) {
+            case SUCCESSFUL -> historico.registrarTentativa(id, nome, true, reexecucoes);
+            case FAILED -> {
+                if (resultado.getThrowable().filter(CircuitBreakerOpenException.class::isInstance).isEmpty()) {
+                    historico.registrarTentativa(id, nome, false, reexecucoes);
+                }
+            }
+            case ABORTED -> {
+                if (resultado.getThrowable().map(Throwable::getMessage)
+                        .filter(mensagem -> mensagem.startsWith(FlakyTestExtension.PREFIXO_QUARENTENA)).isPresent()) {
+                    historico.registrarFalhaEmQuarentena(id, nome);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histórico de instabilidade por teste, persistido entre execuções
+ * A instabilidade é uma média móvel exponencial: cada execução aprovada de primeira soma 0 e
+ * cada execução que só passou numa nova tentativa do Surefire (ver FlakyTestListener) soma 1, com peso
+ * flaky.score.alpha. Falhas em todas as tentativas também somam 0: um teste que quebra
+ * sempre tem um defeito, não instabilidade, e precisa sair da quarentena para quebrar o build.
+ * Acima de flaky.quarantine.threshold o teste fica em quarentena: continua rodando, com as
+ * novas tentativas, mas a falha na última vira "abortado" na categoria de quarentena do
+ * Allure em vez de quebrar o build.
+ */
+public final class FlakyTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path arquivo;
+    private final double alfa;
+    private final double limiarQuarentena;
+    private final Map<String, Historico> historicos;
+    private final Map<String, Integer> falhasNestaExecucao = new ConcurrentHashMap<>();
+    private final Set<String> definidosNestaExecucao = ConcurrentHashMap.newKeySet();
+    private final LongAdder reexecutados = new LongAdder();
+    private final LongAdder recuperados = new LongAdder();
+    private final LongAdder falhasEmQuarentena = new LongAdder();
+
+    private static final class Holder {
+        private static final FlakyTests GLOBAL = new FlakyTests(
+                Paths.get(TestConfig.get("flaky.file", ".perf/flakiness.json")),
+                TestConfig.getDouble("flaky.score.alpha", 0.2),
+                TestConfig.getDouble("flaky.quarantine.threshold", 0.3));
+    }
+
+    /**
+     * Desfecho de uma execução do teste
+     */
+    public enum Desfecho {
+        APROVADO, RECUPERADO, FALHOU
+    }
+
+    /**
+     * @param instabilidade média móvel das recuperações, de 0 (estável) a 1
+     */
+    public record Historico(String nome, long execucoes, long recuperacoes, long falhas, double instabilidade,
+                            String ultimaRecuperacao) {
+    }
+
+    private record Arquivo(String atualizado, Map<String, Historico> testes) {
+    }
+
+    public FlakyTests(Path arquivo, double alfa, double limiarQuarentena) {
+        if (alfa <= 0 || alfa > 1) {
+            throw new IllegalArgumentException("Peso da média de instabilidade deve estar em (0, 1]: " + alfa);
+        }
+        this.arquivo = arquivo;
+        this.alfa = alfa;
+        this.limiarQuarentena = limiarQuarentena;
+        this.historicos = new ConcurrentHashMap<>(carregar(arquivo));
+    }
+
+    /**
+     * Instância única usada pela extensão e pelo resumo da suíte
+     */
+    public static FlakyTests global() {
+        return Holder.GLOBAL;
+    }
+
+    public Optional<Historico> historico(String id) {
+        return Optional.ofNullable(historicos.get(id));
+    }
+
+    /**
+     * Se o histórico coloca o teste em quarentena (decidido com o histórico das execuções anteriores)
+     */
+    public boolean emQuarentena(String id) {
+        return historico(id).map(historico -> historico.instabilidade() >= limiarQuarentena).orElse(false);
+    }
+
+    /**
+     * @param id uniqueId do JUnit, estável entre execuções
+     */
+    public void registrar(String id, String nome, Desfecho desfecho) {
+        historicos.compute(id, (chave, anterior) -> {
+            Historico base = anterior != null ? anterior : new Historico(nome, 0, 0, 0, 0, null);
+            double instabilidade = switch (desfecho) {
+                case APROVADO, FALHOU -> (1 - alfa) * base.instabilidade();
+                case RECUPERADO -> alfa + (1 - alfa) * base.instabilidade();
+            };
+            return new Historico(nome, base.execucoes() + 1,
+                    base.recuperacoes() + (desfecho == Desfecho.RECUPERADO ? 1 : 0),
+                    base.falhas() + (desfecho == Desfecho.FALHOU ? 1 : 0),
+                    instabilidade,
+                    desfecho == Desfecho.RECUPERADO ? Instant.now().toString() : base.ultimaRecuperacao());
+        });
+        if (desfecho == Desfecho.RECUPERADO) {
+            recuperados.increment();
+        }
+    }
+
+    /**
+     * Resultado de uma tentativa; o desfecho só entra no histórico quando é definitivo: aprovado
+     * de primeira, aprovado depois de falhar (recuperado) ou falha na última tentativa
+     * Depois do desfecho definitivo, novas tentativas do mesmo teste nesta execução são ignoradas
+     * (o Surefire reexecuta todas as invocações de um @ParameterizedTest em que alguma falhou).
+     *
+     * @param reexecucoes novas tentativas que o Surefire faz depois da primeira falha
+     */
+    public void registrarTentativa(String id, String nome, boolean aprovada, int reexecucoes) {
+        if (definidosNestaExecucao.contains(id)) {
+            return;
+        }
+        if (aprovada) {
+            definidosNestaExecucao.add(id);
+            registrar(id, nome, falhasNestaExecucao.remove(id) == null ? Desfecho.APROVADO : Desfecho.RECUPERADO);
+            return;
+        }
+        int falhas = falhasNestaExecucao.merge(id, 1, Integer::sum);
+        if (falhas == 1 && reexecucoes > 0) {
+            reexecutados.increment();
+        }
+        if (falhas > reexecucoes) {
+            definidosNestaExecucao.add(id);
+            falhasNestaExecucao.remove(id);
+            registrar(id, nome, Desfecho.FALHOU);
+        }
+    }
+
+    /**
+     * Tentativas do teste que já falharam nesta execução (0 na primeira tentativa)
+     */
+    public int falhasNestaExecucao(String id) {
+        return falhasNestaExecucao.getOrDefault(id, 0);
+    }
+
+    /**
+     * Falha na última tentativa de um teste em quarentena, reportada como abortada
+     */
+    void registrarFalhaEmQuarentena(String id, String nome) {
+        if (definidosNestaExecucao.add(id)) {
+            falhasNestaExecucao.remove(id);
+            registrar(id, nome, Desfecho.FALHOU);
+        }
+        falhasEmQuarentena.increment();
+    }
+
+    public void salvar() {
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            MAPPER.writeValue(arquivo.toFile(), new Arquivo(Instant.now().toString(), new TreeMap<>(historicos)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar histórico de instabilidade: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Testes com alguma instabilidade, do mais instável ao menos
+     */
+    public String formatar(int limite) {
+        List<Historico> instaveis = historicos.values().stream()
+                .filter(historico -> historico.recuperacoes() > 0)
+                .sorted(Comparator.comparingDouble(Historico::instabilidade).reversed())
+                .limit(limite)
+                .toList();
+        StringBuilder texto = new StringBuilder(String.format("%-11s %-13s %-10s %-7s %s%n",
+                "", "Instabilidade", "Execuções", "Recup.", "Teste"));
+        for (Historico historico : instaveis) {
+            texto.append(String.format(Locale.ROOT, "%-11s %13.2f %10d %7d %s%n",
+                    historico.instabilidade() >= limiarQuarentena ? "QUARENTENA" : "",
+                    historico.instabilidade(), historico.execucoes(), historico.recuperacoes(), historico.nome()));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Grava o ranking completo dos testes instáveis
+     */
+    public void exportar(Path destino) {
+        try {
+            Files.createDirectories(destino.toAbsolutePath().getParent());
+            Files.writeString(destino, formatar(Integer.MAX_VALUE), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar testes instáveis: " + destino, e);
+        }
+    }
+
+    public boolean isVazio() {
+        return historicos.values().stream().noneMatch(historico -> historico.recuperacoes() > 0);
+    }
+
+    /**
+     * Métricas resumidas para o console e o environment.properties
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("flaky.reexecutados", reexecutados.sum());
+        metricas.put("flaky.recuperados", recuperados.sum());
+        metricas.put("flaky.quarentena.testes", historicos.values().stream()
+                .filter(historico -> historico.instabilidade() >= limiarQuarentena).count());
+        metricas.put("flaky.quarentena.falhas", falhasEmQuarentena.sum());
+        return metricas;
+    }
+
+    /**
+     * Grava o categories.json do Allure: falhas em quarentena e testes recuperados numa nova
+     * tentativa ganham categorias próprias, separadas dos defeitos
+     */
+    public static void escreverCategoriasAllure(Path resultados) {
+        List<Map<String, Object>> categorias = List.of(
+                Map.of("name", "Em quarentena (instáveis)",
+                        "matchedStatuses", List.of("skipped"),
+                        "messageRegex", FlakyTestExtension.PREFIXO_QUARENTENA + ".*"),
+                Map.of("name", "Recuperados em nova tentativa",
+                        "matchedStatuses", List.of("passed"),
+                        "messageRegex", FlakyTestExtension.PREFIXO_RECUPERADO + ".*"));
+        try {
+            Files.createDirectories(resultados);
+            MAPPER.writeValue(resultados.resolve("categories.json").toFile(), categorias);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar categories.json do Allure", e);
+        }
+    }
+
+    private static Map<String, Historico> carregar(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(arquivo.toFile(), new TypeReference<Arquivo>() {
+            }).testes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler histórico de instabilidade: " + arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.serverest.report;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orçamento de HTTP de cada teste anotado (ou de todos os testes da classe anotada)
+ * O teste que passar de um dos limites falha ao final, com o uso detalhado por endpoint
+ * (ver HttpBudgetExtension). Conta as requisições da thread do teste, inclusive as da
+ * limpeza do @AfterEach. Limite negativo usa o padrão de http.budget.* (sem limite se
+ * não configurado).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HttpBudget {
+
+    int maxRequisicoes() default -1;
+
+    long maxBytesEnviados() default -1;
+
+    long maxBytesRecebidos() default -1;
+
+    /**
+     * Soma do tempo das requisições, em ms
+     */
+    long maxMillis() default -1;
+}
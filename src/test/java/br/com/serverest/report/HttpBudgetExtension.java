@@ -0,0 +1,83 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Abre a conta de HTTP de cada teste, anexa o uso ao Allure e aplica o orçamento
+ * O orçamento vem de @HttpBudget (método, senão classe) e, para cada limite não
+ * definido na anotação, de http.budget.* no config.properties. Passar de um limite
+ * falha o teste com o uso por endpoint, para achar o N+1 ou a listagem completa.
+ * Registrada via @RegisterExtension com uma contabilidade própria, as contas e as
+ * violações ficam fora das da suíte (para os autotestes do harness).
+ */
+public class HttpBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private final HttpUsage.Contabilidade contabilidade;
+
+    public HttpBudgetExtension() {
+        this(HttpUsage.global());
+    }
+
+    public HttpBudgetExtension(HttpUsage.Contabilidade contabilidade) {
+        this.contabilidade = contabilidade;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        HttpUsage.iniciarTeste(contabilidade);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        String teste = context.getRequiredTestClass().getSimpleName() + " > " + context.getDisplayName();
+        HttpUsage.Conta conta = HttpUsage.finalizarTeste(teste);
+        if (conta.getRequisicoes() > 0 && Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment("Uso de HTTP", "text/plain", conta.formatar());
+        }
+        List<String> excessos = excessos(orcamento(context), conta);
+        if (!excessos.isEmpty()) {
+            contabilidade.registrarViolacao();
+            throw new AssertionError("Orçamento de HTTP excedido (" + String.join("; ", excessos) + ")\n"
+                    + conta.formatar());
+        }
+    }
+
+    private static Optional<HttpBudget> orcamento(ExtensionContext context) {
+        return context.getTestMethod()
+                .flatMap(metodo -> AnnotationSupport.findAnnotation(metodo, HttpBudget.class))
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), HttpBudget.class));
+    }
+
+    private static List<String> excessos(Optional<HttpBudget> anotacao, HttpUsage.Conta conta) {
+        List<String> excessos = new ArrayList<>();
+        verificar(excessos, "requisições", conta.getRequisicoes() - conta.getRepeticoes(),
+                limite(anotacao.map(HttpBudget::maxRequisicoes).orElse(-1), "http.budget.max.requests"));
+        verificar(excessos, "bytes enviados", conta.getBytesEnviados(),
+                limite(anotacao.map(HttpBudget::maxBytesEnviados).orElse(-1L), "http.budget.max.bytes.sent"));
+        verificar(excessos, "bytes recebidos", conta.getBytesRecebidos(),
+                limite(anotacao.map(HttpBudget::maxBytesRecebidos).orElse(-1L), "http.budget.max.bytes.received"));
+        verificar(excessos, "ms em HTTP", conta.getMillis(),
+                limite(anotacao.map(HttpBudget::maxMillis).orElse(-1L), "http.budget.max.ms"));
+        return excessos;
+    }
+
+    private static long limite(long daAnotacao, String chave) {
+        return daAnotacao >= 0 ? daAnotacao : TestConfig.getLong(chave, -1);
+    }
+
+    private static void verificar(List<String> excessos, String medida, long usado, long limite) {
+        if (limite >= 0 && usado > limite) {
+            excessos.add(String.format(Locale.ROOT, "%s: %d de %d", medida, usado, limite));
+        }
+    }
+}
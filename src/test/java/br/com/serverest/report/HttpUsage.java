@@ -0,0 +1,317 @@
+package br.com.serverest.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Contabilidade de HTTP por teste: requisições, bytes enviados e recebidos e tempo
+ * Cada requisição é registrada pelo HttpUsageFilter na conta do teste em andamento na
+ * thread (aberta e fechada pela HttpBudgetExtension). Bytes são os da mensagem HTTP
+ * (linha inicial, cabeçalhos e corpo), sem o overhead de TLS e TCP. O tempo é a soma
+ * das requisições, então passa do tempo do teste quando há requisições em paralelo.
+ * Retentativas e hedges são contados como repetições: entram nos bytes e no tempo,
+ * mas não no orçamento de requisições, que mede as requisições que o teste pediu.
+ * Ao final da suíte os testes mais caros aparecem no resumo e em http-usage.csv.
+ * Os totais ficam numa Contabilidade: a suíte usa a global(); os autotestes do harness
+ * usam uma própria, para que as fixtures deles não entrem no ranking nem nas métricas.
+ */
+public final class HttpUsage {
+
+    private static final ThreadLocal<Conta> DO_TESTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REPETICAO = new ThreadLocal<>();
+    private static final Contabilidade GLOBAL = new Contabilidade();
+
+    private HttpUsage() {
+    }
+
+    /**
+     * Totais, violações de orçamento e registros por teste de um conjunto de testes
+     */
+    public static final class Contabilidade {
+        private final Queue<Registro> porTeste = new ConcurrentLinkedQueue<>();
+        private final LongAdder requisicoes = new LongAdder();
+        private final LongAdder bytesEnviados = new LongAdder();
+        private final LongAdder bytesRecebidos = new LongAdder();
+        private final LongAdder violacoes = new LongAdder();
+
+        private void somar(long enviados, long recebidos) {
+            requisicoes.increment();
+            bytesEnviados.add(enviados);
+            bytesRecebidos.add(recebidos);
+        }
+
+        public void registrarViolacao() {
+            violacoes.increment();
+        }
+
+        public boolean isVazio() {
+            return porTeste.isEmpty();
+        }
+
+        /**
+         * Os testes com mais requisições e os que mais baixaram bytes
+         */
+        public String ranking(int limite) {
+            List<Registro> registros = new ArrayList<>(porTeste);
+            return "Testes com mais requisições:\n"
+                    + tabela(registros, Comparator.comparingInt(Registro::requisicoes)
+                            .thenComparingLong(Registro::bytesRecebidos).reversed(), limite)
+                    + "Testes que mais receberam bytes:\n"
+                    + tabela(registros, Comparator.comparingLong(Registro::bytesRecebidos).reversed(), limite);
+        }
+
+        /**
+         * Exporta o uso de todos os testes em CSV, do mais caro (requisições) para o mais barato
+         */
+        public void exportar(Path arquivo) {
+            List<Registro> registros = new ArrayList<>(porTeste);
+            registros.sort(Comparator.comparingInt(Registro::requisicoes).thenComparingLong(Registro::bytesRecebidos).reversed());
+            try {
+                Files.createDirectories(arquivo.toAbsolutePath().getParent());
+                try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                    writer.write("teste,requisicoes,bytes_enviados,bytes_recebidos,http_ms\n");
+                    for (Registro registro : registros) {
+                        writer.write(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%d%n", registro.teste().replace("\"", "\"\""),
+                                registro.requisicoes(), registro.bytesEnviados(), registro.bytesRecebidos(), registro.millis()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao exportar uso de HTTP: " + arquivo, e);
+            }
+        }
+
+        public Map<String, Object> metricas() {
+            Map<String, Object> metricas = new LinkedHashMap<>();
+            metricas.put("http.requisicoes", requisicoes.sum());
+            metricas.put("http.bytes.enviados", bytesEnviados.sum());
+            metricas.put("http.bytes.recebidos", bytesRecebidos.sum());
+            metricas.put("http.budget.violacoes", violacoes.sum());
+            return metricas;
+        }
+    }
+
+    /**
+     * Uso acumulado de um teste
+     */
+    public static final class Conta {
+        private final Contabilidade contabilidade;
+        private int requisicoes;
+        private int repeticoes;
+        private long bytesEnviados;
+        private long bytesRecebidos;
+        private long nanos;
+        private final Map<String, int[]> porEndpoint = new TreeMap<>();
+
+        private Conta(Contabilidade contabilidade) {
+            this.contabilidade = contabilidade;
+        }
+
+        private synchronized void adicionar(String chave, boolean repeticao, long enviados, long recebidos,
+                                            long duracaoNanos) {
+            requisicoes++;
+            if (repeticao) {
+                repeticoes++;
+            }
+            bytesEnviados += enviados;
+            bytesRecebidos += recebidos;
+            nanos += duracaoNanos;
+            porEndpoint.computeIfAbsent(chave, endpoint -> new int[1])[0]++;
+        }
+
+        public synchronized int getRequisicoes() {
+            return requisicoes;
+        }
+
+        /**
+         * Quantas das requisições foram retentativas ou hedges de outra
+         */
+        public synchronized int getRepeticoes() {
+            return repeticoes;
+        }
+
+        public synchronized long getBytesEnviados() {
+            return bytesEnviados;
+        }
+
+        public synchronized long getBytesRecebidos() {
+            return bytesRecebidos;
+        }
+
+        public synchronized long getMillis() {
+            return nanos / 1_000_000;
+        }
+
+        /**
+         * Requisições por endpoint ("GET /usuarios" -> 3)
+         */
+        public synchronized Map<String, Integer> getPorEndpoint() {
+            Map<String, Integer> copia = new LinkedHashMap<>();
+            porEndpoint.forEach((chave, quantidade) -> copia.put(chave, quantidade[0]));
+            return copia;
+        }
+
+        public synchronized String formatar() {
+            StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                    "%d requisições%s, %s enviados, %s recebidos, %d ms em HTTP%n", requisicoes,
+                    repeticoes > 0 ? " (" + repeticoes + " repetições)" : "",
+                    bytes(bytesEnviados), bytes(bytesRecebidos), nanos / 1_000_000));
+            porEndpoint.forEach((chave, quantidade) ->
+                    texto.append(String.format(Locale.ROOT, "  %4d  %s%n", quantidade[0], chave)));
+            return texto.toString();
+        }
+    }
+
+    /**
+     * Uso de um teste já finalizado, para o ranking da suíte
+     */
+    public record Registro(String teste, int requisicoes, long bytesEnviados, long bytesRecebidos, long millis) {
+    }
+
+    /**
+     * A contabilidade da suíte, a que vai para o resumo, o http-usage.csv e as métricas
+     */
+    public static Contabilidade global() {
+        return GLOBAL;
+    }
+
+    public static void iniciarTeste() {
+        iniciarTeste(GLOBAL);
+    }
+
+    public static void iniciarTeste(Contabilidade contabilidade) {
+        DO_TESTE.set(new Conta(contabilidade));
+    }
+
+    /**
+     * Requisições já feitas pelo teste em andamento na thread (0 fora de um teste)
+     */
+    public static int requisicoesDoTeste() {
+        Conta conta = DO_TESTE.get();
+        return conta == null ? 0 : conta.getRequisicoes();
+    }
+
+    /**
+     * Envolve uma requisição que vai rodar em outra thread (ex.: HedgePolicy) para que
+     * ela continue sendo contada no teste da thread atual
+     */
+    public static <T> Supplier<T> propagarTeste(Supplier<T> tarefa) {
+        Conta conta = DO_TESTE.get();
+        if (conta == null) {
+            return tarefa;
+        }
+        return () -> {
+            DO_TESTE.set(conta);
+            try {
+                return tarefa.get();
+            } finally {
+                DO_TESTE.remove();
+            }
+        };
+    }
+
+    /**
+     * Envolve uma retentativa ou um hedge para que seja contado como repetição
+     */
+    public static <T> Supplier<T> comoRepeticao(Supplier<T> tarefa) {
+        return () -> {
+            REPETICAO.set(Boolean.TRUE);
+            try {
+                return tarefa.get();
+            } finally {
+                REPETICAO.remove();
+            }
+        };
+    }
+
+    /**
+     * Chamado pelo filtro a cada requisição, respondida ou não
+     */
+    public static void registrar(String chave, long bytesEnviados, long bytesRecebidos, long duracaoNanos) {
+        registrar(GLOBAL, chave, bytesEnviados, bytesRecebidos, duracaoNanos);
+    }
+
+    /**
+     * Idem, somando nos totais da contabilidade do teste em andamento ou, fora de um
+     * teste, nos de foraDeTeste
+     */
+    public static void registrar(Contabilidade foraDeTeste, String chave, long bytesEnviados, long bytesRecebidos,
+                                 long duracaoNanos) {
+        Conta conta = DO_TESTE.get();
+        if (conta == null) {
+            foraDeTeste.somar(bytesEnviados, bytesRecebidos);
+            return;
+        }
+        conta.contabilidade.somar(bytesEnviados, bytesRecebidos);
+        conta.adicionar(chave, REPETICAO.get() != null, bytesEnviados, bytesRecebidos, duracaoNanos);
+    }
+
+    /**
+     * Fecha a conta da thread e a guarda para o ranking (testes sem requisições ficam de fora)
+     */
+    public static Conta finalizarTeste(String teste) {
+        Conta conta = DO_TESTE.get();
+        DO_TESTE.remove();
+        if (conta == null) {
+            return new Conta(GLOBAL);
+        }
+        synchronized (conta) {
+            if (conta.requisicoes > 0) {
+                conta.contabilidade.porTeste.add(new Registro(teste, conta.requisicoes, conta.bytesEnviados,
+                        conta.bytesRecebidos, conta.nanos / 1_000_000));
+            }
+        }
+        return conta;
+    }
+
+    public static void registrarViolacao() {
+        GLOBAL.registrarViolacao();
+    }
+
+    public static boolean isVazio() {
+        return GLOBAL.isVazio();
+    }
+
+    public static String ranking(int limite) {
+        return GLOBAL.ranking(limite);
+    }
+
+    public static void exportar(Path arquivo) {
+        GLOBAL.exportar(arquivo);
+    }
+
+    public static Map<String, Object> metricas() {
+        return GLOBAL.metricas();
+    }
+
+    private static String tabela(List<Registro> registros, Comparator<Registro> ordem, int limite) {
+        StringBuilder tabela = new StringBuilder(String.format("  %5s %10s %10s %8s  %s%n",
+                "req", "enviados", "recebidos", "http ms", "Teste"));
+        registros.stream().sorted(ordem).limit(limite).forEach(registro ->
+                tabela.append(String.format(Locale.ROOT, "  %5d %10s %10s %8d  %s%n", registro.requisicoes(),
+                        bytes(registro.bytesEnviados()), bytes(registro.bytesRecebidos()), registro.millis(),
+                        registro.teste())));
+        return tabela.toString();
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes >= 1L << 20) {
+            return String.format(Locale.ROOT, "%.1f MB", bytes / (double) (1L << 20));
+        }
+        return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.serverest.report;
+
+import br.com.serverest.utils.StreamingBody;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Registra cada requisição no HttpUsage: bytes da mensagem enviada e recebida e duração
+ * Fica antes dos demais filtros de medição (conexão, Allure, latência, trace), então a
+ * duração inclui o trabalho deles. Os bytes enviados contam os cabeçalhos da
+ * especificação, não os que o cliente HTTP acrescenta (Host, Content-Length), então são
+ * aproximados; o corpo da resposta é lido aqui (fica em cache nela) para ser contado, e
+ * o de um StreamingBody é contado pelos bytes efetivamente lidos no envio.
+ * Requisições fora de um teste entram na contabilidade passada no construtor (a global,
+ * por padrão).
+ */
+public class HttpUsageFilter implements OrderedFilter {
+
+    private final HttpUsage.Contabilidade foraDeTeste;
+
+    public HttpUsageFilter() {
+        this(HttpUsage.global());
+    }
+
+    public HttpUsageFilter(HttpUsage.Contabilidade foraDeTeste) {
+        this.foraDeTeste = foraDeTeste;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long enviados = requestSpec.getMethod().length() + requestSpec.getURI().length() + " HTTP/1.1\r\n".length()
+                + cabecalhos(requestSpec.getHeaders());
+        long recebidos = 0;
+        long inicio = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            recebidos = response.getStatusLine().length() + 2L + cabecalhos(response.getHeaders())
+                    + response.asByteArray().length;
+            return response;
+        } finally {
+            HttpUsage.registrar(foraDeTeste, requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(),
+                    enviados + corpo(requestSpec.getBody()), recebidos, System.nanoTime() - inicio);
+        }
+    }
+
+    private static long cabecalhos(Headers headers) {
+        long total = 2;
+        for (Header header : headers) {
+            total += header.getName().length() + header.getValue().length() + 4;
+        }
+        return total;
+    }
+
+    private static long corpo(Object body) {
+        if (body instanceof StreamingBody streaming) {
+            return streaming.getBytesLidos();
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return body == null ? 0 : body.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE - 4;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Perfil JFR por classe de teste e, sob demanda, por teste
+ * - jfr.enabled=true: uma gravação por classe; o resumo vira um resultado próprio no
+ *   Allure ("Perfil JFR: Classe") e vai para reports/jfr/Classe.txt
+ * - @JfrPerTest no método ou na classe (ou jfr.per.test=true): uma gravação por teste,
+ *   com o resumo anexado ao próprio teste como "Perfil JFR"
+ * Com jfr.keep.files=true os .jfr ficam em reports/jfr para o JDK Mission Control.
+ */
+public class JfrExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(JfrExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (TestConfig.getBoolean("jfr.enabled", false)) {
+            context.getStore(NAMESPACE).put(JfrProfiler.class,
+                    iniciar(context.getRequiredTestClass().getSimpleName()));
+        }
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        JfrProfiler daClasse = context.getParent()
+                .map(pai -> pai.getStore(NAMESPACE).get(JfrProfiler.class, JfrProfiler.class))
+                .orElse(null);
+        if (daClasse != null) {
+            daClasse.acompanharThreadAtual();
+        }
+        if (porTeste(context)) {
+            context.getStore(NAMESPACE).put(JfrProfiler.class, iniciar(nomeDoTeste(context)));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        JfrProfiler profiler = context.getStore(NAMESPACE).remove(JfrProfiler.class, JfrProfiler.class);
+        if (profiler != null) {
+            String resumo = profiler.parar(arquivoJfr(nomeDoTeste(context))).formatar();
+            Allure.addAttachment("Perfil JFR", "text/plain", resumo);
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        JfrProfiler profiler = context.getStore(NAMESPACE).remove(JfrProfiler.class, JfrProfiler.class);
+        if (profiler != null) {
+            String classe = context.getRequiredTestClass().getSimpleName();
+            String resumo = profiler.parar(arquivoJfr(classe)).formatar();
+            gravar(diretorio().resolve(classe + ".txt"), resumo);
+            AllureResults.publicar("Perfil JFR: " + classe, JfrExtension.class.getName() + "." + classe,
+                    "Perfil JFR", null, "Perfil JFR", resumo);
+        }
+    }
+
+    private static boolean porTeste(ExtensionContext context) {
+        return TestConfig.getBoolean("jfr.per.test", false)
+                || AnnotationSupport.isAnnotated(context.getTestMethod(), JfrPerTest.class)
+                || AnnotationSupport.isAnnotated(context.getTestClass(), JfrPerTest.class);
+    }
+
+    private static JfrProfiler iniciar(String nome) {
+        return JfrProfiler.iniciar(nome,
+                Duration.ofMillis(TestConfig.getLong("jfr.blocking.threshold.ms", 10)),
+                TestConfig.get("jfr.allocation.throttle", "1000/s"));
+    }
+
+    private static String nomeDoTeste(ExtensionContext context) {
+        return context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName()
+                + (context.getDisplayName().startsWith("[") ? " " + context.getDisplayName() : "");
+    }
+
+    private static Path arquivoJfr(String nome) {
+        if (!TestConfig.getBoolean("jfr.keep.files", false)) {
+            return null;
+        }
+        return diretorio().resolve(nome.replaceAll("[^A-Za-z0-9._-]", "_") + ".jfr");
+    }
+
+    private static Path diretorio() {
+        return Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("jfr");
+    }
+
+    private static void gravar(Path arquivo, String conteudo) {
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Files.writeString(arquivo, conteudo, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar perfil JFR: " + arquivo, e);
+        }
+    }
+}
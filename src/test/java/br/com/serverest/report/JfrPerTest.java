@@ -0,0 +1,15 @@
+package br.com.serverest.report;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Grava o JFR de cada teste anotado (ou de todos os testes da classe anotada) e anexa o
+ * resumo ao resultado do teste no Allure, independente de jfr.enabled (ver JfrExtension)
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JfrPerTest {
+}
@@ -0,0 +1,297 @@
+package br.com.serverest.report;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gravação do JDK Flight Recorder resumida para o relatório de um teste ou classe
+ * - alocação: soma dos pesos de jdk.ObjectAllocationSample (estimativa do JFR dos bytes
+ *   alocados por thread), taxa por segundo e os frames que mais alocam, agrupados pelo
+ *   primeiro frame fora do JDK (RestAssured, Groovy, Jackson ou o próprio harness)
+ * - GC: coletas e pausas (jdk.GarbageCollection), sempre da JVM inteira
+ * - bloqueios: monitor (jdk.JavaMonitorEnter), park (jdk.ThreadPark) e sleep
+ *   (jdk.ThreadSleep) acima do limiar
+ * Alocação e bloqueios contam só as threads acompanhadas; com testes em paralelo a
+ * mesma thread pode executar outra classe, então o resumo por classe é aproximado.
+ */
+public final class JfrProfiler {
+
+    private static final String ALOCACAO = "jdk.ObjectAllocationSample";
+    private static final String GC = "jdk.GarbageCollection";
+    private static final String MONITOR = "jdk.JavaMonitorEnter";
+    private static final String PARK = "jdk.ThreadPark";
+    private static final String SLEEP = "jdk.ThreadSleep";
+    private static final int TOP_FRAMES = 5;
+
+    private final String nome;
+    private final Recording recording;
+    private final Set<Long> threads = ConcurrentHashMap.newKeySet();
+    private final Instant inicio;
+
+    private JfrProfiler(String nome, Duration limiarBloqueio, String amostragemAlocacao) {
+        this.nome = nome;
+        this.recording = new Recording();
+        recording.setName(nome);
+        recording.enable(ALOCACAO).with("throttle", amostragemAlocacao).withStackTrace();
+        recording.enable(GC);
+        recording.enable(MONITOR).withThreshold(limiarBloqueio).withStackTrace();
+        recording.enable(PARK).withThreshold(limiarBloqueio).withStackTrace();
+        recording.enable(SLEEP).withThreshold(limiarBloqueio);
+        this.inicio = Instant.now();
+        recording.start();
+    }
+
+    /**
+     * Inicia uma gravação acompanhando a thread atual
+     *
+     * @param amostragemAlocacao limite de amostras de alocação do JFR, ex.: "1000/s"
+     */
+    public static JfrProfiler iniciar(String nome, Duration limiarBloqueio, String amostragemAlocacao) {
+        JfrProfiler profiler = new JfrProfiler(nome, limiarBloqueio, amostragemAlocacao);
+        profiler.acompanharThreadAtual();
+        return profiler;
+    }
+
+    public void acompanharThreadAtual() {
+        threads.add(Thread.currentThread().threadId());
+    }
+
+    /**
+     * Encerra a gravação e resume os eventos
+     *
+     * @param arquivo onde guardar o .jfr para abrir no JDK Mission Control; null descarta
+     */
+    public Resumo parar(Path arquivo) {
+        Instant fim = Instant.now();
+        try {
+            recording.stop();
+            Path destino = arquivo != null ? arquivo : Files.createTempFile("serverest-", ".jfr");
+            if (destino.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(destino.toAbsolutePath().getParent());
+            }
+            try {
+                recording.dump(destino);
+                return resumir(RecordingFile.readAllEvents(destino), fim);
+            } finally {
+                if (arquivo == null) {
+                    Files.deleteIfExists(destino);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler a gravação JFR: " + nome, e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    private Resumo resumir(List<RecordedEvent> eventos, Instant fim) {
+        Resumo resumo = new Resumo(nome, Duration.between(inicio, fim));
+        for (RecordedEvent evento : eventos) {
+            if (evento.getStartTime().isBefore(inicio) || evento.getStartTime().isAfter(fim)) {
+                continue;
+            }
+            String tipo = evento.getEventType().getName();
+            if (GC.equals(tipo)) {
+                resumo.coletas++;
+                resumo.pausaTotal = resumo.pausaTotal.plus(evento.getDuration("sumOfPauses"));
+                Duration maior = evento.getDuration("longestPause");
+                if (maior.compareTo(resumo.maiorPausa) > 0) {
+                    resumo.maiorPausa = maior;
+                }
+                continue;
+            }
+            if (!acompanhada(evento)) {
+                continue;
+            }
+            switch (tipo) {
+                case ALOCACAO -> {
+                    if (doProfiler(evento.getStackTrace())) {
+                        // gravações sobrepostas (classe e teste): não contar a leitura de outra gravação
+                        continue;
+                    }
+                    long bytes = evento.getLong("weight");
+                    resumo.bytesAlocados += bytes;
+                    resumo.alocacaoPorFrame.merge(frameDeOrigem(evento.getStackTrace()), bytes, Long::sum);
+                }
+                case MONITOR -> resumo.monitor.adicionar(evento.getDuration());
+                case PARK -> {
+                    if (!ociosa(evento.getStackTrace())) {
+                        resumo.park.adicionar(evento.getDuration());
+                    }
+                }
+                case SLEEP -> resumo.sleep.adicionar(evento.getDuration());
+                default -> {
+                }
+            }
+        }
+        return resumo;
+    }
+
+    private boolean acompanhada(RecordedEvent evento) {
+        RecordedThread thread = evento.getThread();
+        return thread != null && threads.contains(thread.getJavaThreadId());
+    }
+
+    /**
+     * Primeiro frame fora do JDK: aponta quem pediu a alocação, não o Arrays.copyOf
+     */
+    private static String frameDeOrigem(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return "(sem pilha)";
+        }
+        for (RecordedFrame frame : pilha.getFrames()) {
+            String classe = frame.getMethod().getType().getName();
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return classe + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame topo = pilha.getFrames().get(0);
+        return topo.getMethod().getType().getName() + "." + topo.getMethod().getName();
+    }
+
+    private static boolean doProfiler(RecordedStackTrace pilha) {
+        return pilha != null && pilha.getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().equals(JfrProfiler.class.getName()));
+    }
+
+    /**
+     * Worker do pool esperando trabalho entre testes não é bloqueio do teste
+     */
+    private static boolean ociosa(RecordedStackTrace pilha) {
+        return pilha != null && pilha.getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getName().equals("awaitWork")
+                        && frame.getMethod().getType().getName().equals("java.util.concurrent.ForkJoinPool"));
+    }
+
+    /**
+     * Totais de um tipo de bloqueio
+     */
+    public static final class Bloqueios {
+        private long eventos;
+        private Duration total = Duration.ZERO;
+
+        private void adicionar(Duration duracao) {
+            eventos++;
+            total = total.plus(duracao);
+        }
+
+        public long getEventos() {
+            return eventos;
+        }
+
+        public Duration getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Resumo da gravação
+     */
+    public static final class Resumo {
+        private final String nome;
+        private final Duration duracao;
+        private long bytesAlocados;
+        private final Map<String, Long> alocacaoPorFrame = new HashMap<>();
+        private long coletas;
+        private Duration pausaTotal = Duration.ZERO;
+        private Duration maiorPausa = Duration.ZERO;
+        private final Bloqueios monitor = new Bloqueios();
+        private final Bloqueios park = new Bloqueios();
+        private final Bloqueios sleep = new Bloqueios();
+
+        private Resumo(String nome, Duration duracao) {
+            this.nome = nome;
+            this.duracao = duracao;
+        }
+
+        public long getBytesAlocados() {
+            return bytesAlocados;
+        }
+
+        public double getBytesPorSegundo() {
+            double segundos = duracao.toNanos() / 1e9;
+            return segundos == 0 ? 0 : bytesAlocados / segundos;
+        }
+
+        /**
+         * Frames que mais alocaram, do maior para o menor
+         */
+        public List<Map.Entry<String, Long>> getTopFrames() {
+            return alocacaoPorFrame.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                    .limit(TOP_FRAMES)
+                    .toList();
+        }
+
+        public long getColetas() {
+            return coletas;
+        }
+
+        public Duration getPausaTotal() {
+            return pausaTotal;
+        }
+
+        public Bloqueios getMonitor() {
+            return monitor;
+        }
+
+        public Bloqueios getPark() {
+            return park;
+        }
+
+        public Bloqueios getSleep() {
+            return sleep;
+        }
+
+        /**
+         * Texto compacto para anexar ao Allure
+         */
+        public String formatar() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format(Locale.ROOT, "%s (%d ms)%n", nome, duracao.toMillis()));
+            texto.append(String.format(Locale.ROOT, "Alocação: %s (%s/s, amostrado pelo JFR)%n",
+                    bytes(bytesAlocados), bytes((long) getBytesPorSegundo())));
+            texto.append(String.format(Locale.ROOT, "GC (JVM inteira): %d coletas, pausa total %.1f ms, maior %.1f ms%n",
+                    coletas, ms(pausaTotal), ms(maiorPausa)));
+            texto.append(String.format(Locale.ROOT, "Bloqueios: monitor %d (%.1f ms), park %d (%.1f ms), sleep %d (%.1f ms)%n",
+                    monitor.eventos, ms(monitor.total), park.eventos, ms(park.total), sleep.eventos, ms(sleep.total)));
+            List<Map.Entry<String, Long>> top = getTopFrames();
+            if (!top.isEmpty()) {
+                texto.append("Maiores alocações:\n");
+                for (Map.Entry<String, Long> frame : top) {
+                    texto.append(String.format(Locale.ROOT, "  %10s  %s%n", bytes(frame.getValue()), frame.getKey()));
+                }
+            }
+            return texto.toString();
+        }
+
+        private static double ms(Duration duracao) {
+            return duracao.toNanos() / 1_000_000.0;
+        }
+
+        private static String bytes(long bytes) {
+            if (bytes >= 1L << 20) {
+                return String.format(Locale.ROOT, "%.1f MB", bytes / (double) (1L << 20));
+            }
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+    }
+}
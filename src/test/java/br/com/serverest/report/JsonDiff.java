@@ -0,0 +1,352 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diferença estrutural entre dois JSON (esperado e atual), lidos em streaming
+ * Os dois documentos são percorridos juntos, token a token, uma única vez. Campos de objeto
+ * são casados pelo nome e elementos de array pela primeira chave de diff.array.keys presente
+ * no elemento (ex.: _id), com qualquer ordem; sem chave, pela posição. Um campo ou elemento
+ * que chega antes do par fica pendente até o outro lado alcançá-lo, então a memória depende
+ * do maior elemento e do quanto as ordens divergem, não do tamanho dos documentos.
+ * O resultado é uma lista de operações por caminho (/usuarios[_id=abc]/nome), guardando só as
+ * primeiras diff.max.operations; as demais são apenas contadas.
+ */
+public final class JsonDiff {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final int MAX_VALOR = 200;
+
+    private final List<String> chaves;
+    private final int limite;
+
+    private static final class Holder {
+        private static final JsonDiff PADRAO = new JsonDiff(
+                Arrays.stream(TestConfig.get("diff.array.keys", "_id").split(","))
+                        .map(String::trim).filter(chave -> !chave.isEmpty()).toList(),
+                TestConfig.getInt("diff.max.operations", 200));
+    }
+
+    public enum Tipo {
+        ADICIONADO("+"), REMOVIDO("-"), ALTERADO("~");
+
+        private final String simbolo;
+
+        Tipo(String simbolo) {
+            this.simbolo = simbolo;
+        }
+    }
+
+    /**
+     * @param esperado null quando ADICIONADO
+     * @param atual    null quando REMOVIDO
+     */
+    public record Operacao(Tipo tipo, String caminho, JsonNode esperado, JsonNode atual) {
+
+        public String formatar() {
+            return switch (tipo) {
+                case ADICIONADO -> tipo.simbolo + " " + caminho + ": " + resumir(atual);
+                case REMOVIDO -> tipo.simbolo + " " + caminho + ": " + resumir(esperado);
+                case ALTERADO -> tipo.simbolo + " " + caminho + ": " + resumir(esperado) + " → " + resumir(atual);
+            };
+        }
+    }
+
+    /**
+     * @param chaves campos que identificam elementos de array, em ordem de preferência
+     * @param limite máximo de operações guardadas no resultado
+     */
+    public JsonDiff(List<String> chaves, int limite) {
+        this.chaves = List.copyOf(chaves);
+        this.limite = limite;
+    }
+
+    /**
+     * diff.array.keys e diff.max.operations do config.properties
+     */
+    public static JsonDiff padrao() {
+        return Holder.PADRAO;
+    }
+
+    public Resultado comparar(String esperado, String atual) {
+        return comparar(new ByteArrayInputStream(esperado.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(atual.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compara os dois documentos e fecha os streams
+     *
+     * @throws UncheckedIOException se algum dos dois não for JSON válido
+     */
+    public Resultado comparar(InputStream esperado, InputStream atual) {
+        Resultado resultado = new Resultado(limite);
+        try (JsonParser e = FACTORY.createParser(esperado); JsonParser a = FACTORY.createParser(atual)) {
+            JsonToken inicioEsperado = e.nextToken();
+            JsonToken inicioAtual = a.nextToken();
+            if (inicioEsperado == null || inicioAtual == null) {
+                if (inicioEsperado != inicioAtual) {
+                    resultado.registrar(Tipo.ALTERADO, "", arvore(e), arvore(a));
+                }
+            } else {
+                new Comparacao(resultado).valor(e, a, "");
+            }
+            if (e.nextToken() != null || a.nextToken() != null) {
+                throw new UncheckedIOException(new IOException("Conteúdo após o fim do documento JSON"));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("JSON inválido na comparação: " + ex.getMessage(), ex);
+        }
+        return resultado;
+    }
+
+    private static JsonNode arvore(JsonParser parser) throws IOException {
+        return parser.currentToken() == null ? null : parser.readValueAsTree();
+    }
+
+    /**
+     * Uma comparação em andamento; os dois parsers entram e saem de cada método no primeiro e
+     * no último token do valor
+     */
+    private final class Comparacao {
+        private final Resultado resultado;
+
+        private Comparacao(Resultado resultado) {
+            this.resultado = resultado;
+        }
+
+        private void valor(JsonParser e, JsonParser a, String caminho) throws IOException {
+            JsonToken te = e.currentToken();
+            JsonToken ta = a.currentToken();
+            if (te == JsonToken.START_OBJECT && ta == JsonToken.START_OBJECT) {
+                objeto(e, a, caminho);
+            } else if (te == JsonToken.START_ARRAY && ta == JsonToken.START_ARRAY) {
+                array(e, a, caminho);
+            } else {
+                JsonNode esperado = e.readValueAsTree();
+                JsonNode atual = a.readValueAsTree();
+                if (!esperado.equals(atual)) {
+                    resultado.registrar(Tipo.ALTERADO, caminho, esperado, atual);
+                }
+            }
+        }
+
+        private void arvores(JsonNode esperado, JsonNode atual, String caminho) throws IOException {
+            try (JsonParser e = esperado.traverse(MAPPER); JsonParser a = atual.traverse(MAPPER)) {
+                e.nextToken();
+                a.nextToken();
+                valor(e, a, caminho);
+            }
+        }
+
+        private void objeto(JsonParser e, JsonParser a, String caminho) throws IOException {
+            Map<String, JsonNode> pendentesEsperado = new LinkedHashMap<>();
+            Map<String, JsonNode> pendentesAtual = new LinkedHashMap<>();
+            JsonToken te = e.nextToken();
+            JsonToken ta = a.nextToken();
+            while (te != JsonToken.END_OBJECT || ta != JsonToken.END_OBJECT) {
+                if (te == JsonToken.FIELD_NAME && ta == JsonToken.FIELD_NAME && e.currentName().equals(a.currentName())) {
+                    String campo = e.currentName();
+                    e.nextToken();
+                    a.nextToken();
+                    valor(e, a, caminho + "/" + escapar(campo));
+                    te = e.nextToken();
+                    ta = a.nextToken();
+                    continue;
+                }
+                if (te == JsonToken.FIELD_NAME) {
+                    String campo = e.currentName();
+                    e.nextToken();
+                    JsonNode esperado = e.readValueAsTree();
+                    JsonNode atual = pendentesAtual.remove(campo);
+                    if (atual != null) {
+                        arvores(esperado, atual, caminho + "/" + escapar(campo));
+                    } else {
+                        pendentesEsperado.put(campo, esperado);
+                    }
+                    te = e.nextToken();
+                }
+                if (ta == JsonToken.FIELD_NAME) {
+                    String campo = a.currentName();
+                    a.nextToken();
+                    JsonNode atual = a.readValueAsTree();
+                    JsonNode esperado = pendentesEsperado.remove(campo);
+                    if (esperado != null) {
+                        arvores(esperado, atual, caminho + "/" + escapar(campo));
+                    } else {
+                        pendentesAtual.put(campo, atual);
+                    }
+                    ta = a.nextToken();
+                }
+            }
+            pendentesEsperado.forEach((campo, esperado) ->
+                    resultado.registrar(Tipo.REMOVIDO, caminho + "/" + escapar(campo), esperado, null));
+            pendentesAtual.forEach((campo, atual) ->
+                    resultado.registrar(Tipo.ADICIONADO, caminho + "/" + escapar(campo), null, atual));
+        }
+
+        private void array(JsonParser e, JsonParser a, String caminho) throws IOException {
+            Map<String, JsonNode> pendentesEsperado = new LinkedHashMap<>();
+            Map<String, JsonNode> pendentesAtual = new LinkedHashMap<>();
+            int indice = 0;
+            JsonToken te = e.nextToken();
+            JsonToken ta = a.nextToken();
+            while (te != JsonToken.END_ARRAY || ta != JsonToken.END_ARRAY) {
+                // elementos de array são lidos um a um como árvore: só assim se conhece a chave
+                JsonNode esperado = te == JsonToken.END_ARRAY ? null : e.readValueAsTree();
+                JsonNode atual = ta == JsonToken.END_ARRAY ? null : a.readValueAsTree();
+                String chaveEsperado = chave(esperado);
+                String chaveAtual = chave(atual);
+                if (esperado != null && atual != null && chaveEsperado == null && chaveAtual == null) {
+                    arvores(esperado, atual, caminho + "/" + indice);
+                } else if (chaveEsperado != null && chaveEsperado.equals(chaveAtual)) {
+                    arvores(esperado, atual, caminho + "[" + chaveEsperado + "]");
+                } else {
+                    if (esperado != null) {
+                        if (chaveEsperado == null) {
+                            resultado.registrar(Tipo.REMOVIDO, caminho + "/" + indice, esperado, null);
+                        } else if (pendentesAtual.containsKey(chaveEsperado)) {
+                            arvores(esperado, pendentesAtual.remove(chaveEsperado), caminho + "[" + chaveEsperado + "]");
+                        } else {
+                            pendente(pendentesEsperado, chaveEsperado, esperado, Tipo.REMOVIDO, caminho);
+                        }
+                    }
+                    if (atual != null) {
+                        if (chaveAtual == null) {
+                            resultado.registrar(Tipo.ADICIONADO, caminho + "/" + indice, null, atual);
+                        } else if (pendentesEsperado.containsKey(chaveAtual)) {
+                            arvores(pendentesEsperado.remove(chaveAtual), atual, caminho + "[" + chaveAtual + "]");
+                        } else {
+                            pendente(pendentesAtual, chaveAtual, atual, Tipo.ADICIONADO, caminho);
+                        }
+                    }
+                }
+                indice++;
+                te = te == JsonToken.END_ARRAY ? te : e.nextToken();
+                ta = ta == JsonToken.END_ARRAY ? ta : a.nextToken();
+            }
+            pendentesEsperado.forEach((chave, esperado) ->
+                    resultado.registrar(Tipo.REMOVIDO, caminho + "[" + chave + "]", esperado, null));
+            pendentesAtual.forEach((chave, atual) ->
+                    resultado.registrar(Tipo.ADICIONADO, caminho + "[" + chave + "]", null, atual));
+        }
+
+        /**
+         * Chave repetida no mesmo lado não tem par possível: o elemento anterior sai como removido/adicionado
+         */
+        private void pendente(Map<String, JsonNode> pendentes, String chave, JsonNode elemento, Tipo tipo,
+                              String caminho) {
+            JsonNode anterior = pendentes.put(chave, elemento);
+            if (anterior != null) {
+                resultado.registrar(tipo, caminho + "[" + chave + "]",
+                        tipo == Tipo.REMOVIDO ? anterior : null, tipo == Tipo.ADICIONADO ? anterior : null);
+            }
+        }
+
+        /**
+         * "campo=valor" da primeira chave configurada presente no elemento; null se não houver
+         */
+        private String chave(JsonNode elemento) {
+            if (elemento == null || !elemento.isObject()) {
+                return null;
+            }
+            for (String chave : chaves) {
+                JsonNode valor = elemento.get(chave);
+                if (valor != null && valor.isValueNode() && !valor.isNull()) {
+                    return chave + "=" + valor.asText();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Segmento de caminho no formato do JSON Pointer (RFC 6901)
+     */
+    private static String escapar(String campo) {
+        return campo.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String resumir(JsonNode valor) {
+        if (valor == null) {
+            return "(documento vazio)";
+        }
+        String texto = valor.toString();
+        return texto.length() <= MAX_VALOR ? texto
+                : texto.substring(0, MAX_VALOR) + "... (" + texto.length() + " caracteres)";
+    }
+
+    /**
+     * Operações encontradas: as primeiras limite guardadas, todas contadas
+     */
+    public static final class Resultado {
+        private final int limite;
+        private final List<Operacao> operacoes = new ArrayList<>();
+        private final Map<Tipo, Long> porTipo = new LinkedHashMap<>();
+        private long total;
+
+        private Resultado(int limite) {
+            this.limite = limite;
+            for (Tipo tipo : Tipo.values()) {
+                porTipo.put(tipo, 0L);
+            }
+        }
+
+        private void registrar(Tipo tipo, String caminho, JsonNode esperado, JsonNode atual) {
+            total++;
+            porTipo.merge(tipo, 1L, Long::sum);
+            if (operacoes.size() < limite) {
+                operacoes.add(new Operacao(tipo, caminho.isEmpty() ? "/" : caminho, esperado, atual));
+            }
+        }
+
+        public boolean isIgual() {
+            return total == 0;
+        }
+
+        public List<Operacao> getOperacoes() {
+            return Collections.unmodifiableList(operacoes);
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long contar(Tipo tipo) {
+            return porTipo.get(tipo);
+        }
+
+        public String formatar() {
+            if (isIgual()) {
+                return "Sem diferenças entre esperado e atual\n";
+            }
+            StringBuilder texto = new StringBuilder(String.format(
+                    "%d diferença(s): %d alterada(s), %d adicionada(s), %d removida(s) (esperado → atual)%n",
+                    total, contar(Tipo.ALTERADO), contar(Tipo.ADICIONADO), contar(Tipo.REMOVIDO)));
+            for (Operacao operacao : operacoes) {
+                texto.append(operacao.formatar()).append('\n');
+            }
+            if (total > operacoes.size()) {
+                texto.append(String.format("... e mais %d diferença(s) não exibidas%n", total - operacoes.size()));
+            }
+            return texto.toString();
+        }
+    }
+}
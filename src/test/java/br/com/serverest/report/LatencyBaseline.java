@@ -0,0 +1,152 @@
+package br.com.serverest.report;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Histórico de latência entre execuções e comparação estatística com a execução atual
+ * O arquivo guarda, por chave (endpoint ou teste), as amostras mais recentes das execuções
+ * anteriores. Uma chave é marcada como regressão quando o teste de Mann-Whitney indica que
+ * a execução atual é mais lenta (p < alfa) e a mediana subiu pelo menos o aumento mínimo,
+ * o que evita acusar diferenças estatisticamente significativas porém irrelevantes.
+ */
+public final class LatencyBaseline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LatencyBaseline() {
+    }
+
+    public record Comparacao(String chave, int amostrasBase, int amostrasAtual,
+                             double p50Base, double p50Atual, double p95Base, double p95Atual,
+                             double pValor, boolean regressao) {
+
+        public double variacaoMediana() {
+            return p50Atual / p50Base - 1.0;
+        }
+    }
+
+    private record Arquivo(String atualizado, Map<String, double[]> amostras) {
+    }
+
+    /**
+     * Carrega o histórico; retorna vazio quando o arquivo ainda não existe (primeira execução)
+     */
+    public static Map<String, double[]> carregar(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            return new TreeMap<>();
+        }
+        try {
+            Arquivo conteudo = MAPPER.readValue(arquivo.toFile(), new TypeReference<>() {
+            });
+            return new TreeMap<>(conteudo.amostras());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler histórico de latência: " + arquivo, e);
+        }
+    }
+
+    public static void salvar(Path arquivo, Map<String, double[]> amostras) {
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            MAPPER.writeValue(arquivo.toFile(), new Arquivo(Instant.now().toString(), new TreeMap<>(amostras)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar histórico de latência: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Compara cada chave da execução atual que tenha histórico suficiente
+     *
+     * @param alfa           nível de significância do teste unilateral
+     * @param aumentoMinimo  aumento relativo mínimo da mediana para acusar regressão (0.2 = 20%)
+     * @param minimoAmostras amostras mínimas no histórico para comparar a chave
+     */
+    public static List<Comparacao> comparar(Map<String, double[]> base, Map<String, double[]> atual,
+                                            double alfa, double aumentoMinimo, int minimoAmostras) {
+        List<Comparacao> comparacoes = new ArrayList<>();
+        for (Map.Entry<String, double[]> entrada : atual.entrySet()) {
+            double[] historico = base.get(entrada.getKey());
+            double[] amostras = entrada.getValue();
+            if (historico == null || historico.length < minimoAmostras || amostras.length == 0) {
+                continue;
+            }
+            double p50Base = MannWhitney.percentil(historico, 0.5);
+            double p50Atual = MannWhitney.percentil(amostras, 0.5);
+            double pValor = MannWhitney.pValorMaior(amostras, historico);
+            boolean regressao = pValor < alfa && p50Atual >= p50Base * (1 + aumentoMinimo);
+            comparacoes.add(new Comparacao(entrada.getKey(), historico.length, amostras.length,
+                    p50Base, p50Atual, MannWhitney.percentil(historico, 0.95),
+                    MannWhitney.percentil(amostras, 0.95), pValor, regressao));
+        }
+        return comparacoes;
+    }
+
+    /**
+     * Novo histórico: amostras atuais acrescentadas às anteriores, limitado às mais recentes
+     * Chaves com regressão mantêm o histórico anterior, para que a regressão continue
+     * visível nas próximas execuções em vez de virar a nova referência; chaves aceitas
+     * (latency.accept) trocam o histórico pelas amostras atuais, que passam a ser a referência
+     */
+    public static Map<String, double[]> mesclar(Map<String, double[]> base, Map<String, double[]> atual,
+                                                Set<String> regressoes, Set<String> aceitas, int maximoAmostras) {
+        Map<String, double[]> resultado = new TreeMap<>(base);
+        atual.forEach((chave, amostras) -> {
+            if (regressoes.contains(chave) && !aceitas.contains(chave)) {
+                return;
+            }
+            double[] anteriores = aceitas.contains(chave) ? new double[0] : base.getOrDefault(chave, new double[0]);
+            double[] juntas = Arrays.copyOf(anteriores, anteriores.length + amostras.length);
+            System.arraycopy(amostras, 0, juntas, anteriores.length, amostras.length);
+            int inicio = Math.max(0, juntas.length - maximoAmostras);
+            resultado.put(chave, Arrays.copyOfRange(juntas, inicio, juntas.length));
+        });
+        return resultado;
+    }
+
+    /**
+     * Relatório em texto, regressões primeiro
+     */
+    public static String formatar(List<Comparacao> comparacoes) {
+        List<Comparacao> ordenadas = new ArrayList<>(comparacoes);
+        ordenadas.sort((a, b) -> a.regressao() != b.regressao()
+                ? Boolean.compare(b.regressao(), a.regressao())
+                : Double.compare(a.pValor(), b.pValor()));
+        StringBuilder relatorio = new StringBuilder(String.format("%-9s %-60s %8s %8s %9s %9s %9s %9s %8s%n",
+                "", "Chave", "n base", "n atual", "p50 base", "p50 atual", "p95 base", "p95 atual", "p-valor"));
+        for (Comparacao c : ordenadas) {
+            relatorio.append(String.format("%-9s %-60s %8d %8d %9.1f %9.1f %9.1f %9.1f %8.4f%n",
+                    c.regressao() ? "REGRESSÃO" : "ok", abreviar(c.chave()), c.amostrasBase(), c.amostrasAtual(),
+                    c.p50Base(), c.p50Atual(), c.p95Base(), c.p95Atual(), c.pValor()));
+        }
+        return relatorio.toString();
+    }
+
+    /**
+     * Métricas resumidas para o console e o environment.properties
+     */
+    public static Map<String, Object> metricas(List<Comparacao> comparacoes) {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("latency.comparadas", comparacoes.size());
+        metricas.put("latency.regressoes", comparacoes.stream().filter(Comparacao::regressao).count());
+        return metricas;
+    }
+
+    private static String abreviar(String chave) {
+        return chave.length() <= 60 ? chave : chave.substring(0, 57) + "...";
+    }
+}
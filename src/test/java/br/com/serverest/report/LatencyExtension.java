@@ -0,0 +1,50 @@
+package br.com.serverest.report;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Registra a duração de cada teste no LatencyRecorder e agenda a comparação com o
+ * histórico (LatencyRegressionCheck) para o fim da suíte, no store raiz do JUnit
+ * Só entram testes que fizeram requisições HTTP (contadas pela HttpBudgetExtension): os
+ * que rodam contra os services em memória medem o harness, não o backend.
+ */
+public class LatencyExtension implements BeforeAllCallback, InvocationInterceptor {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(LatencyRegressionCheck.class);
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation,
+                                    ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        medir(invocation, extensionContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        medir(invocation, extensionContext);
+    }
+
+    private static void medir(Invocation<Void> invocation, ExtensionContext extensionContext) throws Throwable {
+        long inicio = System.nanoTime();
+        invocation.proceed();
+        // só testes aprovados: falhas rápidas (ex.: circuit breaker aberto) distorceriam o histórico
+        if (HttpUsage.requisicoesDoTeste() == 0) {
+            return;
+        }
+        LatencyRecorder.registrar(extensionContext.getRequiredTestClass().getSimpleName() + " > "
+                + extensionContext.getDisplayName(), System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.serverest.report;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * Registra a latência de cada requisição respondida no LatencyRecorder, por endpoint
+ * Fica logo antes do TraceHttpFilter, depois do filtro do Allure, para não medir a
+ * renderização dos anexos; requisições sem resposta (erro de rede) não entram, nem as
+ * que não vão para a API (base.uri), como as dos autotestes a servidores locais, nem as
+ * feitas sob LatencyRecorder.semRegistro (corridas com contenção proposital)
+ */
+public class LatencyHttpFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (LatencyRecorder.isSuspenso() || !daApi(requestSpec.getURI())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long inicio = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        LatencyRecorder.registrar(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(),
+                System.nanoTime() - inicio);
+        return response;
+    }
+
+    /**
+     * Mesmo host da API e, quando base.uri tem porta, a mesma porta
+     */
+    private static boolean daApi(String destino) {
+        URI api = URI.create(RestAssured.baseURI);
+        URI uri = URI.create(destino);
+        return api.getHost() != null && api.getHost().equalsIgnoreCase(uri.getHost())
+                && (api.getPort() == -1 || api.getPort() == uri.getPort());
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.serverest.report;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Amostras de latência da execução atual, em milissegundos
+ * Chaves de endpoint usam o path com template ("GET /usuarios/{_id}"), de modo que
+ * todas as chamadas ao mesmo endpoint formam uma única distribuição; chaves de teste
+ * usam "Classe > nome exibido".
+ */
+public final class LatencyRecorder {
+
+    private static final Map<String, Amostras> AMOSTRAS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> SUSPENSO = new ThreadLocal<>();
+
+    private LatencyRecorder() {
+    }
+
+    public static void registrar(String chave, long nanos) {
+        AMOSTRAS.computeIfAbsent(chave, ignorada -> new Amostras()).adicionar(nanos / 1_000_000.0);
+    }
+
+    /**
+     * Envolve uma tarefa cujas requisições não devem entrar nas amostras (ex.: os participantes
+     * de uma ConcurrencyRace: a contenção proposital pioraria o histórico e o atraso do hedge)
+     */
+    public static <T> Supplier<T> semRegistro(Supplier<T> tarefa) {
+        return () -> {
+            SUSPENSO.set(Boolean.TRUE);
+            try {
+                return tarefa.get();
+            } finally {
+                SUSPENSO.remove();
+            }
+        };
+    }
+
+    /**
+     * Se a thread atual está numa tarefa de semRegistro
+     */
+    public static boolean isSuspenso() {
+        return SUSPENSO.get() != null;
+    }
+
+    /**
+     * Cópia das amostras de uma chave (vazia se ainda não houver nenhuma)
+     */
+    public static double[] amostras(String chave) {
+        Amostras amostras = AMOSTRAS.get(chave);
+        return amostras == null ? new double[0] : amostras.copiar();
+    }
+
+    /**
+     * Cópia das amostras registradas até o momento, ordenada por chave
+     */
+    public static Map<String, double[]> amostras() {
+        Map<String, double[]> copia = new TreeMap<>();
+        AMOSTRAS.forEach((chave, amostras) -> copia.put(chave, amostras.copiar()));
+        return copia;
+    }
+
+    private static final class Amostras {
+        private double[] valores = new double[16];
+        private int tamanho;
+
+        private synchronized void adicionar(double valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+
+        private synchronized double[] copiar() {
+            return Arrays.copyOf(valores, tamanho);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Compara as latências da execução com o histórico ao final da suíte (ver LatencyBaseline)
+ * Fica no store raiz do JUnit: o close() roda uma única vez, depois do último teste e
+ * ainda dentro do engine, então uma exceção lançada aqui falha o build. Isso só acontece
+ * com latency.fail.on.regression=true e apenas para as chaves de latency.gated.keys, com
+ * alfa corrigido por Bonferroni pelo número de chaves bloqueantes.
+ * O relatório vai para o console, para reports/latency-regression.txt e para o Allure,
+ * como um resultado próprio ("Regressão de latência"). Uma lentidão esperada é aceita com
+ * latency.accept: as chaves listadas passam a ter as amostras desta execução como histórico
+ * e não são acusadas nela.
+ * Roda uma vez por JVM: cada nova tentativa do Surefire (rerunFailingTestsCount) executa o
+ * engine de novo, e comparar outra vez mesclaria as mesmas amostras duas vezes no histórico.
+ */
+public class LatencyRegressionCheck implements ExtensionContext.Store.CloseableResource {
+
+    private static final AtomicBoolean EXECUTADA = new AtomicBoolean();
+
+    private static volatile Map<String, Object> metricas = Collections.emptyMap();
+
+    /**
+     * Métricas da última comparação, publicadas no resumo da execução
+     */
+    public static Map<String, Object> metricas() {
+        return metricas;
+    }
+
+    @Override
+    public void close() {
+        if (!EXECUTADA.compareAndSet(false, true)) {
+            return;
+        }
+        Path arquivo = Paths.get(TestConfig.get("latency.baseline.file", ".perf/latency-baseline.json"));
+        Map<String, double[]> atual = LatencyRecorder.amostras();
+        if (atual.isEmpty()) {
+            return;
+        }
+        Map<String, double[]> base = LatencyBaseline.carregar(arquivo);
+        double alfa = TestConfig.getDouble("latency.alpha", 0.01);
+        List<LatencyBaseline.Comparacao> comparacoes = LatencyBaseline.comparar(base, atual, alfa,
+                TestConfig.getDouble("latency.min.increase", 0.20), TestConfig.getInt("latency.min.samples", 8));
+        Set<String> aceitas = chaves("latency.accept");
+        Set<String> regressoes = comparacoes.stream()
+                .filter(LatencyBaseline.Comparacao::regressao)
+                .map(LatencyBaseline.Comparacao::chave)
+                .filter(chave -> !aceitas.contains(chave))
+                .collect(Collectors.toSet());
+        LatencyBaseline.salvar(arquivo, LatencyBaseline.mesclar(base, atual, regressoes, aceitas,
+                TestConfig.getInt("latency.baseline.max.samples", 500)));
+        aceitas.retainAll(atual.keySet());
+        if (!aceitas.isEmpty()) {
+            System.out.println("[ServeRest] Regressão de latência: nova referência aceita para "
+                    + String.join(", ", aceitas));
+        }
+        Map<String, Object> novas = LatencyBaseline.metricas(comparacoes);
+        novas.put("latency.regressoes", (long) regressoes.size());
+        metricas = novas;
+
+        if (comparacoes.isEmpty()) {
+            System.out.println("[ServeRest] Regressão de latência: histórico insuficiente em " + arquivo
+                    + ", amostras desta execução registradas");
+            return;
+        }
+        String relatorio = LatencyBaseline.formatar(comparacoes);
+        System.out.println("[ServeRest] Regressão de latência (alfa " + alfa + ", histórico " + arquivo + "):");
+        System.out.print(relatorio);
+        gravarRelatorio(relatorio);
+
+        List<String> bloqueantes = regressoesBloqueantes(comparacoes, regressoes, alfa);
+        publicarNoAllure(relatorio, regressoes, bloqueantes);
+        if (!bloqueantes.isEmpty() && TestConfig.getBoolean("latency.fail.on.regression", false)) {
+            throw new RuntimeException("Regressão de latência significativa em: " + String.join(", ", bloqueantes));
+        }
+    }
+
+    private static List<String> regressoesBloqueantes(List<LatencyBaseline.Comparacao> comparacoes,
+                                                      Set<String> regressoes, double alfa) {
+        Set<String> chaves = chaves("latency.gated.keys");
+        double alfaCorrigido = alfa / Math.max(1, chaves.size());
+        return comparacoes.stream()
+                .filter(c -> chaves.contains(c.chave()) && regressoes.contains(c.chave()) && c.pValor() < alfaCorrigido)
+                .map(LatencyBaseline.Comparacao::chave)
+                .toList();
+    }
+
+    private static Set<String> chaves(String propriedade) {
+        return Arrays.stream(TestConfig.get(propriedade, "").split(","))
+                .map(String::trim)
+                .filter(chave -> !chave.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static void gravarRelatorio(String relatorio) {
+        Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("latency-regression.txt");
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            Files.writeString(arquivo, relatorio, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar relatório de regressão de latência", e);
+        }
+    }
+
+    /**
+     * Registra o relatório como um resultado próprio no Allure, falho quando há regressão
+     */
+    private static void publicarNoAllure(String relatorio, Set<String> regressoes, List<String> bloqueantes) {
+        String mensagem = regressoes.isEmpty() ? null : "Mais lento que o histórico: " + String.join(", ", regressoes)
+                + (bloqueantes.isEmpty() ? "" : " (bloqueantes: " + String.join(", ", bloqueantes) + ")");
+        AllureResults.publicar("Regressão de latência", LatencyRegressionCheck.class.getName(),
+                "Regressão de Latência", mensagem, "Comparação com o histórico", relatorio);
+    }
+}
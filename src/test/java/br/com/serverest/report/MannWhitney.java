@@ -0,0 +1,96 @@
+package br.com.serverest.report;
+
+import java.util.Arrays;
+
+/**
+ * Teste U de Mann-Whitney (unilateral) e percentis para comparar distribuições de latência
+ * Não assume normalidade: compara postos, o que o torna robusto às caudas longas típicas
+ * de latência de rede, ao contrário de uma comparação de médias.
+ */
+public final class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    /**
+     * p-valor unilateral da hipótese "atual tende a ser maior que base"
+     * Usa a aproximação normal com correção para empates e de continuidade
+     */
+    public static double pValorMaior(double[] atual, double[] base) {
+        int n1 = atual.length;
+        int n2 = base.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        int n = n1 + n2;
+        double[] valores = new double[n];
+        boolean[] doAtual = new boolean[n];
+        Integer[] ordem = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            valores[i] = i < n1 ? atual[i] : base[i - n1];
+            doAtual[i] = i < n1;
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> Double.compare(valores[a], valores[b]));
+
+        double somaPostosAtual = 0;
+        double empates = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && valores[ordem[j + 1]] == valores[ordem[i]]) {
+                j++;
+            }
+            double posto = (i + j + 2) / 2.0;
+            for (int k = i; k <= j; k++) {
+                if (doAtual[ordem[k]]) {
+                    somaPostosAtual += posto;
+                }
+            }
+            double t = j - i + 1;
+            empates += t * t * t - t;
+            i = j + 1;
+        }
+
+        double u = somaPostosAtual - n1 * (n1 + 1) / 2.0;
+        double media = n1 * (double) n2 / 2.0;
+        double variancia = n1 * (double) n2 / 12.0 * ((n + 1) - empates / (n * (double) (n - 1)));
+        if (variancia <= 0) {
+            return 1.0;
+        }
+        double z = (u - media - 0.5) / Math.sqrt(variancia);
+        return 1.0 - normalAcumulada(z);
+    }
+
+    /**
+     * Percentil por interpolação linear (p entre 0 e 1)
+     */
+    public static double percentil(double[] amostras, double p) {
+        if (amostras.length == 0) {
+            return Double.NaN;
+        }
+        double[] ordenadas = amostras.clone();
+        Arrays.sort(ordenadas);
+        double posicao = p * (ordenadas.length - 1);
+        int inferior = (int) Math.floor(posicao);
+        int superior = Math.min(inferior + 1, ordenadas.length - 1);
+        return ordenadas[inferior] + (posicao - inferior) * (ordenadas[superior] - ordenadas[inferior]);
+    }
+
+    /**
+     * Função de distribuição acumulada da normal padrão
+     */
+    static double normalAcumulada(double z) {
+        return 0.5 * erfc(-z / Math.sqrt(2));
+    }
+
+    /**
+     * Função erro complementar (Numerical Recipes, erro relativo < 1,2e-7)
+     */
+    private static double erfc(double x) {
+        double t = 1.0 / (1.0 + 0.5 * Math.abs(x));
+        double r = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2.0 - r;
+    }
+}
@@ -0,0 +1,465 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.load.LatencyHistogram;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resumo estático (index.html e summary.json) dos resultados do Allure, sem o Allure CLI
+ * Lê os *-result.json em paralelo e guarda o que extraiu de cada um num índice
+ * (indice.json) junto com o tamanho e a data do arquivo: numa nova passada só os arquivos
+ * novos ou alterados são lidos, então o resumo pode ser atualizado enquanto os testes rodam
+ * (--watch) e a atualização do fim da suíte custa só os resultados que faltavam. Traz
+ * aprovados/falhas, durações por classe, os testes mais lentos e os tempos por endpoint dos
+ * steps de requisição do AllureHttpFilter. O relatório completo continua em
+ * allure-results (mvn allure:serve).
+ * Uso: java -cp ... br.com.serverest.report.ResultsSummary [resultados] [saída] [--watch ms]
+ */
+public final class ResultsSummary {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final Pattern REQUISICAO = Pattern.compile("^(GET|POST|PUT|PATCH|DELETE|HEAD|OPTIONS) /.*");
+    private static final String SUFIXO = "-result.json";
+    private static final int MAX_MENSAGEM = 500;
+    private static final int MAIS_LENTOS = 15;
+
+    private final Path resultados;
+    private final Path saida;
+
+    private static final class Holder {
+        private static final ResultsSummary PADRAO = new ResultsSummary(
+                Paths.get(System.getProperty("allure.results.directory", "target/allure-results")),
+                Paths.get(TestConfig.get("summary.directory", "target/results-summary")));
+    }
+
+    /**
+     * @param status  status da resposta; null quando não houve resposta ou o step não o registrou
+     * @param tempoMs tempo da chamada; null quando não houve resposta ou o valor era ilegível
+     */
+    public record Chamada(String endpoint, Integer status, Double tempoMs) {
+    }
+
+    public record Teste(String id, String nome, String classe, String feature, String status, long inicio,
+                        long duracaoMs, String mensagem, boolean instavel, List<Chamada> chamadas) {
+    }
+
+    private record Arquivo(long tamanho, long modificado, Teste teste) {
+    }
+
+    private record Indice(String atualizado, Map<String, Arquivo> arquivos) {
+    }
+
+    public record Endpoint(String endpoint, long requisicoes, long semResposta, double mediaMs, double p50Ms,
+                           double p95Ms, double maximoMs) {
+    }
+
+    public record Classe(String classe, long testes, long aprovados, long falhas, long duracaoMs) {
+    }
+
+    /**
+     * @param lidos      resultados lidos nesta passada
+     * @param doIndice   resultados reaproveitados do índice
+     * @param ilegiveis  arquivos que não puderam ser lidos (ex.: ainda sendo gravados)
+     */
+    public record Resumo(String gerado, Map<String, Long> totais, long duracaoMs, List<Endpoint> endpoints,
+                         List<Classe> classes, List<Teste> falhas, List<Teste> maisLentos,
+                         int lidos, int doIndice, int ilegiveis, long tempoMs) {
+
+        public long total() {
+            return totais.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public String formatar() {
+            return String.format("%d testes (%s) - %d lidos, %d do índice, %d ms", total(),
+                    totais.entrySet().stream().map(t -> t.getValue() + " " + t.getKey())
+                            .reduce((a, b) -> a + ", " + b).orElse("nenhum resultado"),
+                    lidos, doIndice, tempoMs);
+        }
+    }
+
+    // Subconjunto do formato de resultado do Allure 2 lido aqui
+    private record Resultado(String historyId, String fullName, String name, String status, Detalhes statusDetails,
+                             long start, long stop, List<Rotulo> labels, List<Passo> steps) {
+    }
+
+    private record Detalhes(String message, boolean flaky) {
+    }
+
+    private record Rotulo(String name, String value) {
+    }
+
+    private record Passo(String name, String status, List<Parametro> parameters, List<Passo> steps) {
+    }
+
+    private record Parametro(String name, String value) {
+    }
+
+    public ResultsSummary(Path resultados, Path saida) {
+        this.resultados = resultados;
+        this.saida = saida;
+    }
+
+    /**
+     * allure.results.directory e summary.directory
+     */
+    public static ResultsSummary padrao() {
+        return Holder.PADRAO;
+    }
+
+    public Path getSaida() {
+        return saida;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> posicionais = new ArrayList<>();
+        long intervaloMs = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--watch")) {
+                intervaloMs = i + 1 < args.length ? Long.parseLong(args[++i]) : 1_000;
+            } else {
+                posicionais.add(args[i]);
+            }
+        }
+        ResultsSummary resumo = posicionais.isEmpty() ? padrao() : new ResultsSummary(Paths.get(posicionais.get(0)),
+                posicionais.size() > 1 ? Paths.get(posicionais.get(1)) : padrao().saida);
+        do {
+            System.out.println("[ServeRest] Resumo dos resultados: " + resumo.atualizar().formatar()
+                    + " -> " + resumo.saida.resolve("index.html"));
+            Thread.sleep(intervaloMs);
+        } while (intervaloMs > 0);
+    }
+
+    /**
+     * Lê os resultados novos ou alterados desde a última passada e regrava o resumo
+     */
+    public Resumo atualizar() {
+        long inicio = System.nanoTime();
+        Map<String, Arquivo> anteriores = carregarIndice();
+        Map<String, BasicFileAttributes> atuais = listar();
+
+        Map<String, Arquivo> indice = new TreeMap<>();
+        List<String> alterados = new ArrayList<>();
+        atuais.forEach((nome, atributos) -> {
+            Arquivo anterior = anteriores.get(nome);
+            if (anterior != null && anterior.tamanho() == atributos.size()
+                    && anterior.modificado() == atributos.lastModifiedTime().toMillis()) {
+                indice.put(nome, anterior);
+            } else {
+                alterados.add(nome);
+            }
+        });
+        AtomicInteger ilegiveis = new AtomicInteger();
+        alterados.parallelStream()
+                .map(nome -> ler(nome, atuais.get(nome), ilegiveis))
+                .flatMap(Optional::stream)
+                .toList()
+                .forEach(lido -> indice.put(lido.getKey(), lido.getValue()));
+
+        Resumo resumo = resumir(indice.values().stream().map(Arquivo::teste).toList(),
+                alterados.size() - ilegiveis.get(), atuais.size() - alterados.size(), ilegiveis.get(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        gravar("indice.json", MAPPER.writer(), new Indice(resumo.gerado(), indice));
+        gravar("summary.json", MAPPER.writerWithDefaultPrettyPrinter(), resumo);
+        gravarTexto("index.html", html(resumo));
+        return resumo;
+    }
+
+    private Map<String, BasicFileAttributes> listar() {
+        Map<String, BasicFileAttributes> arquivos = new HashMap<>();
+        if (!Files.isDirectory(resultados)) {
+            return arquivos;
+        }
+        try (Stream<Path> conteudo = Files.list(resultados)) {
+            conteudo.filter(arquivo -> arquivo.getFileName().toString().endsWith(SUFIXO)).forEach(arquivo -> {
+                try {
+                    arquivos.put(arquivo.getFileName().toString(), Files.readAttributes(arquivo, BasicFileAttributes.class));
+                } catch (IOException e) {
+                    // removido entre a listagem e a leitura: entra na próxima passada, se voltar
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao listar resultados do Allure: " + resultados, e);
+        }
+        return arquivos;
+    }
+
+    /**
+     * Vazio quando o arquivo não é um resultado legível, ex.: ainda sendo gravado pelo Allure
+     */
+    private Optional<Map.Entry<String, Arquivo>> ler(String nome, BasicFileAttributes atributos, AtomicInteger ilegiveis) {
+        try {
+            Resultado resultado = MAPPER.readValue(resultados.resolve(nome).toFile(), Resultado.class);
+            return Optional.of(Map.entry(nome, new Arquivo(atributos.size(), atributos.lastModifiedTime().toMillis(),
+                    teste(resultado))));
+        } catch (IOException e) {
+            ilegiveis.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private static Teste teste(Resultado resultado) {
+        Map<String, String> rotulos = new HashMap<>();
+        if (resultado.labels() != null) {
+            resultado.labels().forEach(rotulo -> rotulos.putIfAbsent(rotulo.name(), rotulo.value()));
+        }
+        List<Chamada> chamadas = new ArrayList<>();
+        coletarChamadas(resultado.steps(), chamadas);
+        String mensagem = resultado.statusDetails() == null ? null : resultado.statusDetails().message();
+        if (mensagem != null && mensagem.length() > MAX_MENSAGEM) {
+            mensagem = mensagem.substring(0, MAX_MENSAGEM) + "...";
+        }
+        String classe = rotulos.getOrDefault("testClass", rotulos.getOrDefault("suite", ""));
+        return new Teste(resultado.historyId() != null ? resultado.historyId() : resultado.fullName(),
+                resultado.name(), classe.substring(classe.lastIndexOf('.') + 1), rotulos.get("feature"),
+                resultado.status() == null ? "unknown" : resultado.status(), resultado.start(),
+                Math.max(0, resultado.stop() - resultado.start()), mensagem,
+                resultado.statusDetails() != null && resultado.statusDetails().flaky(), chamadas);
+    }
+
+    private static void coletarChamadas(List<Passo> passos, List<Chamada> chamadas) {
+        if (passos == null) {
+            return;
+        }
+        for (Passo passo : passos) {
+            if (passo.name() != null && REQUISICAO.matcher(passo.name()).matches()) {
+                Map<String, String> parametros = new HashMap<>();
+                if (passo.parameters() != null) {
+                    passo.parameters().forEach(parametro -> parametros.put(parametro.name(), parametro.value()));
+                }
+                String status = parametros.get(AllureHttpFilter.PARAMETRO_STATUS);
+                String tempo = parametros.get(AllureHttpFilter.PARAMETRO_TEMPO);
+                chamadas.add(new Chamada(passo.name(), inteiro(status), decimal(tempo)));
+            }
+            coletarChamadas(passo.steps(), chamadas);
+        }
+    }
+
+    /**
+     * Parâmetro numérico do step, ou null se ausente ou ilegível (step gravado por outra
+     * versão do filtro ou editado à mão): a chamada entra no resumo sem status/tempo
+     */
+    private static Integer inteiro(String valor) {
+        try {
+            return valor == null ? null : Integer.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double decimal(String valor) {
+        try {
+            return valor == null ? null : Double.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Um resultado por teste: com o diretório reaproveitado entre execuções, vale o mais recente
+     */
+    private static Resumo resumir(List<Teste> todos, int lidos, int doIndice, int ilegiveis, long tempoMs) {
+        Map<String, Teste> porId = new HashMap<>();
+        for (Teste teste : todos) {
+            porId.merge(teste.id(), teste, (a, b) -> a.inicio() >= b.inicio() ? a : b);
+        }
+        List<Teste> testes = porId.values().stream()
+                .sorted(Comparator.comparing(Teste::classe).thenComparing(Teste::nome, Comparator.nullsFirst(String::compareTo)))
+                .toList();
+
+        Map<String, Long> totais = new LinkedHashMap<>();
+        for (String status : List.of("passed", "failed", "broken", "skipped", "unknown")) {
+            totais.put(status, testes.stream().filter(teste -> teste.status().equals(status)).count());
+        }
+        long inicio = testes.stream().mapToLong(Teste::inicio).filter(valor -> valor > 0).min().orElse(0);
+        long fim = testes.stream().mapToLong(teste -> teste.inicio() + teste.duracaoMs()).max().orElse(0);
+
+        Map<String, LatencyHistogram> histogramas = new TreeMap<>();
+        Map<String, Long> semResposta = new HashMap<>();
+        for (Teste teste : testes) {
+            for (Chamada chamada : teste.chamadas()) {
+                LatencyHistogram histograma = histogramas.computeIfAbsent(chamada.endpoint(), e -> new LatencyHistogram());
+                if (chamada.tempoMs() == null) {
+                    semResposta.merge(chamada.endpoint(), 1L, Long::sum);
+                } else {
+                    histograma.registrar((long) (chamada.tempoMs() * 1_000_000));
+                }
+            }
+        }
+        List<Endpoint> endpoints = histogramas.entrySet().stream()
+                .map(e -> new Endpoint(e.getKey(), e.getValue().getTotal() + semResposta.getOrDefault(e.getKey(), 0L),
+                        semResposta.getOrDefault(e.getKey(), 0L), e.getValue().getMediaMillis(),
+                        e.getValue().percentil(50), e.getValue().percentil(95), e.getValue().getMaximoMillis()))
+                .toList();
+
+        Map<String, List<Teste>> porClasse = new TreeMap<>();
+        testes.forEach(teste -> porClasse.computeIfAbsent(teste.classe(), c -> new ArrayList<>()).add(teste));
+        List<Classe> classes = porClasse.entrySet().stream()
+                .map(e -> new Classe(e.getKey(), e.getValue().size(),
+                        e.getValue().stream().filter(teste -> teste.status().equals("passed")).count(),
+                        e.getValue().stream().filter(ResultsSummary::isFalha).count(),
+                        e.getValue().stream().mapToLong(Teste::duracaoMs).sum()))
+                .toList();
+
+        return new Resumo(Instant.now().toString(), totais, Math.max(0, fim - inicio), endpoints, classes,
+                testes.stream().filter(ResultsSummary::isFalha).toList(),
+                testes.stream().sorted(Comparator.comparingLong(Teste::duracaoMs).reversed()).limit(MAIS_LENTOS).toList(),
+                lidos, doIndice, ilegiveis, tempoMs);
+    }
+
+    private static boolean isFalha(Teste teste) {
+        return teste.status().equals("failed") || teste.status().equals("broken");
+    }
+
+    private Map<String, Arquivo> carregarIndice() {
+        Path arquivo = saida.resolve("indice.json");
+        if (!Files.exists(arquivo)) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(arquivo.toFile(), Indice.class).arquivos();
+        } catch (IOException e) {
+            // índice de outra versão ou corrompido: relê todos os resultados
+            return Map.of();
+        }
+    }
+
+    private void gravar(String nome, ObjectWriter writer, Object conteudo) {
+        try {
+            gravarTexto(nome, writer.writeValueAsString(conteudo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao serializar " + nome, e);
+        }
+    }
+
+    /**
+     * Grava num temporário e troca de uma vez: quem lê o resumo durante o --watch nunca vê metade
+     */
+    private void gravarTexto(String nome, String conteudo) {
+        try {
+            Files.createDirectories(saida);
+            Path temporario = saida.resolve(nome + ".tmp");
+            Files.writeString(temporario, conteudo, StandardCharsets.UTF_8);
+            Files.move(temporario, saida.resolve(nome), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o resumo: " + saida.resolve(nome), e);
+        }
+    }
+
+    // ==================== HTML ====================
+
+    private static String html(Resumo resumo) {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="pt-BR"><head><meta charset="utf-8"><title>Resumo dos testes - API ServeRest</title>
+                <style>
+                body{font-family:system-ui,sans-serif;margin:2rem;color:#222}
+                table{border-collapse:collapse;margin-bottom:2rem;font-size:.9rem}
+                th,td{border:1px solid #ddd;padding:.3rem .6rem;text-align:left;vertical-align:top}
+                th{background:#f4f4f4}td.n{text-align:right;font-variant-numeric:tabular-nums}
+                .passed{color:#2e7d32}.failed{color:#c62828}.broken{color:#ef6c00}.skipped,.unknown{color:#757575}
+                .total{display:inline-block;margin-right:1.5rem;font-size:1.4rem}
+                pre{white-space:pre-wrap;margin:0;max-width:60rem}
+                </style></head><body>
+                <h1>Resumo dos testes - API ServeRest</h1>
+                """);
+        html.append("<p>Gerado em ").append(escapar(resumo.gerado())).append(" - duração da execução ")
+                .append(segundos(resumo.duracaoMs())).append("</p>\n<p>");
+        resumo.totais().forEach((status, total) -> html.append("<span class=\"total ").append(status).append("\">")
+                .append(total).append(' ').append(status).append("</span>"));
+        html.append("</p>\n");
+
+        html.append("<h2>Falhas (").append(resumo.falhas().size()).append(")</h2>\n")
+                .append("<table><tr><th>Classe</th><th>Teste</th><th>Status</th><th>Mensagem</th></tr>\n");
+        for (Teste teste : resumo.falhas()) {
+            html.append("<tr><td>").append(escapar(teste.classe())).append("</td><td>").append(escapar(teste.nome()))
+                    .append("</td><td class=\"").append(teste.status()).append("\">").append(teste.status())
+                    .append("</td><td><pre>").append(escapar(teste.mensagem())).append("</pre></td></tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Endpoints</h2>\n<table><tr><th>Endpoint</th><th>Requisições</th><th>Sem resposta</th>"
+                + "<th>Média (ms)</th><th>p50 (ms)</th><th>p95 (ms)</th><th>Máximo (ms)</th></tr>\n");
+        for (Endpoint endpoint : resumo.endpoints()) {
+            html.append("<tr><td>").append(escapar(endpoint.endpoint())).append("</td>")
+                    .append(celula(endpoint.requisicoes())).append(celula(endpoint.semResposta()))
+                    .append(celula(endpoint.mediaMs())).append(celula(endpoint.p50Ms()))
+                    .append(celula(endpoint.p95Ms())).append(celula(endpoint.maximoMs())).append("</tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Classes</h2>\n<table><tr><th>Classe</th><th>Testes</th><th>Aprovados</th><th>Falhas</th>"
+                + "<th>Duração somada</th></tr>\n");
+        for (Classe classe : resumo.classes()) {
+            html.append("<tr><td>").append(escapar(classe.classe())).append("</td>").append(celula(classe.testes()))
+                    .append(celula(classe.aprovados())).append(celula(classe.falhas()))
+                    .append("<td class=\"n\">").append(segundos(classe.duracaoMs())).append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+
+        html.append("<h2>Mais lentos</h2>\n<table><tr><th>Classe</th><th>Teste</th><th>Status</th><th>Duração</th></tr>\n");
+        for (Teste teste : resumo.maisLentos()) {
+            html.append("<tr><td>").append(escapar(teste.classe())).append("</td><td>").append(escapar(teste.nome()))
+                    .append(teste.instavel() ? " (instável)" : "")
+                    .append("</td><td class=\"").append(teste.status()).append("\">").append(teste.status())
+                    .append("</td><td class=\"n\">").append(segundos(teste.duracaoMs())).append("</td></tr>\n");
+        }
+        html.append("</table>\n<p>Detalhes de cada teste: summary.json e indice.json; relatório completo com "
+                + "<code>mvn allure:serve</code> sobre os allure-results.</p>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static String celula(long valor) {
+        return "<td class=\"n\">" + valor + "</td>";
+    }
+
+    private static String celula(double valor) {
+        return String.format(Locale.ROOT, "<td class=\"n\">%.1f</td>", valor);
+    }
+
+    private static String segundos(long millis) {
+        return String.format(Locale.ROOT, "%.2f s", millis / 1_000.0);
+    }
+
+    private static String escapar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder escapado = new StringBuilder(texto.length());
+        for (char c : texto.toCharArray()) {
+            switch (c) {
+                case '<' -> escapado.append("&lt;");
+                case '>' -> escapado.append("&gt;");
+                case '&' -> escapado.append("&amp;");
+                case '"' -> escapado.append("&quot;");
+                default -> escapado.append(c);
+            }
+        }
+        return escapado.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.serverest.report;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Registra @BeforeEach e @AfterEach na linha do tempo (ver TraceRecorder)
+ * Evidencia quanto do tempo de cada teste é gasto em preparação e limpeza de dados
+ */
+public class TraceExtension implements InvocationInterceptor {
+
+    @Override
+    public void interceptBeforeEachMethod(Invocation<Void> invocation,
+                                          ReflectiveInvocationContext<Method> invocationContext,
+                                          ExtensionContext extensionContext) throws Throwable {
+        medir("setup", invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptAfterEachMethod(Invocation<Void> invocation,
+                                         ReflectiveInvocationContext<Method> invocationContext,
+                                         ExtensionContext extensionContext) throws Throwable {
+        medir("teardown", invocation, invocationContext);
+    }
+
+    private static void medir(String categoria, Invocation<Void> invocation,
+                              ReflectiveInvocationContext<Method> invocationContext) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            invocation.proceed();
+        } finally {
+            TraceRecorder.registrar(categoria, invocationContext.getExecutable().getName(), inicio, null);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.serverest.report;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+
+/**
+ * Registra cada requisição HTTP na linha do tempo (ver TraceRecorder)
+ * É o último filtro da cadeia, então o intervalo cobre só o envio e a resposta,
+ * sem o tempo dos demais filtros nem a espera no limitador de concorrência
+ */
+public class TraceHttpFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long inicio = System.nanoTime();
+        String nome = requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            TraceRecorder.registrar("http", nome, inicio, Map.of(
+                    "uri", requestSpec.getURI(),
+                    "status", response != null ? response.getStatusCode() : "erro"));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE;
+    }
+}
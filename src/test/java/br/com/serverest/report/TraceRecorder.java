@@ -0,0 +1,268 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Linha do tempo da execução no formato trace-event do Chrome (chrome://tracing, ui.perfetto.dev)
+ * Cada thread grava seus eventos em um buffer próprio; o lock do buffer só é disputado
+ * pela exportação, que pode acontecer com outras threads ainda gravando (ex.: workers do
+ * pool do JUnit ao final da suíte). Buffers de threads encerradas (virtual threads das
+ * corridas, hedge, carga) são periodicamente fundidos em um buffer compartilhado, para que
+ * a memória cresça com a quantidade de eventos e não com a de threads.
+ * Os tempos são capturados com System.nanoTime() e exportados em microssegundos com
+ * fração, preservando a resolução de nanossegundos.
+ */
+public final class TraceRecorder {
+
+    private static final boolean ATIVO = TestConfig.getBoolean("trace.enabled", true);
+    private static final long ORIGEM_NANOS = System.nanoTime();
+    // a cada quantos buffers criados os de threads encerradas são fundidos em ENCERRADAS
+    private static final int INTERVALO_RECOLHIMENTO = 64;
+    private static final Queue<Buffer> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final Buffer ENCERRADAS = new Buffer(null);
+    private static final AtomicLong CRIADOS = new AtomicLong();
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(() -> {
+        if (CRIADOS.incrementAndGet() % INTERVALO_RECOLHIMENTO == 0) {
+            recolherEncerradas();
+        }
+        Buffer buffer = new Buffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    private TraceRecorder() {
+    }
+
+    public static boolean isAtivo() {
+        return ATIVO;
+    }
+
+    /**
+     * Registra um intervalo concluído na thread atual
+     *
+     * @param categoria   agrupamento do evento (classe, teste, setup, teardown, http)
+     * @param nome        nome exibido na linha do tempo
+     * @param inicioNanos início capturado com System.nanoTime()
+     * @param args        detalhes exibidos ao selecionar o evento (pode ser null)
+     */
+    public static void registrar(String categoria, String nome, long inicioNanos, Map<String, ?> args) {
+        registrar(Thread.currentThread().threadId(), categoria, nome, inicioNanos, System.nanoTime(), args);
+    }
+
+    /**
+     * Registra um intervalo atribuído a outra thread (ex.: classe iniciada em um worker
+     * e finalizada em outro); o evento fica no buffer da thread atual
+     */
+    public static void registrar(long tid, String categoria, String nome, long inicioNanos, long fimNanos,
+                                 Map<String, ?> args) {
+        if (ATIVO) {
+            BUFFER.get().adicionar(tid, categoria, nome, inicioNanos, fimNanos, args);
+        }
+    }
+
+    /**
+     * Exporta todos os eventos gravados até aqui para o arquivo JSON e retorna a quantidade
+     * exportada; threads que continuam gravando só esperam enquanto o próprio buffer é escrito
+     */
+    public static int exportar(Path arquivo) {
+        recolherEncerradas();
+        int eventos = 0;
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (JsonGenerator json = new JsonFactory().createGenerator(arquivo.toFile(), JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeStringField("displayTimeUnit", "ns");
+                json.writeArrayFieldStart("traceEvents");
+                eventos += escrever(json, ENCERRADAS);
+                for (Buffer buffer : BUFFERS) {
+                    eventos += escrever(json, buffer);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar linha do tempo: " + arquivo, e);
+        }
+        return eventos;
+    }
+
+    /**
+     * Buffers vivos e eventos gravados, para acompanhar o custo da linha do tempo
+     */
+    public static Map<String, Object> metricas() {
+        long eventos;
+        synchronized (ENCERRADAS) {
+            eventos = ENCERRADAS.tamanho;
+        }
+        int buffers = 0;
+        for (Buffer buffer : BUFFERS) {
+            synchronized (buffer) {
+                eventos += buffer.tamanho;
+            }
+            buffers++;
+        }
+        return Map.of("trace.buffers", buffers, "trace.eventos", eventos);
+    }
+
+    /**
+     * Funde os buffers de threads encerradas em ENCERRADAS e os descarta; a thread dona
+     * não grava mais, então o lock do buffer só serve para publicar o que ela gravou
+     */
+    private static void recolherEncerradas() {
+        // o lock de ENCERRADAS cobre a varredura inteira: duas varreduras simultâneas
+        // fundiriam o mesmo buffer duas vezes
+        synchronized (ENCERRADAS) {
+            for (Iterator<Buffer> it = BUFFERS.iterator(); it.hasNext(); ) {
+                Buffer buffer = it.next();
+                if (buffer.isEncerrada()) {
+                    synchronized (buffer) {
+                        ENCERRADAS.absorver(buffer);
+                    }
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static int escrever(JsonGenerator json, Buffer buffer) throws IOException {
+        synchronized (buffer) {
+            for (Map.Entry<Long, String> thread : buffer.threads.entrySet()) {
+                escreverNomeDaThread(json, thread.getKey(), thread.getValue());
+            }
+            for (int i = 0; i < buffer.tamanho; i++) {
+                escreverEvento(json, buffer, i);
+            }
+            return buffer.tamanho;
+        }
+    }
+
+    private static void escreverNomeDaThread(JsonGenerator json, long tid, String nome) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", "thread_name");
+        json.writeStringField("ph", "M");
+        json.writeNumberField("pid", 1);
+        json.writeNumberField("tid", tid);
+        json.writeObjectFieldStart("args");
+        json.writeStringField("name", nome);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void escreverEvento(JsonGenerator json, Buffer buffer, int i) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", buffer.nomes[i]);
+        json.writeStringField("cat", buffer.categorias[i]);
+        json.writeStringField("ph", "X");
+        json.writeNumberField("ts", microssegundos(buffer.inicios[i] - ORIGEM_NANOS));
+        json.writeNumberField("dur", microssegundos(buffer.duracoes[i]));
+        json.writeNumberField("pid", 1);
+        json.writeNumberField("tid", buffer.tids[i]);
+        Map<?, ?> args = (Map<?, ?>) buffer.args[i];
+        if (args != null && !args.isEmpty()) {
+            json.writeObjectFieldStart("args");
+            for (Map.Entry<?, ?> arg : args.entrySet()) {
+                json.writeStringField((String) arg.getKey(), String.valueOf(arg.getValue()));
+            }
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static double microssegundos(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    /**
+     * Eventos de uma thread em arrays paralelos, que crescem por cópia; todo acesso é feito
+     * sob o lock do próprio buffer, sem disputa enquanto só a thread dona grava.
+     * O buffer de threads encerradas não tem dona e acumula os nomes de todas elas.
+     */
+    private static final class Buffer {
+        // pequena: virtual threads costumam gravar poucos eventos
+        private static final int CAPACIDADE_INICIAL = 16;
+
+        private final WeakReference<Thread> dona;
+        private final Map<Long, String> threads = new LinkedHashMap<>();
+        private long[] tids = new long[CAPACIDADE_INICIAL];
+        private String[] categorias = new String[CAPACIDADE_INICIAL];
+        private String[] nomes = new String[CAPACIDADE_INICIAL];
+        private long[] inicios = new long[CAPACIDADE_INICIAL];
+        private long[] duracoes = new long[CAPACIDADE_INICIAL];
+        // Map<String, ?> por evento; Object[] porque não há array de tipo genérico sem raw type
+        private Object[] args = new Object[CAPACIDADE_INICIAL];
+        private int tamanho;
+
+        private Buffer(Thread thread) {
+            this.dona = thread == null ? null : new WeakReference<>(thread);
+            if (thread != null) {
+                threads.put(thread.threadId(), thread.getName());
+            }
+        }
+
+        private boolean isEncerrada() {
+            if (dona == null) {
+                return false;
+            }
+            Thread thread = dona.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        private synchronized void adicionar(long tid, String categoria, String nome, long inicio, long fim,
+                                            Map<String, ?> args) {
+            garantirCapacidade(tamanho + 1);
+            tids[tamanho] = tid;
+            categorias[tamanho] = categoria;
+            nomes[tamanho] = nome;
+            inicios[tamanho] = inicio;
+            duracoes[tamanho] = fim - inicio;
+            this.args[tamanho] = args;
+            tamanho++;
+        }
+
+        /**
+         * Copia os eventos e nomes de threads de outro buffer; chamado com os dois locks
+         */
+        private void absorver(Buffer outro) {
+            garantirCapacidade(tamanho + outro.tamanho);
+            System.arraycopy(outro.tids, 0, tids, tamanho, outro.tamanho);
+            System.arraycopy(outro.categorias, 0, categorias, tamanho, outro.tamanho);
+            System.arraycopy(outro.nomes, 0, nomes, tamanho, outro.tamanho);
+            System.arraycopy(outro.inicios, 0, inicios, tamanho, outro.tamanho);
+            System.arraycopy(outro.duracoes, 0, duracoes, tamanho, outro.tamanho);
+            System.arraycopy(outro.args, 0, args, tamanho, outro.tamanho);
+            tamanho += outro.tamanho;
+            // threads sem eventos não precisam de nome na linha do tempo
+            if (outro.tamanho > 0) {
+                threads.putAll(outro.threads);
+            }
+        }
+
+        private void garantirCapacidade(int necessaria) {
+            if (necessaria > nomes.length) {
+                int capacidade = Math.max(nomes.length * 2, necessaria);
+                tids = Arrays.copyOf(tids, capacidade);
+                categorias = Arrays.copyOf(categorias, capacidade);
+                nomes = Arrays.copyOf(nomes, capacidade);
+                inicios = Arrays.copyOf(inicios, capacidade);
+                duracoes = Arrays.copyOf(duracoes, capacidade);
+                args = Arrays.copyOf(args, capacidade);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.serverest.report;
+
+import br.com.serverest.config.TestConfig;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener que registra o início e o fim de cada classe e método de teste na linha do tempo
+ * Os callbacks do JUnit rodam na thread do worker que executa o teste, então cada
+ * intervalo fica na trilha da thread que realmente o executou.
+ * Ao final da suíte exporta reports/timeline.json (abrir em ui.perfetto.dev ou chrome://tracing).
+ * Registrado via META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class TraceTimelineListener implements TestExecutionListener {
+
+    private final Map<String, Inicio> inicios = new ConcurrentHashMap<>();
+
+    private record Inicio(long nanos, long tid) {
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (TraceRecorder.isAtivo() && registravel(testIdentifier)) {
+            inicios.put(testIdentifier.getUniqueId(),
+                    new Inicio(System.nanoTime(), Thread.currentThread().threadId()));
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Inicio inicio = inicios.remove(testIdentifier.getUniqueId());
+        if (inicio == null) {
+            return;
+        }
+        TraceRecorder.registrar(inicio.tid(), testIdentifier.isTest() ? "teste" : "classe",
+                testIdentifier.getDisplayName(), inicio.nanos(), System.nanoTime(),
+                Map.of("status", testExecutionResult.getStatus(), "id", testIdentifier.getUniqueId()));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!TraceRecorder.isAtivo()) {
+            return;
+        }
+        Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("timeline.json");
+        int eventos = TraceRecorder.exportar(arquivo);
+        System.out.println("[ServeRest] Linha do tempo: " + eventos + " eventos em " + arquivo);
+    }
+
+    /**
+     * Classes e testes; o nó do engine e containers intermediários (ex.: @ParameterizedTest)
+     * não entram na linha do tempo
+     */
+    private static boolean registravel(TestIdentifier testIdentifier) {
+        return testIdentifier.isTest()
+                || testIdentifier.getSource().filter(ClassSource.class::isInstance).isPresent();
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.serverest.selection;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Dependências entre as classes do projeto, lidas do bytecode
+ * Percorre o constant pool de cada .class: entradas Class e descritores/assinaturas
+ * (Lbr/com/serverest/...;) dão as classes referenciadas, incluindo tipos de campos, de
+ * parâmetros, lambdas e classes aninhadas. Só classes do projeto entram no fechamento;
+ * referências feitas por reflexão (Class.forName, ServiceLoader) não são vistas.
+ */
+public final class ClassDependencies {
+
+    private static final String PACOTE = "br/com/serverest/";
+    private static final Pattern DESCRITOR = Pattern.compile("L(" + PACOTE + "[\\w/$]+);");
+
+    private final Function<String, byte[]> leitor;
+    private final Map<String, Set<String>> referencias = new ConcurrentHashMap<>();
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    /**
+     * @param leitor bytecode pelo nome da classe (br.com.serverest.X); null quando não existe
+     */
+    public ClassDependencies(Function<String, byte[]> leitor) {
+        this.leitor = leitor;
+    }
+
+    /**
+     * Lê as classes do classpath desta JVM
+     */
+    public static ClassDependencies doClasspath() {
+        return new ClassDependencies(ClassDependencies::lerDoClasspath);
+    }
+
+    /**
+     * Bytecode da classe no classpath desta JVM; null quando não existe
+     */
+    public static byte[] lerDoClasspath(String classe) {
+        try (InputStream entrada = ClassDependencies.class.getClassLoader()
+                .getResourceAsStream(classe.replace('.', '/') + ".class")) {
+            return entrada == null ? null : entrada.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o bytecode de " + classe, e);
+        }
+    }
+
+    /**
+     * Classes do projeto referenciadas diretamente pela classe (sem ela mesma)
+     */
+    public Set<String> referencias(String classe) {
+        return referencias.computeIfAbsent(classe, nome -> {
+            byte[] bytecode = leitor.apply(nome);
+            if (bytecode == null) {
+                return Set.of();
+            }
+            Set<String> encontradas = new TreeSet<>();
+            for (String interno : nomesNoConstantPool(bytecode)) {
+                String referenciada = interno.replace('/', '.');
+                if (!referenciada.equals(nome)) {
+                    encontradas.add(referenciada);
+                }
+            }
+            return Set.copyOf(encontradas);
+        });
+    }
+
+    /**
+     * A classe e todas as classes do projeto alcançáveis a partir dela, em ordem alfabética
+     */
+    public Set<String> fechamento(String classe) {
+        Set<String> visitadas = new TreeSet<>();
+        Deque<String> pendentes = new ArrayDeque<>();
+        pendentes.add(classe);
+        while (!pendentes.isEmpty()) {
+            String atual = pendentes.poll();
+            if (visitadas.add(atual)) {
+                pendentes.addAll(referencias(atual));
+            }
+        }
+        return visitadas;
+    }
+
+    /**
+     * SHA-256 do bytecode da classe; "ausente" quando a classe não existe mais
+     */
+    public String hash(String classe) {
+        return hashes.computeIfAbsent(classe, nome -> {
+            byte[] bytecode = leitor.apply(nome);
+            return bytecode == null ? "ausente" : sha256(bytecode);
+        });
+    }
+
+    static String sha256(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    static String sha256(String conteudo) {
+        return sha256(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Nomes internos (br/com/serverest/...) das entradas Class e dos descritores do constant pool
+     */
+    private static Set<String> nomesNoConstantPool(byte[] bytecode) {
+        Set<String> nomes = new TreeSet<>();
+        try {
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytecode));
+            if (entrada.readInt() != 0xCAFEBABE) {
+                throw new IllegalArgumentException("Bytecode inválido: cabeçalho diferente de CAFEBABE");
+            }
+            entrada.readUnsignedShort();
+            entrada.readUnsignedShort();
+            int tamanho = entrada.readUnsignedShort();
+            String[] textos = new String[tamanho];
+            int[] classes = new int[tamanho];
+            int totalClasses = 0;
+            for (int i = 1; i < tamanho; i++) {
+                int tag = entrada.readUnsignedByte();
+                switch (tag) {
+                    case 1 -> {
+                        // nomes de classes são ASCII; o restante do UTF-8 modificado não interessa
+                        byte[] bytes = new byte[entrada.readUnsignedShort()];
+                        entrada.readFully(bytes);
+                        textos[i] = new String(bytes, StandardCharsets.ISO_8859_1);
+                    }
+                    case 7 -> classes[totalClasses++] = entrada.readUnsignedShort();
+                    case 8, 16, 19, 20 -> entrada.skipBytes(2);
+                    case 15 -> entrada.skipBytes(3);
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> entrada.skipBytes(4);
+                    case 5, 6 -> {
+                        // long e double ocupam duas posições do constant pool
+                        entrada.skipBytes(8);
+                        i++;
+                    }
+                    default -> throw new IllegalArgumentException("Tag desconhecida no constant pool: " + tag);
+                }
+            }
+            for (int i = 0; i < totalClasses; i++) {
+                String nome = textos[classes[i]];
+                if (nome != null && nome.startsWith(PACOTE)) {
+                    nomes.add(nome);
+                }
+            }
+            for (String texto : textos) {
+                if (texto != null && texto.contains(PACOTE)) {
+                    Matcher descritor = DESCRITOR.matcher(texto);
+                    while (descritor.find()) {
+                        nomes.add(descritor.group(1));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bytecode truncado", e);
+        }
+        return nomes;
+    }
+}
@@ -0,0 +1,311 @@
+package br.com.serverest.selection;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.report.AllureResults;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.qameta.allure.Feature;
+import io.qameta.allure.model.Status;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Seleção incremental de testes por classe, a partir do que mudou desde a última execução
+ * Cada classe de teste é ligada às classes do projeto de que depende (ClassDependencies) e
+ * recebe um hash de entradas: bytecode de todas essas classes, configuração efetiva, base.uri
+ * e bibliotecas do classpath. Se o hash é o mesmo da última execução, todos os testes da
+ * classe passaram e o resultado não expirou, a classe não roda e os resultados anteriores
+ * são publicados no Allure com a tag "reaproveitado"; caso contrário ela roda e o motivo
+ * (ex.: "mudaram: LoginService") vai para o relatório. Como a API é externa e muda sem
+ * aviso, os resultados expiram depois de selection.max.age.hours.
+ * O estado fica em selection.file, que a pipeline preserva entre execuções.
+ */
+public final class TestSelection {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final boolean habilitado;
+    private final Path arquivo;
+    private final String baseUri;
+    private final String ambiente;
+    private final Duration validade;
+    private final ClassDependencies dependencias;
+    private final Arquivo anterior;
+    private final Map<String, Decisao> decisoes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Teste>> executados = new ConcurrentHashMap<>();
+    private final AtomicBoolean publicados = new AtomicBoolean();
+
+    private static final class Holder {
+        private static final TestSelection GLOBAL = new TestSelection(
+                TestConfig.getBoolean("selection.enabled", false),
+                Paths.get(TestConfig.get("selection.file", ".perf/test-selection.json")),
+                TestConfig.get("base.uri"),
+                ambienteAtual(),
+                Duration.ofHours(TestConfig.getLong("selection.max.age.hours", 24)),
+                ClassDependencies.doClasspath());
+    }
+
+    /**
+     * Resultado de um teste na execução em que rodou
+     *
+     * @param id     uniqueId do JUnit, estável entre execuções
+     * @param status SUCCESSFUL, FAILED, ABORTED ou SKIPPED
+     */
+    public record Teste(String id, String nome, String metodo, String status, long duracaoMs) {
+
+        boolean isReaproveitavel() {
+            return status.equals("SUCCESSFUL") || status.equals("SKIPPED");
+        }
+    }
+
+    /**
+     * Última execução de uma classe de teste
+     *
+     * @param dependencias classes do projeto que entraram no hash
+     */
+    public record Entrada(String hash, String baseUri, String executadoEm, Set<String> dependencias,
+                          List<Teste> testes) {
+    }
+
+    /**
+     * @param classes hash do bytecode de cada classe do projeto na última execução
+     */
+    private record Arquivo(String atualizado, Map<String, String> classes, Map<String, Entrada> testes) {
+    }
+
+    /**
+     * @param anterior última execução da classe; null quando nunca rodou
+     */
+    public record Decisao(String classe, boolean reaproveitar, String motivo, String hash, Entrada anterior) {
+    }
+
+    /**
+     * @param ambiente tudo o que não é bytecode e afeta o resultado (configuração, bibliotecas)
+     */
+    public TestSelection(boolean habilitado, Path arquivo, String baseUri, String ambiente, Duration validade,
+                         ClassDependencies dependencias) {
+        this.habilitado = habilitado;
+        this.arquivo = arquivo;
+        this.baseUri = baseUri;
+        this.ambiente = ambiente;
+        this.validade = validade;
+        this.dependencias = dependencias;
+        this.anterior = habilitado ? carregar(arquivo) : new Arquivo(null, Map.of(), Map.of());
+    }
+
+    /**
+     * Instância única usada pelo filtro de descoberta e pelo listener da suíte
+     */
+    public static TestSelection global() {
+        return Holder.GLOBAL;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Decide se a classe de teste roda ou reaproveita a última execução
+     */
+    public Decisao decidir(String classe) {
+        return decisoes.computeIfAbsent(classe, this::avaliar);
+    }
+
+    private Decisao avaliar(String classe) {
+        Set<String> fechamento = dependencias.fechamento(classe);
+        String hash = hashEntradas(fechamento);
+        Entrada entrada = anterior.testes().get(classe);
+        if (entrada == null) {
+            return new Decisao(classe, false, "sem resultado anterior", hash, null);
+        }
+        if (!entrada.testes().stream().allMatch(Teste::isReaproveitavel)) {
+            return new Decisao(classe, false, "falhou na última execução", hash, entrada);
+        }
+        if (Instant.parse(entrada.executadoEm()).plus(validade).isBefore(Instant.now())) {
+            return new Decisao(classe, false, "resultado de " + entrada.executadoEm() + " expirou", hash, entrada);
+        }
+        if (!entrada.baseUri().equals(baseUri)) {
+            return new Decisao(classe, false, "base.uri mudou de " + entrada.baseUri(), hash, entrada);
+        }
+        if (entrada.hash().equals(hash)) {
+            return new Decisao(classe, true, "nada mudou desde " + entrada.executadoEm(), hash, entrada);
+        }
+        Set<String> envolvidas = new TreeSet<>(fechamento);
+        envolvidas.addAll(entrada.dependencias());
+        List<String> mudaram = envolvidas.stream()
+                .filter(dependencia -> !dependencias.hash(dependencia).equals(anterior.classes().get(dependencia)))
+                .map(TestSelection::nomeSimples)
+                .toList();
+        return new Decisao(classe, false, mudaram.isEmpty()
+                ? "configuração ou bibliotecas mudaram"
+                : "mudaram: " + String.join(", ", mudaram), hash, entrada);
+    }
+
+    private String hashEntradas(Set<String> fechamento) {
+        StringBuilder entradas = new StringBuilder("base.uri=").append(baseUri).append('\n').append(ambiente);
+        for (String classe : fechamento) {
+            entradas.append(classe).append('=').append(dependencias.hash(classe)).append('\n');
+        }
+        return ClassDependencies.sha256(entradas.toString());
+    }
+
+    /**
+     * Registra o resultado de um teste executado (ou de uma classe cujo ciclo de vida falhou)
+     */
+    public void registrar(String classe, Teste teste) {
+        executados.computeIfAbsent(classe, chave -> new ConcurrentHashMap<>()).put(teste.id(), teste);
+    }
+
+    public Collection<Decisao> getDecisoes() {
+        return decisoes.values();
+    }
+
+    public List<Decisao> getReaproveitadas() {
+        return decisoes.values().stream().filter(Decisao::reaproveitar)
+                .sorted((a, b) -> a.classe().compareTo(b.classe())).toList();
+    }
+
+    /**
+     * Grava o estado para a próxima execução: as classes que rodaram ganham uma nova entrada;
+     * as reaproveitadas e as que não foram selecionadas nesta execução mantêm a anterior
+     */
+    public void salvar() {
+        Map<String, String> classes = new TreeMap<>(anterior.classes());
+        Map<String, Entrada> testes = new TreeMap<>(anterior.testes());
+        String agora = Instant.now().toString();
+        executados.forEach((classe, resultados) -> {
+            Decisao decisao = decidir(classe);
+            Set<String> fechamento = dependencias.fechamento(classe);
+            fechamento.forEach(dependencia -> classes.put(dependencia, dependencias.hash(dependencia)));
+            Map<String, Teste> juntos = new TreeMap<>();
+            // execução parcial (ex.: -Dtest=Classe#metodo) com as mesmas entradas soma aos resultados anteriores
+            if (decisao.anterior() != null && decisao.anterior().hash().equals(decisao.hash())) {
+                decisao.anterior().testes().forEach(teste -> juntos.put(teste.id(), teste));
+            }
+            juntos.putAll(resultados);
+            testes.put(classe, new Entrada(decisao.hash(), baseUri, agora, fechamento, List.copyOf(juntos.values())));
+        });
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            MAPPER.writeValue(arquivo.toFile(), new Arquivo(agora, classes, testes));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o estado da seleção de testes: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Publica no Allure os resultados das classes que não rodaram, uma vez por JVM: cada nova
+     * tentativa do Surefire (rerunFailingTestsCount) termina o plano de testes de novo
+     */
+    public void publicarReaproveitados() {
+        if (!publicados.compareAndSet(false, true)) {
+            return;
+        }
+        for (Decisao decisao : getReaproveitadas()) {
+            String feature = feature(decisao.classe());
+            String descricao = String.format("Resultado reaproveitado da execução de %s: nada de que %s depende mudou"
+                    + " (entradas %s)", decisao.anterior().executadoEm(), nomeSimples(decisao.classe()),
+                    decisao.hash().substring(0, 12));
+            for (Teste teste : decisao.anterior().testes()) {
+                AllureResults.reaproveitar(teste.nome(), decisao.classe() + "." + teste.metodo(), teste.id(), feature,
+                        teste.status().equals("SKIPPED") ? Status.SKIPPED : Status.PASSED, teste.duracaoMs(), descricao);
+            }
+        }
+    }
+
+    /**
+     * Classes executadas e reaproveitadas, com o motivo de cada decisão
+     */
+    public String formatar() {
+        List<Decisao> ordenadas = new ArrayList<>(decisoes.values());
+        ordenadas.sort((a, b) -> a.reaproveitar() != b.reaproveitar()
+                ? Boolean.compare(a.reaproveitar(), b.reaproveitar())
+                : a.classe().compareTo(b.classe()));
+        StringBuilder texto = new StringBuilder(String.format("Seleção de testes (%s): %d classes executadas, "
+                        + "%d reaproveitadas com %d testes%n", baseUri, ordenadas.size() - getReaproveitadas().size(),
+                getReaproveitadas().size(), getTestesReaproveitados()));
+        for (Decisao decisao : ordenadas) {
+            texto.append(String.format("%-13s %-40s %s%n", decisao.reaproveitar() ? "reaproveitada" : "executada",
+                    nomeSimples(decisao.classe()), decisao.motivo()));
+        }
+        return texto.toString();
+    }
+
+    private long getTestesReaproveitados() {
+        return getReaproveitadas().stream().mapToLong(decisao -> decisao.anterior().testes().size()).sum();
+    }
+
+    /**
+     * Métricas resumidas para o console e o environment.properties
+     */
+    public Map<String, Object> metricas() {
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("selection.classes.executadas", decisoes.size() - getReaproveitadas().size());
+        metricas.put("selection.classes.reaproveitadas", getReaproveitadas().size());
+        metricas.put("selection.testes.reaproveitados", getTestesReaproveitados());
+        return metricas;
+    }
+
+    private static Arquivo carregar(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            return new Arquivo(null, Map.of(), Map.of());
+        }
+        try {
+            return MAPPER.readValue(arquivo.toFile(), new TypeReference<>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o estado da seleção de testes: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Configuração efetiva (com overrides), exceto as chaves da própria seleção, e os jars do
+     * classpath pelo nome, que traz a versão
+     */
+    private static String ambienteAtual() {
+        StringBuilder ambiente = new StringBuilder("java=").append(System.getProperty("java.specification.version"))
+                .append('\n');
+        new TreeSet<>(TestConfig.propriedades().stringPropertyNames()).stream()
+                .filter(chave -> !chave.startsWith("selection."))
+                .forEach(chave -> ambiente.append(chave).append('=').append(TestConfig.get(chave)).append('\n'));
+        ambiente.append(List.of(System.getProperty("java.class.path").split(File.pathSeparator)).stream()
+                .filter(entrada -> entrada.endsWith(".jar"))
+                .map(entrada -> Paths.get(entrada).getFileName().toString())
+                .sorted()
+                .collect(Collectors.joining(",", "classpath=", "\n")));
+        return ambiente.toString();
+    }
+
+    private static String feature(String classe) {
+        try {
+            Feature feature = Class.forName(classe, false, TestSelection.class.getClassLoader())
+                    .getAnnotation(Feature.class);
+            return feature != null ? feature.value() : nomeSimples(classe);
+        } catch (ClassNotFoundException e) {
+            return nomeSimples(classe);
+        }
+    }
+
+    private static String nomeSimples(String classe) {
+        return classe.substring(classe.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.serverest.selection;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Optional;
+
+/**
+ * Filtro de descoberta que deixa de fora as classes de teste cujo resultado é reaproveitado
+ * (ver TestSelection); só age com selection.enabled
+ * Registrado via META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter
+ */
+public class TestSelectionFilter implements PostDiscoveryFilter {
+
+    @Override
+    public FilterResult apply(TestDescriptor descritor) {
+        TestSelection selecao = TestSelection.global();
+        Optional<String> classe = selecao.isHabilitado() ? classeDeNivelSuperior(descritor) : Optional.empty();
+        if (classe.isEmpty()) {
+            return FilterResult.included(null);
+        }
+        TestSelection.Decisao decisao = selecao.decidir(classe.get());
+        return decisao.reaproveitar()
+                ? FilterResult.excluded("Resultado reaproveitado: " + decisao.motivo())
+                : FilterResult.included(decisao.motivo());
+    }
+
+    /**
+     * Classe ligada direto à engine que contém o descritor; o JUnit só aplica o filtro às
+     * folhas (métodos, invocações) e remove as classes que ficam vazias
+     */
+    private static Optional<String> classeDeNivelSuperior(TestDescriptor descritor) {
+        String classe = null;
+        for (Optional<TestDescriptor> atual = Optional.of(descritor); atual.isPresent();
+             atual = atual.get().getParent()) {
+            Optional<ClassSource> fonte = atual.get().getSource()
+                    .filter(ClassSource.class::isInstance).map(ClassSource.class::cast);
+            if (fonte.isPresent()) {
+                classe = fonte.get().getClassName();
+            }
+        }
+        return Optional.ofNullable(classe);
+    }
+}
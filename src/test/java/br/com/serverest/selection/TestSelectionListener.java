@@ -0,0 +1,90 @@
+package br.com.serverest.selection;
+
+import br.com.serverest.config.TestConfig;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra o resultado de cada teste executado e, ao final da suíte, grava o estado da
+ * seleção, publica os resultados reaproveitados e o relatório reports.directory/test-selection.txt
+ * Só age com selection.enabled (ver TestSelection)
+ * Registrado via META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class TestSelectionListener implements TestExecutionListener {
+
+    private final Map<String, Long> inicios = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier teste) {
+        if (TestSelection.global().isHabilitado() && teste.isTest()) {
+            inicios.put(teste.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier teste, String motivo) {
+        if (TestSelection.global().isHabilitado() && teste.isTest()) {
+            registrar(teste, "SKIPPED");
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier teste, TestExecutionResult resultado) {
+        if (!TestSelection.global().isHabilitado()) {
+            return;
+        }
+        // um @BeforeAll que falha marca a classe inteira, mesmo sem testes executados
+        if (teste.isTest() || resultado.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+            registrar(teste, resultado.getStatus().name());
+        }
+    }
+
+    private void registrar(TestIdentifier teste, String status) {
+        String classe = teste.getSource().map(fonte -> fonte instanceof MethodSource metodo ? metodo.getClassName()
+                : fonte instanceof ClassSource tipo ? tipo.getClassName() : null).orElse(null);
+        if (classe == null) {
+            return;
+        }
+        String metodo = teste.getSource().filter(MethodSource.class::isInstance)
+                .map(fonte -> ((MethodSource) fonte).getMethodName()).orElse(null);
+        Long inicio = inicios.remove(teste.getUniqueId());
+        long duracaoMs = inicio == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        // classes aninhadas contam para a classe de nível superior, que é a unidade da seleção
+        int aninhada = classe.indexOf('$');
+        TestSelection.global().registrar(aninhada < 0 ? classe : classe.substring(0, aninhada),
+                new TestSelection.Teste(teste.getUniqueId(), teste.getDisplayName(), metodo, status, duracaoMs));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TestSelection selecao = TestSelection.global();
+        if (!selecao.isHabilitado()) {
+            return;
+        }
+        selecao.salvar();
+        selecao.publicarReaproveitados();
+        String relatorio = selecao.formatar();
+        System.out.print("[ServeRest] " + relatorio);
+        Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("test-selection.txt");
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            Files.writeString(arquivo, relatorio, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o relatório da seleção de testes", e);
+        }
+    }
+}
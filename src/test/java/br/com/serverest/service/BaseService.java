@@ -1,12 +1,23 @@
 package br.com.serverest.service;
 
-import io.qameta.allure.Step;
+import br.com.serverest.config.GlobalSetup;
+import br.com.serverest.http.AdaptiveConcurrencyLimiter;
+import br.com.serverest.http.CircuitBreaker;
+import br.com.serverest.http.HedgePolicy;
+import br.com.serverest.http.ResponseCache;
+import br.com.serverest.http.RetryPolicy;
+import br.com.serverest.utils.StreamingBody;
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
+import static br.com.serverest.report.AllureSteps.step;
 import static io.restassured.RestAssured.given;
 
 /**
@@ -16,6 +27,50 @@ import static io.restassured.RestAssured.given;
  */
 public abstract class BaseService {
     
+    private final ResponseCache cache;
+    private final boolean lerDoCache;
+    private final boolean direto;
+    
+    /**
+     * Garante a configuração global do RestAssured mesmo fora do ciclo de vida do JUnit
+     */
+    protected BaseService() {
+        this(null, false);
+    }
+    
+    /**
+     * @param cache      cache de GETs do recurso, invalidado a cada escrita (null = sem cache)
+     * @param lerDoCache false para sempre consultar a API, mantendo a invalidação nas escritas
+     */
+    protected BaseService(ResponseCache cache, boolean lerDoCache) {
+        this(cache, lerDoCache, false);
+    }
+    
+    /**
+     * @param direto true para enviar cada requisição na hora, sem circuit breaker, limitador,
+     *               retentativa e hedge (ver isDireto)
+     */
+    protected BaseService(ResponseCache cache, boolean lerDoCache, boolean direto) {
+        GlobalSetup.instancia();
+        this.cache = cache;
+        this.lerDoCache = lerDoCache;
+        this.direto = direto;
+    }
+    
+    protected ResponseCache getCache() {
+        return cache;
+    }
+    
+    /**
+     * Service sem as políticas do cliente: cada chamada é exatamente uma requisição, enviada
+     * na hora. Para corridas (ConcurrencyRace) e carga (LoadScenario), em que o limitador
+     * enfileiraria os participantes e a retentativa reenviaria escritas; os filtros do
+     * RestAssured (Allure, latência, uso de HTTP) continuam valendo.
+     */
+    public boolean isDireto() {
+        return direto;
+    }
+    
     protected abstract String getBasePath();
     
     /**
@@ -27,93 +82,207 @@ public abstract class BaseService {
                 .accept(ContentType.JSON);
     }
     
+    /**
+     * RequestSpecification para corpos em streaming
+     * Com Content-Type JSON o RestAssured leria o InputStream inteiro para uma String;
+     * codificado como binário ele vai em chunks direto para o socket, com o mesmo cabeçalho
+     */
+    protected RequestSpecification getStreamingRequestSpec() {
+        RestAssuredConfig config = RestAssured.config();
+        return getRequestSpec().config(config.encoderConfig(
+                config.getEncoderConfig().encodeContentTypeAs(ContentType.JSON.toString(), ContentType.BINARY)));
+    }
+    
     /**
      * GET - Listar todos os recursos
      */
-    @Step("Listar recursos")
     protected Response doGet() {
-        return getRequestSpec()
-                .when()
-                .get(getBasePath());
+        return step("Listar recursos", () -> consultar("GET " + getBasePath(),
+                () -> executarComHedge("GET " + getBasePath(), () -> getRequestSpec()
+                        .when()
+                        .get(getBasePath()))));
     }
     
     /**
      * GET - Listar com query parameters
      */
-    @Step("Listar com filtros")
     protected Response doGet(Map<String, ?> queryParams) {
-        return getRequestSpec()
-                .queryParams(queryParams)
-                .when()
-                .get(getBasePath());
+        return step("Listar com filtros", () -> consultar("GET " + getBasePath() + "?" + new TreeMap<>(queryParams),
+                () -> executarIdempotente(() -> getRequestSpec()
+                        .queryParams(queryParams)
+                        .when()
+                        .get(getBasePath()))), "queryParams", queryParams);
     }
     
     /**
      * GET - Buscar por ID
      */
-    @Step("Buscar recurso por ID: {id}")
     protected Response doGetById(String id) {
-        return getRequestSpec()
-                .pathParam("_id", id)
-                .when()
-                .get(getBasePath() + "/{_id}");
+        return step("Buscar recurso por ID: {id}", () -> consultar("GET " + getBasePath() + "/" + id,
+                () -> executarComHedge("GET " + getBasePath() + "/{_id}", () -> getRequestSpec()
+                        .pathParam("_id", id)
+                        .when()
+                        .get(getBasePath() + "/{_id}"))), "id", id);
     }
     
     /**
      * POST - Criar recurso
      */
-    @Step("Criar recurso")
     protected Response doPost(Object body) {
-        return getRequestSpec()
+        return step("Criar recurso", () -> escrever(() -> executar(() -> getRequestSpec()
+                .body(body)
+                .when()
+                .post(getBasePath()))), "body", body);
+    }
+    
+    /**
+     * POST - Criar recurso com corpo JSON já serializado (ver JsonTemplate)
+     */
+    protected Response doPost(byte[] body) {
+        return step("Criar recurso", () -> escrever(() -> executar(() -> getRequestSpec()
+                .body(body)
+                .when()
+                .post(getBasePath()))));
+    }
+    
+    /**
+     * POST - Criar recurso com corpo em streaming (ver StreamingBody)
+     * Sem retentativa: o corpo é de uso único
+     */
+    protected Response doPost(StreamingBody body) {
+        return step("Criar recurso com corpo em streaming", () -> escrever(() -> executar(() -> getStreamingRequestSpec()
                 .body(body)
                 .when()
-                .post(getBasePath());
+                .post(getBasePath()))), "body", body);
     }
     
     /**
      * PUT - Atualizar recurso
      */
-    @Step("Atualizar recurso: {id}")
     protected Response doPut(String id, Object body) {
-        return getRequestSpec()
+        return step("Atualizar recurso: {id}", () -> escrever(() -> executarIdempotente(() -> getRequestSpec()
+                .pathParam("_id", id)
+                .body(body)
+                .when()
+                .put(getBasePath() + "/{_id}"))), "id", id, "body", body);
+    }
+    
+    /**
+     * PUT - Atualizar recurso com corpo JSON já serializado (ver JsonTemplate)
+     */
+    protected Response doPut(String id, byte[] body) {
+        return step("Atualizar recurso: {id}", () -> escrever(() -> executarIdempotente(() -> getRequestSpec()
                 .pathParam("_id", id)
                 .body(body)
                 .when()
-                .put(getBasePath() + "/{_id}");
+                .put(getBasePath() + "/{_id}"))), "id", id);
+    }
+    
+    /**
+     * PUT - Atualizar recurso com corpo em streaming (ver StreamingBody)
+     * Sem retentativa, apesar de idempotente: o corpo é de uso único
+     */
+    protected Response doPut(String id, StreamingBody body) {
+        return step("Atualizar recurso com corpo em streaming: {id}", () -> escrever(() -> executar(() -> getStreamingRequestSpec()
+                .pathParam("_id", id)
+                .body(body)
+                .when()
+                .put(getBasePath() + "/{_id}"))), "id", id, "body", body);
     }
     
     /**
      * DELETE - Excluir recurso
      */
-    @Step("Excluir recurso: {id}")
     protected Response doDelete(String id) {
-        return getRequestSpec()
+        return step("Excluir recurso: {id}", () -> escrever(() -> executarIdempotente(() -> getRequestSpec()
                 .pathParam("_id", id)
                 .when()
-                .delete(getBasePath() + "/{_id}");
+                .delete(getBasePath() + "/{_id}"))), "id", id);
     }
     
     /**
      * POST - Com headers customizados
      */
-    @Step("Criar recurso com headers customizados")
     protected Response doPostWithHeaders(Object body, Map<String, String> headers) {
-        RequestSpecification spec = getRequestSpec();
-        headers.forEach(spec::header);
-        return spec.body(body)
-                .when()
-                .post(getBasePath());
+        return step("Criar recurso com headers customizados", () -> {
+            RequestSpecification spec = getRequestSpec();
+            headers.forEach(spec::header);
+            return escrever(() -> executar(() -> spec.body(body)
+                    .when()
+                    .post(getBasePath())));
+        }, "body", body, "headers", headers);
     }
     
     /**
      * GET - Com headers customizados
      */
-    @Step("Buscar com headers customizados")
     protected Response doGetWithHeaders(Map<String, String> headers) {
-        RequestSpecification spec = getRequestSpec();
-        headers.forEach(spec::header);
-        return spec.when()
-                .get(getBasePath());
+        return step("Buscar com headers customizados", () -> {
+            RequestSpecification spec = getRequestSpec();
+            headers.forEach(spec::header);
+            return executar(() -> spec.when()
+                    .get(getBasePath()));
+        }, "headers", headers);
+    }
+    
+    /**
+     * GET através do cache do recurso, quando configurado
+     * A chave inclui método, path e query parameters ordenados
+     */
+    protected Response consultar(String chave, Supplier<Response> requisicao) {
+        return cache != null && lerDoCache ? cache.obter(chave, requisicao) : requisicao.get();
+    }
+    
+    /**
+     * Escrita no recurso: invalida o cache antes e depois, para que nenhum GET concorrente
+     * guarde dados anteriores à escrita
+     */
+    protected Response escrever(Supplier<Response> requisicao) {
+        if (cache == null) {
+            return requisicao.get();
+        }
+        cache.invalidar();
+        try {
+            return requisicao.get();
+        } finally {
+            cache.invalidar();
+        }
+    }
+    
+    /**
+     * Executa a requisição através do circuit breaker e do limitador de concorrência global (AIMD)
+     */
+    protected Response executar(Supplier<Response> requisicao) {
+        if (direto) {
+            return requisicao.get();
+        }
+        return CircuitBreaker.global().executar(
+                () -> AdaptiveConcurrencyLimiter.global().executar(requisicao));
+    }
+    
+    /**
+     * Executa operações idempotentes (GET, PUT, DELETE) com retentativa para falhas transitórias
+     * Cada tentativa passa novamente pelo circuit breaker e pelo limitador
+     */
+    protected Response executarIdempotente(Supplier<Response> requisicao) {
+        if (direto) {
+            return requisicao.get();
+        }
+        return RetryPolicy.global().executar(() -> executar(requisicao));
+    }
+    
+    /**
+     * Leituras idempotentes com hedge: passada a latência p95 do endpoint (chave do
+     * LatencyRecorder), uma cópia da requisição é enviada e vence a primeira resposta
+     * O circuit breaker vê uma única requisição lógica por tentativa; no limitador cada
+     * cópia ocupa a sua própria vaga, já que as duas estão de fato em voo no servidor
+     */
+    protected Response executarComHedge(String chave, Supplier<Response> requisicao) {
+        if (direto) {
+            return requisicao.get();
+        }
+        return RetryPolicy.global().executar(() -> CircuitBreaker.global().executar(
+                () -> HedgePolicy.global().executar(chave, () -> AdaptiveConcurrencyLimiter.global().executar(requisicao))));
     }
     
     /**
@@ -0,0 +1,31 @@
+package br.com.serverest.service;
+
+import br.com.serverest.model.Login;
+import io.restassured.response.Response;
+
+import java.util.Map;
+
+/**
+ * /login em memória (ver InMemoryServeRest), contra os usuários cadastrados no mesmo InMemoryServeRest
+ */
+public class InMemoryLoginService implements LoginApi {
+
+    private final InMemoryServeRest serveRest;
+
+    InMemoryLoginService(InMemoryServeRest serveRest) {
+        this.serveRest = serveRest;
+    }
+
+    @Override
+    public Response realizarLogin(Login login) {
+        return serveRest.autenticar(login);
+    }
+
+    /**
+     * Os headers não têm efeito: não há transporte
+     */
+    @Override
+    public Response realizarLoginComHeaders(Login login, Map<String, String> headers) {
+        return serveRest.autenticar(login);
+    }
+}
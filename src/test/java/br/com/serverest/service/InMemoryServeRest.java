@@ -0,0 +1,269 @@
+package br.com.serverest.service;
+
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * ServeRest em memória: usuários e login com as mesmas regras de validação, status e mensagens
+ * da API, devolvendo Response do RestAssured montados sem abrir socket
+ * Base dos InMemoryUsuarioService e InMemoryLoginService, para exercitar helpers, fixtures e
+ * validações do BaseTest sem a API e para medir o custo do próprio harness. Thread-safe: as
+ * escritas são atômicas (o email continua único sob concorrência, como na API) e as respostas
+ * são montadas fora do lock. IDs são sequenciais, então a mesma sequência de chamadas dá
+ * sempre as mesmas respostas; só o token de login é aleatório.
+ */
+public final class InMemoryServeRest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@.]+$");
+    private static final Pattern ID = Pattern.compile("^[a-zA-Z0-9]{16}$");
+    private static final Response MODELO = new ResponseBuilder()
+            .setStatusCode(200)
+            .setContentType("application/json; charset=utf-8")
+            .setBody("{}")
+            .build();
+    private static final Set<String> FILTROS = Set.of("_id", "nome", "email", "password", "administrador");
+
+    private final Object lock = new Object();
+    private final Map<String, Usuario> usuarios = new LinkedHashMap<>();
+    private final Map<String, String> idPorEmail = new HashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    public InMemoryUsuarioService usuarios() {
+        return new InMemoryUsuarioService(this);
+    }
+
+    public InMemoryLoginService login() {
+        return new InMemoryLoginService(this);
+    }
+
+    // ==================== /usuarios ====================
+
+    Response listar(Map<String, ?> filtros) {
+        Map<String, Object> erros = new LinkedHashMap<>();
+        for (String campo : filtros.keySet()) {
+            if (!FILTROS.contains(campo)) {
+                erros.put(campo, campo + " não é permitido");
+            }
+        }
+        if (!erros.isEmpty()) {
+            return resposta(400, erros);
+        }
+        List<Usuario> encontrados = new ArrayList<>();
+        synchronized (lock) {
+            for (Usuario usuario : usuarios.values()) {
+                if (filtros.entrySet().stream().allMatch(filtro ->
+                        String.valueOf(filtro.getValue()).equals(campo(usuario, filtro.getKey())))) {
+                    encontrados.add(usuario);
+                }
+            }
+        }
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("quantidade", encontrados.size());
+        corpo.put("usuarios", encontrados);
+        return resposta(200, corpo);
+    }
+
+    Response cadastrar(Usuario usuario) {
+        Map<String, Object> erros = validarUsuario(usuario);
+        if (!erros.isEmpty()) {
+            return resposta(400, erros);
+        }
+        String id;
+        synchronized (lock) {
+            if (idPorEmail.containsKey(usuario.getEmail())) {
+                return mensagem(400, "Este email já está sendo usado");
+            }
+            id = novoId();
+            gravar(id, usuario);
+        }
+        return cadastroRealizado(id);
+    }
+
+    Response buscar(String id) {
+        if (!ID.matcher(String.valueOf(id)).matches()) {
+            return resposta(400, Map.of("id", "id deve ter exatamente 16 caracteres alfanuméricos"));
+        }
+        Usuario usuario;
+        synchronized (lock) {
+            usuario = usuarios.get(id);
+        }
+        return usuario == null ? mensagem(400, "Usuário não encontrado") : resposta(200, usuario);
+    }
+
+    Response excluir(String id) {
+        synchronized (lock) {
+            Usuario removido = usuarios.remove(id);
+            if (removido == null) {
+                return mensagem(200, "Nenhum registro excluído");
+            }
+            idPorEmail.remove(removido.getEmail());
+        }
+        return mensagem(200, "Registro excluído com sucesso");
+    }
+
+    /**
+     * Como na API, um PUT com ID inexistente cadastra um usuário novo (com outro ID)
+     */
+    Response editar(String id, Usuario usuario) {
+        Map<String, Object> erros = validarUsuario(usuario);
+        if (!erros.isEmpty()) {
+            return resposta(400, erros);
+        }
+        String novo = null;
+        synchronized (lock) {
+            String dono = idPorEmail.get(usuario.getEmail());
+            if (dono != null && !dono.equals(id)) {
+                return mensagem(400, "Este email já está sendo usado");
+            }
+            Usuario anterior = usuarios.get(id);
+            if (anterior == null) {
+                novo = novoId();
+                gravar(novo, usuario);
+            } else {
+                idPorEmail.remove(anterior.getEmail());
+                gravar(id, usuario);
+            }
+        }
+        return novo != null ? cadastroRealizado(novo) : mensagem(200, "Registro alterado com sucesso");
+    }
+
+    // ==================== /login ====================
+
+    Response autenticar(Login login) {
+        Map<String, Object> erros = new LinkedHashMap<>();
+        validarEmail(erros, login.getEmail());
+        validarPreenchido(erros, "password", login.getPassword());
+        if (!erros.isEmpty()) {
+            return resposta(400, erros);
+        }
+        Usuario usuario;
+        synchronized (lock) {
+            String id = idPorEmail.get(login.getEmail());
+            usuario = id == null ? null : usuarios.get(id);
+        }
+        if (usuario == null || !usuario.getPassword().equals(login.getPassword())) {
+            return mensagem(401, "Email e/ou senha inválidos");
+        }
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("message", "Login realizado com sucesso");
+        corpo.put("authorization", "Bearer " + token(usuario));
+        return resposta(200, corpo);
+    }
+
+    // ==================== Regras ====================
+
+    private static Map<String, Object> validarUsuario(Usuario usuario) {
+        Map<String, Object> erros = new LinkedHashMap<>();
+        validarPreenchido(erros, "nome", usuario.getNome());
+        validarEmail(erros, usuario.getEmail());
+        validarPreenchido(erros, "password", usuario.getPassword());
+        String administrador = usuario.getAdministrador();
+        if (administrador == null) {
+            erros.put("administrador", "administrador é obrigatório");
+        } else if (!administrador.equals("true") && !administrador.equals("false")) {
+            erros.put("administrador", "administrador deve ser 'true' ou 'false'");
+        }
+        return erros;
+    }
+
+    private static void validarEmail(Map<String, Object> erros, String email) {
+        if (validarPreenchido(erros, "email", email) && !EMAIL.matcher(email).matches()) {
+            erros.put("email", "email deve ser um email válido");
+        }
+    }
+
+    /**
+     * @return se o campo veio preenchido
+     */
+    private static boolean validarPreenchido(Map<String, Object> erros, String campo, String valor) {
+        if (valor == null) {
+            erros.put(campo, campo + " é obrigatório");
+            return false;
+        }
+        if (valor.isEmpty()) {
+            erros.put(campo, campo + " não pode ficar em branco");
+            return false;
+        }
+        return true;
+    }
+
+    private static String campo(Usuario usuario, String nome) {
+        return switch (nome) {
+            case "_id" -> usuario.get_id();
+            case "nome" -> usuario.getNome();
+            case "email" -> usuario.getEmail();
+            case "password" -> usuario.getPassword();
+            default -> usuario.getAdministrador();
+        };
+    }
+
+    /**
+     * Grava uma cópia: o chamador continua dono do objeto que passou
+     */
+    private void gravar(String id, Usuario usuario) {
+        usuarios.put(id, new Usuario(id, usuario.getNome(), usuario.getEmail(), usuario.getPassword(),
+                usuario.getAdministrador()));
+        idPorEmail.put(usuario.getEmail(), id);
+    }
+
+    private String novoId() {
+        String sufixo = Long.toString(sequencia.incrementAndGet(), 36);
+        return "0".repeat(16 - sufixo.length()) + sufixo;
+    }
+
+    private static String token(Usuario usuario) {
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        return base64.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + base64.encodeToString(("{\"email\":\"" + usuario.getEmail() + "\",\"iat\":"
+                + System.nanoTime() + "}").getBytes(StandardCharsets.UTF_8))
+                + "." + base64.encodeToString(Long.toHexString(ThreadLocalRandom.current().nextLong())
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== Respostas ====================
+
+    private static Response cadastroRealizado(String id) {
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("message", "Cadastro realizado com sucesso");
+        corpo.put("_id", id);
+        return resposta(201, corpo);
+    }
+
+    private static Response mensagem(int status, String mensagem) {
+        return resposta(status, Map.of("message", mensagem));
+    }
+
+    /**
+     * Clonar um modelo reaproveita o RestAssuredConfig dele: o ResponseBuilder sem modelo monta
+     * um config novo a cada resposta, o que custa várias vezes a própria operação em memória
+     */
+    private static Response resposta(int status, Object corpo) {
+        try {
+            return new ResponseBuilder()
+                    .clone(MODELO)
+                    .setStatusCode(status)
+                    .setStatusLine("HTTP/1.1 " + status)
+                    .setBody(MAPPER.writeValueAsBytes(corpo))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar resposta em memória", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.serverest.service;
+
+import br.com.serverest.model.Usuario;
+import io.restassured.response.Response;
+
+import java.util.Map;
+
+/**
+ * /usuarios em memória (ver InMemoryServeRest), sem sockets, steps ou filtros do RestAssured
+ * Obtido por InMemoryServeRest.usuarios(); services do mesmo InMemoryServeRest compartilham os usuários
+ */
+public class InMemoryUsuarioService implements UsuarioApi {
+
+    private final InMemoryServeRest serveRest;
+
+    InMemoryUsuarioService(InMemoryServeRest serveRest) {
+        this.serveRest = serveRest;
+    }
+
+    @Override
+    public Response listarUsuarios() {
+        return serveRest.listar(Map.of());
+    }
+
+    @Override
+    public Response listarUsuarios(String queryParam, String value) {
+        return serveRest.listar(Map.of(queryParam, value));
+    }
+
+    @Override
+    public Response listarUsuarios(Map<String, ?> queryParams) {
+        return serveRest.listar(queryParams);
+    }
+
+    @Override
+    public Response cadastrarUsuario(Usuario usuario) {
+        return serveRest.cadastrar(usuario);
+    }
+
+    @Override
+    public Response buscarUsuarioPorId(String id) {
+        return serveRest.buscar(id);
+    }
+
+    @Override
+    public Response excluirUsuario(String id) {
+        return serveRest.excluir(id);
+    }
+
+    @Override
+    public Response editarUsuario(String id, Usuario usuario) {
+        return serveRest.editar(id, usuario);
+    }
+
+    /**
+     * Os headers não têm efeito: não há transporte
+     */
+    @Override
+    public Response cadastrarUsuarioComHeaders(Usuario usuario, Map<String, String> headers) {
+        return serveRest.cadastrar(usuario);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.serverest.service;
+
+import br.com.serverest.model.Login;
+import io.restassured.response.Response;
+
+import java.util.Map;
+
+/**
+ * Operações do endpoint /login, independentes do transporte
+ * Implementada pelo LoginService (HTTP) e pelo InMemoryLoginService (em memória, sem sockets)
+ */
+public interface LoginApi {
+
+    Response realizarLogin(Login login);
+
+    Response realizarLoginComHeaders(Login login, Map<String, String> headers);
+
+    default Response realizarLogin(String email, String password) {
+        return realizarLogin(Login.builder().email(email).password(password).build());
+    }
+
+    default String realizarLoginEObterToken(Login login) {
+        return realizarLogin(login).jsonPath().getString("authorization");
+    }
+
+    default String realizarLoginEObterToken(String email, String password) {
+        return realizarLogin(email, password).jsonPath().getString("authorization");
+    }
+
+    default Response realizarLoginComCamposVazios() {
+        return realizarLogin(Login.builder().email("").password("").build());
+    }
+
+    default Response realizarLoginSemEmail(String password) {
+        return realizarLogin(Login.builder().password(password).build());
+    }
+
+    default Response realizarLoginSemSenha(String email) {
+        return realizarLogin(Login.builder().email(email).build());
+    }
+
+    default boolean loginFoiSucesso(Response response) {
+        return response.getStatusCode() == 200 && response.jsonPath().getString("authorization") != null;
+    }
+
+    /**
+     * Extrai apenas o token Bearer (sem "Bearer ")
+     */
+    default String extrairTokenLimpo(Response response) {
+        String token = response.jsonPath().getString("authorization");
+        return token != null && token.startsWith("Bearer ") ? token.substring(7) : token;
+    }
+}
@@ -1,20 +1,37 @@
 package br.com.serverest.service;
 
 import br.com.serverest.model.Login;
-import io.qameta.allure.Step;
+import br.com.serverest.utils.PayloadTemplates;
 import io.restassured.response.Response;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static br.com.serverest.report.AllureSteps.step;
+
 /**
  * Service Object Pattern - Login
  * Encapsula todas as operações relacionadas ao endpoint /login
  */
-public class LoginService extends BaseService {
+public class LoginService extends BaseService implements LoginApi {
     
     private static final String LOGIN_ENDPOINT = "/login";
     
+    public LoginService() {
+        super();
+    }
+    
+    private LoginService(boolean direto) {
+        super(null, false, direto);
+    }
+    
+    /**
+     * Service sem circuit breaker, limitador, retentativa e hedge (ver BaseService.isDireto)
+     */
+    public static LoginService direto() {
+        return new LoginService(true);
+    }
+    
     @Override
     protected String getBasePath() {
         return LOGIN_ENDPOINT;
@@ -23,101 +40,117 @@ public class LoginService extends BaseService {
     /**
      * Realiza login com objeto Login
      */
-    @Step("Realizar login com email: {login.email}")
+    @Override
     public Response realizarLogin(Login login) {
-        return doPost(login);
+        return step("Realizar login com email: {login.email}",
+                () -> doPost(PayloadTemplates.LOGIN.render(login)), "login", login);
     }
     
     /**
      * Realiza login com email e senha separados
      */
-    @Step("Realizar login - Email: {email}")
+    @Override
     public Response realizarLogin(String email, String password) {
-        Login login = Login.builder()
-                .email(email)
-                .password(password)
-                .build();
-        return realizarLogin(login);
+        return step("Realizar login - Email: {email}", () -> {
+            Login login = Login.builder()
+                    .email(email)
+                    .password(password)
+                    .build();
+            return realizarLogin(login);
+        }, "email", email, "password", password);
     }
     
     /**
      * Realiza login e retorna o token
      */
-    @Step("Realizar login e obter token")
+    @Override
     public String realizarLoginEObterToken(Login login) {
-        Response response = realizarLogin(login);
-        return extractToken(response);
+        return step("Realizar login e obter token", () -> {
+            Response response = realizarLogin(login);
+            return extractToken(response);
+        }, "login", login);
     }
     
     /**
      * Realiza login e retorna o token (com email e senha)
      */
-    @Step("Realizar login e obter token - Email: {email}")
+    @Override
     public String realizarLoginEObterToken(String email, String password) {
-        Response response = realizarLogin(email, password);
-        return extractToken(response);
+        return step("Realizar login e obter token - Email: {email}", () -> {
+            Response response = realizarLogin(email, password);
+            return extractToken(response);
+        }, "email", email, "password", password);
     }
     
     /**
      * Realiza login com headers customizados
      */
-    @Step("Realizar login com headers customizados")
+    @Override
     public Response realizarLoginComHeaders(Login login, Map<String, String> headers) {
-        return doPostWithHeaders(login, headers);
+        return step("Realizar login com headers customizados",
+                () -> doPostWithHeaders(login, headers), "login", login, "headers", headers);
     }
     
     /**
      * Realiza login com campos vazios
      */
-    @Step("Realizar login com campos vazios")
+    @Override
     public Response realizarLoginComCamposVazios() {
-        Login login = Login.builder()
-                .email("")
-                .password("")
-                .build();
-        return realizarLogin(login);
+        return step("Realizar login com campos vazios", () -> {
+            Login login = Login.builder()
+                    .email("")
+                    .password("")
+                    .build();
+            return realizarLogin(login);
+        });
     }
     
     /**
      * Realiza login sem email
      */
-    @Step("Realizar login sem email")
+    @Override
     public Response realizarLoginSemEmail(String password) {
-        Login login = Login.builder()
-                .password(password)
-                .build();
-        return realizarLogin(login);
+        return step("Realizar login sem email", () -> {
+            Login login = Login.builder()
+                    .password(password)
+                    .build();
+            return realizarLogin(login);
+        }, "password", password);
     }
     
     /**
      * Realiza login sem senha
      */
-    @Step("Realizar login sem senha")
+    @Override
     public Response realizarLoginSemSenha(String email) {
-        Login login = Login.builder()
-                .email(email)
-                .build();
-        return realizarLogin(login);
+        return step("Realizar login sem senha", () -> {
+            Login login = Login.builder()
+                    .email(email)
+                    .build();
+            return realizarLogin(login);
+        }, "email", email);
     }
     
     /**
      * Verifica se login foi bem-sucedido
      */
-    @Step("Verificar se login foi bem-sucedido")
+    @Override
     public boolean loginFoiSucesso(Response response) {
-        return response.getStatusCode() == 200 && 
-               extractToken(response) != null;
+        return step("Verificar se login foi bem-sucedido", () -> response.getStatusCode() == 200 &&
+                extractToken(response) != null, "response", response);
     }
     
     /**
      * Extrai apenas o token Bearer (sem "Bearer ")
      */
-    @Step("Extrair token Bearer limpo")
+    @Override
     public String extrairTokenLimpo(Response response) {
-        String fullToken = extractToken(response);
-        if (fullToken != null && fullToken.startsWith("Bearer ")) {
-            return fullToken.substring(7);
-        }
-        return fullToken;
+        return step("Extrair token Bearer limpo", () -> {
+            String fullToken = extractToken(response);
+            if (fullToken != null && fullToken.startsWith("Bearer ")) {
+                return fullToken.substring(7);
+            }
+            return fullToken;
+        }, "response", response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package br.com.serverest.service;
+
+import br.com.serverest.model.Usuario;
+import br.com.serverest.utils.Await;
+import io.restassured.response.Response;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Operações do endpoint /usuarios, independentes do transporte
+ * Implementada pelo UsuarioService (HTTP) e pelo InMemoryUsuarioService (em memória, sem sockets)
+ * As operações derivadas têm implementação padrão sobre as básicas; o UsuarioService as
+ * sobrescreve para registrar os steps do Allure
+ */
+public interface UsuarioApi {
+
+    Response listarUsuarios();
+
+    Response listarUsuarios(String queryParam, String value);
+
+    Response listarUsuarios(Map<String, ?> queryParams);
+
+    Response cadastrarUsuario(Usuario usuario);
+
+    Response buscarUsuarioPorId(String id);
+
+    Response excluirUsuario(String id);
+
+    Response editarUsuario(String id, Usuario usuario);
+
+    Response cadastrarUsuarioComHeaders(Usuario usuario, Map<String, String> headers);
+
+    /**
+     * Busca por ID até a condição valer (ver Await)
+     */
+    default Response aguardarUsuario(String id, String descricao, Predicate<Response> condicao) {
+        return Await.padrao().ate(descricao, () -> buscarUsuarioPorId(id), condicao);
+    }
+
+    /**
+     * Aguarda a busca por ID deixar de encontrar o usuário excluído
+     */
+    default Response aguardarRemocao(String id) {
+        return aguardarUsuario(id, "usuário " + id + " removido", response -> response.getStatusCode() == 400);
+    }
+
+    default String cadastrarUsuarioERetornarId(Usuario usuario) {
+        return cadastrarUsuario(usuario).jsonPath().getString("_id");
+    }
+
+    default Response buscarUsuarioPorEmail(String email) {
+        return listarUsuarios("email", email);
+    }
+
+    default Response buscarUsuarioPorNome(String nome) {
+        return listarUsuarios("nome", nome);
+    }
+
+    default Response listarAdministradores() {
+        return listarUsuarios("administrador", "true");
+    }
+
+    default Response listarUsuariosComuns() {
+        return listarUsuarios("administrador", "false");
+    }
+
+    default boolean usuarioExistePorEmail(String email) {
+        return buscarUsuarioPorEmail(email).jsonPath().getInt("quantidade") > 0;
+    }
+
+    default int contarUsuarios() {
+        return listarUsuarios().jsonPath().getInt("quantidade");
+    }
+}
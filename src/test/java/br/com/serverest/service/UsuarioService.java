@@ -1,21 +1,65 @@
 package br.com.serverest.service;
 
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.http.ResponseCache;
 import br.com.serverest.model.Usuario;
-import io.qameta.allure.Step;
+import br.com.serverest.utils.Await;
+import br.com.serverest.utils.PayloadTemplates;
+import br.com.serverest.utils.StreamingBody;
 import io.restassured.response.Response;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
+
+import static br.com.serverest.report.AllureSteps.step;
 
 /**
  * Service Object Pattern - Usuários
  * Encapsula todas as operações relacionadas ao endpoint /usuarios
  * Facilita manutenção e torna os testes mais legíveis
  */
-public class UsuarioService extends BaseService {
+public class UsuarioService extends BaseService implements UsuarioApi {
     
     private static final String USUARIOS_ENDPOINT = "/usuarios";
     
+    /**
+     * Usa o cache global de GETs quando cache.enabled=true (desligado por padrão)
+     */
+    public UsuarioService() {
+        this(TestConfig.getBoolean("cache.enabled", false) ? ResponseCache.global() : null, true);
+    }
+    
+    /**
+     * Service com um cache próprio; POST/PUT/DELETE por este service o invalidam
+     */
+    public UsuarioService(ResponseCache cache) {
+        this(cache, true);
+    }
+    
+    private UsuarioService(ResponseCache cache, boolean lerDoCache) {
+        super(cache, lerDoCache);
+    }
+    
+    private UsuarioService(boolean direto) {
+        super(null, false, direto);
+    }
+    
+    /**
+     * Mesmo service, mas com leituras sempre na API (as escritas continuam invalidando o cache)
+     * Para testes que precisam do estado atual do servidor, ex.: após escritas externas
+     */
+    public UsuarioService semCache() {
+        return new UsuarioService(getCache(), false);
+    }
+    
+    /**
+     * Service sem cache, circuit breaker, limitador, retentativa e hedge (ver BaseService.isDireto)
+     */
+    public static UsuarioService direto() {
+        return new UsuarioService(true);
+    }
+    
     @Override
     protected String getBasePath() {
         return USUARIOS_ENDPOINT;
@@ -24,125 +68,163 @@ public class UsuarioService extends BaseService {
     /**
      * Lista todos os usuários
      */
-    @Step("Listar todos os usuários")
+    @Override
     public Response listarUsuarios() {
-        return doGet();
+        return step("Listar todos os usuários", () -> doGet());
     }
     
     /**
      * Lista usuários com filtro
      */
-    @Step("Listar usuários com filtro: {queryParam}={value}")
+    @Override
     public Response listarUsuarios(String queryParam, String value) {
-        Map<String, String> params = new HashMap<>();
-        params.put(queryParam, value);
-        return doGet(params);
+        return step("Listar usuários com filtro: {queryParam}={value}", () -> {
+            Map<String, String> params = new HashMap<>();
+            params.put(queryParam, value);
+            return doGet(params);
+        }, "queryParam", queryParam, "value", value);
     }
     
     /**
      * Lista usuários com múltiplos filtros
      */
-    @Step("Listar usuários com múltiplos filtros")
+    @Override
     public Response listarUsuarios(Map<String, ?> queryParams) {
-        return doGet(queryParams);
+        return step("Listar usuários com múltiplos filtros",
+                () -> doGet(queryParams), "queryParams", queryParams);
     }
     
     /**
      * Cadastra um novo usuário
      */
-    @Step("Cadastrar usuário: {usuario.nome}")
+    @Override
     public Response cadastrarUsuario(Usuario usuario) {
-        return doPost(usuario);
+        return step("Cadastrar usuário: {usuario.nome}",
+                () -> doPost(PayloadTemplates.USUARIO.render(usuario)), "usuario", usuario);
+    }
+    
+    /**
+     * Cadastra um usuário a partir de um corpo JSON em streaming, para payloads grandes
+     */
+    public Response cadastrarUsuario(StreamingBody corpo) {
+        return step("Cadastrar usuário com corpo em streaming", () -> doPost(corpo), "corpo", corpo);
     }
     
     /**
      * Busca usuário por ID
      */
-    @Step("Buscar usuário por ID: {id}")
+    @Override
     public Response buscarUsuarioPorId(String id) {
-        return doGetById(id);
+        return step("Buscar usuário por ID: {id}", () -> doGetById(id), "id", id);
     }
     
     /**
      * Exclui usuário por ID
      */
-    @Step("Excluir usuário por ID: {id}")
+    @Override
     public Response excluirUsuario(String id) {
-        return doDelete(id);
+        return step("Excluir usuário por ID: {id}", () -> doDelete(id), "id", id);
     }
     
     /**
      * Edita usuário existente
      */
-    @Step("Editar usuário ID: {id} - Nome: {usuario.nome}")
+    @Override
     public Response editarUsuario(String id, Usuario usuario) {
-        return doPut(id, usuario);
+        return step("Editar usuário ID: {id} - Nome: {usuario.nome}",
+                () -> doPut(id, PayloadTemplates.USUARIO.render(usuario)), "id", id, "usuario", usuario);
+    }
+    
+    /**
+     * Busca por ID até a condição valer (ver Await), sempre na API, sem o cache
+     * Para conferir o efeito de uma escrita num backend eventualmente consistente
+     */
+    @Override
+    public Response aguardarUsuario(String id, String descricao, Predicate<Response> condicao) {
+        UsuarioService semCache = semCache();
+        return Await.padrao().ate(descricao, () -> semCache.buscarUsuarioPorId(id), condicao);
+    }
+    
+    /**
+     * Aguarda a busca por ID deixar de encontrar o usuário excluído
+     */
+    @Override
+    public Response aguardarRemocao(String id) {
+        return aguardarUsuario(id, "usuário " + id + " removido", response -> response.getStatusCode() == 400);
     }
     
     /**
      * Cadastra usuário e retorna o ID
      */
-    @Step("Cadastrar usuário e retornar ID")
+    @Override
     public String cadastrarUsuarioERetornarId(Usuario usuario) {
-        Response response = cadastrarUsuario(usuario);
-        return extractId(response);
+        return step("Cadastrar usuário e retornar ID", () -> {
+            Response response = cadastrarUsuario(usuario);
+            return extractId(response);
+        }, "usuario", usuario);
     }
     
     /**
      * Busca usuário por email
      */
-    @Step("Buscar usuário por email: {email}")
+    @Override
     public Response buscarUsuarioPorEmail(String email) {
-        return listarUsuarios("email", email);
+        return step("Buscar usuário por email: {email}",
+                () -> listarUsuarios("email", email), "email", email);
     }
     
     /**
      * Busca usuário por nome
      */
-    @Step("Buscar usuário por nome: {nome}")
+    @Override
     public Response buscarUsuarioPorNome(String nome) {
-        return listarUsuarios("nome", nome);
+        return step("Buscar usuário por nome: {nome}", () -> listarUsuarios("nome", nome), "nome", nome);
     }
     
     /**
      * Lista apenas administradores
      */
-    @Step("Listar apenas administradores")
+    @Override
     public Response listarAdministradores() {
-        return listarUsuarios("administrador", "true");
+        return step("Listar apenas administradores", () -> listarUsuarios("administrador", "true"));
     }
     
     /**
      * Lista apenas usuários comuns
      */
-    @Step("Listar apenas usuários comuns")
+    @Override
     public Response listarUsuariosComuns() {
-        return listarUsuarios("administrador", "false");
+        return step("Listar apenas usuários comuns", () -> listarUsuarios("administrador", "false"));
     }
     
     /**
      * Cadastra usuário com headers customizados
      */
-    @Step("Cadastrar usuário com headers customizados")
+    @Override
     public Response cadastrarUsuarioComHeaders(Usuario usuario, Map<String, String> headers) {
-        return doPostWithHeaders(usuario, headers);
+        return step("Cadastrar usuário com headers customizados",
+                () -> doPostWithHeaders(usuario, headers), "usuario", usuario, "headers", headers);
     }
     
     /**
      * Verifica se usuário existe por email
      */
-    @Step("Verificar se usuário existe por email: {email}")
+    @Override
     public boolean usuarioExistePorEmail(String email) {
-        Response response = buscarUsuarioPorEmail(email);
-        return response.jsonPath().getInt("quantidade") > 0;
+        return step("Verificar se usuário existe por email: {email}", () -> {
+            Response response = buscarUsuarioPorEmail(email);
+            return response.jsonPath().getInt("quantidade") > 0;
+        }, "email", email);
     }
     
     /**
      * Conta total de usuários
      */
-    @Step("Contar total de usuários")
+    @Override
     public int contarUsuarios() {
-        Response response = listarUsuarios();
-        return response.jsonPath().getInt("quantidade");
+        return step("Contar total de usuários", () -> {
+            Response response = listarUsuarios();
+            return response.jsonPath().getInt("quantidade");
+        });
     }
 }
\ No newline at end of file
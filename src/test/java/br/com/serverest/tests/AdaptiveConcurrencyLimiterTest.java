@@ -0,0 +1,187 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.AdaptiveConcurrencyLimiter;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static Supplier<Response> status(int statusCode) {
+        return () -> new ResponseBuilder().setStatusCode(statusCode).setBody("").build();
+    }
+
+    private static AdaptiveConcurrencyLimiter limitador(int inicial, int maximo) {
+        return new AdaptiveConcurrencyLimiter(true, inicial, 1, maximo, 1_000, 0.5);
+    }
+
+    @Test
+    @DisplayName("Respostas saudáveis devem aumentar o limite aditivamente até o máximo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Limitador Adaptativo")
+    public void testAumentoAditivo() {
+        AdaptiveConcurrencyLimiter limitador = limitador(1, 2);
+
+        // limite 1 totalmente usado: +1/1
+        limitador.executar(status(200));
+        assertThat(limitador.getLimite()).isEqualTo(2);
+
+        for (int i = 0; i < 20; i++) {
+            limitador.executar(status(201));
+        }
+        assertThat(limitador.getLimite()).isEqualTo(2);
+        assertThat(limitador.metricas()).containsEntry("limiter.limite.maximo", 2);
+    }
+
+    @Test
+    @DisplayName("Limite subutilizado não deve crescer")
+    @Story("Limitador Adaptativo")
+    public void testSemAumentoSubutilizado() {
+        AdaptiveConcurrencyLimiter limitador = limitador(4, 32);
+
+        // uma requisição por vez usa 1/4 do limite
+        for (int i = 0; i < 20; i++) {
+            limitador.executar(status(200));
+        }
+
+        assertThat(limitador.getLimite()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Sobrecarga deve reduzir o limite multiplicativamente até o mínimo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Limitador Adaptativo")
+    public void testReducaoMultiplicativa() {
+        AdaptiveConcurrencyLimiter limitador = limitador(8, 32);
+
+        limitador.executar(status(503));
+        assertThat(limitador.getLimite()).isEqualTo(4);
+        limitador.executar(status(429));
+        assertThat(limitador.getLimite()).isEqualTo(2);
+        assertThatThrownBy(() -> limitador.executar(() -> {
+            throw new UncheckedIOException(new SocketTimeoutException("Read timed out"));
+        })).isInstanceOf(UncheckedIOException.class);
+        assertThat(limitador.getLimite()).isEqualTo(1);
+        limitador.executar(status(500));
+        assertThat(limitador.getLimite()).isEqualTo(1);
+        assertThat(limitador.metricas()).containsEntry("limiter.reducoes", 3L);
+    }
+
+    @Test
+    @DisplayName("Latência acima do limiar deve contar como sobrecarga")
+    @Story("Limitador Adaptativo")
+    public void testLatenciaAltaReduz() {
+        AdaptiveConcurrencyLimiter limitador = new AdaptiveConcurrencyLimiter(true, 8, 1, 32, 10, 0.5);
+
+        limitador.executar(() -> {
+            dormir(50);
+            return status(200).get();
+        });
+
+        assertThat(limitador.getLimite()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Exceção sem resposta que não é timeout não deve alterar o limite")
+    @Story("Limitador Adaptativo")
+    public void testExcecaoNeutra() {
+        AdaptiveConcurrencyLimiter limitador = limitador(1, 32);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> limitador.executar(() -> {
+                throw new IllegalStateException("corpo inválido");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(limitador.getLimite()).isEqualTo(1);
+        assertThat(limitador.metricas()).containsEntry("limiter.reducoes", 0L);
+    }
+
+    @Test
+    @DisplayName("Respostas de requisições anteriores à redução não devem reduzir de novo")
+    @Story("Limitador Adaptativo")
+    public void testUmaReducaoPorRtt() throws Exception {
+        AdaptiveConcurrencyLimiter limitador = limitador(8, 32);
+        CountDownLatch emVoo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> antiga = executor.submit(() -> limitador.executar(() -> {
+                emVoo.countDown();
+                aguardar(liberar);
+                return status(503).get();
+            }));
+            assertThat(emVoo.await(5, TimeUnit.SECONDS)).isTrue();
+
+            limitador.executar(status(503));
+            assertThat(limitador.getLimite()).isEqualTo(4);
+
+            liberar.countDown();
+            antiga.get(5, TimeUnit.SECONDS);
+            assertThat(limitador.getLimite()).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Requisições acima do limite devem aguardar uma vaga")
+    @Story("Limitador Adaptativo")
+    public void testEsperaPorVaga() throws Exception {
+        AdaptiveConcurrencyLimiter limitador = limitador(1, 1);
+        CountDownLatch emVoo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response> primeira = executor.submit(() -> limitador.executar(() -> {
+                emVoo.countDown();
+                aguardar(liberar);
+                return status(200).get();
+            }));
+            assertThat(emVoo.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Response> segunda = executor.submit(() -> limitador.executar(status(200)));
+
+            dormir(100);
+            assertThat(segunda).isNotDone();
+            liberar.countDown();
+
+            assertThat(primeira.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+            assertThat(segunda.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(200);
+            assertThat(limitador.metricas()).containsEntry("limiter.maior.fila", 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.AllureAttachments;
+import br.com.serverest.utils.MicroBenchmark;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class AllureAttachmentsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("JSON formatado em streaming deve ser igual ao pretty printer do Jackson")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Anexos em Streaming")
+    public void testFormatacaoIgualAoJackson() throws Exception {
+        String json = listagem(3);
+
+        String esperado = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(MAPPER.readTree(json));
+
+        assertThat(ler(AllureAttachments.formatarJson(bytes(json), 1 << 20))).isEqualTo(esperado);
+        assertThat(AllureAttachments.formatar(json)).isEqualTo(esperado);
+    }
+
+    @Test
+    @DisplayName("Anexo acima do limite deve ser truncado com tamanho total e SHA-256 do conteúdo completo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Anexos em Streaming")
+    public void testTruncamentoComDigest() throws Exception {
+        String json = listagem(2_000);
+        String completo = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(MAPPER.readTree(json));
+        byte[] completoBytes = completo.getBytes(StandardCharsets.UTF_8);
+
+        String truncado = ler(AllureAttachments.formatarJson(bytes(json), 1024));
+
+        // limite em bytes: compara os bytes, pois o conteúdo tem acentos
+        assertThat(Arrays.copyOf(truncado.getBytes(StandardCharsets.UTF_8), 1024))
+                .isEqualTo(Arrays.copyOf(completoBytes, 1024));
+        assertThat(truncado).endsWith(String.format("%n%n[truncado: exibidos 1024 de %d bytes, sha-256 %s]%n",
+                completoBytes.length, sha256(completoBytes)));
+        assertThat(truncado.length()).isLessThan(1024 + 200);
+    }
+
+    @Test
+    @DisplayName("Corpo que não é JSON deve ser anexado como veio")
+    @Story("Anexos em Streaming")
+    public void testTextoSemFormatacao() throws Exception {
+        assertThat(AllureAttachments.formatar("Não autorizado")).isEqualTo("Não autorizado");
+
+        String grande = "x".repeat(50_000);
+        String truncado = ler(AllureAttachments.texto(bytes(grande), 100));
+        assertThat(truncado).startsWith("x".repeat(100) + System.lineSeparator())
+                .contains("exibidos 100 de 50000 bytes");
+    }
+
+    @Test
+    @DisplayName("JSON inválido deve manter o trecho lido e indicar onde a formatação parou")
+    @Story("Anexos em Streaming")
+    public void testJsonInvalido() {
+        String resultado = AllureAttachments.formatar("{\"message\": \"ok\", \"quantidade\": }");
+
+        assertThat(resultado).contains("\"message\" : \"ok\"").contains("[JSON inválido a partir daqui:");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: alocação por anexo de resposta grande")
+    @Description("Compara o caminho antigo (String + árvore + String formatada) com o streaming (mvn test -Pbenchmark)")
+    @Story("Anexos em Streaming")
+    public void testBenchmarkAlocacaoPorAnexo() throws Exception {
+        byte[] corpo = listagem(5_000).getBytes(StandardCharsets.UTF_8);
+        List<MicroBenchmark.Resultado> resultados = new ArrayList<>();
+
+        resultados.add(MicroBenchmark.medir("String + readValue + pretty String", 20, 100, () -> {
+            try {
+                ObjectMapper mapper = new ObjectMapper();
+                Object arvore = mapper.readValue(new String(corpo, StandardCharsets.UTF_8), Object.class);
+                return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(arvore).length();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }));
+        resultados.add(MicroBenchmark.medir("Streaming token a token", 20, 100, () -> {
+            try (InputStream formatado = AllureAttachments.formatarJson(new ByteArrayInputStream(corpo), 512 * 1024)) {
+                return formatado.transferTo(OutputStream.nullOutputStream());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }));
+
+        StringBuilder relatorio = new StringBuilder();
+        resultados.forEach(resultado -> relatorio.append(resultado.formatar()).append("\n"));
+        System.out.print(relatorio);
+        Allure.addAttachment("Benchmark AllureAttachments", "text/plain", relatorio.toString());
+
+        assertThat(resultados.get(1).bytesPorOperacao()).isLessThan(resultados.get(0).bytesPorOperacao());
+    }
+
+    private static String listagem(int quantidade) throws Exception {
+        List<Map<String, Object>> usuarios = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            usuarios.add(Map.of("nome", "Usuário " + i, "email", "usuario" + i + "@qa.com.br",
+                    "password", "teste", "administrador", i % 2 == 0 ? "true" : "false", "_id", "id" + i));
+        }
+        return MAPPER.writeValueAsString(Map.of("quantidade", quantidade, "usuarios", usuarios));
+    }
+
+    private static InputStream bytes(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String ler(InputStream entrada) throws Exception {
+        try (entrada) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String sha256(byte[] conteudo) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.model.Usuario;
+import br.com.serverest.report.AllureSteps;
+import br.com.serverest.utils.MicroBenchmark;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class AllureStepsTest {
+
+    @Test
+    @DisplayName("Step deve interpolar o nome e registrar os parâmetros como o @Step")
+    @Story("Steps sem AspectJ")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testStepInterpolaNomeERegistraParametros() {
+        Usuario usuario = Usuario.builder().nome("Fulano").email("fulano@email.com").build();
+
+        TestResult resultado = executarEmTeste(lifecycle ->
+                AllureSteps.step(lifecycle, "Cadastrar usuário: {usuario.nome} ({0})", () -> "ok",
+                        "usuario", usuario));
+
+        StepResult step = resultado.getSteps().get(0);
+        assertThat(step.getName()).isEqualTo("Cadastrar usuário: Fulano (" + usuario + ")");
+        assertThat(step.getStatus()).isEqualTo(Status.PASSED);
+        assertThat(step.getParameters()).extracting(Parameter::getName).containsExactly("usuario");
+    }
+
+    @Test
+    @DisplayName("Steps aninhados devem formar a mesma árvore do aspecto")
+    @Story("Steps sem AspectJ")
+    public void testStepsAninhados() {
+        TestResult resultado = executarEmTeste(lifecycle ->
+                AllureSteps.step(lifecycle, "Externo", () ->
+                        AllureSteps.step(lifecycle, "Interno: {id}", () -> 1, "id", "abc")));
+
+        assertThat(resultado.getSteps()).extracting(StepResult::getName).containsExactly("Externo");
+        assertThat(resultado.getSteps().get(0).getSteps())
+                .extracting(StepResult::getName).containsExactly("Interno: abc");
+    }
+
+    @Test
+    @DisplayName("Step deve marcar falha e propagar a exceção")
+    @Story("Steps sem AspectJ")
+    public void testStepComFalha() {
+        TestResult resultado = executarEmTeste(lifecycle ->
+                assertThatThrownBy(() -> AllureSteps.step(lifecycle, "Falhar", () -> {
+                    throw new IllegalStateException("erro esperado");
+                })).isInstanceOf(IllegalStateException.class));
+
+        StepResult step = resultado.getSteps().get(0);
+        assertThat(step.getStatus()).isEqualTo(Status.BROKEN);
+        assertThat(step.getStatusDetails().getMessage()).isEqualTo("erro esperado");
+    }
+
+    @Test
+    @DisplayName("Fora de um teste do Allure a ação deve rodar sem registrar step")
+    @Story("Steps sem AspectJ")
+    public void testStepForaDeTeste() {
+        AllureLifecycle lifecycle = new AllureLifecycle(new ResultadosDescartados());
+
+        assertThat(AllureSteps.step(lifecycle, "Sem teste", () -> 42)).isEqualTo(42);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: custo por chamada do step sem AspectJ")
+    @Description("Mede o custo do wrapper de step dentro e fora de um teste do Allure (mvn test -Pbenchmark)")
+    @Story("Steps sem AspectJ")
+    public void testBenchmarkCustoDoStep() {
+        int aquecimento = 20_000;
+        int iteracoes = 100_000;
+        AllureLifecycle lifecycle = new AllureLifecycle(new ResultadosDescartados());
+        List<MicroBenchmark.Resultado> resultados = new ArrayList<>();
+
+        resultados.add(MicroBenchmark.medir("Chamada direta", aquecimento, iteracoes, () -> "id-123"));
+        resultados.add(MicroBenchmark.medir("Step fora de teste (caminho rápido)", aquecimento, iteracoes,
+                () -> AllureSteps.step(lifecycle, "Buscar recurso por ID: {id}", () -> "id-123", "id", "id-123")));
+        executarEmTeste(lifecycle, ignorado -> resultados.add(MicroBenchmark.medir(
+                "Step registrado dentro do teste", aquecimento, iteracoes,
+                () -> AllureSteps.step(lifecycle, "Buscar recurso por ID: {id}", () -> "id-123", "id", "id-123"))));
+
+        StringBuilder relatorio = new StringBuilder();
+        resultados.forEach(resultado -> relatorio.append(resultado.formatar()).append("\n"));
+        System.out.print(relatorio);
+        Allure.addAttachment("Benchmark AllureSteps", "text/plain", relatorio.toString());
+
+        assertThat(resultados.get(2).nsPorOperacao()).isLessThan(100_000);
+    }
+
+    private static TestResult executarEmTeste(Consumer<AllureLifecycle> corpo) {
+        return executarEmTeste(new AllureLifecycle(new ResultadosDescartados()), corpo);
+    }
+
+    /**
+     * Executa o corpo dentro de um caso de teste de um AllureLifecycle isolado,
+     * sem interferir no resultado do teste atual
+     */
+    private static TestResult executarEmTeste(AllureLifecycle lifecycle, Consumer<AllureLifecycle> corpo) {
+        String uuid = UUID.randomUUID().toString();
+        TestResult resultado = new TestResult().setUuid(uuid).setName("interno");
+        lifecycle.scheduleTestCase(resultado);
+        lifecycle.startTestCase(uuid);
+        try {
+            corpo.accept(lifecycle);
+        } finally {
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+        return resultado;
+    }
+
+    /**
+     * Writer que descarta os resultados (os asserts usam o TestResult em memória)
+     */
+    private static class ResultadosDescartados implements AllureResultsWriter {
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.utils.Await;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class AwaitTest {
+
+    private final Await await = new Await(Duration.ofSeconds(5), Duration.ofMillis(10), Duration.ofMillis(1_000));
+
+    @Test
+    @DisplayName("Condição já satisfeita deve custar uma única leitura")
+    @Story("Espera por Condição")
+    public void testCondicaoImediata() {
+        AtomicInteger leituras = new AtomicInteger();
+
+        String valor = await.ate("pronto", () -> {
+            leituras.incrementAndGet();
+            return "ok";
+        }, "ok"::equals);
+
+        assertThat(valor).isEqualTo("ok");
+        assertThat(leituras.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Intervalo entre leituras deve dobrar até a condição valer")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Espera por Condição")
+    public void testIntervaloExponencial() {
+        long pronto = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        List<Long> instantes = new ArrayList<>();
+
+        await.ate("300 ms", () -> {
+            instantes.add(System.nanoTime());
+            return System.nanoTime() >= pronto;
+        }, Boolean::booleanValue);
+
+        // 0, 10, 30, 70, 150, 310 ms: seis leituras, contra 30 com um intervalo fixo de 10 ms.
+        // Compara com o intervalo nominal (que a espera nunca encurta), não com o intervalo
+        // anterior, que pode ter se alongado por carga na máquina
+        assertThat(instantes).hasSizeBetween(4, 7);
+        long nominal = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 1; i < instantes.size(); i++, nominal *= 2) {
+            assertThat(instantes.get(i) - instantes.get(i - 1)).isGreaterThanOrEqualTo(nominal);
+        }
+    }
+
+    @Test
+    @DisplayName("Prazo esgotado deve falhar com a última leitura na mensagem")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Espera por Condição")
+    public void testPrazoEsgotado() {
+        Await curto = await.comPrazo(Duration.ofMillis(200));
+        long inicio = System.nanoTime();
+
+        assertThatThrownBy(() -> curto.ate("usuário removido", () -> "status 200", "status 400"::equals))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("usuário removido: condição não atingida")
+                .hasMessageContaining("Última leitura: status 200");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isBetween(200L, 1_000L);
+    }
+
+    @Test
+    @DisplayName("Verificação que não passa no prazo deve relançar o último AssertionError")
+    @Story("Espera por Condição")
+    public void testAteValerRelancaUltimaFalha() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThatThrownBy(() -> await.comPrazo(Duration.ofMillis(100)).ateValer("nome editado", () -> {
+            throw new AssertionError("tentativa " + tentativas.incrementAndGet());
+        })).isInstanceOf(AssertionError.class).hasMessage("tentativa " + tentativas.get());
+
+        AtomicInteger ate3 = new AtomicInteger();
+        await.ateValer("terceira tentativa", () -> assertThat(ate3.incrementAndGet()).isEqualTo(3));
+        assertThat(ate3.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Milhares de esperas em virtual threads não devem ocupar as carriers")
+    @Story("Espera por Condição")
+    public void testEsperasEmVirtualThreads() throws Exception {
+        AtomicBoolean pronto = new AtomicBoolean();
+        int esperas = 10_000;
+        CountDownLatch concluidas = new CountDownLatch(esperas);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < esperas; i++) {
+                executor.execute(() -> {
+                    await.ate("sinal", pronto::get, Boolean::booleanValue);
+                    concluidas.countDown();
+                });
+            }
+            Thread.sleep(200);
+            pronto.set(true);
+            assertThat(concluidas.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
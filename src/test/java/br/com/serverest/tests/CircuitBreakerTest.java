@@ -0,0 +1,157 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.CircuitBreaker;
+import br.com.serverest.http.CircuitBreakerOpenException;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class CircuitBreakerTest {
+
+    private static final int LIMITE_FALHAS = 3;
+    private static final long TEMPO_ABERTO_MS = 50;
+
+    private final CircuitBreaker circuito = new CircuitBreaker(true, LIMITE_FALHAS, TEMPO_ABERTO_MS);
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    private Supplier<Response> status(int statusCode) {
+        return () -> {
+            chamadas.incrementAndGet();
+            return new ResponseBuilder().setStatusCode(statusCode).setBody("").build();
+        };
+    }
+
+    private Supplier<Response> erro(RuntimeException erro) {
+        return () -> {
+            chamadas.incrementAndGet();
+            throw erro;
+        };
+    }
+
+    private void abrir() {
+        for (int i = 0; i < LIMITE_FALHAS; i++) {
+            circuito.executar(status(503));
+        }
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+    }
+
+    private static void aguardarMeioAberto() throws InterruptedException {
+        Thread.sleep(TEMPO_ABERTO_MS * 2);
+    }
+
+    @Test
+    @DisplayName("Falhas consecutivas devem abrir o circuito e rejeitar sem enviar")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Circuit Breaker")
+    public void testAbreAposFalhasConsecutivas() {
+        circuito.executar(status(500));
+        circuito.executar(status(500));
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+        assertThatThrownBy(() -> circuito.executar(erro(new UncheckedIOException(new IOException("Connection reset")))))
+                .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThatThrownBy(() -> circuito.executar(status(200))).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(chamadas.get()).isEqualTo(LIMITE_FALHAS);
+        assertThat(circuito.metricas())
+                .containsEntry("circuit.aberturas", 1L)
+                .containsEntry("circuit.rejeitadas", 1L);
+    }
+
+    @Test
+    @DisplayName("Sucesso entre falhas deve zerar a contagem")
+    @Story("Circuit Breaker")
+    public void testSucessoZeraFalhas() {
+        circuito.executar(status(500));
+        circuito.executar(status(500));
+        circuito.executar(status(404));
+        circuito.executar(status(500));
+        circuito.executar(status(500));
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+
+    @Test
+    @DisplayName("Exceção sem resposta não deve zerar a contagem de falhas")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Circuit Breaker")
+    public void testExcecaoNeutraNaoZeraFalhas() {
+        circuito.executar(status(500));
+        circuito.executar(status(500));
+        assertThatThrownBy(() -> circuito.executar(erro(new IllegalStateException("corpo inválido"))))
+                .isInstanceOf(IllegalStateException.class);
+        circuito.executar(status(500));
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+    }
+
+    @Test
+    @DisplayName("Sonda bem-sucedida deve fechar o circuito")
+    @Story("Circuit Breaker")
+    public void testSondaComSucessoFecha() throws InterruptedException {
+        abrir();
+        aguardarMeioAberto();
+
+        assertThat(circuito.executar(status(200)).getStatusCode()).isEqualTo(200);
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+
+    @Test
+    @DisplayName("Sonda com falha deve reabrir o circuito")
+    @Story("Circuit Breaker")
+    public void testSondaComFalhaReabre() throws InterruptedException {
+        abrir();
+        aguardarMeioAberto();
+
+        circuito.executar(status(503));
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThatThrownBy(() -> circuito.executar(status(200))).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(circuito.metricas()).containsEntry("circuit.aberturas", 2L);
+    }
+
+    @Test
+    @DisplayName("Sonda que lança exceção sem resposta não deve fechar o circuito")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Circuit Breaker")
+    public void testSondaComExcecaoNaoFecha() throws InterruptedException {
+        abrir();
+        aguardarMeioAberto();
+
+        assertThatThrownBy(() -> circuito.executar(erro(new IllegalStateException("cancelada"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        // continua meio-aberto e a próxima requisição é uma nova sonda
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.MEIO_ABERTO);
+        circuito.executar(status(503));
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+    }
+
+    @Test
+    @DisplayName("Meio-aberto deve liberar uma única sonda por vez")
+    @Story("Circuit Breaker")
+    public void testUmaSondaPorVez() throws InterruptedException {
+        abrir();
+        aguardarMeioAberto();
+
+        Response response = circuito.executar(() -> {
+            assertThatThrownBy(() -> circuito.executar(status(200))).isInstanceOf(CircuitBreakerOpenException.class);
+            return status(200).get();
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(circuito.getEstado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+}
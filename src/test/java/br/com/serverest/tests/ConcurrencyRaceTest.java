@@ -0,0 +1,99 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.LatencyRecorder;
+import br.com.serverest.utils.ConcurrencyRace;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Concorrência")
+public class ConcurrencyRaceTest {
+
+    @Test
+    @DisplayName("Todos os participantes devem estar em ação ao mesmo tempo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corrida de Requisições")
+    public void testParticipantesSimultaneos() {
+        AtomicInteger emAndamento = new AtomicInteger();
+        CountDownLatch todosDentro = new CountDownLatch(20);
+
+        ConcurrencyRace.Resultado<Integer> resultado = ConcurrencyRace.<Integer>nova("largada")
+                .grupo("contar", 20, indice -> {
+                    int simultaneos = emAndamento.incrementAndGet();
+                    todosDentro.countDown();
+                    // segura cada participante até os 20 estarem dentro da ação ao mesmo tempo
+                    assertThat(todosDentro.await(5, TimeUnit.SECONDS)).isTrue();
+                    return simultaneos;
+                })
+                .executar();
+
+        assertThat(resultado.erros()).isEmpty();
+        assertThat(resultado.valores("contar")).hasSize(20).doesNotHaveDuplicates();
+        assertThat(resultado.getDispersaoLargadaMillis()).isLessThan(1_000);
+        assertThat(resultado.latencia("contar").getTotal()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Só um participante deve vencer a disputa e as exceções devem ser registradas")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corrida de Requisições")
+    public void testUmVencedorEErrosPorParticipante() {
+        AtomicBoolean recurso = new AtomicBoolean();
+
+        ConcurrencyRace.Resultado<Integer> resultado = ConcurrencyRace.<Integer>nova("disputa")
+                .grupo("criar", 8, indice -> recurso.compareAndSet(false, true) ? 201 : 400)
+                .grupo("falhar", 2, indice -> {
+                    throw new IllegalStateException("falha " + indice);
+                })
+                .descricao(status -> "status " + status)
+                .executar();
+
+        assertThat(resultado.contar("criar", status -> status == 201)).isEqualTo(1);
+        assertThat(resultado.contar("criar", status -> status == 400)).isEqualTo(7);
+        assertThat(resultado.erros()).hasSize(2).allMatch(IllegalStateException.class::isInstance);
+        assertThat(resultado.formatar()).contains("disputa: 10 participantes").contains("criar (8)")
+                .contains("status 201").contains("falha 1");
+        assertThatThrownBy(() -> resultado.valores("falhar"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("falha 0");
+    }
+
+    @Test
+    @DisplayName("Requisições dos participantes não devem entrar nas amostras de latência")
+    @Story("Corrida de Requisições")
+    public void testParticipantesForaDoHistoricoDeLatencia() {
+        ConcurrencyRace.Resultado<Boolean> resultado = ConcurrencyRace.<Boolean>nova("sem amostras")
+                .grupo("verificar", 3, indice -> LatencyRecorder.isSuspenso())
+                .executar();
+
+        assertThat(resultado.valores("verificar")).containsOnly(true);
+        assertThat(LatencyRecorder.isSuspenso()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Corrida que não termina no prazo deve falhar")
+    @Story("Corrida de Requisições")
+    public void testPrazoDaCorrida() {
+        ConcurrencyRace<Object> corrida = ConcurrencyRace.nova("lenta")
+                .grupo("dormir", 2, indice -> {
+                    Thread.sleep(10_000);
+                    return null;
+                })
+                // folga para os participantes ficarem prontos com a suíte disputando os carriers
+                .prazo(Duration.ofSeconds(1));
+
+        assertThatThrownBy(corrida::executar)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Corrida lenta não terminou");
+    }
+}
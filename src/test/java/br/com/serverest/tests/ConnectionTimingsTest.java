@@ -0,0 +1,115 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.InstrumentedHttpClient;
+import br.com.serverest.report.ConnectionTimingFilter;
+import br.com.serverest.report.ConnectionTimings;
+import br.com.serverest.report.ConnectionTimings.Fase;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class ConnectionTimingsTest {
+
+    private static final long ATRASO_SERVIDOR_MS = 50;
+    private static final byte[] CORPO = new byte[256 * 1024];
+
+    private HttpServer servidor;
+
+    @BeforeEach
+    public void iniciarServidor() throws Exception {
+        Arrays.fill(CORPO, (byte) 'a');
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/lento", troca -> {
+            try {
+                Thread.sleep(ATRASO_SERVIDOR_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            troca.sendResponseHeaders(200, CORPO.length);
+            try (OutputStream corpo = troca.getResponseBody()) {
+                corpo.write(CORPO);
+            }
+        });
+        servidor.start();
+    }
+
+    @AfterEach
+    public void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Cliente instrumentado deve medir DNS, conexão, TTFB e download")
+    @Description("Servidor local que atrasa a resposta em 50 ms: o atraso deve aparecer no TTFB, não na conexão")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Tempos de Conexão")
+    public void testFasesDaTroca() {
+        List<ConnectionTimings.Troca> trocas = requisitar(configuracao(), 1);
+
+        ConnectionTimings.Troca troca = trocas.get(0);
+        assertThat(troca.getChave()).isEqualTo("GET /lento");
+        assertThat(troca.getStatus()).isEqualTo(200);
+        assertThat(troca.isNovaConexao()).isTrue();
+        assertThat(troca.getNanos(Fase.DNS)).isPositive();
+        assertThat(troca.getNanos(Fase.CONEXAO)).isPositive();
+        assertThat(troca.getNanos(Fase.TLS)).isZero();
+        assertThat(troca.getNanos(Fase.TTFB)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(ATRASO_SERVIDOR_MS));
+        assertThat(troca.getNanos(Fase.DOWNLOAD)).isPositive();
+        assertThat(ConnectionTimings.formatar(trocas)).contains("GET /lento").contains("nova");
+    }
+
+    @Test
+    @DisplayName("Conexão reutilizada do pool não deve ter tempo de DNS nem de conexão")
+    @Story("Tempos de Conexão")
+    public void testConexaoReutilizada() {
+        List<ConnectionTimings.Troca> trocas = requisitar(configuracao().httpClient(
+                configuracao().getHttpClientConfig().reuseHttpClientInstance()), 3);
+
+        assertThat(trocas.get(0).isNovaConexao()).isTrue();
+        for (ConnectionTimings.Troca troca : trocas.subList(1, trocas.size())) {
+            assertThat(troca.isNovaConexao()).isFalse();
+            assertThat(troca.getNanos(Fase.DNS)).isZero();
+            assertThat(troca.getNanos(Fase.CONEXAO)).isZero();
+        }
+    }
+
+    private static RestAssuredConfig configuracao() {
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> new InstrumentedHttpClient(4)));
+    }
+
+    private List<ConnectionTimings.Troca> requisitar(RestAssuredConfig config, int vezes) {
+        ConnectionTimings.iniciarTeste();
+        for (int i = 0; i < vezes; i++) {
+            byte[] corpo = RestAssured.given()
+                    .noFilters()
+                    .filter(new ConnectionTimingFilter())
+                    .config(config)
+                    .baseUri("http://localhost:" + servidor.getAddress().getPort())
+                    .basePath("/")
+                    .when()
+                    .get("/lento")
+                    .then()
+                    .statusCode(200)
+                    .extract().asByteArray();
+            assertThat(corpo).hasSize(CORPO.length);
+        }
+        return ConnectionTimings.finalizarTeste();
+    }
+}
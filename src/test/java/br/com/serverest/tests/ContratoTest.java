@@ -8,7 +8,6 @@ import br.com.serverest.service.UsuarioService;
 import br.com.serverest.utils.DataFactory;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -20,14 +19,6 @@ public class ContratoTest extends BaseTest {
 
     private final UsuarioService usuarioService = new UsuarioService();
     private final LoginService loginService = new LoginService();
-    private String userId;
-
-    @AfterEach
-    public void limparDados() {
-        if (userId != null) {
-            usuarioService.excluirUsuario(userId);
-        }
-    }
 
     @Test
     @DisplayName("Validar schema JSON da resposta de listagem de usuários")
@@ -59,7 +50,8 @@ public class ContratoTest extends BaseTest {
     public void testValidarSchemaCadastroUsuario() {
         Usuario usuario = DataFactory.criarUsuarioValido(false);
         Response response = usuarioService.cadastrarUsuario(usuario);
-        userId = response.jsonPath().getString("_id");
+        String userId = response.jsonPath().getString("_id");
+        usuariosParaLimpar.add(userId);
         response.then()
                 .statusCode(201)
                 .body("$", hasKey("message"))
@@ -76,7 +68,8 @@ public class ContratoTest extends BaseTest {
     public void testValidarSchemaLogin() {
         Usuario usuario = DataFactory.criarUsuarioValido(true);
         Response cadastroResponse = usuarioService.cadastrarUsuario(usuario);
-        userId = cadastroResponse.jsonPath().getString("_id");
+        String userId = cadastroResponse.jsonPath().getString("_id");
+        usuariosParaLimpar.add(userId);
         Login login = DataFactory.criarLoginValido(usuario);
         Response response = loginService.realizarLogin(login);
         response.then()
@@ -95,7 +88,8 @@ public class ContratoTest extends BaseTest {
     public void testValidarTiposDadosBuscaUsuario() {
         Usuario usuario = DataFactory.criarUsuarioValido(true);
         Response cadastroResponse = usuarioService.cadastrarUsuario(usuario);
-        userId = cadastroResponse.jsonPath().getString("_id");
+        String userId = cadastroResponse.jsonPath().getString("_id");
+        usuariosParaLimpar.add(userId);
         Response response = usuarioService.buscarUsuarioPorId(userId);
         response.then()
                 .statusCode(200)
@@ -156,7 +150,8 @@ public class ContratoTest extends BaseTest {
     public void testValidarSchemaEdicaoUsuario() {
         Usuario usuario = DataFactory.criarUsuarioValido(false);
         Response cadastroResponse = usuarioService.cadastrarUsuario(usuario);
-        userId = cadastroResponse.jsonPath().getString("_id");
+        String userId = cadastroResponse.jsonPath().getString("_id");
+        usuariosParaLimpar.add(userId);
         Usuario usuarioEditado = DataFactory.criarUsuarioValido(false);
         Response response = usuarioService.editarUsuario(userId, usuarioEditado);
         response.then()
@@ -172,9 +167,8 @@ public class ContratoTest extends BaseTest {
     public void testValidarSchemaExclusaoUsuario() {
         Usuario usuario = DataFactory.criarUsuarioValido(false);
         Response cadastroResponse = usuarioService.cadastrarUsuario(usuario);
-        userId = cadastroResponse.jsonPath().getString("_id");
+        String userId = cadastroResponse.jsonPath().getString("_id");
         Response response = usuarioService.excluirUsuario(userId);
-        userId = null;
         response.then()
                 .statusCode(200)
                 .body("$", hasKey("message"))
@@ -0,0 +1,96 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.model.Usuario;
+import br.com.serverest.utils.DataFactory;
+import br.com.serverest.utils.DataNamespace;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Execução Paralela")
+public class DataNamespaceTest {
+
+    @Test
+    @DisplayName("Workers concorrentes devem gerar emails sem colisão")
+    @Description("Gera usuários em várias threads ao mesmo tempo e garante que nenhum email se repete")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Namespace de Dados")
+    public void testEmailsUnicosEntreWorkers() throws Exception {
+        int threads = 8;
+        int usuariosPorThread = 2_000;
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        Set<Integer> workers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    workers.add(DataNamespace.atual().getWorker());
+                    for (int i = 0; i < usuariosPorThread; i++) {
+                        Usuario usuario = DataFactory.criarUsuarioValido(false);
+                        assertThat(emails.add(usuario.getEmail())).as(usuario.getEmail()).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(workers).hasSize(threads);
+        assertThat(emails).hasSize(threads * usuariosPorThread);
+    }
+
+    @Test
+    @DisplayName("Virtual threads devem compartilhar um único namespace sem colisão")
+    @Description("Gera um usuário em cada uma de 1.000 virtual threads: todas usam o mesmo worker (um único Faker) "
+            + "e os emails continuam únicos")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Namespace de Dados")
+    public void testVirtualThreadsCompartilhamNamespace() throws Exception {
+        int threads = 1_000;
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        Set<Integer> workers = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    workers.add(DataNamespace.atual().getWorker());
+                    emails.add(DataFactory.criarUsuarioValido(false).getEmail());
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        assertThat(workers).hasSize(1).doesNotContain(DataNamespace.atual().getWorker());
+        assertThat(emails).hasSize(threads);
+    }
+
+    @Test
+    @DisplayName("Email do namespace deve manter formato válido")
+    @Story("Namespace de Dados")
+    public void testFormatoDoEmail() {
+        DataNamespace namespace = DataNamespace.atual();
+        String email = namespace.email("joao.silva@gmail.com");
+
+        assertThat(email)
+                .startsWith("joao.silva." + namespace.getPrefixo() + "n")
+                .endsWith("@gmail.com")
+                .matches("^[\\w.+-]+@[\\w.-]+\\.[a-z]+$");
+    }
+}
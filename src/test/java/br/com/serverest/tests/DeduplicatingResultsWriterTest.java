@@ -0,0 +1,117 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.DeduplicatingResultsWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class DeduplicatingResultsWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] ERRO_400 = "{\"email\":\"email deve ser um email válido\"}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Anexos idênticos devem ser gravados uma vez e referenciados pelo mesmo arquivo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Deduplicação de Anexos")
+    public void testAnexosIdenticosGravadosUmaVez() throws Exception {
+        DeduplicatingResultsWriter writer = new DeduplicatingResultsWriter(diretorio);
+        AllureLifecycle lifecycle = new AllureLifecycle(writer);
+
+        String primeiro = executarTeste(lifecycle, "teste 1");
+        String segundo = executarTeste(lifecycle, "teste 2");
+
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.filter(arquivo -> arquivo.toString().contains("-attachment"))).hasSize(2);
+        }
+        List<String> sources1 = sources(primeiro);
+        List<String> sources2 = sources(segundo);
+        assertThat(sources1).hasSize(3).isEqualTo(sources2);
+        assertThat(sources1.get(0)).isEqualTo(sources1.get(1)).endsWith("-attachment.json");
+        for (String source : sources1) {
+            assertThat(diretorio.resolve(source)).exists();
+        }
+        assertThat(Files.readAllBytes(diretorio.resolve(sources1.get(0)))).isEqualTo(ERRO_400);
+        assertThat(writer.metricas())
+                .containsEntry("allure.anexos", 6L)
+                .containsEntry("allure.anexos.repetidos", 4L);
+    }
+
+    @Test
+    @DisplayName("Anexos de fixtures devem apontar para o arquivo único")
+    @Story("Deduplicação de Anexos")
+    public void testFixturesDoContainerReapontadas() throws Exception {
+        DeduplicatingResultsWriter writer = new DeduplicatingResultsWriter(diretorio);
+        writer.write("a-attachment.txt", new ByteArrayInputStream(ERRO_400));
+        writer.write("b-attachment.txt", new ByteArrayInputStream(ERRO_400));
+
+        FixtureResult antes = new FixtureResult().setName("setup").setStatus(Status.PASSED)
+                .setAttachments(new ArrayList<>(List.of(new Attachment()
+                        .setName("Environment Info").setType("text/plain").setSource("a-attachment.txt"))));
+        StepResult step = new StepResult().setName("limpeza").setAttachments(new ArrayList<>(List.of(
+                new Attachment().setName("Response").setType("text/plain")
+                        .setSource("b-attachment.txt"))));
+        FixtureResult depois = new FixtureResult().setName("teardown").setSteps(new ArrayList<>(List.of(step)));
+        String uuid = UUID.randomUUID().toString();
+        writer.write(new TestResultContainer().setUuid(uuid).setBefores(List.of(antes)).setAfters(List.of(depois)));
+
+        JsonNode container = MAPPER.readTree(diretorio.resolve(uuid + "-container.json").toFile());
+        String fonteAntes = container.at("/befores/0/attachments/0/source").asText();
+        String fonteDepois = container.at("/afters/0/steps/0/attachments/0/source").asText();
+        assertThat(fonteAntes).isEqualTo(fonteDepois).endsWith("-attachment.txt");
+        assertThat(diretorio.resolve(fonteAntes)).exists();
+        assertThat(diretorio.resolve("a-attachment.txt")).doesNotExist();
+    }
+
+    /**
+     * Teste com dois corpos de erro idênticos (um dentro de step) e um Environment Info
+     */
+    private static String executarTeste(AllureLifecycle lifecycle, String nome) {
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName(nome));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("Response Body", "application/json", "json", ERRO_400);
+        String step = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, step, new StepResult().setName("Criar recurso"));
+        lifecycle.addAttachment("Response Body", "application/json", "json", ERRO_400);
+        lifecycle.stopStep(step);
+        lifecycle.addAttachment("Environment Info", "text/plain", "txt",
+                "Base URI: https://serverest.dev".getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+        return uuid;
+    }
+
+    private List<String> sources(String uuid) throws Exception {
+        JsonNode resultado = MAPPER.readTree(diretorio.resolve(uuid + "-result.json").toFile());
+        return List.of(
+                resultado.at("/attachments/0/source").asText(),
+                resultado.at("/steps/0/attachments/0/source").asText(),
+                resultado.at("/attachments/1/source").asText());
+    }
+}
@@ -0,0 +1,268 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.CircuitBreakerOpenException;
+import br.com.serverest.report.FlakyTestExtension;
+import br.com.serverest.report.FlakyTestListener;
+import br.com.serverest.report.FlakyTests;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+@Epic("API ServeRest")
+@Feature("Testes Instáveis")
+public class FlakyTestExtensionTest {
+
+    /**
+     * Histórico próprio das classes aninhadas, fora do .perf/flakiness.json da suíte
+     */
+    private static final FlakyTests HISTORICO = new FlakyTests(
+            Path.of(System.getProperty("java.io.tmpdir"), "flakiness-" + UUID.randomUUID() + ".json"), 0.5, 0.3);
+
+    private static final int REEXECUCOES = 2;
+
+    private static final AtomicInteger TENTATIVAS_INSTAVEL = new AtomicInteger();
+    private static final Set<Object> INSTANCIAS_INSTAVEL = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger TENTATIVAS_QUEBRADO = new AtomicInteger();
+    private static final AtomicInteger TENTATIVAS_CIRCUITO = new AtomicInteger();
+    private static final AtomicInteger TENTATIVAS_REGRESSAO = new AtomicInteger();
+
+    /**
+     * Histórico de cada execução simulada de SempreFalha (um FlakyTests novo por execução)
+     */
+    private static volatile FlakyTests historicoRegressao;
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Executa a classe como o Surefire com rerunFailingTestsCount: depois da primeira passada,
+     * executa o plano de novo só com os testes que falharam, enquanto houver falhas
+     *
+     * @return resumo de cada passada
+     */
+    private static List<TestExecutionSummary> executar(Class<?> classe) {
+        return executar(classe, HISTORICO);
+    }
+
+    private static List<TestExecutionSummary> executar(Class<?> classe, FlakyTests historico) {
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        FlakyTestListener pontuacao = new FlakyTestListener(historico, REEXECUCOES);
+        List<TestExecutionSummary> passadas = new ArrayList<>();
+        List<? extends DiscoverySelector> selecao = List.of(selectClass(classe));
+        do {
+            SummaryGeneratingListener resumo = new SummaryGeneratingListener();
+            launcher.execute(request().selectors(selecao).build(), resumo, pontuacao);
+            passadas.add(resumo.getSummary());
+            selecao = resumo.getSummary().getFailures().stream()
+                    .map(falha -> selectUniqueId(falha.getTestIdentifier().getUniqueId()))
+                    .toList();
+        } while (!selecao.isEmpty() && passadas.size() <= REEXECUCOES);
+        return passadas;
+    }
+
+    @Test
+    @DisplayName("Teste que passa na nova tentativa deve ser recuperado e pontuado como instável")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Reexecução na mesma JVM")
+    public void testRecuperaNaNovaTentativa() {
+        List<TestExecutionSummary> passadas = executar(Instavel.class);
+
+        assertThat(passadas).hasSize(2);
+        assertThat(passadas.get(1).getTestsSucceededCount()).isEqualTo(1);
+        assertThat(passadas.get(1).getTestsFailedCount()).isZero();
+        assertThat(TENTATIVAS_INSTAVEL).hasValue(2);
+        // cada tentativa numa instância nova, com o @BeforeEach executado de novo
+        assertThat(INSTANCIAS_INSTAVEL).hasSize(2);
+        FlakyTests.Historico historico = HISTORICO.historico(idDoTeste(Instavel.class, "falhaNaPrimeira")).orElseThrow();
+        assertThat(historico.recuperacoes()).isEqualTo(1);
+        assertThat(historico.instabilidade()).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Falha em todas as tentativas deve quebrar o teste, ou abortá-lo quando em quarentena")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Quarentena")
+    public void testFalhaDefinitivaEQuarentena() {
+        List<TestExecutionSummary> passadas = executar(Quebrado.class);
+
+        assertThat(passadas).hasSize(REEXECUCOES + 1);
+        // o teste em quarentena também é reexecutado e só é abortado na última tentativa
+        assertThat(passadas.get(0).getTestsFailedCount()).isEqualTo(2);
+        assertThat(passadas.get(0).getTestsAbortedCount()).isZero();
+        assertThat(TENTATIVAS_QUEBRADO).hasValue(2 * (REEXECUCOES + 1));
+        TestExecutionSummary ultima = passadas.get(REEXECUCOES);
+        assertThat(ultima.getTestsAbortedCount()).isEqualTo(1);
+        assertThat(ultima.getTestsFailedCount()).isEqualTo(1);
+        assertThat(ultima.getFailures().get(0).getException())
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("sempre falha");
+        assertThat(HISTORICO.historico(idDoTeste(Quebrado.class, "semQuarentena")).orElseThrow())
+                .extracting(FlakyTests.Historico::execucoes, FlakyTests.Historico::falhas)
+                .containsExactly(1L, 1L);
+        assertThat(HISTORICO.historico(idDoTeste(Quebrado.class, "emQuarentena")).orElseThrow().falhas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Teste em quarentena que falha sempre deve sair da quarentena e voltar a quebrar o build")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Quarentena")
+    public void testQuarentenaNaoEscondeRegressao() {
+        Path arquivo = diretorio.resolve("regressao.json");
+        String id = idDoTeste(SempreFalha.class, "quebrouDeVez");
+        FlakyTests anterior = new FlakyTests(arquivo, 0.5, 0.3);
+        anterior.registrar(id, "SempreFalha > quebrouDeVez", FlakyTests.Desfecho.RECUPERADO);
+        anterior.salvar();
+
+        historicoRegressao = new FlakyTests(arquivo, 0.5, 0.3);
+        assertThat(historicoRegressao.emQuarentena(id)).isTrue();
+        List<TestExecutionSummary> emQuarentena = executar(SempreFalha.class, historicoRegressao);
+        historicoRegressao.salvar();
+
+        assertThat(emQuarentena).hasSize(REEXECUCOES + 1);
+        assertThat(emQuarentena.get(REEXECUCOES).getTestsAbortedCount()).isEqualTo(1);
+        assertThat(TENTATIVAS_REGRESSAO).hasValue(REEXECUCOES + 1);
+        assertThat(historicoRegressao.historico(id).orElseThrow().instabilidade()).isCloseTo(0.25, within(1e-9));
+
+        historicoRegressao = new FlakyTests(arquivo, 0.5, 0.3);
+        assertThat(historicoRegressao.emQuarentena(id)).isFalse();
+        List<TestExecutionSummary> foraDaQuarentena = executar(SempreFalha.class, historicoRegressao);
+
+        TestExecutionSummary ultima = foraDaQuarentena.get(foraDaQuarentena.size() - 1);
+        assertThat(ultima.getTestsFailedCount()).isEqualTo(1);
+        assertThat(ultima.getTestsAbortedCount()).isZero();
+        assertThat(TENTATIVAS_REGRESSAO).hasValue(2 * (REEXECUCOES + 1));
+    }
+
+    @Test
+    @DisplayName("Circuit breaker aberto não deve ser pontuado como falha nem instabilidade")
+    @Story("Reexecução na mesma JVM")
+    public void testCircuitoAbertoNaoPontua() {
+        List<TestExecutionSummary> passadas = executar(CircuitoAberto.class);
+
+        assertThat(passadas.get(passadas.size() - 1).getTestsFailedCount()).isEqualTo(1);
+        assertThat(TENTATIVAS_CIRCUITO).hasValue(REEXECUCOES + 1);
+        assertThat(HISTORICO.historico(idDoTeste(CircuitoAberto.class, "apiFora"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Instabilidade deve subir com recuperações, cair com aprovações e persistir entre execuções")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Quarentena")
+    public void testInstabilidadePersistida() {
+        Path arquivo = diretorio.resolve("flakiness.json");
+        FlakyTests primeira = new FlakyTests(arquivo, 0.2, 0.3);
+        primeira.registrar("t", "Classe > teste", FlakyTests.Desfecho.RECUPERADO);
+        assertThat(primeira.emQuarentena("t")).isFalse();
+        primeira.registrar("t", "Classe > teste", FlakyTests.Desfecho.RECUPERADO);
+        primeira.salvar();
+
+        FlakyTests segunda = new FlakyTests(arquivo, 0.2, 0.3);
+        assertThat(segunda.historico("t").orElseThrow().instabilidade()).isCloseTo(0.36, within(1e-9));
+        assertThat(segunda.emQuarentena("t")).isTrue();
+        assertThat(segunda.formatar(10)).contains("QUARENTENA").contains("Classe > teste");
+        // falha definitiva não é instabilidade: reduz a pontuação como uma aprovação
+        segunda.registrar("t", "Classe > teste", FlakyTests.Desfecho.FALHOU);
+        assertThat(segunda.historico("t").orElseThrow().instabilidade()).isCloseTo(0.288, within(1e-9));
+        assertThat(segunda.emQuarentena("t")).isFalse();
+        segunda.registrar("t", "Classe > teste", FlakyTests.Desfecho.APROVADO);
+        assertThat(segunda.historico("t").orElseThrow())
+                .extracting(FlakyTests.Historico::execucoes, FlakyTests.Historico::recuperacoes, FlakyTests.Historico::falhas)
+                .containsExactly(4L, 2L, 1L);
+    }
+
+    private static String idDoTeste(Class<?> classe, String metodo) {
+        return "[engine:junit-jupiter]/[class:" + classe.getName() + "]/[method:" + metodo + "()]";
+    }
+
+    /**
+     * Executadas só pelo Launcher acima (o Surefire não roda classes aninhadas)
+     */
+    static class Instavel {
+
+        @RegisterExtension
+        static final FlakyTestExtension QUARENTENA = new FlakyTestExtension(HISTORICO, REEXECUCOES);
+
+        private final List<String> cadastrados = new ArrayList<>();
+
+        @BeforeEach
+        void preparar() {
+            INSTANCIAS_INSTAVEL.add(this);
+            cadastrados.add("criado no @BeforeEach");
+        }
+
+        @Test
+        void falhaNaPrimeira() {
+            assertThat(cadastrados).containsExactly("criado no @BeforeEach");
+            cadastrados.clear();
+            assertThat(TENTATIVAS_INSTAVEL.incrementAndGet()).isGreaterThan(1);
+        }
+    }
+
+    static class Quebrado {
+
+        @RegisterExtension
+        static final FlakyTestExtension QUARENTENA = new FlakyTestExtension(HISTORICO, REEXECUCOES);
+
+        @Test
+        void semQuarentena() {
+            TENTATIVAS_QUEBRADO.incrementAndGet();
+            throw new AssertionError("sempre falha");
+        }
+
+        @Test
+        @Flaky
+        void emQuarentena() {
+            TENTATIVAS_QUEBRADO.incrementAndGet();
+            throw new AssertionError("sempre falha");
+        }
+    }
+
+    static class SempreFalha {
+
+        @RegisterExtension
+        final FlakyTestExtension quarentena = new FlakyTestExtension(historicoRegressao, REEXECUCOES);
+
+        @Test
+        void quebrouDeVez() {
+            TENTATIVAS_REGRESSAO.incrementAndGet();
+            throw new AssertionError("quebrou de vez");
+        }
+    }
+
+    static class CircuitoAberto {
+
+        @RegisterExtension
+        static final FlakyTestExtension QUARENTENA = new FlakyTestExtension(HISTORICO, REEXECUCOES);
+
+        @Test
+        void apiFora() {
+            TENTATIVAS_CIRCUITO.incrementAndGet();
+            throw new CircuitBreakerOpenException("Circuit breaker ABERTO");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.BaseTest;
+import br.com.serverest.model.Usuario;
+import br.com.serverest.service.LoginService;
+import br.com.serverest.utils.Generators;
+import br.com.serverest.utils.PropertyFuzzer;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Envia centenas de cadastros e logins à API por execução, então só roda com mvn test -Pfuzz
+ */
+@Epic("API ServeRest")
+@Feature("Fuzzing de Entradas")
+@Tag("fuzz")
+public class FuzzingTest extends BaseTest {
+
+    // "message" é o erro de email duplicado
+    private static final Set<String> CHAVES_ERRO_USUARIO = Set.of("nome", "email", "password", "administrador", "message");
+    private static final Set<String> CAMPOS_LOGIN = Set.of("email", "password");
+
+    private final LoginService loginService = new LoginService();
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    @DisplayName("Cadastro de usuário deve responder 201 ou 400 com o campo inválido para qualquer payload")
+    @Description("Gera payloads de usuário (injeção, XSS, unicode, campos longos, emails malformados, campos ausentes) "
+            + "e verifica: nunca 5xx; 201 só com todos os campos válidos; 400 nomeia os campos ausentes ou inválidos "
+            + "e só campos conhecidos")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Propriedades do Cadastro")
+    public void testPropriedadesCadastroUsuario() {
+        PropertyFuzzer.para(Generators.usuario()).verificar("POST /usuarios", usuario -> {
+            Response response = usuarioService.cadastrarUsuario(usuario);
+            if (response.statusCode() == 201) {
+                String id = response.jsonPath().getString("_id");
+                usuarioService.excluirUsuario(id);
+                assertThat(id).as("_id do usuário criado").isNotBlank();
+                assertThat(invalidos(usuario)).as("campos ausentes ou inválidos em um cadastro aceito").isEmpty();
+                return;
+            }
+            assertThat(response.statusCode()).as("status de %s", usuario.getEmail()).isEqualTo(400);
+            Map<String, Object> corpo = corpo(response);
+            assertThat(corpo.keySet()).as("campos citados no erro 400")
+                    .isNotEmpty()
+                    .isSubsetOf(CHAVES_ERRO_USUARIO)
+                    .containsAll(invalidos(usuario));
+        });
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    @DisplayName("Login deve responder 400 com o campo inválido ou 401 para qualquer payload")
+    @Description("Gera credenciais que não existem (emails malformados, entradas hostis, campos ausentes) e verifica: "
+            + "nunca 5xx nem 200; 400 nomeia os campos ausentes ou inválidos; 401 com a mensagem de credenciais inválidas")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Propriedades do Login")
+    public void testPropriedadesLogin() {
+        PropertyFuzzer.para(Generators.login()).verificar("POST /login", login -> {
+            Response response = loginService.realizarLogin(login);
+            assertThat(response.statusCode()).as("status do login").isIn(400, 401);
+            Map<String, Object> corpo = corpo(response);
+            if (response.statusCode() == 401) {
+                assertThat(corpo).containsEntry("message", "Email e/ou senha inválidos");
+                return;
+            }
+            List<String> invalidos = new ArrayList<>();
+            if (!Generators.isEmailValido(login.getEmail())) {
+                invalidos.add("email");
+            }
+            if (login.getPassword() == null || login.getPassword().isEmpty()) {
+                invalidos.add("password");
+            }
+            assertThat(corpo.keySet()).as("campos citados no erro 400")
+                    .isNotEmpty()
+                    .isSubsetOf(CAMPOS_LOGIN)
+                    .containsAll(invalidos);
+        });
+    }
+
+    /**
+     * Campos ausentes ou com valores que a API certamente recusa: texto vazio, email que
+     * falha na verificação estrutural dos geradores e administrador fora de "true"/"false"
+     */
+    private static List<String> invalidos(Usuario usuario) {
+        List<String> invalidos = new ArrayList<>();
+        if (usuario.getNome() == null || usuario.getNome().isEmpty()) {
+            invalidos.add("nome");
+        }
+        if (!Generators.isEmailValido(usuario.getEmail())) {
+            invalidos.add("email");
+        }
+        if (usuario.getPassword() == null || usuario.getPassword().isEmpty()) {
+            invalidos.add("password");
+        }
+        if (!"true".equals(usuario.getAdministrador()) && !"false".equals(usuario.getAdministrador())) {
+            invalidos.add("administrador");
+        }
+        return invalidos;
+    }
+
+    /**
+     * Corpo JSON da resposta; AssertionError (contraexemplo) se não for um objeto JSON
+     */
+    private static Map<String, Object> corpo(Response response) {
+        try {
+            Map<String, Object> corpo = response.jsonPath().getMap("");
+            return corpo == null ? Map.of() : new LinkedHashMap<>(corpo);
+        } catch (RuntimeException e) {
+            throw new AssertionError("Corpo não é um objeto JSON: " + response.asString(), e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.serverest.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Execução Paralela")
+public class GlobalSetupTest {
+
+    /**
+     * Nesta JVM o GlobalSetup já foi inicializado por outras classes; um class loader
+     * isolado (sem delegar ao da suíte) recarrega GlobalSetup e RestAssured do zero
+     */
+    @Test
+    @DisplayName("Inicialização global deve acontecer uma única vez com classes concorrentes")
+    @Description("Várias threads pedem o GlobalSetup ao mesmo tempo em um class loader isolado: todas recebem a "
+            + "mesma instância e os filtros globais do RestAssured são registrados uma única vez")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Inicialização Global")
+    public void testInicializacaoUnicaComClassesConcorrentes() throws Exception {
+        int classes = 8;
+        List<URL> classpath = new ArrayList<>();
+        for (String entrada : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classpath.add(Path.of(entrada).toUri().toURL());
+        }
+        try (URLClassLoader isolado = new URLClassLoader(classpath.toArray(URL[]::new),
+                ClassLoader.getPlatformClassLoader());
+             ExecutorService executor = Executors.newFixedThreadPool(classes)) {
+            Method instancia = isolado.loadClass("br.com.serverest.config.GlobalSetup").getMethod("instancia");
+            assertThat(instancia.getDeclaringClass().getClassLoader()).isSameAs(isolado);
+            CyclicBarrier largada = new CyclicBarrier(classes);
+            List<Future<Object>> pedidos = new ArrayList<>();
+            for (int i = 0; i < classes; i++) {
+                pedidos.add(executor.submit(() -> {
+                    largada.await(10, TimeUnit.SECONDS);
+                    return instancia.invoke(null);
+                }));
+            }
+            Set<Object> instancias = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Object> pedido : pedidos) {
+                instancias.add(pedido.get(60, TimeUnit.SECONDS));
+            }
+
+            assertThat(instancias).hasSize(1);
+            List<?> filtros = (List<?>) isolado.loadClass("io.restassured.RestAssured").getMethod("filters").invoke(null);
+            assertThat(filtros)
+                    .extracting(filtro -> filtro.getClass().getSimpleName())
+                    .doesNotHaveDuplicates()
+                    .contains("AllureHttpFilter", "LatencyHttpFilter", "HttpUsageFilter");
+            Object setup = instancias.iterator().next();
+            assertThat((Long) setup.getClass().getMethod("getTempoInicializacaoMs").invoke(setup)).isNotNegative();
+        }
+    }
+}
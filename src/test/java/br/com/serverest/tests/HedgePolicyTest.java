@@ -0,0 +1,211 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.HedgePolicy;
+import br.com.serverest.http.InstrumentedHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class HedgePolicyTest {
+
+    private static final String CHAVE = "GET /usuarios/{_id}";
+
+    /** Histórico com p95 de 20 ms para a chave do teste */
+    private static final Function<String, double[]> HISTORICO = chave -> {
+        double[] amostras = new double[40];
+        Arrays.fill(amostras, 20);
+        return CHAVE.equals(chave) ? amostras : new double[0];
+    };
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    @Test
+    @DisplayName("Resposta dentro do p95 não deve gerar hedge")
+    @Story("Hedging de Leituras")
+    public void testRespostaRapidaSemHedge() {
+        HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 1.0, HISTORICO);
+
+        Response response = politica.executar(CHAVE, requisicao());
+
+        assertThat(response.asString()).isEqualTo("1");
+        assertThat(chamadas.get()).isEqualTo(1);
+        assertThat(politica.metricas()).containsEntry("hedge.elegiveis", 1L).containsEntry("hedge.enviados", 0L);
+    }
+
+    @Test
+    @DisplayName("Resposta lenta deve ser duplicada e a mais rápida vencer")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Hedging de Leituras")
+    public void testHedgeVenceECancelaPerdedora() throws Exception {
+        HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 1.0, HISTORICO);
+        CountDownLatch primariaCancelada = new CountDownLatch(1);
+        Supplier<Response> requisicao = () -> {
+            if (chamadas.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    primariaCancelada.countDown();
+                    throw new RuntimeException("cancelada", e);
+                }
+            }
+            return resposta("hedge");
+        };
+
+        long inicio = System.nanoTime();
+        Response response = politica.executar(CHAVE, requisicao);
+
+        assertThat(response.asString()).isEqualTo("hedge");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(2_000);
+        assertThat(primariaCancelada.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(politica.metricas())
+                .containsEntry("hedge.enviados", 1L)
+                .containsEntry("hedge.vencedores", 1L);
+    }
+
+    @Test
+    @DisplayName("Carga extra deve respeitar a proporção máxima de hedges")
+    @Story("Hedging de Leituras")
+    public void testOrcamentoDeHedges() {
+        // proporção 0.5: a primeira elegível ainda não tem orçamento, a segunda sim, a terceira não
+        HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 0.5, HISTORICO);
+
+        for (int i = 0; i < 3; i++) {
+            politica.executar(CHAVE, () -> {
+                chamadas.incrementAndGet();
+                dormir(150);
+                return resposta("lenta");
+            });
+        }
+
+        assertThat(politica.metricas())
+                .containsEntry("hedge.elegiveis", 3L)
+                .containsEntry("hedge.enviados", 1L)
+                .containsEntry("hedge.negados", 2L);
+        assertThat(chamadas.get()).isEqualTo(4);
+
+        HedgePolicy semOrcamento = new HedgePolicy(true, 0.95, 0, 20, 0.0, HISTORICO);
+        semOrcamento.executar(CHAVE, () -> {
+            dormir(50);
+            return resposta("lenta");
+        });
+        assertThat(semOrcamento.metricas()).containsEntry("hedge.enviados", 0L).containsEntry("hedge.negados", 1L);
+    }
+
+    @Test
+    @DisplayName("Perdedora em conexão reaproveitada do pool deve ser cancelada sem estragar o pool")
+    @Description("Servidor local que segura a segunda requisição por 5 s; a primária usa a conexão aquecida do pool "
+            + "e deve terminar logo após o hedge vencer, e o mesmo cliente continua respondendo depois")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Hedging de Leituras")
+    public void testCancelaPerdedoraEmConexaoReaproveitada() throws Exception {
+        AtomicInteger recebidas = new AtomicInteger();
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servidor.createContext("/dados", troca -> {
+            if (recebidas.incrementAndGet() == 2) {
+                dormir(5_000);
+            }
+            byte[] corpo = "rapida".getBytes(StandardCharsets.UTF_8);
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        servidor.start();
+        try {
+            RestAssuredConfig config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                    .httpClientFactory(() -> new InstrumentedHttpClient(4))
+                    .reuseHttpClientInstance());
+            Supplier<Response> get = () -> RestAssured.given()
+                    .noFilters()
+                    .config(config)
+                    .baseUri("http://localhost:" + servidor.getAddress().getPort())
+                    .basePath("/")
+                    .get("/dados");
+            assertThat(get.get().asString()).isEqualTo("rapida");
+
+            HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 1.0, HISTORICO);
+            CountDownLatch primariaEncerrada = new CountDownLatch(1);
+            Response response = politica.executar(CHAVE, () -> {
+                boolean primaria = chamadas.incrementAndGet() == 1;
+                try {
+                    return get.get();
+                } finally {
+                    if (primaria) {
+                        primariaEncerrada.countDown();
+                    }
+                }
+            });
+
+            assertThat(response.asString()).isEqualTo("rapida");
+            assertThat(primariaEncerrada.await(2, TimeUnit.SECONDS)).as("primária cancelada").isTrue();
+            assertThat(get.get().statusCode()).isEqualTo(200);
+        } finally {
+            servidor.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Endpoint sem histórico suficiente deve executar direto, na própria thread")
+    @Story("Hedging de Leituras")
+    public void testSemHistoricoExecutaDireto() {
+        HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 1.0, HISTORICO);
+        Thread chamadora = Thread.currentThread();
+
+        politica.executar("GET /usuarios", () -> {
+            assertThat(Thread.currentThread()).isSameAs(chamadora);
+            return requisicao().get();
+        });
+
+        assertThat(politica.metricas()).containsEntry("hedge.elegiveis", 0L);
+    }
+
+    @Test
+    @DisplayName("Falha da requisição deve ser repassada sem encapsulamento")
+    @Story("Hedging de Leituras")
+    public void testFalhaRepassadaIntacta() {
+        HedgePolicy politica = new HedgePolicy(true, 0.95, 0, 20, 1.0, HISTORICO);
+
+        assertThatThrownBy(() -> politica.executar(CHAVE, () -> {
+            throw new IllegalStateException("sem rede");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("sem rede");
+    }
+
+    private Supplier<Response> requisicao() {
+        return () -> resposta(String.valueOf(chamadas.incrementAndGet()));
+    }
+
+    private static Response resposta(String corpo) {
+        return new ResponseBuilder().setStatusCode(200).setBody(corpo).build();
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
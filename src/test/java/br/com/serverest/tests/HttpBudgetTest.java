@@ -0,0 +1,197 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.HttpBudget;
+import br.com.serverest.report.HttpBudgetExtension;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.report.HttpUsageFilter;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class HttpBudgetTest {
+
+    private static final byte[] LISTAGEM = ("{\"quantidade\":1,\"usuarios\":[{\"nome\":\""
+            + "a".repeat(8 * 1024) + "\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    // por instância: os métodos rodam em paralelo, cada um com o seu servidor
+    private HttpServer servidor;
+    private int porta;
+
+    /**
+     * Os testes daqui contam numa contabilidade própria, fora do ranking e das métricas da suíte
+     */
+    private final HttpUsage.Contabilidade contabilidade = new HttpUsage.Contabilidade();
+
+    @BeforeEach
+    public void iniciarServidor() throws Exception {
+        servidor = servidorDeListagem();
+        porta = servidor.getAddress().getPort();
+    }
+
+    private static HttpServer servidorDeListagem() throws IOException {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/usuarios", troca -> {
+            troca.getRequestBody().readAllBytes();
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, LISTAGEM.length);
+            try (OutputStream corpo = troca.getResponseBody()) {
+                corpo.write(LISTAGEM);
+            }
+        });
+        servidor.start();
+        return servidor;
+    }
+
+    @AfterEach
+    public void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Conta do teste deve somar requisições, bytes e endpoints")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Orçamento de HTTP")
+    public void testContaDoTeste() {
+        HttpUsage.iniciarTeste(contabilidade);
+        for (int i = 0; i < 3; i++) {
+            requisitar(porta, contabilidade, "GET", null);
+        }
+        String payload = "{\"nome\":\"Fulano\",\"email\":\"fulano@qa.com.br\"}";
+        requisitar(porta, contabilidade, "POST", payload);
+        HttpUsage.Conta conta = HttpUsage.finalizarTeste("HttpBudgetTest > conta");
+
+        assertThat(conta.getRequisicoes()).isEqualTo(4);
+        assertThat(conta.getPorEndpoint()).containsEntry("GET /usuarios", 3).containsEntry("POST /usuarios", 1);
+        assertThat(conta.getBytesRecebidos()).isGreaterThan(4L * LISTAGEM.length).isLessThan(4L * LISTAGEM.length + 2_048);
+        assertThat(conta.getBytesEnviados()).isGreaterThan(payload.length()).isLessThan(2_048);
+        assertThat(conta.formatar()).contains("4 requisições").contains("   3  GET /usuarios");
+        assertThat(contabilidade.metricas()).containsEntry("http.requisicoes", 4L);
+        assertThat(contabilidade.ranking(10)).contains("HttpBudgetTest > conta");
+    }
+
+    @Test
+    @DisplayName("Retentativa deve entrar nos bytes mas ser contada como repetição")
+    @Story("Orçamento de HTTP")
+    public void testRetentativaContadaComoRepeticao() {
+        HttpUsage.iniciarTeste(contabilidade);
+        requisitar(porta, contabilidade, "GET", null);
+        HttpUsage.comoRepeticao(() -> requisitar(porta, contabilidade, "GET", null)).get();
+        HttpUsage.Conta conta = HttpUsage.finalizarTeste("HttpBudgetTest > repeticao");
+
+        assertThat(conta.getRequisicoes()).isEqualTo(2);
+        assertThat(conta.getRepeticoes()).isEqualTo(1);
+        assertThat(conta.getBytesRecebidos()).isGreaterThan(2L * LISTAGEM.length);
+        assertThat(conta.formatar()).startsWith("2 requisições (1 repetições)");
+    }
+
+    @Test
+    @DisplayName("Requisição fora de um teste não deve ser atribuída a nenhuma conta")
+    @Story("Orçamento de HTTP")
+    public void testRequisicaoForaDoTeste() {
+        requisitar(porta, contabilidade, "GET", null);
+
+        assertThat(HttpUsage.finalizarTeste("HttpBudgetTest > fora").getRequisicoes()).isZero();
+        assertThat(contabilidade.metricas()).containsEntry("http.requisicoes", 1L);
+        assertThat(contabilidade.isVazio()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Teste acima do orçamento deve falhar com o uso por endpoint")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Orçamento de HTTP")
+    public void testOrcamentoExcedidoFalhaOTeste() {
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        SummaryGeneratingListener resumo = new SummaryGeneratingListener();
+
+        launcher.execute(request().selectors(selectClass(ComOrcamento.class)).build(), resumo);
+
+        TestExecutionSummary execucao = resumo.getSummary();
+        assertThat(execucao.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(execucao.getTestsFailedCount()).isEqualTo(1);
+        assertThat(execucao.getFailures().get(0).getException())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Orçamento de HTTP excedido (requisições: 2 de 1)")
+                .hasMessageContaining("   2  GET /usuarios");
+        // a contabilidade é desta execução do Launcher: só as requisições e a violação da fixture
+        assertThat(ComOrcamento.contabilidade.metricas())
+                .contains(entry("http.requisicoes", 3L), entry("http.budget.violacoes", 1L));
+        assertThat(ComOrcamento.contabilidade.ranking(10)).contains("ComOrcamento > acimaDoOrcamento");
+    }
+
+    private static Response requisitar(int porta, HttpUsage.Contabilidade contabilidade, String metodo, String corpo) {
+        RequestSpecification requisicao = RestAssured.given()
+                .noFilters()
+                .filter(new HttpUsageFilter(contabilidade))
+                .baseUri("http://localhost:" + porta)
+                .basePath("/")
+                .contentType("application/json");
+        if (corpo != null) {
+            requisicao.body(corpo);
+        }
+        return requisicao.when().request(metodo, "/usuarios");
+    }
+
+    /**
+     * Executada só pelo Launcher acima (o Surefire não roda classes aninhadas), com servidor e
+     * contabilidade próprios criados a cada execução; a violação proposital fica nela, não na da suíte
+     */
+    @HttpBudget(maxRequisicoes = 1)
+    static class ComOrcamento {
+
+        static volatile HttpUsage.Contabilidade contabilidade;
+        private static HttpServer servidor;
+
+        @RegisterExtension
+        final HttpBudgetExtension orcamento = new HttpBudgetExtension(contabilidade);
+
+        @BeforeAll
+        static void iniciar() throws IOException {
+            contabilidade = new HttpUsage.Contabilidade();
+            servidor = servidorDeListagem();
+        }
+
+        @AfterAll
+        static void parar() {
+            servidor.stop(0);
+        }
+
+        @Test
+        void dentroDoOrcamento() {
+            requisitar(servidor.getAddress().getPort(), contabilidade, "GET", null);
+        }
+
+        @Test
+        void acimaDoOrcamento() {
+            requisitar(servidor.getAddress().getPort(), contabilidade, "GET", null);
+            requisitar(servidor.getAddress().getPort(), contabilidade, "GET", null);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.BaseTest;
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+import br.com.serverest.service.InMemoryLoginService;
+import br.com.serverest.service.InMemoryServeRest;
+import br.com.serverest.service.InMemoryUsuarioService;
+import br.com.serverest.service.UsuarioApi;
+import br.com.serverest.utils.ConcurrencyRace;
+import br.com.serverest.utils.DataFactory;
+import br.com.serverest.utils.MicroBenchmark;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Helpers do BaseTest e regras do ServeRest contra os services em memória, sem a API
+ */
+@Epic("API ServeRest")
+@Feature("Services em Memória")
+public class InMemoryServiceTest extends BaseTest {
+
+    private final InMemoryServeRest serveRest = new InMemoryServeRest();
+    private final InMemoryUsuarioService usuarios = serveRest.usuarios();
+    private final InMemoryLoginService login = serveRest.login();
+
+    @Override
+    protected UsuarioApi usuarios() {
+        return usuarios;
+    }
+
+    @Test
+    @DisplayName("Cadastro em memória deve aplicar as validações e mensagens do ServeRest")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Fakes do Service Layer")
+    public void testCadastroEValidacoes() {
+        Usuario usuario = criarUsuarioERetornarObjeto(true);
+        assertThat(usuariosParaLimpar).hasSize(1);
+        usuarios.buscarUsuarioPorId(usuariosParaLimpar.get(0)).then()
+                .statusCode(200)
+                .body("email", equalTo(usuario.getEmail()))
+                .body("administrador", equalTo("true"));
+        usuario.set_id(usuariosParaLimpar.get(0));
+        assertThat(anexarComparacao(usuario, usuarios.buscarUsuarioPorId(usuario.get_id())).isIgual()).isTrue();
+
+        validarRespostaErro400(usuarios.cadastrarUsuario(usuario), "message", "Este email já está sendo usado");
+        validarRespostaErro400(usuarios.cadastrarUsuario(Usuario.builder().build()), "nome", "nome é obrigatório");
+        Response invalido = usuarios.cadastrarUsuario(Usuario.builder()
+                .nome("").email("emailinvalido").password("x").administrador("sim").build());
+        validarRespostaErro400(invalido, "nome", "nome não pode ficar em branco");
+        validarRespostaErro400(invalido, "email", "email deve ser um email válido");
+        validarRespostaErro400(invalido, "administrador", "administrador deve ser 'true' ou 'false'");
+        validarRespostaErro400(usuarios.buscarUsuarioPorId("id_invalido_123"), "id",
+                "id deve ter exatamente 16 caracteres alfanuméricos");
+
+        assertThat(usuarios.usuarioExistePorEmail(usuario.getEmail())).isTrue();
+        assertThat(usuarios.listarAdministradores().jsonPath().getInt("quantidade")).isEqualTo(1);
+        assertThat(usuarios.contarUsuarios()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Edição, login e exclusão em memória devem seguir o comportamento do ServeRest")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Fakes do Service Layer")
+    public void testEdicaoLoginEExclusao() {
+        Usuario usuario = DataFactory.criarUsuarioValido(false);
+        String id = criarUsuarioCustomizadoERetornarId(usuario);
+
+        Response logado = login.realizarLogin(DataFactory.criarLoginValido(usuario));
+        logado.then().statusCode(200).body("authorization", startsWith("Bearer "));
+        assertThat(login.loginFoiSucesso(logado)).isTrue();
+        assertThat(login.extrairTokenLimpo(logado).split("\\.")).hasSize(3);
+        validarRespostaErro401(login.realizarLogin(usuario.getEmail(), "  " + usuario.getPassword()),
+                "Email e/ou senha inválidos");
+        Response vazio = login.realizarLoginComCamposVazios();
+        validarRespostaErro400(vazio, "email", "email não pode ficar em branco");
+        validarRespostaErro400(vazio, "password", "password não pode ficar em branco");
+
+        usuario.setNome("Nome Editado");
+        validarRespostaOperacaoSucesso(usuarios.editarUsuario(id, usuario), "Registro alterado com sucesso");
+        assertThat(usuarios.buscarUsuarioPorNome("Nome Editado").jsonPath().getString("usuarios[0]._id")).isEqualTo(id);
+        Response criadoNoPut = usuarios.editarUsuario("0000000000000000", DataFactory.criarUsuarioValido(false));
+        validarRespostaCadastroSucesso(criadoNoPut);
+        usuariosParaLimpar.add(extrairIdDaResposta(criadoNoPut));
+
+        validarRespostaOperacaoSucesso(usuarios.excluirUsuario(id), "Registro excluído com sucesso");
+        validarRespostaOperacaoSucesso(usuarios.excluirUsuario(id), "Nenhum registro excluído");
+        usuarios.aguardarRemocao(id).then().body("message", equalTo("Usuário não encontrado"));
+        validarRespostaErro401(login.realizarLogin(DataFactory.criarLoginValido(usuario)), "Email e/ou senha inválidos");
+    }
+
+    @Test
+    @DisplayName("Cadastros simultâneos do mesmo email devem ter exatamente um vencedor")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Fakes do Service Layer")
+    public void testEmailUnicoSobConcorrencia() {
+        Usuario usuario = DataFactory.criarUsuarioValido(false);
+
+        ConcurrencyRace.Resultado<Response> resultado = ConcurrencyRace.<Response>nova("mesmo email em memória")
+                .grupo("cadastrar", 50, indice -> usuarios.cadastrarUsuario(usuario))
+                .descricao(response -> response.getStatusCode() + " " + response.asString())
+                .executar();
+
+        List<Response> respostas = resultado.valores("cadastrar");
+        assertThat(respostas).filteredOn(response -> response.getStatusCode() == 201).hasSize(1);
+        assertThat(respostas).filteredOn(response -> response.getStatusCode() == 400).hasSize(49);
+        assertThat(usuarios.contarUsuarios()).isEqualTo(1);
+        usuariosParaLimpar.add(usuarios.buscarUsuarioPorEmail(usuario.getEmail()).jsonPath().getString("usuarios[0]._id"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: custo do harness sobre os services em memória")
+    @Description("Mede por operação o service em memória sozinho e com a extração e as validações do "
+            + "RestAssured usadas pelos helpers do BaseTest (mvn test -Pbenchmark)")
+    @Story("Fakes do Service Layer")
+    public void testBenchmarkCustoDoHarness() {
+        Usuario usuario = DataFactory.criarUsuarioValido(false);
+        String id = criarUsuarioCustomizadoERetornarId(usuario);
+        Login credenciais = DataFactory.criarLoginValido(usuario);
+        // jsonPath() e then() compilam expressões Groovy a cada chamada: milissegundos, não microssegundos
+        int aquecimento = 20_000;
+        int iteracoes = 100_000;
+        int aquecimentoRestAssured = 50;
+        int iteracoesRestAssured = 250;
+
+        List<MicroBenchmark.Resultado> resultados = List.of(
+                MicroBenchmark.medir("Buscar por ID (service)", aquecimento, iteracoes,
+                        () -> usuarios.buscarUsuarioPorId(id)),
+                MicroBenchmark.medir("Login (service)", aquecimento, iteracoes,
+                        () -> login.realizarLogin(credenciais)),
+                MicroBenchmark.medir("Buscar por ID + asString()", aquecimento, iteracoes,
+                        () -> usuarios.buscarUsuarioPorId(id).asString()),
+                MicroBenchmark.medir("Buscar por ID + jsonPath()", aquecimentoRestAssured, iteracoesRestAssured,
+                        () -> usuarios.buscarUsuarioPorId(id).jsonPath().getString("_id")),
+                MicroBenchmark.medir("Buscar por ID + then().statusCode().body()", aquecimentoRestAssured,
+                        iteracoesRestAssured,
+                        () -> usuarios.buscarUsuarioPorId(id).then().statusCode(200).body("_id", equalTo(id))),
+                MicroBenchmark.medir("Cadastrar + excluir (helpers do BaseTest)", aquecimentoRestAssured,
+                        iteracoesRestAssured / 2,
+                        () -> {
+                            String criado = criarUsuarioERetornarId(false);
+                            validarRespostaOperacaoSucesso(usuarios.excluirUsuario(criado), "Registro excluído com sucesso");
+                            return usuariosParaLimpar.remove(criado);
+                        }));
+
+        StringBuilder relatorio = new StringBuilder();
+        resultados.forEach(resultado -> relatorio.append(resultado.formatar()).append("\n"));
+        System.out.print(relatorio);
+        Allure.addAttachment("Benchmark Services em Memória", "text/plain", relatorio.toString());
+
+        assertThat(resultados.get(0).nsPorOperacao()).isLessThan(resultados.get(4).nsPorOperacao());
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.JfrProfiler;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class JfrProfilerTest {
+
+    @Test
+    @DisplayName("Resumo JFR deve apontar alocação e bloqueios da thread acompanhada")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Perfil JFR")
+    public void testResumoDeAlocacaoEBloqueios() throws Exception {
+        JfrProfiler profiler = JfrProfiler.iniciar("JfrProfilerTest", Duration.ofMillis(10), "10000/s");
+
+        List<byte[]> retidos = alocar();
+        Thread.sleep(30);
+
+        JfrProfiler.Resumo resumo = profiler.parar(null);
+        assertThat(retidos).hasSize(2_000);
+        assertThat(resumo.getBytesAlocados()).isGreaterThan(8L << 20);
+        assertThat(resumo.getBytesPorSegundo()).isPositive();
+        assertThat(resumo.getTopFrames()).isNotEmpty();
+        assertThat(resumo.getTopFrames().get(0).getKey()).startsWith(JfrProfilerTest.class.getName() + ".alocar");
+        assertThat(resumo.getSleep().getEventos()).isGreaterThanOrEqualTo(1);
+        assertThat(resumo.formatar()).contains("Alocação:", "GC (JVM inteira):", "Maiores alocações:");
+    }
+
+    @Test
+    @DisplayName("Alocação de threads não acompanhadas não deve entrar no resumo")
+    @Story("Perfil JFR")
+    public void testIgnoraThreadsNaoAcompanhadas() throws Exception {
+        JfrProfiler profiler = JfrProfiler.iniciar("JfrProfilerTest", Duration.ofMillis(10), "10000/s");
+
+        Thread outra = new Thread(JfrProfilerTest::alocar);
+        outra.start();
+        outra.join();
+
+        JfrProfiler.Resumo resumo = profiler.parar(null);
+        assertThat(resumo.getTopFrames()).noneMatch(frame -> frame.getKey().contains(".alocar"));
+    }
+
+    private static List<byte[]> alocar() {
+        List<byte[]> retidos = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            retidos.add(new byte[16 * 1024]);
+        }
+        return retidos;
+    }
+}
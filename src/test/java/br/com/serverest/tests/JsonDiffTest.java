@@ -0,0 +1,104 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.JsonDiff;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Relatórios")
+public class JsonDiffTest {
+
+    private final JsonDiff diff = new JsonDiff(List.of("_id"), 200);
+
+    private static String usuario(String id, String nome) {
+        return String.format("{\"nome\":\"%s\",\"email\":\"%s@qa.com\",\"password\":\"teste\",\"administrador\":\"true\",\"_id\":\"%s\"}",
+                nome, id, id);
+    }
+
+    /**
+     * Listagem do GET /usuarios com os usuários de 0 a quantidade-1, na ordem pedida
+     */
+    private static String listagem(int quantidade, IntFunction<String> usuarioNaPosicao) {
+        StringBuilder json = new StringBuilder("{\"quantidade\":").append(quantidade).append(",\"usuarios\":[");
+        for (int i = 0; i < quantidade; i++) {
+            json.append(i > 0 ? "," : "").append(usuarioNaPosicao.apply(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static List<String> formatadas(JsonDiff.Resultado resultado) {
+        return resultado.getOperacoes().stream().map(JsonDiff.Operacao::formatar).toList();
+    }
+
+    @Test
+    @DisplayName("Elementos de array devem ser casados pelo _id, em qualquer ordem")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Diferença Estrutural de JSON")
+    public void testAlinhamentoPorChave() {
+        String esperado = "{\"quantidade\":3,\"usuarios\":[" + usuario("A", "Ana") + "," + usuario("B", "Bia") + ","
+                + usuario("C", "Caio") + "]}";
+        String atual = "{\"usuarios\":[" + usuario("C", "Caio") + "," + usuario("D", "Duda") + ","
+                + usuario("B", "Beatriz") + "],\"quantidade\":3}";
+
+        JsonDiff.Resultado resultado = diff.comparar(esperado, atual);
+
+        assertThat(formatadas(resultado)).containsExactly(
+                "~ /usuarios[_id=B]/nome: \"Bia\" → \"Beatriz\"",
+                "- /usuarios[_id=A]: " + usuario("A", "Ana"),
+                "+ /usuarios[_id=D]: " + usuario("D", "Duda"));
+        assertThat(resultado.contar(JsonDiff.Tipo.ALTERADO)).isEqualTo(1);
+        assertThat(resultado.formatar()).startsWith("3 diferença(s): 1 alterada(s), 1 adicionada(s), 1 removida(s)");
+    }
+
+    @Test
+    @DisplayName("Campos fora de ordem, arrays sem chave e mudanças de tipo devem gerar o patch mínimo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Diferença Estrutural de JSON")
+    public void testPatchMinimoPorCaminho() {
+        JsonDiff.Resultado resultado = diff.comparar(
+                "{\"a\":[1,2,3],\"b\":{\"c\":\"x\",\"d\":null,\"x/y\":1},\"e\":true}",
+                "{\"e\":\"true\",\"b\":{\"x/y\":2,\"d\":null,\"c\":\"x\",\"f\":[]},\"a\":[1,5]}");
+
+        assertThat(formatadas(resultado)).containsExactlyInAnyOrder(
+                "~ /a/1: 2 → 5",
+                "- /a/2: 3",
+                "~ /b/x~1y: 1 → 2",
+                "+ /b/f: []",
+                "~ /e: true → \"true\"");
+        assertThat(diff.comparar("{\"a\":[1,{\"b\":null}]}", "{ \"a\" : [ 1, { \"b\" : null } ] }").isIgual()).isTrue();
+        assertThat(diff.comparar("[]", "{}").getOperacoes())
+                .singleElement().extracting(JsonDiff.Operacao::caminho).isEqualTo("/");
+    }
+
+    @Test
+    @DisplayName("Documentos de vários MB devem ser comparados com o resultado limitado")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Diferença Estrutural de JSON")
+    public void testDocumentosGrandes() {
+        int quantidade = 50_000;
+        String esperado = listagem(quantidade, i -> usuario(String.format("%016d", i), "Usuario " + i));
+        String invertido = listagem(quantidade, i -> usuario(String.format("%016d", quantidade - 1 - i), "Usuario " + (quantidade - 1 - i)));
+        String renomeados = listagem(quantidade, i -> usuario(String.format("%016d", i), "Outro " + i));
+        assertThat(esperado.length()).isGreaterThan(5_000_000);
+
+        assertThat(diff.comparar(bytes(esperado), bytes(invertido)).isIgual()).isTrue();
+
+        JsonDiff.Resultado limitado = new JsonDiff(List.of("_id"), 10).comparar(bytes(esperado), bytes(renomeados));
+        assertThat(limitado.getTotal()).isEqualTo(quantidade);
+        assertThat(limitado.getOperacoes()).hasSize(10);
+        assertThat(limitado.getOperacoes().get(0).caminho()).isEqualTo("/usuarios[_id=0000000000000000]/nome");
+        assertThat(limitado.formatar()).endsWith(String.format("... e mais %d diferença(s) não exibidas%n", quantidade - 10));
+    }
+
+    private static ByteArrayInputStream bytes(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+import br.com.serverest.utils.DataFactory;
+import br.com.serverest.utils.MicroBenchmark;
+import br.com.serverest.utils.PayloadTemplates;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class JsonTemplateBenchmarkTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @ParameterizedTest(name = "Nome: {0}")
+    @DisplayName("Template deve gerar os mesmos bytes que o Jackson")
+    @Description("Garante que o template gera byte a byte o mesmo corpo que o RestAssured envia "
+            + "ao serializar o POJO (Jackson writeValueAsString codificado em UTF-8)")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Templates de Payload")
+    @ValueSource(strings = {
+        "José da Silva Júnior @#$%",
+        "<script>alert('XSS')</script>",
+        "' OR '1'='1",
+        "aspas \" e barra \\ e /",
+        "controle \n\t\r\b\f \u0001 \u001f",
+        "emoji 😀 e 中文",
+        ""
+    })
+    public void testTemplateEquivalenteAoJackson(String nome) {
+        Usuario usuario = Usuario.builder()
+                .nome(nome)
+                .email("teste@email.com")
+                .password(nome)
+                .administrador("true")
+                .build();
+        assertThat(PayloadTemplates.USUARIO.render(usuario)).isEqualTo(serializar(usuario).getBytes(StandardCharsets.UTF_8));
+
+        Login login = Login.builder().email(nome).password("senha123").build();
+        assertThat(PayloadTemplates.LOGIN.render(login)).isEqualTo(serializar(login).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Template deve omitir campos nulos como o Jackson")
+    @Story("Templates de Payload")
+    public void testTemplateOmiteCamposNulos() {
+        List<Usuario> usuarios = List.of(
+                Usuario.builder().build(),
+                Usuario.builder().email("teste@email.com").build(),
+                Usuario.builder().nome("Nome").administrador("false").build(),
+                Usuario.builder()._id("abc").nome("Nome").email("a@b.com").password("x").administrador("true").build());
+        for (Usuario usuario : usuarios) {
+            assertThat(new String(PayloadTemplates.USUARIO.render(usuario), StandardCharsets.UTF_8))
+                    .isEqualTo(serializar(usuario));
+        }
+        Login login = Login.builder().password("x").build();
+        assertThat(new String(PayloadTemplates.LOGIN.render(login), StandardCharsets.UTF_8))
+                .isEqualTo(serializar(login));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: template pré-serializado vs Jackson")
+    @Description("Compara tempo e alocação por payload entre o template e o ObjectMapper (mvn test -Pbenchmark)")
+    @Story("Templates de Payload")
+    public void testBenchmarkTemplateVsJackson() {
+        Usuario usuario = DataFactory.criarUsuarioValido(true);
+        Login login = DataFactory.criarLoginValido(usuario);
+        int aquecimento = 200_000;
+        int iteracoes = 1_000_000;
+
+        List<MicroBenchmark.Resultado> resultados = List.of(
+                MicroBenchmark.medir("Usuario - Jackson (writeValueAsString+UTF-8)", aquecimento, iteracoes,
+                        () -> serializar(usuario).getBytes(StandardCharsets.UTF_8)),
+                MicroBenchmark.medir("Usuario - Jackson (writeValueAsBytes)", aquecimento, iteracoes,
+                        () -> serializarBytes(usuario)),
+                MicroBenchmark.medir("Usuario - JsonTemplate", aquecimento, iteracoes,
+                        () -> PayloadTemplates.USUARIO.render(usuario)),
+                MicroBenchmark.medir("Login - Jackson (writeValueAsBytes)", aquecimento, iteracoes,
+                        () -> serializarBytes(login)),
+                MicroBenchmark.medir("Login - JsonTemplate", aquecimento, iteracoes,
+                        () -> PayloadTemplates.LOGIN.render(login)));
+
+        StringBuilder relatorio = new StringBuilder();
+        resultados.forEach(resultado -> relatorio.append(resultado.formatar()).append("\n"));
+        System.out.print(relatorio);
+        Allure.addAttachment("Benchmark JsonTemplate", "text/plain", relatorio.toString());
+
+        assertThat(resultados.get(2).nsPorOperacao()).isLessThan(resultados.get(1).nsPorOperacao());
+    }
+
+    private static String serializar(Object objeto) {
+        try {
+            return MAPPER.writeValueAsString(objeto);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] serializarBytes(Object objeto) {
+        try {
+            return MAPPER.writeValueAsBytes(objeto);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.LatencyBaseline;
+import br.com.serverest.report.MannWhitney;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class LatencyBaselineTest {
+
+    @Test
+    @DisplayName("Mann-Whitney deve detectar distribuição deslocada para cima")
+    @Description("Amostras 11..20 contra 1..10: U = 100, z = 3,74, p unilateral ~ 9e-5")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Regressão de Latência")
+    public void testMannWhitneyDistribuicaoDeslocada() {
+        double[] base = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        double[] atual = {11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+
+        assertThat(MannWhitney.pValorMaior(atual, base)).isCloseTo(9.2e-5, within(2e-5));
+        assertThat(MannWhitney.pValorMaior(base, atual)).isGreaterThan(0.99);
+    }
+
+    @Test
+    @DisplayName("Mann-Whitney não deve acusar amostras da mesma distribuição")
+    @Story("Regressão de Latência")
+    public void testMannWhitneyMesmaDistribuicao() {
+        Random random = new Random(42);
+        double[] base = latencias(random, 200, 100);
+        double[] atual = latencias(random, 50, 100);
+
+        assertThat(MannWhitney.pValorMaior(atual, base)).isGreaterThan(0.05);
+        assertThat(MannWhitney.pValorMaior(new double[]{5, 5, 5}, new double[]{5, 5, 5})).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Regressão exige significância e aumento mínimo da mediana")
+    @Story("Regressão de Latência")
+    public void testCompararExigeSignificanciaEAumentoMinimo() {
+        Random random = new Random(7);
+        Map<String, double[]> base = Map.of(
+                "POST /usuarios", latencias(random, 300, 100),
+                "POST /login", latencias(random, 300, 100),
+                "GET /usuarios", latencias(random, 300, 100));
+        Map<String, double[]> atual = Map.of(
+                "POST /usuarios", latencias(random, 60, 160),
+                "POST /login", latencias(random, 60, 108),
+                "GET /usuarios", latencias(random, 60, 100),
+                "DELETE /usuarios/{_id}", latencias(random, 60, 500));
+
+        List<LatencyBaseline.Comparacao> comparacoes = LatencyBaseline.comparar(base, atual, 0.01, 0.20, 8);
+
+        assertThat(comparacoes).extracting(LatencyBaseline.Comparacao::chave)
+                .containsExactlyInAnyOrder("POST /usuarios", "POST /login", "GET /usuarios");
+        assertThat(comparacoes).filteredOn(LatencyBaseline.Comparacao::regressao)
+                .extracting(LatencyBaseline.Comparacao::chave).containsExactly("POST /usuarios");
+    }
+
+    @Test
+    @DisplayName("Histórico deve manter as amostras recentes e preservar chaves com regressão")
+    @Story("Regressão de Latência")
+    public void testMesclarHistorico(@TempDir Path diretorio) {
+        Map<String, double[]> base = Map.of("A", new double[]{1, 2, 3}, "B", new double[]{10, 20});
+        Map<String, double[]> atual = Map.of("A", new double[]{4, 5}, "B", new double[]{99}, "C", new double[]{7});
+
+        Map<String, double[]> mesclado = LatencyBaseline.mesclar(base, atual, Set.of("B"), Set.of(), 4);
+        Path arquivo = diretorio.resolve("historico/latency-baseline.json");
+        LatencyBaseline.salvar(arquivo, mesclado);
+        Map<String, double[]> carregado = LatencyBaseline.carregar(arquivo);
+
+        assertThat(carregado.get("A")).containsExactly(2, 3, 4, 5);
+        assertThat(carregado.get("B")).containsExactly(10, 20);
+        assertThat(carregado.get("C")).containsExactly(7);
+        assertThat(LatencyBaseline.carregar(diretorio.resolve("inexistente.json"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Chave aceita deve trocar o histórico pelas amostras atuais, mesmo com regressão")
+    @Story("Regressão de Latência")
+    public void testMesclarChaveAceita() {
+        Map<String, double[]> base = Map.of("A", new double[]{1, 2, 3}, "B", new double[]{10, 20});
+        Map<String, double[]> atual = Map.of("A", new double[]{4, 5}, "B", new double[]{99, 98});
+
+        Map<String, double[]> mesclado = LatencyBaseline.mesclar(base, atual, Set.of("B"), Set.of("A", "B"), 4);
+
+        assertThat(mesclado.get("A")).containsExactly(4, 5);
+        assertThat(mesclado.get("B")).containsExactly(99, 98);
+    }
+
+    /**
+     * Latências log-normais com a mediana informada, como as de rede
+     */
+    private static double[] latencias(Random random, int quantidade, double mediana) {
+        double[] amostras = new double[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            amostras[i] = mediana * Math.exp(0.3 * random.nextGaussian());
+        }
+        return amostras;
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.load.LatencyHistogram;
+import br.com.serverest.load.LoadCoordinator;
+import br.com.serverest.load.LoadProtocol;
+import br.com.serverest.load.LoadReport;
+import br.com.serverest.load.LoadScenario;
+import br.com.serverest.report.LatencyRecorder;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class LoadCoordinationTest {
+
+    /**
+     * Cenário sem rede, carregado pelo nome da classe nos workers: 2 ms por iteração,
+     * uma em cada cinco falha
+     */
+    public static class CenarioLocal implements LoadScenario {
+        @Override
+        public void executar(int usuario, long iteracao) throws Exception {
+            long inicio = System.nanoTime();
+            Thread.sleep(2);
+            LatencyRecorder.registrar("LOCAL /operacao", System.nanoTime() - inicio);
+            if (iteracao % 5 == 4) {
+                throw new IllegalStateException("falha simulada");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Histogramas mesclados devem dar os percentis de todas as amostras")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Carga Distribuída")
+    public void testHistogramaMescladoEPercentis() throws IOException {
+        LatencyHistogram pares = new LatencyHistogram();
+        LatencyHistogram impares = new LatencyHistogram();
+        for (int millis = 1; millis <= 1_000; millis++) {
+            (millis % 2 == 0 ? pares : impares).registrar(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        impares.escrever(new DataOutputStream(bytes));
+        LatencyHistogram recebido = LatencyHistogram.ler(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        recebido.mesclar(pares);
+
+        assertThat(recebido.getTotal()).isEqualTo(1_000);
+        assertThat(recebido.percentil(50)).isCloseTo(500, within(500 * 0.02));
+        assertThat(recebido.percentil(90)).isCloseTo(900, within(900 * 0.02));
+        assertThat(recebido.percentil(99)).isCloseTo(990, within(990 * 0.02));
+        assertThat(recebido.getMaximoMillis()).isEqualTo(1_000);
+        assertThat(recebido.getMediaMillis()).isCloseTo(500.5, within(0.1));
+    }
+
+    @Test
+    @DisplayName("Coordenador deve dividir a carga entre JVMs e juntar as medições")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Carga Distribuída")
+    public void testCoordenacaoEntreJvms() {
+        LoadCoordinator.Plano plano = new LoadCoordinator.Plano(CenarioLocal.class.getName(), 5, 1_000, 10, 500);
+
+        LoadReport relatorio;
+        try (LoadCoordinator coordenador = new LoadCoordinator(0)) {
+            List<Process> workers = coordenador.iniciarWorkersLocais(2);
+            try {
+                relatorio = coordenador.executar(plano, 2, 30_000);
+            } finally {
+                workers.forEach(Process::destroy);
+            }
+        }
+        Allure.addAttachment("Relatório de carga", "text/plain", relatorio.formatar());
+
+        assertThat(relatorio.getResultados()).hasSize(2);
+        assertThat(relatorio.getResultados()).extracting(resultado -> resultado.contadores().get("usuarios"))
+                .containsExactlyInAnyOrder(3L, 2L);
+        assertThat(relatorio.getContador("usuarios")).isEqualTo(5);
+        long iteracoes = relatorio.getContador("iteracoes");
+        long falhas = relatorio.getContador("falhas");
+        // 5 usuários por 1 s, ~150 ms a cada 5 iterações (2 ms cada, pausa de 10 ms, 100 ms após a falha)
+        assertThat(iteracoes).isBetween(20L, 500L);
+        assertThat(falhas).isPositive().isEqualTo(relatorio.getContador("falhas.IllegalStateException"));
+        assertThat(relatorio.getHistogramas().get("cenario " + CenarioLocal.class.getName()).getTotal())
+                .isEqualTo(iteracoes);
+        assertThat(relatorio.getHistogramas().get("LOCAL /operacao").getTotal()).isEqualTo(iteracoes + falhas);
+        assertThat(relatorio.getHistogramas().get("LOCAL /operacao").percentil(50)).isBetween(2.0, 50.0);
+        assertThat(relatorio.getDesvioInicioMs()).isLessThan(250);
+        assertThat(relatorio.formatar()).contains("Carga " + CenarioLocal.class.getName() + ": 5 usuários em 2 workers")
+                .contains("Políticas do cliente (desligadas");
+        assertThat(relatorio.getContadores()).containsKeys("limiter.requisicoes", "retry.retentativas")
+                .doesNotContainKey("limiter.limite.final");
+    }
+
+    @Test
+    @DisplayName("Mensagem fora do protocolo deve ser recusada")
+    @Story("Carga Distribuída")
+    public void testMensagemInvalida() {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(new byte[]{0, 0, 0, 1, 2}));
+
+        assertThatThrownBy(() -> LoadProtocol.lerFatia(entrada))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Mensagem inesperada do protocolo de carga");
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.load.LoadCoordinator;
+import br.com.serverest.load.LoadReport;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga distribuída contra a API (chaves load.*), com load.local.workers JVMs nesta máquina
+ * e, se load.workers for maior, as demais iniciadas à mão em outras máquinas com
+ * LoadWorker &lt;host do coordenador&gt; &lt;load.port&gt;. Só roda com -Pload.
+ */
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+@Tag("load")
+public class LoadTest {
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    @DisplayName("Carga distribuída entre workers deve completar iterações sem falhas acima do limite")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Carga Distribuída")
+    public void testCargaDistribuida() throws IOException {
+        LoadCoordinator.Plano plano = LoadCoordinator.Plano.configurado();
+        int locais = TestConfig.getInt("load.local.workers", 2);
+        int workers = TestConfig.getInt("load.workers", locais);
+
+        LoadReport relatorio;
+        try (LoadCoordinator coordenador = new LoadCoordinator(TestConfig.getInt("load.port", 7600))) {
+            List<Process> processos = coordenador.iniciarWorkersLocais(locais);
+            try {
+                relatorio = coordenador.executar(plano, workers, TestConfig.getLong("load.connect.timeout.ms", 30_000));
+            } finally {
+                processos.forEach(Process::destroy);
+            }
+        }
+        String texto = relatorio.formatar();
+        Allure.addAttachment("Relatório de carga", "text/plain", texto);
+        Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("load-report.txt");
+        Files.writeString(arquivo, texto, StandardCharsets.UTF_8);
+
+        long iteracoes = relatorio.getContador("iteracoes");
+        long falhas = relatorio.getContador("falhas");
+        assertThat(relatorio.getResultados()).hasSize(workers);
+        assertThat(iteracoes).as("iterações completas").isPositive();
+        assertThat(falhas / (double) (iteracoes + falhas)).as("taxa de falhas")
+                .isLessThanOrEqualTo(TestConfig.getDouble("load.max.failure.rate", 0.01));
+    }
+}
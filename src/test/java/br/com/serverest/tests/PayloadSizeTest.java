@@ -0,0 +1,150 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.BaseTest;
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.utils.DataFactory;
+import br.com.serverest.utils.StreamingBody;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Varredura de tamanhos de payload no cadastro de usuário (payload.sweep.sizes)
+ * O nome do usuário é gerado em streaming até o corpo ter o tamanho pedido, então nem
+ * o payload de 50 MB fica no heap. Para cada tamanho registra o status, o tempo de envio,
+ * a latência do servidor (do último byte enviado até a resposta) e a memória alocada pelo
+ * cliente, no Allure e em payload-sweep.csv. Só roda com -Ppayload.
+ */
+@Epic("API ServeRest")
+@Feature("Gerenciamento de Usuários")
+@Tag("payload")
+@Execution(ExecutionMode.SAME_THREAD)
+public class PayloadSizeTest extends BaseTest {
+
+    private static final Queue<Medicao> MEDICOES = new ConcurrentLinkedQueue<>();
+
+    private record Medicao(String rotulo, long bytes, int status, long envioMs, long servidorMs, long totalMs,
+                           long alocadoBytes) {
+    }
+
+    static Stream<String> tamanhos() {
+        return Arrays.stream(TestConfig.get("payload.sweep.sizes", "1KB,1MB,50MB").split(","))
+                .map(String::trim)
+                .filter(tamanho -> !tamanho.isEmpty());
+    }
+
+    @ParameterizedTest(name = "Cadastro com payload de {0}")
+    @MethodSource("tamanhos")
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    @DisplayName("Cadastro com payload grande deve ser aceito ou recusado com 400/413, nunca 5xx")
+    @Description("Envia em streaming um usuário cujo nome completa o tamanho pedido e registra tempo de envio, "
+            + "latência do servidor e memória alocada pelo cliente")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Limites de Payload")
+    public void testCadastroComPayloadGrande(String rotulo) {
+        long tamanho = bytes(rotulo);
+        StreamingBody corpo = usuarioComTamanho(tamanho);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long alocadoAntes = threads.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        Response response = usuarioService.cadastrarUsuario(corpo);
+        long fim = System.nanoTime();
+        long alocado = threads.getCurrentThreadAllocatedBytes() - alocadoAntes;
+
+        if (response.statusCode() == 201) {
+            usuariosParaLimpar.add(extrairIdDaResposta(response));
+        }
+        // se o servidor respondeu antes de ler o corpo inteiro não há latência a separar do envio
+        long servidorMs = corpo.getFimNanos() == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(fim - corpo.getFimNanos());
+        Medicao medicao = new Medicao(rotulo, corpo.getBytesLidos(), response.statusCode(),
+                TimeUnit.NANOSECONDS.toMillis(corpo.getNanosEnvio()), servidorMs,
+                TimeUnit.NANOSECONDS.toMillis(fim - inicio), alocado);
+        MEDICOES.add(medicao);
+        anexarTexto("Payload de " + rotulo, String.format(Locale.ROOT,
+                "Tamanho: %d bytes (%d enviados)%nStatus: %d%nEnvio: %d ms%nServidor: %d ms%nTotal: %d ms%n"
+                        + "Alocado pelo cliente: %.1f MB%n",
+                tamanho, medicao.bytes(), medicao.status(), medicao.envioMs(), medicao.servidorMs(),
+                medicao.totalMs(), alocado / (double) (1L << 20)));
+
+        assertThat(response.statusCode()).as("status para payload de %s", rotulo).isIn(201, 400, 413);
+    }
+
+    @AfterAll
+    public static void exportarMedicoes() {
+        if (MEDICOES.isEmpty()) {
+            return;
+        }
+        List<Medicao> medicoes = new ArrayList<>(MEDICOES);
+        medicoes.sort(Comparator.comparingLong(Medicao::bytes));
+        Path arquivo = Paths.get(TestConfig.get("reports.directory", "target/reports")).resolve("payload-sweep.csv");
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                writer.write("tamanho,bytes,status,envio_ms,servidor_ms,total_ms,alocado_bytes\n");
+                for (Medicao medicao : medicoes) {
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d%n", medicao.rotulo(), medicao.bytes(),
+                            medicao.status(), medicao.envioMs(), medicao.servidorMs(), medicao.totalMs(),
+                            medicao.alocadoBytes()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao exportar varredura de payload: " + arquivo, e);
+        }
+    }
+
+    /**
+     * Usuário válido exceto pelo nome, que completa o corpo até o tamanho pedido
+     */
+    private static StreamingBody usuarioComTamanho(long tamanho) {
+        String prefixo = "{\"nome\":\"";
+        String sufixo = "\",\"email\":\"" + DataFactory.gerarEmailAleatorio()
+                + "\",\"password\":\"teste\",\"administrador\":\"false\"}";
+        long nome = Math.max(1, tamanho - prefixo.length() - sufixo.length());
+        return StreamingBody.concatenar(StreamingBody.texto(prefixo),
+                StreamingBody.repetir((byte) 'a', nome), StreamingBody.texto(sufixo));
+    }
+
+    /**
+     * "1KB", "1MB", "512B" ou só o número de bytes
+     */
+    private static long bytes(String rotulo) {
+        String valor = rotulo.toUpperCase(Locale.ROOT);
+        long multiplicador = 1;
+        if (valor.endsWith("KB")) {
+            multiplicador = 1L << 10;
+        } else if (valor.endsWith("MB")) {
+            multiplicador = 1L << 20;
+        } else if (valor.endsWith("GB")) {
+            multiplicador = 1L << 30;
+        }
+        return Long.parseLong(valor.replaceAll("[A-Z]+$", "").trim()) * multiplicador;
+    }
+}
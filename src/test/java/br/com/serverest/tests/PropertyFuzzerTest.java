@@ -0,0 +1,111 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.model.Usuario;
+import br.com.serverest.utils.DataNamespace;
+import br.com.serverest.utils.Gen;
+import br.com.serverest.utils.Generators;
+import br.com.serverest.utils.PropertyFuzzer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.UnknownHostException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Fuzzing de Entradas")
+public class PropertyFuzzerTest {
+
+    @Test
+    @DisplayName("Texto que quebra a propriedade deve ser encolhido até o mínimo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Motor de Propriedades")
+    public void testEncolheTextoAteOMinimo() {
+        PropertyFuzzer.Resultado<String> resultado = PropertyFuzzer.para(Gen.texto("abcxyz", 0, 60))
+                .casos(500).concorrencia(8).semente(42)
+                .executar(texto -> assertThat(texto.length()).isLessThan(10));
+
+        assertThat(resultado.falha()).isNotNull();
+        assertThat(resultado.falha().original().length()).isGreaterThanOrEqualTo(10);
+        assertThat(resultado.falha().minimo()).isEqualTo("a".repeat(10));
+        assertThat(resultado.formatar()).contains("Mínimo:   \"aaaaaaaaaa\"").contains("-Dfuzz.seed=42");
+    }
+
+    @Test
+    @DisplayName("Usuário mínimo deve manter só o campo que quebra a propriedade")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Motor de Propriedades")
+    public void testEncolheUsuarioCampoACampo() {
+        PropertyFuzzer.Resultado<Usuario> resultado = PropertyFuzzer.para(Generators.usuario())
+                .casos(2_000).concorrencia(8).semente(7)
+                .executar(usuario -> assertThat(Objects.toString(usuario.getPassword(), "")).doesNotContain("'"));
+
+        Usuario minimo = resultado.falha().minimo();
+        assertThat(minimo.getPassword()).contains("'");
+        assertThat(minimo.getNome()).isEqualTo("a");
+        assertThat(minimo.getEmail()).isEqualTo("fuzz." + DataNamespace.execucao() + ".a@qa.com.br");
+        assertThat(minimo.getAdministrador()).isEqualTo("false");
+    }
+
+    @Test
+    @DisplayName("Casos em voo devem respeitar o limite de concorrência")
+    @Story("Motor de Propriedades")
+    public void testLimiteDeCasosEmVoo() {
+        PropertyFuzzer.Resultado<Integer> resultado = PropertyFuzzer.para(Gen.inteiro(0, 1_000))
+                .casos(200).concorrencia(4).semente(1)
+                .executar(numero -> Thread.sleep(2));
+
+        assertThat(resultado.falha()).isNull();
+        assertThat(resultado.casos()).isEqualTo(200);
+        assertThat(resultado.maximoEmVoo()).isBetween(2, 4);
+        assertThat(resultado.casosPorSegundo()).isPositive();
+        assertThat(resultado.formatar()).contains("200 casos").contains("casos/s").contains("válida em todos os casos");
+    }
+
+    @Test
+    @DisplayName("Mesma semente deve gerar os mesmos casos")
+    @Story("Motor de Propriedades")
+    public void testMesmaSementeMesmosCasos() {
+        assertThat(gerados(99)).isEqualTo(gerados(99)).isNotEqualTo(gerados(100));
+    }
+
+    @Test
+    @DisplayName("Erro que não é de asserção deve interromper a execução e ser relançado")
+    @Story("Motor de Propriedades")
+    public void testErroDeInfraestruturaNaoEContraexemplo() {
+        PropertyFuzzer<Integer> fuzzer = PropertyFuzzer.para(Gen.inteiro(0, 10)).casos(1_000).semente(3);
+
+        assertThatThrownBy(() -> fuzzer.executar(numero -> {
+            throw new UnknownHostException("serverest.dev");
+        })).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    @DisplayName("Verificação de email deve recusar os malformados e aceitar os gerados como válidos")
+    @Story("Motor de Propriedades")
+    public void testVerificacaoDeEmail() {
+        assertThat(Set.of("", "emailinvalido", "email@", "@dominio.com", "email@@dominio.com",
+                "email..teste@dominio.com", "email@dominio", "email @dominio.com", "email@dominio..com",
+                ".email@dominio.com", "email.@dominio.com", "email@.dominio.com", "email@dominio.com.",
+                "email\u0000@dominio.com", "email@dominio\u00a0.com"))
+                .noneMatch(Generators::isEmailValido);
+        assertThat(Generators.isEmailValido(null)).isFalse();
+
+        PropertyFuzzer.Resultado<String> resultado = PropertyFuzzer.para(Generators.email()).casos(500).semente(5)
+                .executar(email -> assertThat(Generators.isEmailValido(email)).as(email).isTrue());
+        assertThat(resultado.falha()).isNull();
+    }
+
+    private static Set<String> gerados(long semente) {
+        Set<String> valores = new ConcurrentSkipListSet<>();
+        PropertyFuzzer.para(Generators.login()).casos(100).semente(semente)
+                .executar(login -> valores.add(login.getEmail() + "|" + login.getPassword()));
+        return new TreeSet<>(valores);
+    }
+}
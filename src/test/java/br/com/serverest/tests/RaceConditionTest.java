@@ -0,0 +1,138 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.BaseTest;
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+import br.com.serverest.service.LoginService;
+import br.com.serverest.service.UsuarioService;
+import br.com.serverest.utils.Await;
+import br.com.serverest.utils.ConcurrencyRace;
+import br.com.serverest.utils.DataFactory;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requisições conflitantes largando juntas (ver ConcurrencyRace): o que os testes sequenciais
+ * de duplicidade não pegam quando vários clientes chegam ao mesmo tempo
+ */
+@Epic("API ServeRest")
+@Feature("Concorrência")
+public class RaceConditionTest extends BaseTest {
+
+    private static final int PARTICIPANTES = TestConfig.getInt("race.participants", 10);
+    private static final double DISPERSAO_MAXIMA_MS = TestConfig.getDouble("race.max.start.spread.ms", 50);
+
+    // participantes sem limitador, retentativa, circuit breaker e cache: largam juntos e enviam uma requisição cada
+    private final UsuarioService corrida = UsuarioService.direto();
+    private final LoginService loginService = LoginService.direto();
+
+    @Test
+    @DisplayName("Cadastros simultâneos com o mesmo email devem criar um único usuário")
+    @Description("K cadastros com o mesmo email largam juntos: exatamente um 201, os demais 400 de email em uso e nenhum 5xx")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corrida de Requisições")
+    public void testCadastrosSimultaneosComMesmoEmail() {
+        Usuario usuario = DataFactory.criarUsuarioValido(false);
+
+        ConcurrencyRace.Resultado<Response> resultado = ConcurrencyRace.<Response>nova("mesmo email")
+                .grupo("POST /usuarios", PARTICIPANTES, indice -> corrida.cadastrarUsuario(usuario))
+                .descricao(RaceConditionTest::descrever)
+                .executar();
+        validarLargadaSimultanea(resultado);
+
+        List<Response> respostas = resultado.valores("POST /usuarios");
+        respostas.stream().filter(response -> response.getStatusCode() == 201)
+                .forEach(response -> usuariosParaLimpar.add(extrairIdDaResposta(response)));
+        anexarLog("Latência sob contenção: " + resultado.latencia("POST /usuarios").formatar());
+
+        assertThat(respostas).extracting(Response::getStatusCode).allMatch(status -> status < 500);
+        assertThat(resultado.contar("POST /usuarios", response -> response.getStatusCode() == 201))
+                .as("cadastros aceitos para o mesmo email").isEqualTo(1);
+        assertThat(respostas).filteredOn(response -> response.getStatusCode() != 201)
+                .hasSize(PARTICIPANTES - 1)
+                .allSatisfy(response -> validarRespostaErro400(response, "message", "Este email já está sendo usado"));
+    }
+
+    @Test
+    @DisplayName("Edições e exclusões simultâneas do mesmo ID não devem gerar 5xx nem duplicar usuários")
+    @Description("K edições e K exclusões do mesmo ID largam juntas: uma única exclusão efetiva e no máximo um usuário recriado pelo PUT")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corrida de Requisições")
+    public void testEdicoesEExclusoesSimultaneas() {
+        String userId = criarUsuarioERetornarId(false);
+        Usuario editado = DataFactory.criarUsuarioValido(false);
+
+        ConcurrencyRace.Resultado<Response> resultado = ConcurrencyRace.<Response>nova("editar e excluir o mesmo ID")
+                .grupo("PUT /usuarios/{id}", PARTICIPANTES, indice -> corrida.editarUsuario(userId, editado))
+                .grupo("DELETE /usuarios/{id}", PARTICIPANTES, indice -> corrida.excluirUsuario(userId))
+                .descricao(RaceConditionTest::descrever)
+                .executar();
+        validarLargadaSimultanea(resultado);
+
+        // um PUT que chega depois da exclusão cadastra um novo usuário com o email editado
+        usuarioService.semCache().buscarUsuarioPorEmail(editado.getEmail()).jsonPath()
+                .getList("usuarios._id", String.class).forEach(usuariosParaLimpar::add);
+
+        List<Response> edicoes = resultado.valores("PUT /usuarios/{id}");
+        List<Response> exclusoes = resultado.valores("DELETE /usuarios/{id}");
+        assertThat(edicoes).extracting(Response::getStatusCode).allMatch(status -> List.of(200, 201, 400).contains(status));
+        assertThat(exclusoes).extracting(Response::getStatusCode).containsOnly(200);
+        assertThat(exclusoes).filteredOn(response -> "Registro excluído com sucesso"
+                        .equals(response.jsonPath().getString("message")))
+                .as("exclusões efetivas do mesmo ID").hasSize(1);
+        assertThat(resultado.contar("PUT /usuarios/{id}", response -> response.getStatusCode() == 201))
+                .as("usuários recriados com o mesmo email").isLessThanOrEqualTo(1);
+        usuarioService.aguardarRemocao(userId);
+    }
+
+    @Test
+    @DisplayName("Logins durante a exclusão do usuário devem ser aceitos ou recusados, nunca 5xx")
+    @Description("K logins largam junto com a exclusão do usuário: cada login é 200 ou 401 e, depois da exclusão, o login passa a ser recusado")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corrida de Requisições")
+    public void testLoginsDuranteExclusao() {
+        Usuario usuario = criarUsuarioERetornarObjeto(false);
+        String userId = usuariosParaLimpar.get(usuariosParaLimpar.size() - 1);
+        Login login = DataFactory.criarLoginValido(usuario);
+
+        ConcurrencyRace.Resultado<Response> resultado = ConcurrencyRace.<Response>nova("login durante exclusão")
+                .grupo("POST /login", PARTICIPANTES, indice -> loginService.realizarLogin(login))
+                .grupo("DELETE /usuarios/{id}", 1, indice -> corrida.excluirUsuario(userId))
+                .descricao(RaceConditionTest::descrever)
+                .executar();
+        validarLargadaSimultanea(resultado);
+
+        assertThat(resultado.valores("POST /login")).extracting(Response::getStatusCode)
+                .allMatch(status -> status == 200 || status == 401);
+        validarRespostaOperacaoSucesso(resultado.valores("DELETE /usuarios/{id}").get(0), "Registro excluído com sucesso");
+        Await.padrao().ate("login recusado após a exclusão", () -> loginService.realizarLogin(login),
+                response -> response.getStatusCode() == 401);
+    }
+
+    /**
+     * Falha se os participantes não partiram juntos (ex.: enfileirados antes de enviar)
+     * Erros dos participantes (ex.: API inacessível) são relançados antes: uma largada
+     * atrasada por quem nem chegou ao servidor não diz nada sobre a corrida
+     */
+    private static void validarLargadaSimultanea(ConcurrencyRace.Resultado<Response> resultado) {
+        resultado.getParticipacoes().stream()
+                .map(ConcurrencyRace.Participacao::grupo)
+                .distinct()
+                .forEach(resultado::valores);
+        assertThat(resultado.getDispersaoLargadaMillis())
+                .as("dispersão da largada (ms)\n%s", resultado.formatar())
+                .isLessThanOrEqualTo(DISPERSAO_MAXIMA_MS);
+    }
+
+    private static String descrever(Response response) {
+        String corpo = response.asString();
+        return response.getStatusCode() + " " + (corpo.length() > 120 ? corpo.substring(0, 120) + "..." : corpo);
+    }
+}
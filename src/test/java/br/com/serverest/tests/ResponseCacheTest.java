@@ -0,0 +1,167 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.ResponseCache;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class ResponseCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    @Test
+    @DisplayName("GET repetido deve ser servido pelo cache dentro do TTL")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Cache de Leitura")
+    public void testAcertoDentroDoTtl() {
+        ResponseCache cache = new ResponseCache(8, 1000, relogio::get);
+
+        Response primeira = cache.obter("GET /usuarios", requisicao(200, "{\"quantidade\":1}"));
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        Response segunda = cache.obter("GET /usuarios", requisicao(200, "{\"quantidade\":2}"));
+
+        assertThat(chamadas.get()).isEqualTo(1);
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(segunda.asString()).isEqualTo("{\"quantidade\":1}");
+        assertThat(cache.metricas()).containsEntry("cache.acertos", 1L).containsEntry("cache.faltas", 1L);
+    }
+
+    @Test
+    @DisplayName("Entrada expirada deve ser buscada novamente")
+    @Story("Cache de Leitura")
+    public void testExpiracaoPorTtl() {
+        ResponseCache cache = new ResponseCache(8, 1000, relogio::get);
+
+        cache.obter("GET /usuarios", requisicao(200, "a"));
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        Response depois = cache.obter("GET /usuarios", requisicao(200, "b"));
+
+        assertThat(chamadas.get()).isEqualTo(2);
+        assertThat(depois.asString()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("Cache cheio deve descartar a entrada usada há mais tempo")
+    @Story("Cache de Leitura")
+    public void testDescarteLru() {
+        ResponseCache cache = new ResponseCache(2, 60_000, relogio::get);
+
+        cache.obter("GET /usuarios/1", requisicao(200, "1"));
+        cache.obter("GET /usuarios/2", requisicao(200, "2"));
+        cache.obter("GET /usuarios/1", requisicao(200, "1"));
+        cache.obter("GET /usuarios/3", requisicao(200, "3"));
+        int antes = chamadas.get();
+
+        cache.obter("GET /usuarios/1", requisicao(200, "1"));
+        assertThat(chamadas.get()).isEqualTo(antes);
+        cache.obter("GET /usuarios/2", requisicao(200, "2"));
+        assertThat(chamadas.get()).isEqualTo(antes + 1);
+        assertThat(cache.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Somente respostas 200 devem ser guardadas")
+    @Story("Cache de Leitura")
+    public void testNaoGuardaErros() {
+        ResponseCache cache = new ResponseCache(8, 60_000, relogio::get);
+
+        cache.obter("GET /usuarios/x", requisicao(400, "{\"message\":\"Usuário não encontrado\"}"));
+        cache.obter("GET /usuarios/x", requisicao(400, "{\"message\":\"Usuário não encontrado\"}"));
+
+        assertThat(chamadas.get()).isEqualTo(2);
+        assertThat(cache.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Escrita deve invalidar o cache, inclusive GETs iniciados antes dela")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Cache de Leitura")
+    public void testInvalidacaoDescartaLeiturasAnteriores() {
+        ResponseCache cache = new ResponseCache(8, 60_000, relogio::get);
+        cache.obter("GET /usuarios", requisicao(200, "antes"));
+
+        cache.invalidar();
+        assertThat(cache.tamanho()).isZero();
+
+        // GET em voo enquanto uma escrita acontece: a resposta chega, mas não é guardada
+        Supplier<Response> comEscritaNoMeio = () -> {
+            cache.invalidar();
+            return requisicao(200, "antiga").get();
+        };
+        assertThat(cache.obter("GET /usuarios", comEscritaNoMeio).asString()).isEqualTo("antiga");
+        assertThat(cache.tamanho()).isZero();
+        assertThat(cache.obter("GET /usuarios", requisicao(200, "atual")).asString()).isEqualTo("atual");
+    }
+
+    @Test
+    @DisplayName("GETs idênticos simultâneos devem virar uma única requisição")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Cache de Leitura")
+    public void testSingleFlight() throws Exception {
+        ResponseCache cache = new ResponseCache(8, 60_000, relogio::get);
+        int threads = 8;
+        CountDownLatch emVoo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Response> lenta = () -> {
+            emVoo.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return requisicao(200, "unica").get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Response>> respostas = new ArrayList<>();
+            respostas.add(executor.submit(() -> cache.obter("GET /usuarios", lenta)));
+            assertThat(emVoo.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < threads; i++) {
+                respostas.add(executor.submit(() -> cache.obter("GET /usuarios", lenta)));
+            }
+            // dá tempo para as demais threads encontrarem a requisição em voo
+            while (((Number) cache.metricas().get("cache.coalescidas")).intValue() < threads - 1) {
+                Thread.onSpinWait();
+            }
+            liberar.countDown();
+
+            for (Future<Response> resposta : respostas) {
+                assertThat(resposta.get(5, TimeUnit.SECONDS).asString()).isEqualTo("unica");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(chamadas.get()).isEqualTo(1);
+        assertThat(cache.metricas()).containsEntry("cache.coalescidas", (long) threads - 1);
+    }
+
+    private Supplier<Response> requisicao(int status, String corpo) {
+        return () -> {
+            chamadas.incrementAndGet();
+            return new ResponseBuilder()
+                    .setStatusCode(status)
+                    .setContentType("application/json")
+                    .setBody(corpo)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.ResultsSummary;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.offset;
+
+@Epic("API ServeRest")
+@Feature("Relatórios")
+public class ResultsSummaryTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path resultados() throws IOException {
+        return Files.createDirectories(diretorio.resolve("allure-results"));
+    }
+
+    /**
+     * *-result.json no formato do Allure 2, com um step POST /usuarios para cada valor de tempos
+     */
+    private void resultado(String arquivo, String historyId, String nome, String status, long inicio, long duracao,
+                           String mensagem, double... tempos) throws IOException {
+        StringBuilder passos = new StringBuilder();
+        for (double tempo : tempos) {
+            passos.append(passos.isEmpty() ? "" : ",").append(String.format(Locale.ROOT,
+                    "{\"name\":\"POST /usuarios\",\"status\":\"passed\",\"parameters\":[{\"name\":\"status\",\"value\":\"201\"},"
+                            + "{\"name\":\"tempo (ms)\",\"value\":\"%.1f\"}],\"steps\":[],\"attachments\":[]}", tempo));
+        }
+        String json = String.format("{\"uuid\":\"%s\",\"historyId\":\"%s\",\"fullName\":\"UsuariosTest.%s\",\"name\":\"%s\","
+                        + "\"status\":\"%s\",\"statusDetails\":{\"message\":%s,\"flaky\":false},\"start\":%d,\"stop\":%d,"
+                        + "\"labels\":[{\"name\":\"testClass\",\"value\":\"br.com.serverest.tests.UsuariosTest\"},"
+                        + "{\"name\":\"feature\",\"value\":\"Usuários\"}],"
+                        + "\"steps\":[{\"name\":\"Cadastrar\",\"status\":\"passed\",\"steps\":[%s]}],\"extra\":{\"a\":[1]}}",
+                arquivo, historyId, nome, nome, status, mensagem == null ? "null" : "\"" + mensagem + "\"",
+                inicio, inicio + duracao, passos);
+        Files.writeString(resultados().resolve(arquivo + "-result.json"), json, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Resumo deve totalizar status, durações e tempos por endpoint dos resultados do Allure")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Resumo dos Resultados")
+    public void testTotaisEEndpoints() throws IOException {
+        resultado("a", "h1", "testCadastrar", "passed", 1_000, 200, null, 10, 30);
+        resultado("b", "h2", "testEditar", "failed", 1_100, 900, "esperado <200> mas foi <400>", 50);
+        resultado("c", "h3", "testExcluir", "broken", 1_300, 100, "Connection refused");
+        // mesmo teste numa execução anterior: vale o resultado mais recente
+        resultado("d", "h2", "testEditar", "passed", 500, 100, null, 1_000);
+        Files.writeString(resultados().resolve("x-attachment.html"), "<p>não é resultado</p>");
+
+        ResultsSummary.Resumo resumo = new ResultsSummary(resultados(), diretorio.resolve("resumo")).atualizar();
+
+        assertThat(resumo.totais()).containsExactly(entry("passed", 1L), entry("failed", 1L), entry("broken", 1L),
+                entry("skipped", 0L), entry("unknown", 0L));
+        assertThat(resumo.duracaoMs()).isEqualTo(1_000);
+        assertThat(resumo.falhas()).extracting(ResultsSummary.Teste::nome).containsExactly("testEditar", "testExcluir");
+        assertThat(resumo.maisLentos().get(0).nome()).isEqualTo("testEditar");
+        assertThat(resumo.classes()).singleElement().satisfies(classe -> {
+            assertThat(classe.classe()).isEqualTo("UsuariosTest");
+            assertThat(classe.testes()).isEqualTo(3);
+            assertThat(classe.falhas()).isEqualTo(2);
+        });
+
+        ResultsSummary.Endpoint endpoint = resumo.endpoints().get(0);
+        assertThat(resumo.endpoints()).hasSize(1);
+        assertThat(endpoint.endpoint()).isEqualTo("POST /usuarios");
+        assertThat(endpoint.requisicoes()).isEqualTo(3);
+        assertThat(endpoint.mediaMs()).isCloseTo(30, offset(1.0));
+        assertThat(endpoint.maximoMs()).isCloseTo(50, offset(1.0));
+
+        String html = Files.readString(diretorio.resolve("resumo/index.html"));
+        assertThat(html).contains("esperado &lt;200&gt; mas foi &lt;400&gt;").contains("POST /usuarios");
+        assertThat(Files.readString(diretorio.resolve("resumo/summary.json"))).contains("\"passed\" : 1");
+    }
+
+    @Test
+    @DisplayName("Nova passada deve ler só os resultados novos ou alterados")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Resumo dos Resultados")
+    public void testAtualizacaoIncremental() throws IOException {
+        for (int i = 0; i < 200; i++) {
+            resultado("r" + i, "h" + i, "teste" + i, "passed", 1_000 + i, 10, null, i % 20);
+        }
+        ResultsSummary resumo = new ResultsSummary(resultados(), diretorio.resolve("resumo"));
+        assertThat(resumo.atualizar().lidos()).isEqualTo(200);
+
+        resultado("novo", "hnovo", "testeNovo", "failed", 5_000, 10, "falhou");
+        Files.writeString(resultados().resolve("parcial-result.json"), "{\"uuid\":\"parc");
+        ResultsSummary.Resumo segunda = new ResultsSummary(resultados(), diretorio.resolve("resumo")).atualizar();
+        assertThat(segunda.lidos()).isEqualTo(1);
+        assertThat(segunda.doIndice()).isEqualTo(200);
+        assertThat(segunda.ilegiveis()).isEqualTo(1);
+        assertThat(segunda.total()).isEqualTo(201);
+        assertThat(segunda.endpoints().get(0).requisicoes()).isEqualTo(200);
+
+        Files.delete(resultados().resolve("parcial-result.json"));
+        Files.delete(resultados().resolve("r0-result.json"));
+        resultado("r1", "h1", "teste1", "broken", 1_001, 10, "quebrou agora");
+        ResultsSummary.Resumo terceira = resumo.atualizar();
+        assertThat(terceira.lidos()).isEqualTo(1);
+        assertThat(terceira.ilegiveis()).isZero();
+        assertThat(terceira.total()).isEqualTo(200);
+        assertThat(terceira.falhas()).extracting(ResultsSummary.Teste::mensagem)
+                .containsExactlyInAnyOrder("quebrou agora", "falhou");
+    }
+
+    @Test
+    @DisplayName("Parâmetro numérico ilegível em um step não deve interromper o resumo")
+    @Story("Resumo dos Resultados")
+    public void testParametroIlegivel() throws IOException {
+        resultado("a", "h1", "testCadastrar", "passed", 1_000, 200, null, 10);
+        Files.writeString(resultados().resolve("b-result.json"), """
+                {"uuid":"b","historyId":"h2","fullName":"UsuariosTest.testEditar","name":"testEditar",
+                 "status":"passed","start":1100,"stop":1200,
+                 "labels":[{"name":"testClass","value":"br.com.serverest.tests.UsuariosTest"}],
+                 "steps":[{"name":"POST /usuarios","status":"passed","parameters":[
+                   {"name":"status","value":"n/d"},{"name":"tempo (ms)","value":"12,5"}],"steps":[]}]}
+                """, StandardCharsets.UTF_8);
+
+        ResultsSummary.Resumo resumo = new ResultsSummary(resultados(), diretorio.resolve("resumo")).atualizar();
+
+        assertThat(resumo.ilegiveis()).isZero();
+        assertThat(resumo.total()).isEqualTo(2);
+        assertThat(resumo.endpoints()).singleElement().satisfies(endpoint -> {
+            assertThat(endpoint.requisicoes()).isEqualTo(2);
+            assertThat(endpoint.semResposta()).isEqualTo(1);
+            assertThat(endpoint.mediaMs()).isCloseTo(10, offset(1.0));
+        });
+    }
+}
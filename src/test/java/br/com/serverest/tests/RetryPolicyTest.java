@@ -0,0 +1,99 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.http.CircuitBreakerOpenException;
+import br.com.serverest.http.RetryPolicy;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class RetryPolicyTest {
+
+    private final RetryPolicy politica = new RetryPolicy(true, 3, 1, 5);
+    private final AtomicInteger chamadas = new AtomicInteger();
+
+    /**
+     * Responde cada status em sequência; o último se repete
+     */
+    private Supplier<Response> statuses(int... statusCodes) {
+        return () -> {
+            int chamada = chamadas.getAndIncrement();
+            int statusCode = statusCodes[Math.min(chamada, statusCodes.length - 1)];
+            return new ResponseBuilder().setStatusCode(statusCode).setBody("").build();
+        };
+    }
+
+    private Supplier<Response> erro(RuntimeException erro) {
+        return () -> {
+            chamadas.incrementAndGet();
+            throw erro;
+        };
+    }
+
+    @Test
+    @DisplayName("Gateway transitório deve ser retentado até a recuperação")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Retentativa com Backoff")
+    public void testRecuperaAposGatewayTransitorio() {
+        Response response = politica.executar(statuses(503, 502, 200));
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(chamadas.get()).isEqualTo(3);
+        assertThat(politica.metricas())
+                .containsEntry("retry.retentativas", 2L)
+                .containsEntry("retry.recuperadas", 1L)
+                .containsEntry("retry.esgotadas", 0L);
+    }
+
+    @Test
+    @DisplayName("Tentativas esgotadas devem devolver a última resposta")
+    @Story("Retentativa com Backoff")
+    public void testEsgotaComResposta() {
+        Response response = politica.executar(statuses(504));
+
+        assertThat(response.getStatusCode()).isEqualTo(504);
+        assertThat(chamadas.get()).isEqualTo(3);
+        assertThat(politica.metricas()).containsEntry("retry.esgotadas", 1L);
+    }
+
+    @Test
+    @DisplayName("Erros que não são transitórios não devem ser retentados")
+    @Story("Retentativa com Backoff")
+    public void testNaoRetentaErroDefinitivo() {
+        assertThat(politica.executar(statuses(500)).getStatusCode()).isEqualTo(500);
+        assertThat(politica.executar(statuses(400)).getStatusCode()).isEqualTo(400);
+        assertThat(chamadas.get()).isEqualTo(2);
+
+        assertThatThrownBy(() -> politica.executar(erro(new IllegalStateException("corpo inválido"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> politica.executar(erro(new CircuitBreakerOpenException("aberto"))))
+                .isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(chamadas.get()).isEqualTo(4);
+        assertThat(politica.metricas()).containsEntry("retry.retentativas", 0L);
+    }
+
+    @Test
+    @DisplayName("Timeout deve ser retentado e propagado ao esgotar as tentativas")
+    @Story("Retentativa com Backoff")
+    public void testTimeoutEsgotado() {
+        UncheckedIOException timeout = new UncheckedIOException(new SocketTimeoutException("Read timed out"));
+
+        assertThatThrownBy(() -> politica.executar(erro(timeout))).isSameAs(timeout);
+
+        assertThat(chamadas.get()).isEqualTo(3);
+        assertThat(politica.metricas())
+                .containsEntry("retry.retentativas", 2L)
+                .containsEntry("retry.esgotadas", 1L);
+    }
+}
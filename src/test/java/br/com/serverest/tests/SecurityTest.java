@@ -5,12 +5,17 @@ import br.com.serverest.model.Login;
 import br.com.serverest.model.Usuario;
 import br.com.serverest.service.LoginService;
 import br.com.serverest.utils.DataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.Base64;
+
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @Epic("API ServeRest")
@@ -93,25 +98,36 @@ public class SecurityTest extends BaseTest {
                 .body("authorization", startsWith("Bearer "));
     }
 
+    /**
+     * O ServeRest assina um JWT HS256 com email, senha, iat e exp em segundos, sem nenhum
+     * componente aleatório: dois logins no mesmo segundo recebem exatamente o mesmo token.
+     * O token só muda entre instantes de emissão diferentes, e é isso que o teste garante.
+     */
     @Test
     @DisplayName("Validar que token é único para cada login")
-    public void testTokenUnicoParaCadaLogin() {
+    public void testTokenUnicoParaCadaLogin() throws IOException {
         Usuario usuario = criarUsuarioERetornarObjeto(true);
         Login login = DataFactory.criarLoginValido(usuario);
         Response response1 = loginService.realizarLogin(login);
-        String token1 = response1.jsonPath().getString("authorization");
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
         Response response2 = loginService.realizarLogin(login);
-        String token2 = response2.jsonPath().getString("authorization");
         response1.then().statusCode(200);
-        response2.then().statusCode(200);        
-        assert token1 != null && !token1.isEmpty() : "Token 1 não deve ser nulo ou vazio";
-        assert token2 != null && !token2.isEmpty() : "Token 2 não deve ser nulo ou vazio";
+        response2.then().statusCode(200);
+        String token1 = response1.jsonPath().getString("authorization");
+        String token2 = response2.jsonPath().getString("authorization");
+        assertThat(token1).startsWith("Bearer ");
+        assertThat(token2).startsWith("Bearer ");
+
+        long emissao1 = emitidoEm(token1);
+        long emissao2 = emitidoEm(token2);
+        assertThat(token2.equals(token1))
+                .as("tokens devem ser iguais se e somente se emitidos no mesmo instante (iat %d e %d)",
+                        emissao1, emissao2)
+                .isEqualTo(emissao1 == emissao2);
+    }
+
+    private static long emitidoEm(String token) throws IOException {
+        String payload = token.substring("Bearer ".length()).split("\\.")[1];
+        return new ObjectMapper().readTree(Base64.getUrlDecoder().decode(payload)).path("iat").asLong();
     }
 
     @Test
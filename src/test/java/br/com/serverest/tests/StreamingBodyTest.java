@@ -0,0 +1,194 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.HttpBudgetExtension;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.service.BaseService;
+import br.com.serverest.utils.StreamingBody;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Desempenho do Cliente")
+public class StreamingBodyTest {
+
+    private static final long CINQUENTA_MB = 50L << 20;
+
+    private HttpServer servidor;
+    private final AtomicLong recebidos = new AtomicLong();
+    private final AtomicReference<String> requisicao = new AtomicReference<>();
+    private final AtomicReference<String> contentType = new AtomicReference<>();
+    private final AtomicReference<String> transferEncoding = new AtomicReference<>();
+
+    /**
+     * Os envios para o servidor local contam numa contabilidade própria, fora das métricas da suíte
+     */
+    private final HttpUsage.Contabilidade contabilidade = new HttpUsage.Contabilidade();
+
+    @RegisterExtension
+    final HttpBudgetExtension orcamento = new HttpBudgetExtension(contabilidade);
+
+    /**
+     * Service apontado para o servidor local pelos doPost/doPut de StreamingBody do
+     * BaseService, em modo direto para o circuit breaker da API não barrar o localhost
+     */
+    private static final class ServicoLocal extends BaseService {
+        private final int porta;
+
+        private ServicoLocal(int porta) {
+            super(null, false, true);
+            this.porta = porta;
+        }
+
+        @Override
+        protected String getBasePath() {
+            return "/upload";
+        }
+
+        @Override
+        protected RequestSpecification getRequestSpec() {
+            return super.getRequestSpec()
+                    .baseUri("http://localhost:" + porta)
+                    .basePath("");
+        }
+
+        private Response enviar(StreamingBody corpo) {
+            return doPost(corpo);
+        }
+
+        private Response substituir(String id, StreamingBody corpo) {
+            return doPut(id, corpo);
+        }
+    }
+
+    @BeforeEach
+    public void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/upload", troca -> {
+            requisicao.set(troca.getRequestMethod() + " " + troca.getRequestURI().getPath());
+            contentType.set(troca.getRequestHeaders().getFirst("Content-Type"));
+            transferEncoding.set(troca.getRequestHeaders().getFirst("Transfer-Encoding"));
+            recebidos.set(troca.getRequestBody().transferTo(OutputStream.nullOutputStream()));
+            byte[] resposta = "{\"message\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(201, resposta.length);
+            try (OutputStream corpo = troca.getResponseBody()) {
+                corpo.write(resposta);
+            }
+        });
+        servidor.start();
+    }
+
+    @AfterEach
+    public void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Concatenação de texto, gerador e ByteBuffer deve produzir os bytes na ordem")
+    @Story("Corpo em Streaming")
+    public void testConcatenacao() throws IOException {
+        ByteBuffer direto = ByteBuffer.allocateDirect(3).put("xyz".getBytes(StandardCharsets.US_ASCII)).flip();
+        StreamingBody corpo = StreamingBody.concatenar(
+                StreamingBody.texto("{\"nome\":\""),
+                StreamingBody.repetir((byte) 'a', 100_000),
+                StreamingBody.deByteBuffer(direto),
+                StreamingBody.de(new ByteArrayInputStream("\"}".getBytes(StandardCharsets.UTF_8)), -1));
+
+        String lido = new String(corpo.readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(lido).isEqualTo("{\"nome\":\"" + "a".repeat(100_000) + "xyz\"}");
+        assertThat(corpo.getTamanho()).isEqualTo(-1);
+        assertThat(corpo.getBytesLidos()).isEqualTo(lido.length());
+        assertThat(corpo.getFimNanos()).isPositive();
+        assertThat(direto.position()).as("posição do ByteBuffer de origem").isZero();
+    }
+
+    @Test
+    @DisplayName("Gerador que escreve blocos parciais deve ter o tamanho somado")
+    @Story("Corpo em Streaming")
+    public void testGeradorEmBlocos() throws IOException {
+        int[] chamadas = {0};
+        StreamingBody corpo = StreamingBody.gerado(-1, bloco -> {
+            bloco.put((byte) ('0' + chamadas[0]));
+            return ++chamadas[0] < 5;
+        });
+
+        assertThat(new String(corpo.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("01234");
+        assertThat(StreamingBody.repetir((byte) 'b', 10).getTamanho()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("POST e PUT do BaseService devem enviar o corpo em chunks, lido uma única vez")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corpo em Streaming")
+    public void testEnvioPeloService() {
+        ServicoLocal servico = new ServicoLocal(servidor.getAddress().getPort());
+        StreamingBody criacao = StreamingBody.repetir((byte) 'a', 1 << 20);
+
+        Response criado = servico.enviar(criacao);
+
+        assertThat(criado.statusCode()).isEqualTo(201);
+        assertThat(requisicao.get()).isEqualTo("POST /upload");
+        assertThat(recebidos.get()).isEqualTo(1 << 20);
+        assertThat(criacao.getBytesLidos()).isEqualTo(1 << 20);
+        assertThat(contentType.get()).startsWith("application/json");
+        assertThat(transferEncoding.get()).isEqualToIgnoringCase("chunked");
+
+        StreamingBody atualizacao = StreamingBody.texto("{\"nome\":\"Fulano\"}");
+        Response atualizado = servico.substituir("abc123", atualizacao);
+
+        assertThat(atualizado.statusCode()).isEqualTo(201);
+        assertThat(requisicao.get()).isEqualTo("PUT /upload/abc123");
+        assertThat(recebidos.get()).isEqualTo(atualizacao.getBytesLidos()).isEqualTo(17);
+        assertThat(contabilidade.metricas()).containsEntry("http.requisicoes", 2L);
+        assertThat((long) contabilidade.metricas().get("http.bytes.enviados")).isGreaterThan((1 << 20) + 17);
+    }
+
+    /**
+     * Envia 50 MB (ao servidor local), então fica com a varredura de payload: mvn test -Ppayload
+     */
+    @Test
+    @Tag("payload")
+    @DisplayName("Payload de 50 MB deve ser enviado em chunks sem ficar no heap")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Corpo em Streaming")
+    public void testPayloadGrandeSemHeap() {
+        ServicoLocal servico = new ServicoLocal(servidor.getAddress().getPort());
+        // aquece o RestAssured para a alocação medida ser só a do envio
+        servico.enviar(StreamingBody.texto("{}"));
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        StreamingBody corpo = StreamingBody.concatenar(StreamingBody.texto("{\"nome\":\""),
+                StreamingBody.repetir((byte) 'a', CINQUENTA_MB - 11), StreamingBody.texto("\"}"));
+
+        long antes = threads.getCurrentThreadAllocatedBytes();
+        Response response = servico.enviar(corpo);
+        long alocado = threads.getCurrentThreadAllocatedBytes() - antes;
+
+        assertThat(response.statusCode()).isEqualTo(201);
+        assertThat(recebidos.get()).isEqualTo(CINQUENTA_MB);
+        assertThat(corpo.getBytesLidos()).isEqualTo(CINQUENTA_MB);
+        assertThat(contentType.get()).startsWith("application/json");
+        assertThat(transferEncoding.get()).isEqualToIgnoringCase("chunked");
+        assertThat(alocado).as("bytes alocados pelo cliente para enviar 50 MB").isLessThan(8L << 20);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.config.BaseTest;
+import br.com.serverest.selection.ClassDependencies;
+import br.com.serverest.selection.TestSelection;
+import br.com.serverest.service.BaseService;
+import br.com.serverest.service.LoginService;
+import br.com.serverest.utils.DataFactory;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("API ServeRest")
+@Feature("Seleção de Testes")
+public class TestSelectionTest {
+
+    private static final String LOGIN = LoginTest.class.getName();
+    private static final String USUARIOS = UsuariosTest.class.getName();
+    private static final String URI = "https://serverest.dev";
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Bytecode do classpath, com as classes em alteradas modificadas (como depois de uma edição)
+     */
+    private final Set<String> alteradas = new HashSet<>();
+    private final ClassDependencies classpath = ClassDependencies.doClasspath();
+
+    private TestSelection selecao(String baseUri, String ambiente, Duration validade) {
+        ClassDependencies dependencias = new ClassDependencies(classe -> {
+            byte[] bytecode = ClassDependencies.lerDoClasspath(classe);
+            return bytecode != null && alteradas.contains(classe) ? Arrays.copyOf(bytecode, bytecode.length + 1) : bytecode;
+        });
+        return new TestSelection(true, diretorio.resolve("test-selection.json"), baseUri, ambiente, validade, dependencias);
+    }
+
+    private TestSelection selecao() {
+        return selecao(URI, "ambiente", Duration.ofHours(24));
+    }
+
+    private static void executar(TestSelection selecao, String classe, String status) {
+        selecao.decidir(classe);
+        selecao.registrar(classe, new TestSelection.Teste("[class:" + classe + "]/[method:teste()]", "teste",
+                "teste", status, 10));
+    }
+
+    @Test
+    @DisplayName("Dependências devem ser lidas do bytecode, de forma transitiva")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Seleção Incremental")
+    public void testDependenciasDoBytecode() {
+        assertThat(classpath.referencias(LOGIN))
+                .contains(LoginService.class.getName(), BaseTest.class.getName(), DataFactory.class.getName())
+                .doesNotContain(LOGIN);
+        assertThat(classpath.fechamento(LOGIN)).contains(LOGIN, BaseService.class.getName());
+        assertThat(classpath.fechamento(USUARIOS)).doesNotContain(LoginService.class.getName());
+    }
+
+    @Test
+    @DisplayName("Só as classes afetadas pela mudança devem rodar de novo")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Seleção Incremental")
+    public void testReaproveitaSoOQueNaoMudou() {
+        TestSelection primeira = selecao();
+        executar(primeira, LOGIN, "SUCCESSFUL");
+        executar(primeira, USUARIOS, "SUCCESSFUL");
+        assertThat(primeira.getReaproveitadas()).isEmpty();
+        assertThat(primeira.decidir(LOGIN).motivo()).isEqualTo("sem resultado anterior");
+        primeira.salvar();
+
+        TestSelection semMudanca = selecao();
+        assertThat(semMudanca.decidir(LOGIN).reaproveitar()).isTrue();
+        assertThat(semMudanca.decidir(USUARIOS).reaproveitar()).isTrue();
+
+        alteradas.add(LoginService.class.getName());
+        TestSelection comMudanca = selecao();
+        TestSelection.Decisao login = comMudanca.decidir(LOGIN);
+        assertThat(login.reaproveitar()).isFalse();
+        assertThat(login.motivo()).isEqualTo("mudaram: LoginService");
+        assertThat(comMudanca.decidir(USUARIOS).reaproveitar()).isTrue();
+        assertThat(comMudanca.metricas()).containsEntry("selection.classes.executadas", 1)
+                .containsEntry("selection.classes.reaproveitadas", 1)
+                .containsEntry("selection.testes.reaproveitados", 1L);
+        assertThat(comMudanca.formatar()).contains("executada     LoginTest").contains("mudaram: LoginService");
+    }
+
+    @Test
+    @DisplayName("Falha, expiração, outra base.uri ou outra configuração devem forçar a execução")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Seleção Incremental")
+    public void testCondicoesQueForcamExecucao() {
+        TestSelection primeira = selecao();
+        executar(primeira, LOGIN, "FAILED");
+        executar(primeira, USUARIOS, "SUCCESSFUL");
+        primeira.salvar();
+
+        assertThat(selecao().decidir(LOGIN).motivo()).isEqualTo("falhou na última execução");
+        assertThat(selecao(URI, "ambiente", Duration.ofSeconds(-1)).decidir(USUARIOS).motivo()).endsWith("expirou");
+        assertThat(selecao("http://localhost:3000", "ambiente", Duration.ofHours(24)).decidir(USUARIOS).motivo())
+                .isEqualTo("base.uri mudou de " + URI);
+        assertThat(selecao(URI, "outro ambiente", Duration.ofHours(24)).decidir(USUARIOS).motivo())
+                .isEqualTo("configuração ou bibliotecas mudaram");
+    }
+}
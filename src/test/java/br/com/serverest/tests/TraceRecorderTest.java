@@ -0,0 +1,118 @@
+package br.com.serverest.tests;
+
+import br.com.serverest.report.TraceRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Epic("API ServeRest")
+@Feature("Relatórios")
+public class TraceRecorderTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    Path diretorio;
+
+    @BeforeEach
+    void exigirTrace() {
+        assumeTrue(TraceRecorder.isAtivo(), "trace.enabled=false");
+    }
+
+    /**
+     * Eventos exportados de uma categoria; a linha do tempo é global e recebe eventos
+     * de todos os testes da suíte, por isso cada teste usa uma categoria própria
+     */
+    private List<JsonNode> eventos(Path arquivo, String categoria) throws IOException {
+        List<JsonNode> eventos = new ArrayList<>();
+        for (JsonNode evento : JSON.readTree(arquivo.toFile()).get("traceEvents")) {
+            if (categoria.equals(evento.path("cat").asText())) {
+                eventos.add(evento);
+            }
+        }
+        return eventos;
+    }
+
+    @Test
+    @DisplayName("Eventos de virtual threads encerradas devem ser exportados sem manter um buffer por thread")
+    @Description("Grava um evento em cada uma de 2.000 virtual threads; após a exportação os buffers das threads "
+            + "encerradas foram fundidos e todos os eventos continuam na linha do tempo com o nome da thread")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Linha do Tempo")
+    public void testThreadsEncerradasSaoRecolhidas() throws Exception {
+        String categoria = "teste-" + UUID.randomUUID();
+        int threads = 2_000;
+        List<Thread> virtuais = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int indice = i;
+            virtuais.add(Thread.ofVirtual().name("virtual-" + indice).start(() ->
+                    TraceRecorder.registrar(categoria, "evento-" + indice, System.nanoTime(), Map.of("i", indice))));
+        }
+        for (Thread thread : virtuais) {
+            thread.join();
+        }
+
+        Path arquivo = diretorio.resolve("timeline.json");
+        TraceRecorder.exportar(arquivo);
+
+        List<JsonNode> exportados = eventos(arquivo, categoria);
+        assertThat(exportados).hasSize(threads);
+        assertThat(exportados).extracting(evento -> evento.path("args").path("i").asText()).doesNotHaveDuplicates();
+        assertThat(exportados.getFirst().path("tid").asLong()).isEqualTo(virtuais.getFirst().threadId());
+        List<String> nomesDeThreads = new ArrayList<>();
+        for (JsonNode evento : JSON.readTree(arquivo.toFile()).get("traceEvents")) {
+            if ("thread_name".equals(evento.path("name").asText())) {
+                nomesDeThreads.add(evento.path("args").path("name").asText());
+            }
+        }
+        assertThat(nomesDeThreads).contains("virtual-0", "virtual-" + (threads - 1));
+        // sobram só os buffers das threads vivas da suíte (workers do JUnit, pools)
+        assertThat((Integer) TraceRecorder.metricas().get("trace.buffers")).isLessThan(threads / 10);
+    }
+
+    @Test
+    @DisplayName("Exportação concorrente com gravação deve produzir uma linha do tempo consistente")
+    @Description("Uma thread grava 50.000 eventos enquanto a linha do tempo é exportada várias vezes; "
+            + "cada exportação é um JSON válido com um prefixo crescente dos eventos e a última contém todos")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Linha do Tempo")
+    public void testExportacaoDuranteGravacao() throws Exception {
+        String categoria = "teste-" + UUID.randomUUID();
+        int total = 50_000;
+        Thread gravadora = Thread.ofPlatform().name("gravadora").start(() -> {
+            for (int indice = 0; indice < total; indice++) {
+                TraceRecorder.registrar(categoria, "evento-" + indice, System.nanoTime(), Map.of("i", indice));
+            }
+        });
+        int anterior = 0;
+        for (int i = 0; i < 5 && gravadora.isAlive(); i++) {
+            Path arquivo = diretorio.resolve("parcial-" + i + ".json");
+            TraceRecorder.exportar(arquivo);
+            List<JsonNode> exportados = eventos(arquivo, categoria);
+            assertThat(exportados.size()).isGreaterThanOrEqualTo(anterior);
+            for (int j = 0; j < exportados.size(); j++) {
+                assertThat(exportados.get(j).path("name").asText()).isEqualTo("evento-" + j);
+            }
+            anterior = exportados.size();
+        }
+        gravadora.join();
+
+        Path arquivo = diretorio.resolve("timeline.json");
+        TraceRecorder.exportar(arquivo);
+        assertThat(eventos(arquivo, categoria)).hasSize(total);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.serverest.tests;
 
 import br.com.serverest.config.BaseTest;
 import br.com.serverest.model.Usuario;
+import br.com.serverest.report.HttpBudget;
 import br.com.serverest.service.UsuarioService;
 import br.com.serverest.utils.DataFactory;
 import io.qameta.allure.*;
@@ -26,6 +27,7 @@ public class UsuariosTest extends BaseTest {
     @Description("Verifica se a API retorna a lista de todos os usuários cadastrados com sucesso")
     @Severity(SeverityLevel.CRITICAL)
     @Story("Listagem de Usuários")
+    @HttpBudget(maxRequisicoes = 1)
     public void testListarUsuarios() {
         Response response = usuarioService.listarUsuarios();
         response.then()
@@ -33,7 +35,8 @@ public class UsuariosTest extends BaseTest {
                 .body("usuarios", notNullValue())
                 .body("quantidade", greaterThanOrEqualTo(0));
         
-        int totalUsuarios = usuarioService.contarUsuarios();
+        // a própria listagem traz a quantidade: contarUsuarios() baixaria a lista inteira de novo
+        int totalUsuarios = response.jsonPath().getInt("quantidade");
         anexarLog("Total de usuários cadastrados: " + totalUsuarios);
     }
 
@@ -42,6 +45,7 @@ public class UsuariosTest extends BaseTest {
     @Description("Valida o cadastro de um novo usuário com todos os campos válidos")
     @Severity(SeverityLevel.BLOCKER)
     @Story("Cadastro de Usuários")
+    @HttpBudget(maxRequisicoes = 2)
     public void testCadastrarUsuario() {
         Usuario usuario = DataFactory.criarUsuarioValido(true);
 
@@ -492,7 +496,8 @@ public class UsuariosTest extends BaseTest {
         Response response = usuarioService.editarUsuario(userId, usuarioEditado);
         validarRespostaOperacaoSucesso(response, "Registro alterado com sucesso");
 
-        Response buscaResponse = usuarioService.buscarUsuarioPorId(userId);
+        Response buscaResponse = usuarioService.aguardarUsuario(userId, "nome editado",
+                busca -> "Nome Editado".equals(busca.jsonPath().getString("nome")));
         buscaResponse.then()
                 .body("nome", equalTo("Nome Editado"));
     }
@@ -514,7 +519,8 @@ public class UsuariosTest extends BaseTest {
         Response response = usuarioService.editarUsuario(userId, usuarioEditado);
         validarRespostaOperacaoSucesso(response, "Registro alterado com sucesso");
 
-        Response buscaResponse = usuarioService.buscarUsuarioPorId(userId);
+        Response buscaResponse = usuarioService.aguardarUsuario(userId, "email editado",
+                busca -> novoEmail.equals(busca.jsonPath().getString("email")));
         buscaResponse.then()
                 .body("email", equalTo(novoEmail));
     }
@@ -535,7 +541,8 @@ public class UsuariosTest extends BaseTest {
         Response response = usuarioService.editarUsuario(userId, usuarioEditado);
         validarRespostaOperacaoSucesso(response, "Registro alterado com sucesso");
 
-        Response buscaResponse = usuarioService.buscarUsuarioPorId(userId);
+        Response buscaResponse = usuarioService.aguardarUsuario(userId, "administrador editado",
+                busca -> "true".equals(busca.jsonPath().getString("administrador")));
         buscaResponse.then()
                 .body("administrador", equalTo("true"));
     }
@@ -566,7 +573,7 @@ public class UsuariosTest extends BaseTest {
         Response deleteResponse = usuarioService.excluirUsuario(userId);
         validarRespostaOperacaoSucesso(deleteResponse, "Registro excluído com sucesso");
 
-        Response buscaResponse = usuarioService.buscarUsuarioPorId(userId);
+        Response buscaResponse = usuarioService.aguardarRemocao(userId);
         buscaResponse.then()
                 .statusCode(400)
                 .body("message", equalTo("Usuário não encontrado"));
@@ -575,21 +582,11 @@ public class UsuariosTest extends BaseTest {
     @Test
     @DisplayName("Validar tamanho máximo dos campos")
     public void testValidarTamanhoMaximoCampos() {
-        // Criar strings muito longas
-        StringBuilder nomeLongo = new StringBuilder();
-        for (int i = 0; i < 500; i++) {
-            nomeLongo.append("a");
-        }
-
-        StringBuilder senhaLonga = new StringBuilder();
-        for (int i = 0; i < 500; i++) {
-            senhaLonga.append("b");
-        }
-
+        // Campos de 500 caracteres; payloads de 1 KB a 50 MB ficam no PayloadSizeTest (-Ppayload)
         Usuario usuario = Usuario.builder()
-                .nome(nomeLongo.toString())
+                .nome("a".repeat(500))
                 .email(DataFactory.gerarEmailAleatorio())
-                .password(senhaLonga.toString())
+                .password("b".repeat(500))
                 .administrador("false")
                 .build();
 
@@ -0,0 +1,153 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.config.TestConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static br.com.serverest.report.AllureSteps.step;
+
+/**
+ * Espera por condição, no lugar de Thread.sleep fixo ou de uma verificação única
+ * A leitura é repetida até a condição valer ou o prazo acabar, com intervalos que
+ * dobram a cada tentativa (await.poll.initial.ms até await.poll.max.ms): um backend
+ * já consistente custa uma leitura, um eventualmente consistente custa só as
+ * necessárias. Entre tentativas a thread é estacionada com LockSupport.parkNanos,
+ * que em virtual threads libera a carrier em vez de bloqueá-la.
+ * Cada espera vira um step no Allure com as leituras dentro e, ao final, a
+ * quantidade de tentativas e o tempo total.
+ */
+public final class Await {
+
+    private static final int EXIBICAO_MAXIMA = 500;
+
+    private final Duration prazo;
+    private final Duration intervaloInicial;
+    private final Duration intervaloMaximo;
+
+    private static final class Holder {
+        private static final Await PADRAO = new Await(
+                Duration.ofMillis(TestConfig.getLong("await.timeout.ms", 10_000)),
+                Duration.ofMillis(TestConfig.getLong("await.poll.initial.ms", 25)),
+                Duration.ofMillis(TestConfig.getLong("await.poll.max.ms", 1_000)));
+    }
+
+    public Await(Duration prazo, Duration intervaloInicial, Duration intervaloMaximo) {
+        if (prazo.isNegative() || intervaloInicial.isNegative() || intervaloMaximo.compareTo(intervaloInicial) < 0) {
+            throw new IllegalArgumentException(String.format("Prazo e intervalos inválidos: %s, %s..%s",
+                    prazo, intervaloInicial, intervaloMaximo));
+        }
+        this.prazo = prazo;
+        this.intervaloInicial = intervaloInicial;
+        this.intervaloMaximo = intervaloMaximo;
+    }
+
+    /**
+     * Espera com os valores de config.properties
+     */
+    public static Await padrao() {
+        return Holder.PADRAO;
+    }
+
+    public Await comPrazo(Duration prazo) {
+        return new Await(prazo, intervaloInicial, intervaloMaximo);
+    }
+
+    /**
+     * Repete a leitura até a condição valer e devolve a leitura que a satisfez
+     *
+     * @throws AssertionError se o prazo acabar, com a última leitura na mensagem
+     */
+    public <T> T ate(String descricao, Supplier<T> leitura, Predicate<? super T> condicao) {
+        return step("Aguardar: {descricao}", () -> {
+            Espera<T> espera = aguardar(leitura, condicao);
+            if (!espera.atingida) {
+                throw new AssertionError(String.format(Locale.ROOT,
+                        "%s: condição não atingida em %d ms (%d tentativas). Última leitura: %s",
+                        descricao, espera.millis, espera.tentativas, descrever(espera.ultima)));
+            }
+            return espera.ultima;
+        }, "descricao", descricao, "prazo", prazo);
+    }
+
+    /**
+     * Repete a verificação até ela não lançar AssertionError; no fim do prazo,
+     * relança o último AssertionError
+     */
+    public void ateValer(String descricao, Runnable verificacao) {
+        step("Aguardar: {descricao}", () -> {
+            Espera<AssertionError> espera = aguardar(() -> {
+                try {
+                    verificacao.run();
+                    return null;
+                } catch (AssertionError e) {
+                    return e;
+                }
+            }, erro -> erro == null);
+            if (!espera.atingida) {
+                espera.ultima.addSuppressed(new AssertionError(String.format(Locale.ROOT,
+                        "%s: condição não atingida em %d ms (%d tentativas)", descricao, espera.millis, espera.tentativas)));
+                throw espera.ultima;
+            }
+            return null;
+        }, "descricao", descricao, "prazo", prazo);
+    }
+
+    private <T> Espera<T> aguardar(Supplier<T> leitura, Predicate<? super T> condicao) {
+        long inicio = System.nanoTime();
+        long limite = inicio + prazo.toNanos();
+        long intervalo = Math.max(1, intervaloInicial.toNanos());
+        int tentativas = 0;
+        while (true) {
+            tentativas++;
+            T ultima = leitura.get();
+            boolean atingida = condicao.test(ultima);
+            long restante = limite - System.nanoTime();
+            if (atingida || restante <= 0) {
+                long millis = (System.nanoTime() - inicio) / 1_000_000;
+                registrar(tentativas, millis);
+                return new Espera<>(ultima, atingida, tentativas, millis);
+            }
+            estacionar(Math.min(intervalo, restante));
+            intervalo = Math.min(intervaloMaximo.toNanos(), intervalo * 2);
+        }
+    }
+
+    /**
+     * parkNanos pode voltar antes (spurious wakeup): estaciona de novo até o fim do intervalo
+     */
+    private static void estacionar(long nanos) {
+        long fim = System.nanoTime() + nanos;
+        for (long restante = nanos; restante > 0; restante = fim - System.nanoTime()) {
+            LockSupport.parkNanos(Await.class, restante);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrompido durante a espera");
+            }
+        }
+    }
+
+    private static void registrar(int tentativas, long millis) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isPresent()) {
+            lifecycle.updateStep(passo -> passo.setName(String.format(Locale.ROOT, "%s (%d tentativas, %d ms)",
+                    passo.getName(), tentativas, millis)));
+        }
+    }
+
+    private static String descrever(Object leitura) {
+        String texto = leitura instanceof Response response
+                ? "status " + response.getStatusCode() + " " + response.asString()
+                : String.valueOf(leitura);
+        return texto.length() <= EXIBICAO_MAXIMA ? texto : texto.substring(0, EXIBICAO_MAXIMA) + "...";
+    }
+
+    private record Espera<T>(T ultima, boolean atingida, int tentativas, long millis) {
+    }
+}
@@ -0,0 +1,279 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.config.TestConfig;
+import br.com.serverest.load.LatencyHistogram;
+import br.com.serverest.report.ConnectionTimings;
+import br.com.serverest.report.HttpUsage;
+import br.com.serverest.report.LatencyRecorder;
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Corrida de requisições: K participantes, iguais ou conflitantes, largando juntos
+ * Cada participante roda em uma virtual thread, prepara-se e espera a largada; só quando
+ * todos estão prontos a largada é dada, para que as requisições cheguem ao servidor no
+ * mesmo instante (ex.: o mesmo email cadastrado por vários clientes). O resultado traz o
+ * valor ou a exceção de cada participante, a latência de cada grupo sob contenção e a
+ * dispersão da largada (diferença entre o primeiro e o último a partir).
+ * As virtual threads não herdam o contexto do Allure (as requisições não viram anexos),
+ * mas continuam contando no uso de HTTP e nos tempos de conexão do teste; as latências
+ * ficam fora do LatencyRecorder (histórico de regressão e atraso do hedge).
+ * A latência sob contenção aparece só no Resultado.
+ *
+ * @param <T> tipo do valor produzido por participante (ex.: Response)
+ */
+public final class ConcurrencyRace<T> {
+
+    private final String nome;
+    private final List<Grupo<T>> grupos = new ArrayList<>();
+    private Duration prazo = Duration.ofMillis(TestConfig.getLong("race.timeout.ms", 60_000));
+    private Function<? super T, String> descricao = String::valueOf;
+
+    /**
+     * O que um participante faz depois da largada
+     */
+    @FunctionalInterface
+    public interface Acao<T> {
+        /**
+         * @param indice posição do participante dentro do grupo
+         */
+        T executar(int indice) throws Exception;
+    }
+
+    private record Grupo<T>(String nome, int participantes, Acao<T> acao) {
+    }
+
+    /**
+     * Desfecho de um participante
+     *
+     * @param atrasoLargadaNanos tempo entre a largada e o início da ação deste participante
+     */
+    public record Participacao<T>(String grupo, int indice, T valor, Throwable erro, long atrasoLargadaNanos,
+                                  long latenciaNanos) {
+        public boolean isSucesso() {
+            return erro == null;
+        }
+    }
+
+    private ConcurrencyRace(String nome) {
+        this.nome = nome;
+    }
+
+    public static <T> ConcurrencyRace<T> nova(String nome) {
+        return new ConcurrencyRace<>(nome);
+    }
+
+    /**
+     * Adiciona participantes que executam a mesma ação
+     */
+    public ConcurrencyRace<T> grupo(String nome, int participantes, Acao<T> acao) {
+        if (participantes < 1) {
+            throw new IllegalArgumentException("Grupo " + nome + " sem participantes: " + participantes);
+        }
+        grupos.add(new Grupo<>(nome, participantes, acao));
+        return this;
+    }
+
+    /**
+     * Prazo para todos ficarem prontos e, de novo, para todos terminarem
+     */
+    public ConcurrencyRace<T> prazo(Duration prazo) {
+        this.prazo = prazo;
+        return this;
+    }
+
+    /**
+     * Como cada valor aparece no resumo anexado (ex.: só o status de uma Response)
+     */
+    public ConcurrencyRace<T> descricao(Function<? super T, String> descricao) {
+        this.descricao = descricao;
+        return this;
+    }
+
+    /**
+     * Executa a corrida e anexa o resumo ao Allure, quando há um teste em andamento
+     */
+    public Resultado<T> executar() {
+        Resultado<T> resultado = correr();
+        if (Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment("Corrida: " + nome, "text/plain", resultado.formatar());
+        }
+        return resultado;
+    }
+
+    private Resultado<T> correr() {
+        int total = grupos.stream().mapToInt(Grupo::participantes).sum();
+        CountDownLatch prontos = new CountDownLatch(total);
+        CountDownLatch largada = new CountDownLatch(1);
+        long[] instanteLargada = new long[1];
+        ThreadFactory fabrica = Thread.ofVirtual().name("corrida-", 0).inheritInheritableThreadLocals(false).factory();
+
+        List<Future<Participacao<T>>> futuros = new ArrayList<>(total);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(fabrica);
+        try {
+            for (Grupo<T> grupo : grupos) {
+                for (int i = 0; i < grupo.participantes(); i++) {
+                    int indice = i;
+                    // fora das amostras de latência: a contenção é proposital
+                    Supplier<Participacao<T>> participante = HttpUsage.propagarTeste(ConnectionTimings.propagarTeste(
+                            LatencyRecorder.semRegistro(() -> participar(grupo, indice, prontos, largada, instanteLargada))));
+                    futuros.add(executor.submit(participante::get));
+                }
+            }
+            if (!prontos.await(prazo.toMillis(), TimeUnit.MILLISECONDS)) {
+                largada.countDown();
+                throw new IllegalStateException(String.format("Corrida %s: só %d de %d participantes ficaram prontos",
+                        nome, total - prontos.getCount(), total));
+            }
+            // escrito antes da largada: o countDown publica o valor para os participantes
+            instanteLargada[0] = System.nanoTime();
+            largada.countDown();
+
+            long limite = System.nanoTime() + prazo.toNanos();
+            List<Participacao<T>> participacoes = new ArrayList<>(total);
+            for (Future<Participacao<T>> futuro : futuros) {
+                participacoes.add(futuro.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return new Resultado<>(nome, participacoes, descricao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido durante a corrida " + nome, e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Corrida " + nome + " não terminou em " + prazo, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro inesperado na corrida " + nome, e.getCause());
+        } finally {
+            // sem esperar participantes presos além do prazo; numa corrida completa não há mais nada rodando
+            executor.shutdownNow();
+        }
+    }
+
+    private Participacao<T> participar(Grupo<T> grupo, int indice, CountDownLatch prontos, CountDownLatch largada,
+                                       long[] instanteLargada) {
+        prontos.countDown();
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Participacao<>(grupo.nome(), indice, null, e, 0, 0);
+        }
+        long inicio = System.nanoTime();
+        long atraso = inicio - instanteLargada[0];
+        try {
+            T valor = grupo.acao().executar(indice);
+            return new Participacao<>(grupo.nome(), indice, valor, null, atraso, System.nanoTime() - inicio);
+        } catch (Throwable e) {
+            return new Participacao<>(grupo.nome(), indice, null, e, atraso, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Desfecho de todos os participantes, na ordem dos grupos
+     */
+    public static final class Resultado<T> {
+        private final String nome;
+        private final List<Participacao<T>> participacoes;
+        private final Function<? super T, String> descricao;
+
+        private Resultado(String nome, List<Participacao<T>> participacoes, Function<? super T, String> descricao) {
+            this.nome = nome;
+            this.participacoes = List.copyOf(participacoes);
+            this.descricao = descricao;
+        }
+
+        public List<Participacao<T>> getParticipacoes() {
+            return participacoes;
+        }
+
+        public List<Participacao<T>> doGrupo(String grupo) {
+            return participacoes.stream().filter(participacao -> participacao.grupo().equals(grupo)).toList();
+        }
+
+        /**
+         * Valores do grupo; relança a exceção do primeiro participante que falhou, como se a
+         * requisição tivesse sido feita na thread do teste (ex.: UnknownHostException sem rede)
+         */
+        public List<T> valores(String grupo) {
+            List<T> valores = new ArrayList<>();
+            for (Participacao<T> participacao : doGrupo(grupo)) {
+                if (!participacao.isSucesso()) {
+                    throw Resultado.<RuntimeException>relancar(participacao.erro());
+                }
+                valores.add(participacao.valor());
+            }
+            return valores;
+        }
+
+        /**
+         * Quantos participantes do grupo terminaram sem exceção e com um valor que atende à condição
+         */
+        public long contar(String grupo, Predicate<? super T> condicao) {
+            return doGrupo(grupo).stream()
+                    .filter(participacao -> participacao.isSucesso() && condicao.test(participacao.valor()))
+                    .count();
+        }
+
+        public List<Throwable> erros() {
+            return participacoes.stream().filter(participacao -> !participacao.isSucesso())
+                    .map(Participacao::erro).toList();
+        }
+
+        /**
+         * Diferença, em ms, entre o primeiro e o último participante a partir
+         */
+        public double getDispersaoLargadaMillis() {
+            long minimo = participacoes.stream().mapToLong(Participacao::atrasoLargadaNanos).min().orElse(0);
+            long maximo = participacoes.stream().mapToLong(Participacao::atrasoLargadaNanos).max().orElse(0);
+            return (maximo - minimo) / 1_000_000.0;
+        }
+
+        /**
+         * Latência dos participantes do grupo sob contenção
+         */
+        public LatencyHistogram latencia(String grupo) {
+            LatencyHistogram histograma = new LatencyHistogram();
+            doGrupo(grupo).forEach(participacao -> histograma.registrar(participacao.latenciaNanos()));
+            return histograma;
+        }
+
+        public String formatar() {
+            Map<String, List<Participacao<T>>> porGrupo = new LinkedHashMap<>();
+            participacoes.forEach(participacao ->
+                    porGrupo.computeIfAbsent(participacao.grupo(), grupo -> new ArrayList<>()).add(participacao));
+            StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                    "%s: %d participantes, dispersão da largada %.2f ms%n",
+                    nome, participacoes.size(), getDispersaoLargadaMillis()));
+            porGrupo.forEach((grupo, lista) -> {
+                texto.append(String.format("%n%s (%d): %s%n", grupo, lista.size(), latencia(grupo).formatar()));
+                for (Participacao<T> participacao : lista) {
+                    texto.append(String.format(Locale.ROOT, "  #%-3d %+8.2f ms %8.1f ms  %s%n", participacao.indice(),
+                            participacao.atrasoLargadaNanos() / 1_000_000.0, participacao.latenciaNanos() / 1_000_000.0,
+                            participacao.isSucesso() ? descricao.apply(participacao.valor()) : participacao.erro()));
+                }
+            });
+            return texto.toString();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Throwable> E relancar(Throwable erro) throws E {
+            throw (E) erro;
+        }
+    }
+}
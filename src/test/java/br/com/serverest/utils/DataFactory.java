@@ -2,35 +2,35 @@ package br.com.serverest.utils;
 
 import br.com.serverest.model.Login;
 import br.com.serverest.model.Usuario;
-import com.github.javafaker.Faker;
-
-import java.util.Locale;
 
 public class DataFactory {
-    
-    private static final Faker faker = new Faker(new Locale("pt-BR"));
-    
+
     public static Usuario criarUsuarioValido(boolean administrador) {
-        return Usuario.builder()
+        DataNamespace namespace = DataNamespace.atual();
+        return namespace.comFaker(faker -> Usuario.builder()
                 .nome(faker.name().fullName())
-                .email(faker.internet().emailAddress())
+                .email(namespace.email(faker.internet().emailAddress()))
                 .password(faker.internet().password(8, 16))
                 .administrador(administrador ? "true" : "false")
-                .build();
+                .build());
     }
-    
+
     public static Login criarLoginValido(Usuario usuario) {
         return Login.builder()
                 .email(usuario.getEmail())
                 .password(usuario.getPassword())
                 .build();
     }
-    
+
+    /**
+     * Email único no namespace do worker atual (ver DataNamespace)
+     */
     public static String gerarEmailAleatorio() {
-        return faker.internet().emailAddress();
+        DataNamespace namespace = DataNamespace.atual();
+        return namespace.email(namespace.comFaker(faker -> faker.internet().emailAddress()));
     }
-    
+
     public static String gerarNomeAleatorio() {
-        return faker.name().fullName();
+        return DataNamespace.atual().comFaker(faker -> faker.name().fullName());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.config.TestConfig;
+import com.github.javafaker.Faker;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Namespace de dados por worker da execução paralela
+ * Cada thread de plataforma que gera dados (os workers do JUnit) recebe um identificador
+ * próprio, um Faker exclusivo e um contador de sequência. Virtual threads são descartáveis
+ * (uma por participante de corrida, hedge ou caso de fuzzing) e compartilham um único
+ * namespace, para não carregar um Faker pt-BR (leitura dos YAMLs) a cada thread.
+ * O Faker não é thread-safe: o acesso é feito por comFaker, sob o lock do namespace,
+ * sem disputa nos workers. Os emails gerados levam o prefixo execução + worker + sequência,
+ * então métodos concorrentes e invocações de @ParameterizedTest nunca colidem entre si
+ * nem com sobras de execuções anteriores no servidor compartilhado.
+ */
+public final class DataNamespace {
+
+    private static final String EXECUCAO = TestConfig.get("data.namespace",
+            UUID.randomUUID().toString().substring(0, 6));
+    private static final AtomicInteger WORKERS = new AtomicInteger();
+    private static final ThreadLocal<DataNamespace> ATUAL =
+            ThreadLocal.withInitial(() -> new DataNamespace(WORKERS.incrementAndGet()));
+
+    private static final class Virtuais {
+        private static final DataNamespace COMPARTILHADO = new DataNamespace(WORKERS.incrementAndGet());
+    }
+
+    private final int worker;
+    private final String prefixo;
+    private final Faker faker;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private DataNamespace(int worker) {
+        this.worker = worker;
+        this.prefixo = EXECUCAO + "w" + worker;
+        this.faker = new Faker(new Locale("pt-BR"), new Random(31L * EXECUCAO.hashCode() + worker));
+    }
+
+    /**
+     * Namespace do worker (thread) atual; o compartilhado em virtual threads
+     */
+    public static DataNamespace atual() {
+        return Thread.currentThread().isVirtual() ? Virtuais.COMPARTILHADO : ATUAL.get();
+    }
+
+    /**
+     * Identificador da execução, compartilhado por todos os workers da JVM
+     */
+    public static String execucao() {
+        return EXECUCAO;
+    }
+
+    public int getWorker() {
+        return worker;
+    }
+
+    public String getPrefixo() {
+        return prefixo;
+    }
+
+    /**
+     * Usa o Faker do namespace com exclusividade; o resultado não deve guardar o Faker
+     */
+    public synchronized <R> R comFaker(Function<Faker, R> uso) {
+        return uso.apply(faker);
+    }
+
+    /**
+     * Gera um email único no namespace a partir de um email qualquer (ex.: do Faker),
+     * mantendo domínio e parte local legíveis: joao.silva.3f9a1cw2n17@gmail.com
+     */
+    public String email(String base) {
+        int arroba = base.indexOf('@');
+        return base.substring(0, arroba) + "." + prefixo + "n" + sequencia.incrementAndGet() + base.substring(arroba);
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.serverest.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Gerador de valores para o PropertyFuzzer
+ * Cada valor sai como Shrinkable, já com as versões menores dele; os combinadores
+ * (map, combinar, tupla, frequencia) preservam o encolhimento das partes.
+ *
+ * @param <T> tipo gerado
+ */
+@FunctionalInterface
+public interface Gen<T> {
+
+    /**
+     * @param random  fonte de aleatoriedade do caso (mesma semente, mesmo valor)
+     * @param tamanho varia de 0 a fuzz.max.size ao longo da execução: limita textos e listas
+     */
+    Shrinkable<T> gerar(SplittableRandom random, int tamanho);
+
+    default <R> Gen<R> map(Function<? super T, ? extends R> funcao) {
+        return (random, tamanho) -> gerar(random, tamanho).map(funcao);
+    }
+
+    static <T> Gen<T> constante(T valor) {
+        return (random, tamanho) -> Shrinkable.fixo(valor);
+    }
+
+    /**
+     * Um dos valores da lista; encolhe para os que vêm antes dele
+     */
+    static <T> Gen<T> elementos(List<T> valores) {
+        if (valores.isEmpty()) {
+            throw new IllegalArgumentException("Lista de valores vazia");
+        }
+        List<T> copia = List.copyOf(valores);
+        return (random, tamanho) -> {
+            int indice = random.nextInt(copia.size());
+            return Shrinkable.de(copia.get(indice),
+                    () -> IntStream.range(0, indice).mapToObj(anterior -> Shrinkable.fixo(copia.get(anterior))));
+        };
+    }
+
+    /**
+     * Inteiro em [minimo, maximo]; encolhe em direção ao mínimo
+     */
+    static Gen<Integer> inteiro(int minimo, int maximo) {
+        return (random, tamanho) -> inteiroAte(minimo, random.nextInt(minimo, maximo + 1));
+    }
+
+    private static Shrinkable<Integer> inteiroAte(int minimo, int valor) {
+        return Shrinkable.de(valor, () -> Stream.iterate(valor - minimo, distancia -> distancia > 0, distancia -> distancia / 2)
+                .map(distancia -> inteiroAte(minimo, valor - distancia)));
+    }
+
+    /**
+     * Texto com caracteres do alfabeto (code points, aceita emoji) e comprimento em
+     * [minimo, maximo], limitado pelo tamanho do caso. Encolhe removendo trechos, do
+     * maior para o menor, e depois trocando cada caractere pelo primeiro do alfabeto.
+     */
+    static Gen<String> texto(String alfabeto, int minimo, int maximo) {
+        int[] caracteres = alfabeto.codePoints().toArray();
+        if (caracteres.length == 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Alfabeto vazio ou comprimento inválido: " + minimo + ".." + maximo);
+        }
+        return (random, tamanho) -> {
+            int limite = Math.max(minimo, Math.min(maximo, minimo + tamanho));
+            int[] texto = new int[random.nextInt(minimo, limite + 1)];
+            for (int i = 0; i < texto.length; i++) {
+                texto[i] = caracteres[random.nextInt(caracteres.length)];
+            }
+            return texto(texto, caracteres[0], minimo);
+        };
+    }
+
+    private static Shrinkable<String> texto(int[] texto, int maisSimples, int minimo) {
+        return Shrinkable.de(new String(texto, 0, texto.length), () -> {
+            Stream<int[]> semTrechos = Stream.iterate(texto.length - minimo, trecho -> trecho > 0, trecho -> trecho / 2)
+                    .flatMap(trecho -> IntStream.iterate(0, inicio -> inicio + trecho <= texto.length, inicio -> inicio + trecho)
+                            .mapToObj(inicio -> remover(texto, inicio, trecho)));
+            Stream<int[]> simplificados = IntStream.range(0, texto.length)
+                    .filter(i -> texto[i] != maisSimples)
+                    .mapToObj(i -> {
+                        int[] copia = texto.clone();
+                        copia[i] = maisSimples;
+                        return copia;
+                    });
+            return Stream.concat(semTrechos, simplificados).map(menor -> texto(menor, maisSimples, minimo));
+        });
+    }
+
+    private static int[] remover(int[] texto, int inicio, int quantidade) {
+        int[] menor = Arrays.copyOf(texto, texto.length - quantidade);
+        System.arraycopy(texto, inicio + quantidade, menor, inicio, texto.length - inicio - quantidade);
+        return menor;
+    }
+
+    /**
+     * Escolhe um gerador conforme os pesos. Encolhe primeiro para um valor do primeiro
+     * gerador (o "normal"), depois dentro do gerador escolhido.
+     */
+    @SafeVarargs
+    static <T> Gen<T> frequencia(Peso<? extends T>... pesos) {
+        // cópia elemento a elemento: o array do varargs não escapa para o gerador
+        List<Peso<? extends T>> opcoes = new ArrayList<>(pesos.length);
+        for (Peso<? extends T> peso : pesos) {
+            opcoes.add(peso);
+        }
+        int total = opcoes.stream().mapToInt(Peso::peso).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Soma dos pesos deve ser positiva");
+        }
+        return (random, tamanho) -> {
+            int sorteio = random.nextInt(total);
+            int escolhido = 0;
+            while (sorteio >= opcoes.get(escolhido).peso()) {
+                sorteio -= opcoes.get(escolhido).peso();
+                escolhido++;
+            }
+            Shrinkable<T> valor = gerar(opcoes.get(escolhido), random, tamanho);
+            if (escolhido == 0) {
+                return valor;
+            }
+            // semente própria: o valor normal é o mesmo a cada encolhimento
+            long sementeNormal = random.nextLong();
+            return Shrinkable.de(valor.getValor(), () -> Stream.concat(
+                    Stream.of(gerar(opcoes.get(0), new SplittableRandom(sementeNormal), tamanho)), valor.menores()));
+        };
+    }
+
+    private static <T> Shrinkable<T> gerar(Peso<? extends T> opcao, SplittableRandom random, int tamanho) {
+        return opcao.gen().gerar(random, tamanho).map(Function.identity());
+    }
+
+    static <T> Peso<T> peso(int peso, Gen<? extends T> gen) {
+        return new Peso<>(peso, gen);
+    }
+
+    /**
+     * Opção de frequencia()
+     */
+    record Peso<T>(int peso, Gen<? extends T> gen) {
+    }
+
+    /**
+     * Combina dois geradores; encolhe um lado de cada vez
+     */
+    static <A, B, R> Gen<R> combinar(Gen<A> primeiro, Gen<B> segundo, BiFunction<? super A, ? super B, ? extends R> funcao) {
+        return tupla(primeiro, segundo).map(valores -> {
+            @SuppressWarnings("unchecked")
+            A a = (A) valores.get(0);
+            @SuppressWarnings("unchecked")
+            B b = (B) valores.get(1);
+            return funcao.apply(a, b);
+        });
+    }
+
+    /**
+     * Lista com um valor de cada gerador, na ordem; encolhe uma posição de cada vez
+     */
+    static Gen<List<Object>> tupla(Gen<?>... gens) {
+        return (random, tamanho) -> {
+            List<Shrinkable<?>> partes = new ArrayList<>(gens.length);
+            for (Gen<?> gen : gens) {
+                partes.add(gen.gerar(random, tamanho));
+            }
+            return tupla(partes);
+        };
+    }
+
+    private static Shrinkable<List<Object>> tupla(List<Shrinkable<?>> partes) {
+        List<Object> valores = new ArrayList<>(partes.size());
+        partes.forEach(parte -> valores.add(parte.getValor()));
+        return Shrinkable.de(Collections.unmodifiableList(valores), () -> IntStream.range(0, partes.size())
+                .boxed()
+                .flatMap(i -> partes.get(i).menores().map(menor -> {
+                    List<Shrinkable<?>> trocadas = new ArrayList<>(partes);
+                    trocadas.set(i, menor);
+                    return tupla(trocadas);
+                })));
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+
+import java.util.List;
+
+/**
+ * Geradores de payloads de Usuario e Login para os testes de propriedade
+ * Cada campo é, na maior parte das vezes, um valor válido; no restante é uma entrada
+ * hostil (injeção, XSS, unicode, controle, texto longo, email malformado) ou ausente.
+ * Os casos escritos à mão nos testes de UsuariosTest fazem parte do corpus, de modo
+ * que o fuzzing sempre cobre ao menos o que eles cobriam.
+ */
+public final class Generators {
+
+    private static final String MINUSCULAS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String ALFANUMERICO = MINUSCULAS + "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final String NOME = MINUSCULAS + " ABCDEFGHIJKLMNOPQRSTUVWXYZáéíóúâêôãõçÁÉÇ'-";
+    // o primeiro caractere é o mais simples: é para ele que o encolhimento converge
+    private static final String HOSTIL = "a'\"<>&;%\\/{}[]$@. \t\n\r\u0000\u001f\u00a0\u200b\u202eçã€😀";
+    private static final String EMAIL = "a@.-_+" + MINUSCULAS + "0123456789";
+
+    private static final List<String> CORPUS = List.of(
+            "",
+            " ",
+            "' OR '1'='1",
+            "test' OR '1'='1@email.com",
+            "\"; DROP TABLE usuarios; --",
+            "{\"$ne\": null}",
+            "{\"$gt\": \"\"}",
+            "<script>alert('XSS')</script>",
+            "<img src=x onerror=alert('XSS')>",
+            "javascript:alert(1)",
+            "${7*7}",
+            "{{7*7}}",
+            "../../etc/passwd",
+            "null",
+            "true",
+            "0",
+            "-1",
+            "1e309",
+            "ção😀\u202e",
+            "\u0000",
+            "\\u0000");
+
+    private static final List<String> EMAILS_INVALIDOS = List.of(
+            "emailinvalido",
+            "email@",
+            "@dominio.com",
+            "email@@dominio.com",
+            "email..teste@dominio.com",
+            "email@dominio",
+            "email @dominio.com",
+            "email@dominio..com",
+            ".email@dominio.com");
+
+    private Generators() {
+    }
+
+    public static Gen<String> nome() {
+        return Gen.texto(NOME, 1, 40);
+    }
+
+    /**
+     * Email válido; o prefixo identifica os registros criados pelo fuzzing e a execução
+     * (DataNamespace), para não colidir com sobras de execuções anteriores no servidor
+     */
+    public static Gen<String> email() {
+        String prefixo = "fuzz." + DataNamespace.execucao() + ".";
+        return Gen.texto(ALFANUMERICO, 1, 24).map(local -> prefixo + local.toLowerCase() + "@qa.com.br");
+    }
+
+    public static Gen<String> senha() {
+        return Gen.texto(ALFANUMERICO, 1, 20);
+    }
+
+    public static Gen<String> administrador() {
+        return Gen.elementos(List.of("false", "true"));
+    }
+
+    /**
+     * Entrada hostil para qualquer campo de texto
+     */
+    public static Gen<String> hostil() {
+        return Gen.frequencia(
+                Gen.peso(4, Gen.elementos(CORPUS)),
+                Gen.peso(4, Gen.texto(HOSTIL, 0, 200)),
+                Gen.peso(1, Gen.texto("a", 256, 5_000)));
+    }
+
+    /**
+     * Email malformado: os casos conhecidos ou texto montado com @, ponto e hífen
+     */
+    public static Gen<String> emailInvalido() {
+        return Gen.frequencia(
+                Gen.peso(1, Gen.elementos(EMAILS_INVALIDOS)),
+                Gen.peso(2, Gen.texto(EMAIL, 0, 40)));
+    }
+
+    /**
+     * Verificação estrutural de email: falsa só para o que nenhum validador aceita (sem
+     * exatamente um @, parte vazia, domínio sem ponto, espaço ou caractere de controle,
+     * ponto no início, no fim ou repetido). Verdadeira não garante que a API aceite
+     * (ex.: TLD inexistente), por isso os testes só usam o resultado falso.
+     */
+    public static boolean isEmailValido(String email) {
+        if (email == null) {
+            return false;
+        }
+        int arroba = email.indexOf('@');
+        if (arroba <= 0 || arroba != email.lastIndexOf('@') || arroba == email.length() - 1) {
+            return false;
+        }
+        String local = email.substring(0, arroba);
+        String dominio = email.substring(arroba + 1);
+        if (email.contains("..") || !dominio.contains(".")
+                || local.startsWith(".") || local.endsWith(".")
+                || dominio.startsWith(".") || dominio.endsWith(".")) {
+            return false;
+        }
+        return email.codePoints().noneMatch(c -> Character.isWhitespace(c) || Character.isSpaceChar(c)
+                || Character.isISOControl(c));
+    }
+
+    /**
+     * Campo que às vezes é hostil ou ausente (null não é serializado)
+     */
+    public static Gen<String> campo(Gen<String> valido) {
+        return Gen.frequencia(
+                Gen.peso(6, valido),
+                Gen.peso(3, hostil()),
+                Gen.peso(1, Gen.constante(null)));
+    }
+
+    public static Gen<Usuario> usuario() {
+        Gen<String> email = Gen.frequencia(
+                Gen.peso(6, email()),
+                Gen.peso(2, emailInvalido()),
+                Gen.peso(2, hostil()),
+                Gen.peso(1, Gen.constante(null)));
+        return Gen.tupla(campo(nome()), email, campo(senha()), campo(administrador()))
+                .map(campos -> Usuario.builder()
+                        .nome((String) campos.get(0))
+                        .email((String) campos.get(1))
+                        .password((String) campos.get(2))
+                        .administrador((String) campos.get(3))
+                        .build());
+    }
+
+    public static Gen<Login> login() {
+        Gen<String> email = Gen.frequencia(
+                Gen.peso(5, email()),
+                Gen.peso(2, emailInvalido()),
+                Gen.peso(2, hostil()),
+                Gen.peso(1, Gen.constante(null)));
+        return Gen.combinar(email, campo(senha()),
+                (valorEmail, senha) -> Login.builder().email(valorEmail).password(senha).build());
+    }
+}
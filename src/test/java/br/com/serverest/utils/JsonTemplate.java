@@ -0,0 +1,167 @@
+package br.com.serverest.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Template de corpo JSON pré-serializado
+ * Os fragmentos fixos ({, "campo":, vírgulas, }) são codificados em UTF-8 uma única vez;
+ * a cada chamada apenas os valores variáveis são escapados e gravados direto em bytes,
+ * sem passar pelo ObjectMapper nem por Strings intermediárias.
+ * Campos nulos são omitidos, como o @JsonInclude(NON_NULL) dos models.
+ */
+public final class JsonTemplate<T> {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final int TAMANHO_INICIAL_BUFFER = 256;
+
+    private final byte[][] chavesPrimeiroCampo;
+    private final byte[][] chavesDemaisCampos;
+    private final List<Function<T, String>> valores;
+    private final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(Buffer::new);
+
+    private JsonTemplate(List<String> nomes, List<Function<T, String>> valores) {
+        this.valores = List.copyOf(valores);
+        this.chavesPrimeiroCampo = new byte[nomes.size()][];
+        this.chavesDemaisCampos = new byte[nomes.size()][];
+        for (int i = 0; i < nomes.size(); i++) {
+            chavesPrimeiroCampo[i] = ("\"" + nomes.get(i) + "\":").getBytes(StandardCharsets.UTF_8);
+            chavesDemaisCampos[i] = (",\"" + nomes.get(i) + "\":").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Gera o corpo JSON do objeto em um array do tamanho exato
+     * O trabalho é feito em um buffer reaproveitado por thread; a cópia final é necessária
+     * porque o RestAssured guarda o byte[] do corpo (log em falha de validação, contagem de
+     * bytes, reenvio na retentativa) depois que a thread já pode ter gerado outro corpo.
+     */
+    public byte[] render(T objeto) {
+        Buffer destino = buffer.get();
+        destino.tamanho = 0;
+        escrever(objeto, destino);
+        return Arrays.copyOf(destino.bytes, destino.tamanho);
+    }
+
+    private void escrever(T objeto, Buffer destino) {
+        destino.escrever((byte) '{');
+        boolean primeiro = true;
+        for (int i = 0; i < valores.size(); i++) {
+            String valor = valores.get(i).apply(objeto);
+            if (valor == null) {
+                continue;
+            }
+            destino.escrever(primeiro ? chavesPrimeiroCampo[i] : chavesDemaisCampos[i]);
+            escreverString(valor, destino);
+            primeiro = false;
+        }
+        destino.escrever((byte) '}');
+    }
+
+    /**
+     * Escapa e codifica em UTF-8 no mesmo passo, com as mesmas regras do Jackson:
+     * aspas e barra invertida, escapes curtos para \b \t \n \f \r e \\u00XX para os
+     * demais caracteres de controle
+     */
+    private static void escreverString(String valor, Buffer destino) {
+        destino.garantir(valor.length() * 6 + 2);
+        byte[] bytes = destino.bytes;
+        int pos = destino.tamanho;
+        bytes[pos++] = '"';
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    bytes[pos++] = (byte) c;
+                    continue;
+                }
+                bytes[pos++] = '\\';
+                switch (c) {
+                    case '"' -> bytes[pos++] = '"';
+                    case '\\' -> bytes[pos++] = '\\';
+                    case '\b' -> bytes[pos++] = 'b';
+                    case '\t' -> bytes[pos++] = 't';
+                    case '\n' -> bytes[pos++] = 'n';
+                    case '\f' -> bytes[pos++] = 'f';
+                    case '\r' -> bytes[pos++] = 'r';
+                    default -> {
+                        bytes[pos++] = 'u';
+                        bytes[pos++] = '0';
+                        bytes[pos++] = '0';
+                        bytes[pos++] = HEX[c >> 4];
+                        bytes[pos++] = HEX[c & 0xF];
+                    }
+                }
+            } else if (c < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (c >> 6));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                    && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, valor.charAt(++i));
+                bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // surrogate isolado: mesmo tratamento de String.getBytes(UTF_8)
+                bytes[pos++] = '?';
+            } else {
+                bytes[pos++] = (byte) (0xE0 | (c >> 12));
+                bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        bytes[pos++] = '"';
+        destino.tamanho = pos;
+    }
+
+    /**
+     * Buffer de bytes crescente, reaproveitado entre chamadas da mesma thread
+     */
+    private static final class Buffer {
+        private byte[] bytes = new byte[TAMANHO_INICIAL_BUFFER];
+        private int tamanho;
+
+        private void garantir(int adicional) {
+            if (tamanho + adicional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, tamanho + adicional));
+            }
+        }
+
+        private void escrever(byte valor) {
+            garantir(1);
+            bytes[tamanho++] = valor;
+        }
+
+        private void escrever(byte[] valor) {
+            garantir(valor.length);
+            System.arraycopy(valor, 0, bytes, tamanho, valor.length);
+            tamanho += valor.length;
+        }
+    }
+
+    public static class Builder<T> {
+        private final List<String> nomes = new ArrayList<>();
+        private final List<Function<T, String>> valores = new ArrayList<>();
+
+        /**
+         * Adiciona um campo texto; a ordem de declaração é a ordem no JSON gerado
+         */
+        public Builder<T> campo(String nome, Function<T, String> valor) {
+            nomes.add(nome);
+            valores.add(valor);
+            return this;
+        }
+
+        public JsonTemplate<T> build() {
+            return new JsonTemplate<>(nomes, valores);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.serverest.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Medição simples de custo por operação (tempo e alocação) para os testes de benchmark
+ * Não substitui o JMH, mas é suficiente para comparar caminhos do próprio harness
+ * executados na mesma JVM, após aquecimento do JIT
+ */
+public final class MicroBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Evita que o JIT elimine operações cujo resultado não é usado */
+    private static volatile Object sumidouro;
+
+    private MicroBenchmark() {
+    }
+
+    public static Resultado medir(String nome, int aquecimento, int iteracoes, Supplier<?> operacao) {
+        for (int i = 0; i < aquecimento; i++) {
+            sumidouro = operacao.get();
+        }
+        long bytesAntes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteracoes; i++) {
+            sumidouro = operacao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        long bytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - bytesAntes;
+        return new Resultado(nome, (double) duracao / iteracoes, (double) bytes / iteracoes);
+    }
+
+    /**
+     * Custo médio por operação
+     */
+    public record Resultado(String nome, double nsPorOperacao, double bytesPorOperacao) {
+
+        public String formatar() {
+            return String.format("%-40s %12.1f ns/op %12.1f B/op", nome, nsPorOperacao, bytesPorOperacao);
+        }
+    }
+}
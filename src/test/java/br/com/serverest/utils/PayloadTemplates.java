@@ -0,0 +1,27 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.model.Login;
+import br.com.serverest.model.Usuario;
+
+/**
+ * Templates pré-serializados dos payloads enviados pelos services
+ * A ordem dos campos segue a ordem de serialização do Jackson para os models
+ */
+public final class PayloadTemplates {
+
+    public static final JsonTemplate<Usuario> USUARIO = JsonTemplate.<Usuario>builder()
+            .campo("_id", Usuario::get_id)
+            .campo("nome", Usuario::getNome)
+            .campo("email", Usuario::getEmail)
+            .campo("password", Usuario::getPassword)
+            .campo("administrador", Usuario::getAdministrador)
+            .build();
+
+    public static final JsonTemplate<Login> LOGIN = JsonTemplate.<Login>builder()
+            .campo("email", Login::getEmail)
+            .campo("password", Login::getPassword)
+            .build();
+
+    private PayloadTemplates() {
+    }
+}
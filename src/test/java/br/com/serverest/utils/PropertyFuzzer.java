@@ -0,0 +1,288 @@
+package br.com.serverest.utils;
+
+import br.com.serverest.config.TestConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Teste de propriedade: gera milhares de entradas e verifica uma invariante em cada uma
+ * - os casos rodam em virtual threads, com no máximo fuzz.max.inflight em voo
+ * - cada caso tem semente própria derivada de fuzz.seed: a mesma semente repete os casos
+ * - AssertionError falsifica a propriedade; a execução para de gerar casos e a entrada
+ *   é encolhida (Shrinkable) até a menor que ainda falha
+ * - qualquer outra exceção (rede, circuit breaker aberto) interrompe a execução e é
+ *   relançada como veio: não é um contraexemplo
+ * As virtual threads não herdam o contexto do Allure, então as requisições dos casos
+ * não viram steps nem anexos; verificar() repete o contraexemplo mínimo na thread do
+ * teste, com request e response no relatório.
+ *
+ * @param <T> tipo da entrada
+ */
+public final class PropertyFuzzer<T> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int EXIBICAO_MAXIMA = 300;
+
+    private final Gen<T> gen;
+    private int casos = TestConfig.getInt("fuzz.cases", 1000);
+    private int concorrencia = TestConfig.getInt("fuzz.max.inflight", 16);
+    private long semente = TestConfig.getLong("fuzz.seed", System.nanoTime());
+    private int tamanhoMaximo = TestConfig.getInt("fuzz.max.size", 100);
+    private int maxEncolhimentos = TestConfig.getInt("fuzz.max.shrinks", 500);
+
+    private PropertyFuzzer(Gen<T> gen) {
+        this.gen = gen;
+    }
+
+    public static <T> PropertyFuzzer<T> para(Gen<T> gen) {
+        return new PropertyFuzzer<>(gen);
+    }
+
+    public PropertyFuzzer<T> casos(int casos) {
+        this.casos = casos;
+        return this;
+    }
+
+    public PropertyFuzzer<T> concorrencia(int concorrencia) {
+        this.concorrencia = concorrencia;
+        return this;
+    }
+
+    public PropertyFuzzer<T> semente(long semente) {
+        this.semente = semente;
+        return this;
+    }
+
+    public PropertyFuzzer<T> tamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        return this;
+    }
+
+    public PropertyFuzzer<T> maxEncolhimentos(int maxEncolhimentos) {
+        this.maxEncolhimentos = maxEncolhimentos;
+        return this;
+    }
+
+    /**
+     * Invariante verificada em cada entrada: lança AssertionError quando não vale
+     */
+    @FunctionalInterface
+    public interface Propriedade<T> {
+        void verificar(T entrada) throws Exception;
+    }
+
+    /**
+     * Executa a propriedade, anexa o resumo ao Allure e falha o teste com o
+     * contraexemplo mínimo, repetido na thread atual para aparecer no relatório
+     */
+    public Resultado<T> verificar(String nome, Propriedade<T> propriedade) {
+        Resultado<T> resultado = executar(propriedade);
+        String resumo = nome + "\n" + resultado.formatar();
+        Allure.addAttachment("Fuzzing: " + nome, "text/plain", resumo);
+        if (resultado.falha() == null) {
+            return resultado;
+        }
+        AssertionError erro = new AssertionError(resumo, resultado.falha().erro());
+        try {
+            propriedade.verificar(resultado.falha().minimo());
+        } catch (AssertionError reproduzido) {
+            throw erro;
+        } catch (Exception e) {
+            erro.addSuppressed(e);
+            throw erro;
+        }
+        erro.addSuppressed(new AssertionError("O contraexemplo mínimo passou ao ser repetido (instabilidade)"));
+        throw erro;
+    }
+
+    /**
+     * Executa a propriedade sem tocar no Allure
+     */
+    public Resultado<T> executar(Propriedade<T> propriedade) {
+        Semaphore vagas = new Semaphore(concorrencia);
+        AtomicInteger emVoo = new AtomicInteger();
+        AtomicInteger maximoEmVoo = new AtomicInteger();
+        AtomicInteger executados = new AtomicInteger();
+        AtomicReference<Throwable> interrupcao = new AtomicReference<>();
+        Contraexemplo<T> contraexemplo = new Contraexemplo<>();
+        ThreadFactory fabrica = Thread.ofVirtual().name("fuzz-", 0).inheritInheritableThreadLocals(false).factory();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(fabrica)) {
+            for (int caso = 0; caso < casos && contraexemplo.vazio() && interrupcao.get() == null; caso++) {
+                vagas.acquireUninterruptibly();
+                Shrinkable<T> entrada = gen.gerar(random(caso), tamanho(caso));
+                int numero = caso;
+                executor.execute(() -> {
+                    maximoEmVoo.accumulateAndGet(emVoo.incrementAndGet(), Math::max);
+                    try {
+                        propriedade.verificar(entrada.getValor());
+                    } catch (AssertionError e) {
+                        contraexemplo.registrar(numero, entrada, e);
+                    } catch (Throwable e) {
+                        interrupcao.compareAndSet(null, e);
+                    } finally {
+                        executados.incrementAndGet();
+                        emVoo.decrementAndGet();
+                        vagas.release();
+                    }
+                });
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        if (interrupcao.get() != null) {
+            throw PropertyFuzzer.<RuntimeException>relancar(interrupcao.get());
+        }
+        Falha<T> falha = contraexemplo.vazio() ? null : encolher(contraexemplo, propriedade, fabrica);
+        return new Resultado<>(semente, executados.get(), maximoEmVoo.get(), duracao, falha);
+    }
+
+    private SplittableRandom random(int caso) {
+        return new SplittableRandom(semente + caso * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Tamanhos de 0 a tamanhoMaximo em ciclos: não depende do total de casos, então a
+     * semente sozinha reproduz a execução
+     */
+    private int tamanho(int caso) {
+        return caso % (tamanhoMaximo + 1);
+    }
+
+    /**
+     * Busca gulosa: troca a entrada pela primeira versão menor que ainda falha, até
+     * nenhuma falhar ou acabar o orçamento de tentativas. Roda numa virtual thread
+     * sem o contexto do Allure, como os casos; exceções que não são AssertionError
+     * descartam o candidato.
+     */
+    private Falha<T> encolher(Contraexemplo<T> contraexemplo, Propriedade<T> propriedade, ThreadFactory fabrica) {
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(fabrica)) {
+            Future<Falha<T>> busca = executor.submit(() -> {
+                Shrinkable<T> atual = contraexemplo.entrada;
+                AssertionError erro = contraexemplo.erro;
+                int passos = 0;
+                int tentativas = 0;
+                boolean encolheu = true;
+                while (encolheu && tentativas < maxEncolhimentos) {
+                    encolheu = false;
+                    Iterator<Shrinkable<T>> menores = atual.menores().iterator();
+                    while (menores.hasNext() && tentativas < maxEncolhimentos) {
+                        Shrinkable<T> menor = menores.next();
+                        tentativas++;
+                        AssertionError falhou = falha(propriedade, menor.getValor());
+                        if (falhou != null) {
+                            atual = menor;
+                            erro = falhou;
+                            passos++;
+                            encolheu = true;
+                            break;
+                        }
+                    }
+                }
+                return new Falha<>(contraexemplo.caso, contraexemplo.entrada.getValor(), atual.getValor(),
+                        erro, passos, tentativas);
+            });
+            return busca.get();
+        } catch (ExecutionException e) {
+            throw PropertyFuzzer.<RuntimeException>relancar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Encolhimento interrompido", e);
+        }
+    }
+
+    private static <T> AssertionError falha(Propriedade<T> propriedade, T entrada) {
+        try {
+            propriedade.verificar(entrada);
+            return null;
+        } catch (AssertionError e) {
+            return e;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E relancar(Throwable erro) throws E {
+        throw (E) erro;
+    }
+
+    /**
+     * Primeiro caso que falhou (menor número, para ser estável entre execuções)
+     */
+    private static final class Contraexemplo<T> {
+        private int caso = -1;
+        private Shrinkable<T> entrada;
+        private AssertionError erro;
+
+        private synchronized void registrar(int caso, Shrinkable<T> entrada, AssertionError erro) {
+            if (this.caso < 0 || caso < this.caso) {
+                this.caso = caso;
+                this.entrada = entrada;
+                this.erro = erro;
+            }
+        }
+
+        private synchronized boolean vazio() {
+            return caso < 0;
+        }
+    }
+
+    /**
+     * Contraexemplo: a entrada original e a menor encontrada, com o erro dela
+     */
+    public record Falha<T>(int caso, T original, T minimo, AssertionError erro, int passos, int tentativas) {
+    }
+
+    /**
+     * Resumo da execução; falha é null quando a propriedade valeu em todos os casos
+     */
+    public record Resultado<T>(long semente, int casos, int maximoEmVoo, long duracaoNanos, Falha<T> falha) {
+
+        public double casosPorSegundo() {
+            return duracaoNanos == 0 ? 0 : casos / (duracaoNanos / 1e9);
+        }
+
+        public String formatar() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format(Locale.ROOT, "%d casos em %.1f s (%.1f casos/s), máximo de %d em voo, semente %d%n",
+                    casos, duracaoNanos / 1e9, casosPorSegundo(), maximoEmVoo, semente));
+            if (falha == null) {
+                texto.append("Propriedade válida em todos os casos\n");
+                return texto.toString();
+            }
+            texto.append(String.format(Locale.ROOT, "Falhou no caso %d; encolhido em %d passos (%d tentativas)%n",
+                    falha.caso(), falha.passos(), falha.tentativas()));
+            texto.append("Mínimo:   ").append(descrever(falha.minimo())).append('\n');
+            texto.append("Original: ").append(descrever(falha.original())).append('\n');
+            texto.append("Erro:     ").append(falha.erro().getMessage()).append('\n');
+            texto.append(String.format(Locale.ROOT, "Reproduzir: -Dfuzz.seed=%d%n", semente));
+            return texto.toString();
+        }
+
+        private static String descrever(Object valor) {
+            String texto;
+            try {
+                texto = MAPPER.writeValueAsString(valor);
+            } catch (JsonProcessingException e) {
+                texto = String.valueOf(valor);
+            }
+            return texto.length() <= EXIBICAO_MAXIMA ? texto
+                    : texto.substring(0, EXIBICAO_MAXIMA) + "... (" + texto.length() + " caracteres)";
+        }
+    }
+}
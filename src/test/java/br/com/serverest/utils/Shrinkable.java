@@ -0,0 +1,46 @@
+package br.com.serverest.utils;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Valor gerado junto com as versões menores dele, calculadas sob demanda
+ * As versões menores vêm da mais simples para a menos simples; o PropertyFuzzer
+ * percorre essa árvore até achar o menor valor que ainda quebra a propriedade.
+ * Como map() transforma a árvore inteira, um Usuario gerado a partir de Strings
+ * encolhe encolhendo as Strings.
+ */
+public final class Shrinkable<T> {
+
+    private final T valor;
+    private final Supplier<Stream<Shrinkable<T>>> menores;
+
+    private Shrinkable(T valor, Supplier<Stream<Shrinkable<T>>> menores) {
+        this.valor = valor;
+        this.menores = menores;
+    }
+
+    public static <T> Shrinkable<T> de(T valor, Supplier<Stream<Shrinkable<T>>> menores) {
+        return new Shrinkable<>(valor, menores);
+    }
+
+    /**
+     * Valor que não encolhe
+     */
+    public static <T> Shrinkable<T> fixo(T valor) {
+        return new Shrinkable<>(valor, Stream::empty);
+    }
+
+    public T getValor() {
+        return valor;
+    }
+
+    public Stream<Shrinkable<T>> menores() {
+        return menores.get();
+    }
+
+    public <R> Shrinkable<R> map(Function<? super T, ? extends R> funcao) {
+        return new Shrinkable<>(funcao.apply(valor), () -> menores.get().map(menor -> menor.map(funcao)));
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.serverest.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Corpo de requisição lido sob demanda, em blocos, para payloads que não devem ficar
+ * inteiros no heap (ex.: 50 MB); o BaseService o envia em chunks direto para o socket
+ * Pode vir de um InputStream, de um gerador que preenche um ByteBuffer reaproveitado
+ * ou de um ByteBuffer (inclusive direto, fora do heap). É de uso único: não pode ser
+ * reenviado por retentativa. Guarda os bytes lidos e os instantes da primeira e da
+ * última leitura, para separar o tempo de envio do tempo de resposta do servidor.
+ */
+public abstract class StreamingBody extends InputStream {
+
+    private static final int TAMANHO_BLOCO = 64 * 1024;
+
+    private final long tamanho;
+    private long bytesLidos;
+    private long inicioNanos;
+    private long fimNanos;
+
+    protected StreamingBody(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Preenche o bloco com os próximos bytes do corpo
+     */
+    @FunctionalInterface
+    public interface Gerador {
+        /**
+         * @param bloco buffer em modo escrita, reaproveitado entre chamadas
+         * @return false quando não há mais bytes (o que foi escrito nesta chamada ainda é enviado)
+         */
+        boolean preencher(ByteBuffer bloco) throws IOException;
+    }
+
+    /**
+     * Corpo lido de um InputStream, fechado junto com o corpo
+     *
+     * @param tamanho tamanho em bytes, ou -1 se desconhecido
+     */
+    public static StreamingBody de(InputStream origem, long tamanho) {
+        return new StreamingBody(tamanho) {
+            @Override
+            protected int ler(byte[] destino, int offset, int quantidade) throws IOException {
+                return origem.read(destino, offset, quantidade);
+            }
+
+            @Override
+            public void close() throws IOException {
+                origem.close();
+            }
+        };
+    }
+
+    /**
+     * Corpo produzido por um gerador em blocos de 64 KB
+     *
+     * @param tamanho tamanho em bytes, ou -1 se desconhecido
+     */
+    public static StreamingBody gerado(long tamanho, Gerador gerador) {
+        ByteBuffer bloco = ByteBuffer.allocate(TAMANHO_BLOCO);
+        bloco.flip();
+        return new StreamingBody(tamanho) {
+            private boolean terminado;
+
+            @Override
+            protected int ler(byte[] destino, int offset, int quantidade) throws IOException {
+                while (!bloco.hasRemaining()) {
+                    if (terminado) {
+                        return -1;
+                    }
+                    bloco.clear();
+                    terminado = !gerador.preencher(bloco);
+                    bloco.flip();
+                }
+                int lidos = Math.min(quantidade, bloco.remaining());
+                bloco.get(destino, offset, lidos);
+                return lidos;
+            }
+        };
+    }
+
+    /**
+     * Corpo lido de um ByteBuffer, da posição ao limite, sem copiá-lo antes do envio
+     */
+    public static StreamingBody deByteBuffer(ByteBuffer origem) {
+        ByteBuffer leitura = origem.duplicate();
+        return new StreamingBody(leitura.remaining()) {
+            @Override
+            protected int ler(byte[] destino, int offset, int quantidade) {
+                if (!leitura.hasRemaining()) {
+                    return -1;
+                }
+                int lidos = Math.min(quantidade, leitura.remaining());
+                leitura.get(destino, offset, lidos);
+                return lidos;
+            }
+        };
+    }
+
+    /**
+     * Texto em UTF-8, para os trechos fixos de um corpo montado com concatenar
+     */
+    public static StreamingBody texto(String texto) {
+        return deByteBuffer(ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * O mesmo byte repetido, sem alocar mais que um bloco
+     */
+    public static StreamingBody repetir(byte valor, long quantidade) {
+        long[] restantes = {quantidade};
+        return gerado(quantidade, bloco -> {
+            int n = (int) Math.min(bloco.remaining(), restantes[0]);
+            Arrays.fill(bloco.array(), bloco.position(), bloco.position() + n, valor);
+            bloco.position(bloco.position() + n);
+            restantes[0] -= n;
+            return restantes[0] > 0;
+        });
+    }
+
+    /**
+     * Corpos enviados em sequência, ex.: prefixo JSON, campo gigante gerado e sufixo
+     */
+    public static StreamingBody concatenar(StreamingBody... partes) {
+        List<StreamingBody> lista = List.of(partes);
+        long total = 0;
+        for (StreamingBody parte : lista) {
+            total = total < 0 || parte.getTamanho() < 0 ? -1 : total + parte.getTamanho();
+        }
+        return new StreamingBody(total) {
+            private int atual;
+
+            @Override
+            protected int ler(byte[] destino, int offset, int quantidade) throws IOException {
+                while (atual < lista.size()) {
+                    int lidos = lista.get(atual).read(destino, offset, quantidade);
+                    if (lidos > 0) {
+                        return lidos;
+                    }
+                    if (lidos < 0) {
+                        atual++;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public void close() throws IOException {
+                for (StreamingBody parte : lista) {
+                    parte.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Lê até quantidade bytes do corpo; -1 no fim
+     */
+    protected abstract int ler(byte[] destino, int offset, int quantidade) throws IOException;
+
+    @Override
+    public final int read() throws IOException {
+        byte[] um = new byte[1];
+        return read(um, 0, 1) < 0 ? -1 : um[0] & 0xFF;
+    }
+
+    @Override
+    public final int read(byte[] destino, int offset, int quantidade) throws IOException {
+        if (quantidade == 0) {
+            return 0;
+        }
+        if (bytesLidos == 0 && inicioNanos == 0) {
+            inicioNanos = System.nanoTime();
+        }
+        int lidos = ler(destino, offset, quantidade);
+        if (lidos > 0) {
+            bytesLidos += lidos;
+        } else if (lidos < 0 && fimNanos == 0) {
+            fimNanos = System.nanoTime();
+        }
+        return lidos;
+    }
+
+    /**
+     * Tamanho declarado, ou -1 se desconhecido
+     */
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public long getBytesLidos() {
+        return bytesLidos;
+    }
+
+    /**
+     * Instante (System.nanoTime) em que o último byte foi lido, ou 0 se o corpo não foi lido até o fim
+     */
+    public long getFimNanos() {
+        return fimNanos;
+    }
+
+    /**
+     * Tempo entre a primeira leitura e o fim do corpo: o envio, limitado pelo socket
+     */
+    public long getNanosEnvio() {
+        return fimNanos == 0 ? 0 : fimNanos - inicioNanos;
+    }
+
+    /**
+     * Descrição exibida no lugar do conteúdo (ex.: anexo de request do Allure)
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "<corpo em streaming: %s>",
+                tamanho < 0 ? "tamanho desconhecido" : tamanho + " bytes");
+    }
+}